@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import org.neo4j.cypherdsl.core.renderer.Renderer;
+
+/**
+ * Base class for the statements of this package, memoizing their rendered form and their info.
+ *
+ * @since 2020.0.0
+ */
+abstract class AbstractStatement implements Statement {
+
+	/**
+	 * The rendered form of this statement. Rendering is idempotent and the result is an immutable string, so the
+	 * worst case of concurrent first access is rendering more than once.
+	 */
+	private volatile String cypher;
+
+	/**
+	 * The info about this statement, memoized the same way as the rendered form. Not used by statements that take
+	 * their info from a wrapped statement.
+	 */
+	private volatile StatementInfo info;
+
+	@Override
+	public final String getCypher() {
+
+		String result = this.cypher;
+		if (result == null) {
+			result = Renderer.getDefaultRenderer().render(this);
+			this.cypher = result;
+		}
+		return result;
+	}
+
+	@Override
+	public StatementInfo getInfo() {
+
+		StatementInfo result = this.info;
+		if (result == null) {
+			result = StatementInfo.of(this);
+			this.info = result;
+		}
+		return result;
+	}
+}
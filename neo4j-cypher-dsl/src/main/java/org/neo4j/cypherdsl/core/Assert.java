@@ -18,12 +18,35 @@
  */
 package org.neo4j.cypherdsl.core;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Assertions used throughout the Cypher-DSL. Mostly copied over from {@literal org.springframework.util.Assert}. Thanks
  * to the original authors: Keith Donald, Juergen Hoeller, Sam Brannen, Colin Sampaleanu and Rob Harrop.
  */
 final class Assert {
 
+	/**
+	 * Upper bound of names remembered as valid identifiers when running with {@link ValidationLevel#CACHED}.
+	 */
+	private static final int MAX_KNOWN_IDENTIFIERS = 1024;
+
+	private static final Set<String> KNOWN_IDENTIFIERS = ConcurrentHashMap.newKeySet();
+
+	private static volatile ValidationLevel validationLevel = ValidationLevel.fromSystemProperty();
+
+	static ValidationLevel getValidationLevel() {
+		return validationLevel;
+	}
+
+	static void setValidationLevel(ValidationLevel newValidationLevel) {
+
+		notNull(newValidationLevel, "The validation level is required.");
+		validationLevel = newValidationLevel;
+		KNOWN_IDENTIFIERS.clear();
+	}
+
 	/**
 	 * Assert that the given String contains valid text content; that is, it must not
 	 * be {@code null} and must contain at least one non-whitespace character.
@@ -34,11 +57,50 @@ final class Assert {
 	 * @throws IllegalArgumentException if the text does not contain valid text content
 	 */
 	public static void hasText(String text, String message) {
-		if (!hasText(text)) {
+		boolean valid = validationLevel == ValidationLevel.OFF ? !isEmpty(text) : hasText(text);
+		if (!valid) {
 			throw new IllegalArgumentException(message);
 		}
 	}
 
+	/**
+	 * Assert that the given String is a valid identifier as defined by {@link Cypher#isIdentifier(CharSequence)}.
+	 * With {@link ValidationLevel#CACHED}, names that have been validated once are not checked again, with
+	 * {@link ValidationLevel#OFF} only the presence of a name is checked.
+	 *
+	 * @param name           the String to check
+	 * @param emptyMessage   the exception message to use if the name is empty
+	 * @param invalidMessage the exception message to use if the name is not a valid identifier
+	 * @throws IllegalArgumentException if the name is empty or not a valid identifier
+	 */
+	static void isIdentifier(String name, String emptyMessage, String invalidMessage) {
+
+		ValidationLevel currentLevel = validationLevel;
+		if (currentLevel == ValidationLevel.CACHED && name != null && KNOWN_IDENTIFIERS.contains(name)) {
+			return;
+		}
+
+		hasText(name, emptyMessage);
+		if (currentLevel == ValidationLevel.OFF) {
+			return;
+		}
+
+		isTrue(Cypher.isIdentifier(name), invalidMessage);
+		if (currentLevel == ValidationLevel.CACHED) {
+			if (KNOWN_IDENTIFIERS.size() >= MAX_KNOWN_IDENTIFIERS) {
+				KNOWN_IDENTIFIERS.clear();
+			}
+			KNOWN_IDENTIFIERS.add(name);
+		}
+	}
+
+	/**
+	 * @return True, if duplicate keys in maps and projections should be detected
+	 */
+	static boolean checksForDuplicateKeys() {
+		return validationLevel != ValidationLevel.OFF;
+	}
+
 	/**
 	 * Assert a boolean expression, throwing an {@code IllegalArgumentException}
 	 * if the expression evaluates to {@code false}.
@@ -113,6 +175,10 @@ final class Assert {
 		return false;
 	}
 
+	private static boolean isEmpty(String str) {
+		return str == null || str.isEmpty();
+	}
+
 	private static boolean isEmpty(Object[] array) {
 		return (array == null || array.length == 0);
 	}
@@ -0,0 +1,891 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static java.util.stream.Collectors.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.neo4j.cypherdsl.core.Case.CaseEnding;
+import org.neo4j.cypherdsl.core.Case.CaseWhenThen;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * A structural view on a single element of the AST: The kind of the element, its scalar attributes and its children.
+ * Children are elements of the AST themselves and are {@literal null} where an element has an optional part that is
+ * not present. Fixed children always come first, followed by the variable number of children of list like elements.
+ * <p>
+ * Elements can be {@link #decompose(Visitable) decomposed} into this view and {@link #compose() composed} back into
+ * an equivalent element. This gives generic tooling like the {@link StatementCodec} access to the otherwise opaque
+ * and immutable classes of this package without the need of reflection.
+ *
+ * @since 2020.0.0
+ */
+final class AstElement {
+
+	/**
+	 * Marker for kinds with a variable number of children.
+	 */
+	private static final int VARIABLE = -1;
+
+	/**
+	 * The supported kinds of elements together with their number of attributes and children. The ids are part of the
+	 * binary format of the {@link StatementCodec} and must not be changed or reused.
+	 */
+	enum Kind {
+		SINGLE_PART_QUERY(1, 0, VARIABLE),
+		MULTI_PART_QUERY(2, 0, VARIABLE),
+		MULTI_PART_ELEMENT(3, 0, VARIABLE),
+		UNION_QUERY(4, 1, VARIABLE),
+		UNION_PART(5, 1, 1),
+		MATCH(6, 1, VARIABLE),
+		WHERE(7, 0, 1),
+		CREATE(8, 0, 1),
+		MERGE(9, 0, 1),
+		DELETE(10, 1, 1),
+		SET(11, 0, 1),
+		REMOVE(12, 0, 1),
+		UNWIND(13, 1, 1),
+		RETURN(14, 1, 1),
+		WITH(15, 1, 2),
+		RETURN_BODY(16, 0, 4),
+		ORDER(17, 0, VARIABLE),
+		SORT_ITEM(18, 1, 1),
+		SKIP(19, 1, 0),
+		LIMIT(20, 1, 0),
+		EXPRESSION_LIST(21, 0, VARIABLE),
+		PATTERN(22, 0, VARIABLE),
+		NODE(23, 1, 2),
+		RELATIONSHIP(24, 0, 3),
+		RELATIONSHIP_DETAIL(25, 1, 4),
+		RELATIONSHIP_TYPES(26, 1, 0),
+		RELATIONSHIP_LENGTH(27, 3, 0),
+		RELATIONSHIP_CHAIN(28, 0, VARIABLE),
+		PROPERTIES(29, 0, 1),
+		NODE_LABELS(30, 1, 0),
+		NAMED_PATH(31, 0, 2),
+		SYMBOLIC_NAME(32, 1, 0),
+		PARAMETER(33, 1, 0),
+		PROPERTY(34, 0, 2),
+		PROPERTY_LOOKUP(35, 1, 0),
+		STRING_LITERAL(36, 1, 0),
+		NUMBER_LITERAL(37, 1, 0),
+		BOOLEAN_LITERAL(38, 1, 0),
+		NULL_LITERAL(39, 0, 0),
+		LIST_LITERAL(40, 0, VARIABLE),
+		ASTERISK(41, 0, 0),
+		INT_ARRAY_LITERAL(42, 1, 0),
+		LONG_ARRAY_LITERAL(43, 1, 0),
+		DOUBLE_ARRAY_LITERAL(44, 1, 0),
+		MAP_LITERAL(45, 1, VARIABLE),
+		ALIASED_EXPRESSION(46, 1, 1),
+		COMPARISON(47, 1, 2),
+		COMPOUND_CONDITION(48, 1, VARIABLE),
+		CONSTANT_CONDITION(49, 1, 0),
+		NOT_CONDITION(50, 0, 1),
+		HAS_LABEL_CONDITION(51, 1, 1),
+		BOOLEAN_FUNCTION_CONDITION(52, 0, 1),
+		RELATIONSHIP_PATTERN_CONDITION(53, 0, 1),
+		EXCLUDED_PATTERN(54, 0, 1),
+		OPERATION(55, 1, 2),
+		FUNCTION_INVOCATION(56, 1, 1),
+		LIST_EXPRESSION(57, 0, 1),
+		MAP_EXPRESSION(58, 0, VARIABLE),
+		KEY_VALUE_MAP_ENTRY(59, 1, 1),
+		MAP_PROJECTION(60, 0, 2),
+		PATTERN_COMPREHENSION(61, 0, 3),
+		LIST_COMPREHENSION(62, 0, 4),
+		LIST_PREDICATE(63, 0, 3),
+		CASE(64, 1, VARIABLE),
+		DISTINCT_EXPRESSION(65, 0, 1),
+		NESTED_EXPRESSION(66, 0, 1),
+		HINT(67, 4, 0),
+		STATEMENT_WITH_OPTIONS(68, 3, 1),
+		SUBQUERY(69, 2, 1);
+
+		private static final Kind[] BY_ID;
+
+		static {
+			int maxId = Arrays.stream(values()).mapToInt(Kind::getId).max().orElse(0);
+			BY_ID = new Kind[maxId + 1];
+			for (Kind kind : values()) {
+				BY_ID[kind.getId()] = kind;
+			}
+		}
+
+		private final int id;
+
+		private final int numberOfAttributes;
+
+		private final int numberOfChildren;
+
+		Kind(int id, int numberOfAttributes, int numberOfChildren) {
+			this.id = id;
+			this.numberOfAttributes = numberOfAttributes;
+			this.numberOfChildren = numberOfChildren;
+		}
+
+		int getId() {
+			return id;
+		}
+
+		int getNumberOfAttributes() {
+			return numberOfAttributes;
+		}
+
+		int getNumberOfChildren() {
+			return numberOfChildren;
+		}
+
+		boolean hasVariableNumberOfChildren() {
+			return numberOfChildren == VARIABLE;
+		}
+
+		static Kind of(int id) {
+
+			Kind kind = id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+			Assert.notNull(kind, "Unknown element kind " + id + ".");
+			return kind;
+		}
+	}
+
+	private static final Object[] NO_ATTRIBUTES = new Object[0];
+
+	/**
+	 * The names of aggregating functions, in lower case.
+	 */
+	static final java.util.Set<String> AGGREGATING_FUNCTIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+		"avg", "collect", "count", "max", "min", "percentilecont", "percentiledisc", "stdev", "stdevp", "sum")));
+
+	/**
+	 * Kinds of elements declaring variables.
+	 */
+	private static final EnumSet<Kind> DECLARING_KINDS = EnumSet.of(Kind.SYMBOLIC_NAME, Kind.ALIASED_EXPRESSION,
+		Kind.UNWIND);
+
+	private final Kind kind;
+
+	private final Object[] attributes;
+
+	private final List<Visitable> children;
+
+	AstElement(Kind kind, Object[] attributes, List<Visitable> children) {
+
+		this.kind = kind;
+		this.attributes = attributes;
+		this.children = children;
+	}
+
+	private static AstElement of(Kind kind, Object[] attributes, Visitable... children) {
+		return new AstElement(kind, attributes, Arrays.asList(children));
+	}
+
+	private static AstElement of(Kind kind, Object[] attributes, List<? extends Visitable> fixed,
+		List<? extends Visitable> variable) {
+
+		List<Visitable> children = new ArrayList<>(fixed.size() + variable.size());
+		children.addAll(fixed);
+		children.addAll(variable);
+		return new AstElement(kind, attributes, children);
+	}
+
+	private static Object[] attributes(Object... values) {
+		return values;
+	}
+
+	Kind getKind() {
+		return kind;
+	}
+
+	Object[] getAttributes() {
+		return attributes;
+	}
+
+	List<Visitable> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * Creates a new view on an element of the same kind and with the same attributes but with other children.
+	 *
+	 * @param newChildren The new children
+	 * @return A new view
+	 */
+	AstElement withChildren(List<Visitable> newChildren) {
+		return new AstElement(kind, attributes, new ArrayList<>(newChildren));
+	}
+
+	/**
+	 * @return True if this is a single-part query, a multi-part query or a part of the latter, whose children are
+	 * clauses or parts
+	 */
+	boolean isSequenceOfClauses() {
+		return kind == Kind.SINGLE_PART_QUERY || kind == Kind.MULTI_PART_QUERY || kind == Kind.MULTI_PART_ELEMENT;
+	}
+
+	/**
+	 * The final clause or part of a {@link #isSequenceOfClauses() sequence of clauses} is its first child, so it is
+	 * moved to the end.
+	 *
+	 * @return The clauses or parts of this sequence in the order they are executed, without missing ones
+	 */
+	List<Visitable> getClausesInOrder() {
+
+		Assert.isTrue(isSequenceOfClauses(), kind + " is not a sequence of clauses.");
+		List<Visitable> clauses = new ArrayList<>(children.subList(1, children.size()));
+		if (children.get(0) != null) {
+			clauses.add(children.get(0));
+		}
+		return clauses;
+	}
+
+	/**
+	 * Performs an action for an element and all elements reachable from it, parents before their children.
+	 *
+	 * @param root   The element to start with, may be {@literal null}
+	 * @param action The action to perform
+	 */
+	static void forEachElement(Visitable root, Consumer<Visitable> action) {
+
+		if (root == null) {
+			return;
+		}
+		action.accept(root);
+		decompose(root).children.forEach(child -> forEachElement(child, action));
+	}
+
+	/**
+	 * @param root      The element to start with, may be {@literal null}
+	 * @param predicate The predicate to test
+	 * @return True if the predicate holds for the element or any element reachable from it
+	 */
+	static boolean contains(Visitable root, Predicate<Visitable> predicate) {
+
+		if (root == null) {
+			return false;
+		}
+		return predicate.test(root) || decompose(root).children.stream().anyMatch(child -> contains(child, predicate));
+	}
+
+	/**
+	 * @param element       An element
+	 * @param functionNames Names of functions, in lower case
+	 * @return True if the element is an invocation of one of the given functions
+	 */
+	static boolean isInvocationOf(Visitable element, java.util.Set<String> functionNames) {
+
+		return element instanceof FunctionInvocation
+			&& functionNames.contains(((FunctionInvocation) element).getFunctionName().toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * @param root The element to start with, may be {@literal null}
+	 * @return True if the element or any element reachable from it is an invocation of an aggregating function
+	 */
+	static boolean containsAggregation(Visitable root) {
+		return contains(root, element -> isInvocationOf(element, AGGREGATING_FUNCTIONS));
+	}
+
+	/**
+	 * @param clauses Clauses of a query
+	 * @return True if any of the clauses declares a variable or an alias
+	 */
+	static boolean declaresVariables(List<Visitable> clauses) {
+		return clauses.stream().anyMatch(clause -> contains(clause,
+			element -> DECLARING_KINDS.contains(decompose(element).kind)));
+	}
+
+	/**
+	 * Computes the variables that are bound after a projection, which are only those it projects.
+	 *
+	 * @param items      The items of the {@code WITH} clause
+	 * @param boundNames The variables bound before the projection, all of which are projected by {@code *}
+	 * @return The variables bound after the projection
+	 */
+	static java.util.Set<String> namesProjectedBy(List<Visitable> items, java.util.Set<String> boundNames) {
+
+		java.util.Set<String> projectedNames = new HashSet<>();
+		for (Visitable item : items) {
+			if (item instanceof Asterisk) {
+				projectedNames.addAll(boundNames);
+			} else if (item instanceof SymbolicName) {
+				projectedNames.add(((SymbolicName) item).getValue());
+			} else if (item instanceof AliasedExpression) {
+				projectedNames.add(((AliasedExpression) item).getAlias());
+			}
+		}
+		return projectedNames;
+	}
+
+	/**
+	 * Compares two elements by their structure.
+	 *
+	 * @param element An element, may be {@literal null}
+	 * @param other   Another element, may be {@literal null}
+	 * @return True if both elements are of the same kind, have equal attributes and structurally equal children
+	 */
+	static boolean isStructurallyEqual(Visitable element, Visitable other) {
+
+		if (element == other) {
+			return true;
+		}
+		if (element == null || other == null) {
+			return false;
+		}
+		AstElement astElement = decompose(element);
+		AstElement otherAstElement = decompose(other);
+		if (astElement.kind != otherAstElement.kind
+			|| !Arrays.deepEquals(astElement.attributes, otherAstElement.attributes)
+			|| astElement.children.size() != otherAstElement.children.size()) {
+			return false;
+		}
+		for (int i = 0; i < astElement.children.size(); ++i) {
+			if (!isStructurallyEqual(astElement.children.get(i), otherAstElement.children.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Decomposes the given element.
+	 *
+	 * @param element The element to decompose
+	 * @return A structural view on the element
+	 * @throws IllegalArgumentException if the element is not supported
+	 */
+	static AstElement decompose(Visitable element) {
+
+		Assert.notNull(element, "Cannot decompose a null element.");
+
+		if (element instanceof SinglePartQuery) {
+			SinglePartQuery query = (SinglePartQuery) element;
+			return of(Kind.SINGLE_PART_QUERY, NO_ATTRIBUTES,
+				Collections.singletonList(query.getReturn()), query.getPrecedingClauses());
+		} else if (element instanceof MultiPartQuery) {
+			MultiPartQuery query = (MultiPartQuery) element;
+			return of(Kind.MULTI_PART_QUERY, NO_ATTRIBUTES,
+				Collections.singletonList(query.getRemainder()), query.getParts());
+		} else if (element instanceof MultiPartElement) {
+			MultiPartElement part = (MultiPartElement) element;
+			return of(Kind.MULTI_PART_ELEMENT, NO_ATTRIBUTES,
+				Collections.singletonList(part.getWith()), part.getPrecedingClauses());
+		} else if (element instanceof UnionQuery) {
+			UnionQuery query = (UnionQuery) element;
+			return of(Kind.UNION_QUERY, attributes(query.isAll()),
+				Collections.singletonList(query.getFirstQuery()), query.getAdditionalQueries());
+		} else if (element instanceof UnionPart) {
+			UnionPart part = (UnionPart) element;
+			return of(Kind.UNION_PART, attributes(part.isAll()), part.getQuery());
+		} else if (element instanceof StatementWithOptions) {
+			StatementWithOptions statement = (StatementWithOptions) element;
+			QueryOptions options = statement.getOptions();
+			List<String> namesAndValues = new ArrayList<>();
+			options.getOptions().forEach((name, value) -> {
+				namesAndValues.add(name);
+				namesAndValues.add(value);
+			});
+			return of(Kind.STATEMENT_WITH_OPTIONS, attributes(options.getVersion().orElse(null), namesAndValues,
+				options.getMode().map(Enum::name).orElse(null)), statement.getStatement());
+		} else if (element instanceof Match) {
+			Match match = (Match) element;
+			return of(Kind.MATCH, attributes(match.isOptional()),
+				Arrays.asList(match.getPattern(), match.getOptionalWhere()), match.getHints());
+		} else if (element instanceof Hint) {
+			Hint hint = (Hint) element;
+			return of(Kind.HINT, attributes(hint.getType().name(),
+				hint.getSymbolicNames().stream().map(SymbolicName::getValue).collect(toList()),
+				hint.getLabel().orElse(null), hint.getPropertyKeys()));
+		} else if (element instanceof Where) {
+			return of(Kind.WHERE, NO_ATTRIBUTES, ((Where) element).getCondition());
+		} else if (element instanceof Create) {
+			return of(Kind.CREATE, NO_ATTRIBUTES, ((Create) element).getPattern());
+		} else if (element instanceof Merge) {
+			return of(Kind.MERGE, NO_ATTRIBUTES, ((Merge) element).getPattern());
+		} else if (element instanceof Delete) {
+			Delete delete = (Delete) element;
+			return of(Kind.DELETE, attributes(delete.isDetach()), delete.getDeleteItems());
+		} else if (element instanceof Set) {
+			return of(Kind.SET, NO_ATTRIBUTES, ((Set) element).getSetItems());
+		} else if (element instanceof Remove) {
+			return of(Kind.REMOVE, NO_ATTRIBUTES, ((Remove) element).getRemoveItems());
+		} else if (element instanceof Subquery) {
+			Subquery subquery = (Subquery) element;
+			return of(Kind.SUBQUERY, attributes(subquery.isInTransactions(),
+				subquery.getRowsPerTransaction().orElse(null)), subquery.getStatement());
+		} else if (element instanceof Unwind) {
+			Unwind unwind = (Unwind) element;
+			return of(Kind.UNWIND, attributes(unwind.getVariable()), unwind.getExpressionToUnwind());
+		} else if (element instanceof Return) {
+			Return aReturn = (Return) element;
+			return of(Kind.RETURN, attributes(aReturn.isDistinct()), aReturn.getBody());
+		} else if (element instanceof With) {
+			With with = (With) element;
+			return of(Kind.WITH, attributes(with.isDistinct()), with.getBody(), with.getWhere());
+		} else if (element instanceof ReturnBody) {
+			ReturnBody body = (ReturnBody) element;
+			return of(Kind.RETURN_BODY, NO_ATTRIBUTES,
+				body.getReturnItems(), body.getOrder(), body.getSkip(), body.getLimit());
+		} else if (element instanceof Order) {
+			return of(Kind.ORDER, NO_ATTRIBUTES, Collections.emptyList(), ((Order<?>) element).getSortItems());
+		} else if (element instanceof SortItem) {
+			SortItem sortItem = (SortItem) element;
+			return of(Kind.SORT_ITEM, attributes(sortItem.getDirection()), sortItem.getExpression());
+		} else if (element instanceof Skip) {
+			return of(Kind.SKIP, attributes(((Skip) element).getSkipAmount().getContent()));
+		} else if (element instanceof Limit) {
+			return of(Kind.LIMIT, attributes(((Limit) element).getLimitAmount().getContent()));
+		} else if (element instanceof ExpressionList) {
+			return of(Kind.EXPRESSION_LIST, NO_ATTRIBUTES, Collections.emptyList(),
+				((ExpressionList<?>) element).getExpressions());
+		} else if (element instanceof Pattern) {
+			return of(Kind.PATTERN, NO_ATTRIBUTES, Collections.emptyList(),
+				((Pattern<?>) element).getPatternElements());
+		}
+		return decomposePatternElement(element);
+	}
+
+	private static AstElement decomposePatternElement(Visitable element) {
+
+		if (element instanceof Node) {
+			Node node = (Node) element;
+			return of(Kind.NODE, attributes(labelValues(node.getLabels())),
+				node.getSymbolicName().orElse(null), node.getProperties());
+		} else if (element instanceof Relationship) {
+			Relationship relationship = (Relationship) element;
+			return of(Kind.RELATIONSHIP, NO_ATTRIBUTES,
+				relationship.getLeft(), relationship.getDetails(), relationship.getRight());
+		} else if (element instanceof RelationshipDetail) {
+			RelationshipDetail details = (RelationshipDetail) element;
+			return of(Kind.RELATIONSHIP_DETAIL, attributes(details.getDirection()),
+				details.getSymbolicName().orElse(null), details.getTypes(), details.getLength(),
+				details.getProperties());
+		} else if (element instanceof RelationshipTypes) {
+			return of(Kind.RELATIONSHIP_TYPES, attributes(((RelationshipTypes) element).getValues()));
+		} else if (element instanceof RelationshipLength) {
+			RelationshipLength length = (RelationshipLength) element;
+			return of(Kind.RELATIONSHIP_LENGTH,
+				attributes(length.getMinimum(), length.getMaximum(), length.isUnbounded()));
+		} else if (element instanceof RelationshipChain) {
+			return of(Kind.RELATIONSHIP_CHAIN, NO_ATTRIBUTES, Collections.emptyList(),
+				((RelationshipChain) element).getRelationships());
+		} else if (element instanceof Properties) {
+			return of(Kind.PROPERTIES, NO_ATTRIBUTES, ((Properties) element).getProperties());
+		} else if (element instanceof NodeLabels) {
+			return of(Kind.NODE_LABELS, attributes(labelValues(((NodeLabels) element).getValues())));
+		} else if (element instanceof NamedPath) {
+			NamedPath namedPath = (NamedPath) element;
+			return of(Kind.NAMED_PATH, NO_ATTRIBUTES,
+				namedPath.getSymbolicName().orElse(null), namedPath.getPattern());
+		} else if (element instanceof SymbolicName) {
+			return of(Kind.SYMBOLIC_NAME, attributes(((SymbolicName) element).getValue()));
+		} else if (element instanceof Parameter) {
+			return of(Kind.PARAMETER, attributes(((Parameter) element).getName()));
+		} else if (element instanceof Property) {
+			Property property = (Property) element;
+			return of(Kind.PROPERTY, NO_ATTRIBUTES, property.getContainer(), property.getName());
+		} else if (element instanceof PropertyLookup) {
+			return of(Kind.PROPERTY_LOOKUP, attributes(((PropertyLookup) element).getPropertyKeyName()));
+		} else if (element instanceof Literal) {
+			return decomposeLiteral((Literal<?>) element);
+		}
+		return decomposeExpression(element);
+	}
+
+	private static AstElement decomposeLiteral(Literal<?> literal) {
+
+		if (literal instanceof StringLiteral) {
+			return of(Kind.STRING_LITERAL, attributes(((StringLiteral) literal).getContent().toString()));
+		} else if (literal instanceof NumberLiteral) {
+			return of(Kind.NUMBER_LITERAL, attributes(((NumberLiteral) literal).getContent()));
+		} else if (literal instanceof BooleanLiteral) {
+			return of(Kind.BOOLEAN_LITERAL, attributes(((BooleanLiteral) literal).getContent()));
+		} else if (literal instanceof NullLiteral) {
+			return of(Kind.NULL_LITERAL, NO_ATTRIBUTES);
+		} else if (literal instanceof Asterisk) {
+			return of(Kind.ASTERISK, NO_ATTRIBUTES);
+		} else if (literal instanceof ListLiteral) {
+			List<Literal<?>> elements = new ArrayList<>();
+			((ListLiteral) literal).getContent().forEach(elements::add);
+			return of(Kind.LIST_LITERAL, NO_ATTRIBUTES, Collections.emptyList(), elements);
+		} else if (literal instanceof IntArrayLiteral) {
+			return of(Kind.INT_ARRAY_LITERAL, attributes(((IntArrayLiteral) literal).getContent()));
+		} else if (literal instanceof LongArrayLiteral) {
+			return of(Kind.LONG_ARRAY_LITERAL, attributes(((LongArrayLiteral) literal).getContent()));
+		} else if (literal instanceof DoubleArrayLiteral) {
+			return of(Kind.DOUBLE_ARRAY_LITERAL, attributes(((DoubleArrayLiteral) literal).getContent()));
+		} else if (literal instanceof MapLiteral) {
+			Map<String, Literal<?>> content = ((MapLiteral) literal).getContent();
+			return of(Kind.MAP_LITERAL, attributes(new ArrayList<>(content.keySet())),
+				Collections.emptyList(), new ArrayList<>(content.values()));
+		}
+		throw new IllegalArgumentException("Unsupported literal " + literal.getClass().getName() + ".");
+	}
+
+	private static AstElement decomposeExpression(Visitable element) {
+
+		if (element instanceof AliasedExpression) {
+			AliasedExpression aliasedExpression = (AliasedExpression) element;
+			return of(Kind.ALIASED_EXPRESSION, attributes(aliasedExpression.getAlias()),
+				aliasedExpression.getDelegate());
+		} else if (element instanceof Comparison) {
+			Comparison comparison = (Comparison) element;
+			return of(Kind.COMPARISON, attributes(comparison.getComparator()),
+				comparison.getLeft(), comparison.getRight());
+		} else if (element instanceof CompoundCondition) {
+			CompoundCondition condition = (CompoundCondition) element;
+			return of(Kind.COMPOUND_CONDITION, attributes(condition.getOperator()),
+				Collections.emptyList(), condition.getConditions());
+		} else if (element instanceof ConstantCondition) {
+			return of(Kind.CONSTANT_CONDITION, attributes(((ConstantCondition) element).getValue().getContent()));
+		} else if (element instanceof NotCondition) {
+			return of(Kind.NOT_CONDITION, NO_ATTRIBUTES, ((NotCondition) element).getCondition());
+		} else if (element instanceof HasLabelCondition) {
+			HasLabelCondition condition = (HasLabelCondition) element;
+			return of(Kind.HAS_LABEL_CONDITION, attributes(labelValues(condition.getNodeLabels())),
+				condition.getNodeName());
+		} else if (element instanceof BooleanFunctionCondition) {
+			return of(Kind.BOOLEAN_FUNCTION_CONDITION, NO_ATTRIBUTES,
+				((BooleanFunctionCondition) element).getDelegate());
+		} else if (element instanceof RelationshipPatternCondition) {
+			return of(Kind.RELATIONSHIP_PATTERN_CONDITION, NO_ATTRIBUTES,
+				((RelationshipPatternCondition) element).getPathPattern());
+		} else if (element instanceof ExcludedPattern) {
+			return of(Kind.EXCLUDED_PATTERN, NO_ATTRIBUTES, ((ExcludedPattern) element).getPatternElement());
+		} else if (element instanceof Operation) {
+			Operation operation = (Operation) element;
+			return of(Kind.OPERATION, attributes(operation.getOperator()), operation.getLeft(), operation.getRight());
+		} else if (element instanceof FunctionInvocation) {
+			FunctionInvocation invocation = (FunctionInvocation) element;
+			return of(Kind.FUNCTION_INVOCATION, attributes(invocation.getFunctionName()), invocation.getArguments());
+		} else if (element instanceof ListExpression) {
+			return of(Kind.LIST_EXPRESSION, NO_ATTRIBUTES, ((ListExpression) element).getContent());
+		} else if (element instanceof MapExpression) {
+			return of(Kind.MAP_EXPRESSION, NO_ATTRIBUTES, Collections.emptyList(),
+				((MapExpression<?>) element).getEntries());
+		} else if (element instanceof KeyValueMapEntry) {
+			KeyValueMapEntry entry = (KeyValueMapEntry) element;
+			return of(Kind.KEY_VALUE_MAP_ENTRY, attributes(entry.getKey()), entry.getValue());
+		} else if (element instanceof MapProjection) {
+			MapProjection projection = (MapProjection) element;
+			return of(Kind.MAP_PROJECTION, NO_ATTRIBUTES, projection.getName(), projection.getMap());
+		} else if (element instanceof PatternComprehension) {
+			PatternComprehension comprehension = (PatternComprehension) element;
+			return of(Kind.PATTERN_COMPREHENSION, NO_ATTRIBUTES,
+				comprehension.getPattern(), comprehension.getWhere(), comprehension.getListDefinition());
+		} else if (element instanceof ListComprehension) {
+			ListComprehension comprehension = (ListComprehension) element;
+			return of(Kind.LIST_COMPREHENSION, NO_ATTRIBUTES, comprehension.getVariable(),
+				comprehension.getListExpression(), comprehension.getWhere(), comprehension.getListDefinition());
+		} else if (element instanceof ListPredicate) {
+			ListPredicate predicate = (ListPredicate) element;
+			return of(Kind.LIST_PREDICATE, NO_ATTRIBUTES,
+				predicate.getVariable(), predicate.getListExpression(), predicate.getWhere());
+		} else if (element instanceof Case) {
+			return decomposeCase((Case) element);
+		} else if (element instanceof DistinctExpression) {
+			return of(Kind.DISTINCT_EXPRESSION, NO_ATTRIBUTES, ((DistinctExpression) element).getDelegate());
+		} else if (element instanceof NestedExpression) {
+			return of(Kind.NESTED_EXPRESSION, NO_ATTRIBUTES, ((NestedExpression) element).getDelegate());
+		}
+		throw new IllegalArgumentException("Unsupported element " + element.getClass().getName() + ".");
+	}
+
+	private static AstElement decomposeCase(Case aCase) {
+
+		List<Visitable> children = new ArrayList<>();
+		children.add(aCase.getCaseExpression());
+		children.add(aCase.getCaseElse() == null ? null : aCase.getCaseElse().getElseExpression());
+		for (CaseWhenThen caseWhenThen : aCase.getCaseWhenThens()) {
+			children.add(caseWhenThen.getWhenExpression());
+			children.add(caseWhenThen.getThenExpression());
+		}
+		return new AstElement(Kind.CASE, attributes(aCase.getCaseExpression() != null), children);
+	}
+
+	private static List<String> labelValues(List<NodeLabel> labels) {
+		return labels.stream().map(NodeLabel::getValue).collect(toList());
+	}
+
+	private static List<NodeLabel> nodeLabels(Object values) {
+		return stringList(values).stream().map(NodeLabel::new).collect(toList());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> stringList(Object values) {
+		return (List<String>) values;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends Visitable> T child(int index) {
+		return (T) children.get(index);
+	}
+
+	@SuppressWarnings("unchecked")
+	private QueryOptions queryOptions() {
+
+		List<String> namesAndValues = stringList(attributes[1]);
+		Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i < namesAndValues.size(); i += 2) {
+			options.put(namesAndValues.get(i), namesAndValues.get(i + 1));
+		}
+		QueryOptions.Mode mode = attributes[2] == null ? null : QueryOptions.Mode.valueOf((String) attributes[2]);
+		return new QueryOptions((String) attributes[0], options, mode);
+	}
+
+	private <T extends Visitable> List<T> childrenFrom(int index) {
+		return (List<T>) children.subList(index, children.size());
+	}
+
+	private boolean booleanAttribute(int index) {
+		return (Boolean) attributes[index];
+	}
+
+	private String stringAttribute(int index) {
+		return (String) attributes[index];
+	}
+
+	/**
+	 * Composes a new element from this view. Elements without state are shared, everything else is created anew.
+	 *
+	 * @return A new element
+	 */
+	Visitable compose() {
+
+		switch (kind) {
+			case SINGLE_PART_QUERY:
+				return new SinglePartQuery(childrenFrom(1), child(0));
+			case MULTI_PART_QUERY:
+				return new MultiPartQuery(childrenFrom(1), child(0));
+			case MULTI_PART_ELEMENT:
+				return new MultiPartElement(childrenFrom(1), child(0));
+			case UNION_QUERY:
+				return new UnionQuery(booleanAttribute(0), child(0), childrenFrom(1));
+			case UNION_PART:
+				return new UnionPart(booleanAttribute(0), child(0));
+			case STATEMENT_WITH_OPTIONS:
+				return new StatementWithOptions(queryOptions(), child(0));
+			case MATCH:
+				return new Match(booleanAttribute(0), child(0), childrenFrom(2), child(1));
+			case HINT:
+				return new Hint(Hint.Type.valueOf((String) attributes[0]),
+					stringList(attributes[1]).stream().map(SymbolicName::create).collect(toList()),
+					(String) attributes[2], stringList(attributes[3]));
+			case WHERE:
+				return new Where(child(0));
+			case CREATE:
+				return new Create(child(0));
+			case MERGE:
+				return new Merge(child(0));
+			case DELETE:
+				return new Delete(child(0), booleanAttribute(0));
+			case SET:
+				return new Set(child(0));
+			case REMOVE:
+				return new Remove(child(0));
+			case UNWIND:
+				return new Unwind(child(0), stringAttribute(0));
+			case SUBQUERY:
+				return new Subquery(child(0), booleanAttribute(0), (Integer) attributes[1]);
+			case RETURN:
+				return new Return(booleanAttribute(0), child(0));
+			case WITH:
+				return new With(booleanAttribute(0), child(0), child(1));
+			case RETURN_BODY:
+				return new ReturnBody(child(0), child(1), child(2), child(3));
+			case ORDER:
+				return new Order<>(childrenFrom(0));
+			case SORT_ITEM:
+				return SortItem.create(child(0), (SortItem.Direction) attributes[0]);
+			case SKIP:
+				return Skip.create((Number) attributes[0]);
+			case LIMIT:
+				return Limit.create((Number) attributes[0]);
+			case EXPRESSION_LIST:
+				return new ExpressionList<>(this.<Expression>childrenFrom(0));
+			case PATTERN:
+				return new Pattern<>(childrenFrom(0));
+			default:
+				return composePatternElement();
+		}
+	}
+
+	private Visitable composePatternElement() {
+
+		switch (kind) {
+			case NODE:
+				return new Node(child(0), child(1), nodeLabels(attributes[0]));
+			case RELATIONSHIP:
+				return new Relationship(child(0), child(1), child(2));
+			case RELATIONSHIP_DETAIL:
+				return new RelationshipDetail((Relationship.Direction) attributes[0],
+					child(0), child(1), child(2), child(3));
+			case RELATIONSHIP_TYPES:
+				return new RelationshipTypes(stringList(attributes[0]));
+			case RELATIONSHIP_LENGTH:
+				return booleanAttribute(2) ?
+					new RelationshipLength() :
+					new RelationshipLength((Integer) attributes[0], (Integer) attributes[1]);
+			case RELATIONSHIP_CHAIN:
+				RelationshipChain chain = null;
+				for (Relationship relationship : this.<Relationship>childrenFrom(0)) {
+					chain = chain == null ? RelationshipChain.create(relationship) : chain.add(relationship);
+				}
+				Assert.notNull(chain, "A relationship chain requires at least one relationship.");
+				return chain;
+			case PROPERTIES:
+				return new Properties(child(0));
+			case NODE_LABELS:
+				return new NodeLabels(nodeLabels(attributes[0]));
+			case NAMED_PATH:
+				Visitable pattern = child(1);
+				return pattern instanceof FunctionInvocation ?
+					new NamedPath(child(0), (FunctionInvocation) pattern) :
+					new NamedPath(child(0), (RelationshipPattern) pattern);
+			case SYMBOLIC_NAME:
+				return SymbolicName.create(stringAttribute(0));
+			case PARAMETER:
+				return Parameter.create(stringAttribute(0));
+			case PROPERTY:
+				return new Property(child(0), child(1));
+			case PROPERTY_LOOKUP:
+				return new PropertyLookup(stringAttribute(0));
+			default:
+				return composeLiteral();
+		}
+	}
+
+	private Visitable composeLiteral() {
+
+		switch (kind) {
+			case STRING_LITERAL:
+				return new StringLiteral(stringAttribute(0));
+			case NUMBER_LITERAL:
+				return new NumberLiteral((Number) attributes[0]);
+			case BOOLEAN_LITERAL:
+				return BooleanLiteral.of(booleanAttribute(0));
+			case NULL_LITERAL:
+				return NullLiteral.INSTANCE;
+			case ASTERISK:
+				return Asterisk.INSTANCE;
+			case LIST_LITERAL:
+				return new ListLiteral(new ArrayList<>(this.<Literal<?>>childrenFrom(0)));
+			case INT_ARRAY_LITERAL:
+				return new IntArrayLiteral((int[]) attributes[0]);
+			case LONG_ARRAY_LITERAL:
+				return new LongArrayLiteral((long[]) attributes[0]);
+			case DOUBLE_ARRAY_LITERAL:
+				return new DoubleArrayLiteral((double[]) attributes[0]);
+			case MAP_LITERAL:
+				List<String> keys = stringList(attributes[0]);
+				Map<String, Literal<?>> content = new LinkedHashMap<>(keys.size());
+				for (int i = 0; i < keys.size(); ++i) {
+					content.put(keys.get(i), child(i));
+				}
+				return new MapLiteral(Collections.unmodifiableMap(content));
+			default:
+				return composeExpression();
+		}
+	}
+
+	private Visitable composeExpression() {
+
+		switch (kind) {
+			case ALIASED_EXPRESSION:
+				return new AliasedExpression(child(0), stringAttribute(0));
+			case COMPARISON:
+				return new Comparison(child(0), (Operator) attributes[0], child(1));
+			case COMPOUND_CONDITION:
+				List<Condition> conditions = childrenFrom(0);
+				return attributes[0] == null && conditions.isEmpty() ?
+					CompoundCondition.empty() :
+					new CompoundCondition((Operator) attributes[0], conditions);
+			case CONSTANT_CONDITION:
+				return booleanAttribute(0) ? ConstantCondition.TRUE : ConstantCondition.FALSE;
+			case NOT_CONDITION:
+				return new NotCondition(child(0));
+			case HAS_LABEL_CONDITION:
+				return new HasLabelCondition(child(0), nodeLabels(attributes[0]));
+			case BOOLEAN_FUNCTION_CONDITION:
+				return new BooleanFunctionCondition(child(0));
+			case RELATIONSHIP_PATTERN_CONDITION:
+				return new RelationshipPatternCondition(child(0));
+			case EXCLUDED_PATTERN:
+				return new ExcludedPattern(child(0));
+			case OPERATION:
+				Visitable right = child(1);
+				return right instanceof NodeLabels ?
+					new Operation(child(0), (Operator) attributes[0], (NodeLabels) right) :
+					new Operation(child(0), (Operator) attributes[0], (Expression) right);
+			case FUNCTION_INVOCATION:
+				Visitable arguments = child(0);
+				return arguments instanceof Pattern ?
+					new FunctionInvocation(stringAttribute(0), (Pattern<?>) arguments) :
+					new FunctionInvocation(stringAttribute(0), (ExpressionList<?>) arguments);
+			case LIST_EXPRESSION:
+				return new ListExpression(child(0));
+			case MAP_EXPRESSION:
+				return MapExpression.withEntries(new ArrayList<>(this.<Expression>childrenFrom(0)));
+			case KEY_VALUE_MAP_ENTRY:
+				return new KeyValueMapEntry(stringAttribute(0), child(0));
+			case MAP_PROJECTION:
+				return new MapProjection(child(0), child(1));
+			case PATTERN_COMPREHENSION:
+				return new PatternComprehension(child(0), child(1), child(2));
+			case LIST_COMPREHENSION:
+				return new ListComprehension(child(0), child(1), child(2), child(3));
+			case LIST_PREDICATE:
+				return new ListPredicate(child(0), child(1), child(2));
+			case CASE:
+				return composeCase();
+			case DISTINCT_EXPRESSION:
+				return new DistinctExpression(child(0));
+			case NESTED_EXPRESSION:
+				return new NestedExpression(child(0));
+			default:
+				throw new IllegalArgumentException("Unsupported element kind " + kind + ".");
+		}
+	}
+
+	private Visitable composeCase() {
+
+		Case aCase = booleanAttribute(0) ? Case.create(child(0)) : Case.create();
+		CaseEnding ending = null;
+		for (int i = 2; i + 1 < children.size(); i += 2) {
+			Expression whenExpression = child(i);
+			ending = (ending == null ? aCase.when(whenExpression) : ending.when(whenExpression))
+				.then(child(i + 1));
+		}
+		if (ending == null) {
+			return aCase;
+		}
+		Expression elseExpression = child(1);
+		return elseExpression == null ? ending : ending.elseDefault(elseExpression);
+	}
+}
@@ -39,6 +39,10 @@ final class BooleanFunctionCondition implements Condition {
 		this.delegate = delegate;
 	}
 
+	FunctionInvocation getDelegate() {
+		return this.delegate;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		delegate.accept(visitor);
@@ -58,6 +58,10 @@ public abstract class Case implements Visitable {
 		this.caseElse = caseElse;
 	}
 
+	CaseElse getCaseElse() {
+		return caseElse;
+	}
+
 	List<CaseWhenThen> getCaseWhenThens() {
 		return caseWhenThens;
 	}
@@ -200,6 +204,14 @@ public abstract class Case implements Visitable {
 			return new OngoingWhenThen(nextWhenExpression);
 		}
 
+		Expression getWhenExpression() {
+			return whenExpression;
+		}
+
+		Expression getThenExpression() {
+			return thenExpression;
+		}
+
 		@Override
 		public void accept(Visitor visitor) {
 			visitor.enter(this);
@@ -221,6 +233,10 @@ public abstract class Case implements Visitable {
 			this.elseExpression = elseExpression;
 		}
 
+		Expression getElseExpression() {
+			return elseExpression;
+		}
+
 		@Override
 		public void accept(Visitor visitor) {
 			visitor.enter(this);
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Eliminates common subexpressions from statements. Function invocations, pattern comprehensions and list
+ * comprehensions that occur more than once in the condition of a {@code MATCH} clause and the {@code RETURN} or
+ * {@code WITH} clause following it, including its {@code ORDER BY}, are computed once in an additional
+ * {@code WITH} clause and referred to by an alias afterwards:
+ * <pre>
+ * MATCH (s:Store) WHERE toLower(s.name) STARTS WITH $q RETURN s, toLower(s.name) AS name
+ * </pre>
+ * becomes
+ * <pre>
+ * MATCH (s:Store) WITH *, toLower(s.name) AS _cse0 WHERE _cse0 STARTS WITH $q RETURN s, _cse0 AS name
+ * </pre>
+ * The rewrite doesn't change the result of a statement: Only conditions of mandatory matches are moved into the new
+ * {@code WITH} clause, the names of all returned columns are kept, aggregating and non-deterministic functions are
+ * never hoisted and expressions are not hoisted out of {@code CASE} expressions or comprehensions, where they are
+ * evaluated conditionally or depend on local variables. {@code ORDER BY} is only rewritten where it can still refer to
+ * variables that are not projected.
+ * <p>
+ * Conditions the planner may answer with an index, comparing a property or the distance between a property and
+ * another value, stay on the {@code MATCH} clause unchanged, so that the index can still be used, for example by the
+ * bounding boxes of {@link SpatialPredicates}. Projections following clauses that don't declare any variable are not
+ * rewritten, as {@code WITH *} is not allowed there.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class CommonSubexpressionEliminator {
+
+	/**
+	 * The prefix of the aliases of hoisted expressions, followed by a number unique in the statement.
+	 */
+	public static final String ALIAS_PREFIX = "_cse";
+
+	private static final Set<String> NON_DETERMINISTIC_FUNCTIONS = new HashSet<>(Arrays.asList(
+		"rand", "randomuuid"));
+
+	/**
+	 * Kinds of elements whose children are either evaluated conditionally or may refer to local variables.
+	 */
+	private static final EnumSet<Kind> OPAQUE_KINDS = EnumSet.of(Kind.CASE, Kind.LIST_COMPREHENSION,
+		Kind.LIST_PREDICATE, Kind.PATTERN_COMPREHENSION, Kind.BOOLEAN_FUNCTION_CONDITION);
+
+	/**
+	 * Comparisons that the planner may answer with an index if one side is a property.
+	 */
+	private static final EnumSet<Operator> SEEKABLE_COMPARATORS = EnumSet.of(Operator.EQUALITY,
+		Operator.LESS_THAN, Operator.LESS_THAN_OR_EQUAL_TO, Operator.GREATER_THAN, Operator.GREATER_THAN_OR_EQUAL_TO,
+		Operator.STARTS_WITH, Operator.ENDS_WITH, Operator.CONTAINS, Operator.IN, Operator.IS_NOT_NULL);
+
+	/**
+	 * Eliminates common subexpressions from the given statement.
+	 *
+	 * @param statement The statement to rewrite
+	 * @return The rewritten statement, the same instance if it doesn't contain any common subexpressions
+	 */
+	public static Statement rewrite(Statement statement) {
+
+		Assert.notNull(statement, "Statement to rewrite must not be null.");
+		return new Elimination(statement).rewrite(statement);
+	}
+
+	private CommonSubexpressionEliminator() {
+	}
+
+	/**
+	 * The state of rewriting a single statement.
+	 */
+	private static final class Elimination {
+
+		private final Set<String> usedNames = new HashSet<>();
+
+		private final Map<Visitable, Integer> hashCodes = new IdentityHashMap<>();
+
+		private int aliasCounter;
+
+		Elimination(Statement statement) {
+
+			AstElement.forEachElement(statement, element -> {
+				AstElement astElement = AstElement.decompose(element);
+				Kind kind = astElement.getKind();
+				if (kind == Kind.SYMBOLIC_NAME || kind == Kind.ALIASED_EXPRESSION || kind == Kind.UNWIND) {
+					usedNames.add((String) astElement.getAttributes()[0]);
+				}
+			});
+		}
+
+		Statement rewrite(Statement statement) {
+
+			if (statement instanceof SinglePartQuery) {
+				return rewrite((SinglePartQuery) statement);
+			} else if (statement instanceof MultiPartQuery) {
+				return rewrite((MultiPartQuery) statement);
+			} else if (statement instanceof UnionQuery) {
+				return rewrite((UnionQuery) statement);
+			}
+			return statement;
+		}
+
+		private Statement rewrite(UnionQuery query) {
+
+			AstElement astElement = AstElement.decompose(query);
+			List<Visitable> newChildren = new ArrayList<>();
+			boolean changed = false;
+			for (Visitable child : astElement.getChildren()) {
+				Visitable newChild;
+				if (child instanceof UnionPart) {
+					UnionPart part = (UnionPart) child;
+					Statement newQuery = rewrite(part.getQuery());
+					newChild = newQuery == part.getQuery() ? part :
+						new UnionPart(part.isAll(), (Statement.SingleQuery) newQuery);
+				} else {
+					newChild = rewrite((Statement) child);
+				}
+				changed |= newChild != child;
+				newChildren.add(newChild);
+			}
+			return changed ? (Statement) astElement.withChildren(newChildren).compose() : query;
+		}
+
+		private Statement rewrite(SinglePartQuery query) {
+
+			Return aReturn = query.getReturn();
+			Hoisting hoisting = aReturn == null ? null :
+				hoist(query.getPrecedingClauses(), aReturn.isDistinct(), aReturn.getBody());
+			if (hoisting == null) {
+				return query;
+			}
+			return new MultiPartQuery(Collections.singletonList(hoisting.part), hoisting.remainder(aReturn));
+		}
+
+		private Statement rewrite(MultiPartQuery query) {
+
+			List<MultiPartElement> newParts = new ArrayList<>();
+			boolean changed = false;
+			for (MultiPartElement part : query.getParts()) {
+				With with = part.getWith();
+				Hoisting hoisting = hoist(part.getPrecedingClauses(), with.isDistinct(), with.getBody());
+				if (hoisting == null) {
+					newParts.add(part);
+				} else {
+					newParts.add(hoisting.part);
+					newParts.add(new MultiPartElement(Collections.emptyList(),
+						new With(with.isDistinct(), hoisting.body, with.getWhere())));
+					changed = true;
+				}
+			}
+
+			SinglePartQuery remainder = query.getRemainder();
+			Return aReturn = remainder.getReturn();
+			Hoisting hoisting = aReturn == null ? null :
+				hoist(remainder.getPrecedingClauses(), aReturn.isDistinct(), aReturn.getBody());
+			if (hoisting != null) {
+				newParts.add(hoisting.part);
+				remainder = hoisting.remainder(aReturn);
+			} else if (!changed) {
+				return query;
+			}
+			return new MultiPartQuery(newParts, remainder);
+		}
+
+		/**
+		 * Hoists the common subexpressions of a projection and the condition of the match directly preceding it.
+		 *
+		 * @param precedingClauses The clauses preceding the projection
+		 * @param distinct         Whether the projection is distinct
+		 * @param body             The body of the projection
+		 * @return The rewritten clauses or {@literal null} if there is nothing to hoist
+		 */
+		private Hoisting hoist(List<Visitable> precedingClauses, boolean distinct, ReturnBody body) {
+
+			List<Expression> items = body.getReturnItems().getExpressions();
+			if (items.stream().anyMatch(Asterisk.class::isInstance)
+				|| !precedingClauses.isEmpty() && !AstElement.declaresVariables(precedingClauses)) {
+				return null;
+			}
+
+			Match match = precedingClauses.isEmpty() ? null :
+				asFilteredMatch(precedingClauses.get(precedingClauses.size() - 1));
+			List<Condition> conjuncts = match == null ? Collections.emptyList() :
+				CompoundCondition.operandsOf(match.getOptionalWhere().getCondition(), Operator.AND);
+			boolean rewriteOrder = body.getOrder() != null && !distinct
+				&& items.stream().noneMatch(AstElement::containsAggregation);
+
+			List<Visitable> roots = new ArrayList<>();
+			conjuncts.stream().filter(conjunct -> !isSeekable(conjunct)).forEach(roots::add);
+			items.stream().filter(AliasedExpression.class::isInstance)
+				.map(item -> ((AliasedExpression) item).getDelegate()).forEach(roots::add);
+			if (rewriteOrder) {
+				roots.add(body.getOrder());
+			}
+
+			Map<Key, Integer> occurrences = new HashMap<>();
+			roots.forEach(root -> visitHoistable(root, element -> {
+				if (isHoistable(element)) {
+					occurrences.merge(new Key(element), 1, Integer::sum);
+				}
+				return true;
+			}));
+
+			Map<Key, String> aliases = new LinkedHashMap<>();
+			roots.forEach(root -> visitHoistable(root, element -> {
+				Key key = new Key(element);
+				if (isHoistable(element) && occurrences.get(key) > 1) {
+					aliases.computeIfAbsent(key, k -> nextAlias());
+					return false;
+				}
+				return true;
+			}));
+			if (aliases.isEmpty()) {
+				return null;
+			}
+
+			List<Condition> keptConjuncts = new ArrayList<>();
+			List<Condition> movedConjuncts = new ArrayList<>();
+			for (Condition conjunct : conjuncts) {
+				Condition newConjunct = isSeekable(conjunct) ? conjunct : (Condition) replace(conjunct, aliases);
+				if (newConjunct == conjunct) {
+					keptConjuncts.add(conjunct);
+				} else {
+					movedConjuncts.add(newConjunct);
+				}
+			}
+
+			List<Visitable> newPrecedingClauses = new ArrayList<>(precedingClauses);
+			if (match != null) {
+				newPrecedingClauses.set(newPrecedingClauses.size() - 1,
+					new Match(false, match.getPattern(), match.getHints(), whereOf(keptConjuncts)));
+			}
+
+			List<Expression> hoistedItems = new ArrayList<>();
+			if (!precedingClauses.isEmpty()) {
+				hoistedItems.add(Asterisk.INSTANCE);
+			}
+			aliases.forEach((key, alias) -> hoistedItems.add(new AliasedExpression((Expression) key.element, alias)));
+			With hoistingWith = new With(false, new ReturnBody(new ExpressionList(hoistedItems), null, null, null),
+				whereOf(movedConjuncts));
+
+			List<Expression> newItems = new ArrayList<>();
+			for (Expression item : items) {
+				if (item instanceof AliasedExpression) {
+					AliasedExpression aliasedItem = (AliasedExpression) item;
+					Visitable newDelegate = replace(aliasedItem.getDelegate(), aliases);
+					newItems.add(newDelegate == aliasedItem.getDelegate() ? item :
+						new AliasedExpression((Expression) newDelegate, aliasedItem.getAlias()));
+				} else {
+					newItems.add(item);
+				}
+			}
+			Order newOrder = rewriteOrder ? (Order) replace(body.getOrder(), aliases) : body.getOrder();
+
+			return new Hoisting(new MultiPartElement(newPrecedingClauses, hoistingWith),
+				new ReturnBody(new ExpressionList(newItems), newOrder, body.getSkip(), body.getLimit()));
+		}
+
+		private String nextAlias() {
+
+			String alias;
+			do {
+				alias = ALIAS_PREFIX + aliasCounter++;
+			} while (usedNames.contains(alias));
+			return alias;
+		}
+
+		/**
+		 * Replaces all hoisted expressions reachable from the given element with references to their aliases.
+		 *
+		 * @param element The element in which to replace hoisted expressions
+		 * @param aliases The aliases of the hoisted expressions
+		 * @return The element itself if nothing has been replaced, otherwise a copy
+		 */
+		private Visitable replace(Visitable element, Map<Key, String> aliases) {
+
+			if (element == null) {
+				return null;
+			}
+
+			String alias = aliases.get(new Key(element));
+			if (alias != null) {
+				return SymbolicName.create(alias);
+			}
+
+			AstElement astElement = AstElement.decompose(element);
+			if (OPAQUE_KINDS.contains(astElement.getKind())) {
+				return element;
+			}
+			List<Visitable> children = astElement.getChildren();
+			List<Visitable> newChildren = null;
+			for (int i = 0; i < children.size(); ++i) {
+				Visitable newChild = replace(children.get(i), aliases);
+				if (newChild != children.get(i)) {
+					if (newChildren == null) {
+						newChildren = new ArrayList<>(children);
+					}
+					newChildren.set(i, newChild);
+				}
+			}
+			return newChildren == null ? element : astElement.withChildren(newChildren).compose();
+		}
+
+		/**
+		 * Visits the elements reachable from the given root without entering {@link #OPAQUE_KINDS opaque elements}.
+		 *
+		 * @param element The element to visit
+		 * @param visitor Returns whether the children of the visited element should be visited as well
+		 */
+		private static void visitHoistable(Visitable element, Predicate<Visitable> visitor) {
+
+			if (element == null || !visitor.test(element)) {
+				return;
+			}
+			AstElement astElement = AstElement.decompose(element);
+			if (!OPAQUE_KINDS.contains(astElement.getKind())) {
+				astElement.getChildren().forEach(child -> visitHoistable(child, visitor));
+			}
+		}
+
+		private static boolean isHoistable(Visitable element) {
+
+			if (element instanceof FunctionInvocation) {
+				FunctionInvocation invocation = (FunctionInvocation) element;
+				if (AstElement.isInvocationOf(invocation, AstElement.AGGREGATING_FUNCTIONS)
+					|| AstElement.decompose(invocation.getArguments()).getChildren().isEmpty()) {
+					return false;
+				}
+			} else if (!(element instanceof PatternComprehension || element instanceof ListComprehension)) {
+				return false;
+			}
+			return !AstElement.containsAggregation(element)
+				&& !AstElement.contains(element, child -> AstElement.isInvocationOf(child, NON_DETERMINISTIC_FUNCTIONS));
+		}
+
+		/**
+		 * @param conjunct A conjunct of the condition of a match
+		 * @return True if the conjunct compares a property or the distance between a property and another value
+		 */
+		private static boolean isSeekable(Condition conjunct) {
+
+			if (!(conjunct instanceof Comparison)) {
+				return false;
+			}
+			Comparison comparison = (Comparison) conjunct;
+			return SEEKABLE_COMPARATORS.contains(comparison.getComparator())
+				&& (isSeekableOperand(comparison.getLeft()) || isSeekableOperand(comparison.getRight()));
+		}
+
+		private static boolean isSeekableOperand(Expression operand) {
+
+			if (operand instanceof Property) {
+				return true;
+			}
+			if (!(operand instanceof FunctionInvocation)) {
+				return false;
+			}
+			String functionName = ((FunctionInvocation) operand).getFunctionName().toLowerCase(Locale.ROOT);
+			return ("distance".equals(functionName) || "point.distance".equals(functionName))
+				&& AstElement.decompose(((FunctionInvocation) operand).getArguments()).getChildren().stream()
+				.anyMatch(Property.class::isInstance);
+		}
+
+		private static Match asFilteredMatch(Visitable clause) {
+
+			if (!(clause instanceof Match)) {
+				return null;
+			}
+			Match match = (Match) clause;
+			return match.isOptional() || match.getOptionalWhere() == null ? null : match;
+		}
+
+		private static Where whereOf(List<Condition> conjuncts) {
+			return conjuncts.stream().reduce((l, r) -> CompoundCondition.combineFlattened(l, Operator.AND, r))
+				.map(Where::new).orElse(null);
+		}
+
+		private int hashCodeOf(Visitable element) {
+
+			if (element == null) {
+				return 0;
+			}
+			Integer hashCode = hashCodes.get(element);
+			if (hashCode == null) {
+				AstElement astElement = AstElement.decompose(element);
+				int result = 31 * astElement.getKind().hashCode() + Arrays.deepHashCode(astElement.getAttributes());
+				for (Visitable child : astElement.getChildren()) {
+					result = 31 * result + hashCodeOf(child);
+				}
+				hashCode = result;
+				hashCodes.put(element, hashCode);
+			}
+			return hashCode;
+		}
+
+		/**
+		 * Identifies expressions by their structure.
+		 */
+		private final class Key {
+
+			private final Visitable element;
+
+			private final int hashCode;
+
+			Key(Visitable element) {
+				this.element = element;
+				this.hashCode = hashCodeOf(element);
+			}
+
+			@Override
+			public boolean equals(Object o) {
+				return this == o || o instanceof Key && AstElement.isStructurallyEqual(element, ((Key) o).element);
+			}
+
+			@Override
+			public int hashCode() {
+				return hashCode;
+			}
+		}
+	}
+
+	/**
+	 * The result of hoisting the common subexpressions of a projection: The preceding clauses followed by the new
+	 * {@code WITH} clause and the rewritten body of the projection.
+	 */
+	private static final class Hoisting {
+
+		private final MultiPartElement part;
+
+		private final ReturnBody body;
+
+		Hoisting(MultiPartElement part, ReturnBody body) {
+			this.part = part;
+			this.body = body;
+		}
+
+		SinglePartQuery remainder(Return aReturn) {
+			return new SinglePartQuery(Collections.emptyList(), new Return(aReturn.isDistinct(), body));
+		}
+	}
+}
@@ -66,13 +66,25 @@ public final class Comparison implements Condition {
 	private final Operator comparator;
 	private final Expression right;
 
-	private Comparison(Expression left, Operator operator, Expression right) {
+	Comparison(Expression left, Operator operator, Expression right) {
 
 		this.left = nestedIfCondition(left);
 		this.comparator = operator;
 		this.right = nestedIfCondition(right);
 	}
 
+	Expression getLeft() {
+		return this.left;
+	}
+
+	Operator getComparator() {
+		return this.comparator;
+	}
+
+	Expression getRight() {
+		return this.right;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
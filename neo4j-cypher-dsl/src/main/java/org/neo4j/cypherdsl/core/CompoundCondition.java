@@ -21,6 +21,7 @@ package org.neo4j.cypherdsl.core;
 import static org.apiguardian.api.API.Status.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -57,6 +58,139 @@ public final class CompoundCondition implements Condition {
 			.add(operator, right);
 	}
 
+	/**
+	 * Combines two conditions so that the rendered form groups them explicitly. Operands that are combined with the
+	 * same operator are flattened. A compound condition with another operator is wrapped when it doesn't come first, so
+	 * that it is rendered after the operator it is combined with.
+	 *
+	 * @param left     The left hand side
+	 * @param operator The operator combining both sides
+	 * @param right    The right hand side
+	 * @return A new compound condition
+	 */
+	static CompoundCondition combineFlattened(Condition left, Operator operator, Condition right) {
+
+		List<Condition> operands = new ArrayList<>();
+		flatten(left, operator, operands);
+		flatten(right, operator, operands);
+
+		List<Condition> conditions = new ArrayList<>();
+		for (Condition operand : operands) {
+			boolean wrap = !conditions.isEmpty() && operand instanceof CompoundCondition;
+			conditions.add(wrap ? new CompoundCondition(operator, Collections.singletonList(operand)) : operand);
+		}
+		return new CompoundCondition(operator, conditions);
+	}
+
+	/**
+	 * @param condition A condition
+	 * @param operator  The operator whose operands should be returned
+	 * @return The operands of the condition if it is rendered as a chain of the given operator only, with nested groups
+	 * of such chains flattened, otherwise the condition itself
+	 */
+	static List<Condition> operandsOf(Condition condition, Operator operator) {
+
+		List<Condition> operands = new ArrayList<>();
+		flatten(condition, operator, operands);
+		return operands;
+	}
+
+	private static void flatten(Condition condition, Operator operator, List<Condition> operands) {
+
+		Condition unwrapped = unwrap(condition);
+		if (!isChainOf(unwrapped, operator)) {
+			operands.add(unwrapped);
+			return;
+		}
+		for (Condition child : ((CompoundCondition) unwrapped).conditions) {
+			flatten(child, operator, operands);
+		}
+	}
+
+	/**
+	 * The operator rendered before an operand that doesn't come first is the operator of the operand itself if it is
+	 * a compound condition, not the one of the compound condition containing it, so both are checked.
+	 *
+	 * @param condition A condition
+	 * @param operator  An operator
+	 * @return True if the condition is a compound condition rendered with the given operator between all its operands
+	 */
+	private static boolean isChainOf(Condition condition, Operator operator) {
+
+		if (!(condition instanceof CompoundCondition) || ((CompoundCondition) condition).conditions.isEmpty()) {
+			return false;
+		}
+		List<Condition> conditions = ((CompoundCondition) condition).conditions;
+		for (Condition child : conditions.subList(1, conditions.size())) {
+			Operator actual = child instanceof CompoundCondition ?
+				((CompoundCondition) child).operator :
+				((CompoundCondition) condition).operator;
+			if (actual != operator) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param condition A condition
+	 * @return The only condition of compound conditions that wrap a single condition, otherwise the condition itself
+	 */
+	static Condition unwrap(Condition condition) {
+
+		Condition unwrapped = condition;
+		while (unwrapped instanceof CompoundCondition && ((CompoundCondition) unwrapped).conditions.size() == 1) {
+			unwrapped = ((CompoundCondition) unwrapped).conditions.get(0);
+		}
+		return unwrapped;
+	}
+
+	/**
+	 * Replaces an operand of a compound condition that doesn't come first. The operator rendered before such an operand
+	 * is the operator of the operand itself if it is a compound condition, so the replacement is wrapped if needed to
+	 * keep the operator.
+	 *
+	 * @param operator    The operator of the compound condition containing the operand
+	 * @param operand     The original operand
+	 * @param replacement Its replacement
+	 * @return The replacement to use, the original operand if the replacement is equivalent
+	 */
+	static Condition replaceOperand(Operator operator, Condition operand, Condition replacement) {
+
+		Operator expected = operand instanceof CompoundCondition ? ((CompoundCondition) operand).operator : operator;
+		Operator actual = replacement instanceof CompoundCondition ? ((CompoundCondition) replacement).operator : operator;
+		Condition result = expected == actual ?
+			replacement :
+			new CompoundCondition(expected, Collections.singletonList(replacement));
+		return hasSameShape(result, operand) ? operand : result;
+	}
+
+	/**
+	 * @param condition A condition
+	 * @param other     Another condition
+	 * @return True if both conditions are the same or compound conditions of the same structure with the same operands
+	 */
+	static boolean hasSameShape(Condition condition, Condition other) {
+
+		if (condition == other) {
+			return true;
+		} else if (!(condition instanceof CompoundCondition && other instanceof CompoundCondition)) {
+			return false;
+		}
+
+		CompoundCondition compound = (CompoundCondition) condition;
+		CompoundCondition otherCompound = (CompoundCondition) other;
+		if (compound.operator != otherCompound.operator || compound.conditions.size() != otherCompound.conditions.size()) {
+			return false;
+		}
+		for (int i = 0; i < compound.conditions.size(); ++i) {
+			if (!hasSameShape(compound.conditions.get(i), otherCompound.conditions.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	static CompoundCondition empty() {
 
 		return EMPTY_CONDITION;
@@ -71,6 +205,11 @@ public final class CompoundCondition implements Condition {
 		this.conditions = new ArrayList<>();
 	}
 
+	CompoundCondition(Operator operator, List<Condition> conditions) {
+		this.operator = operator;
+		this.conditions = new ArrayList<>(conditions);
+	}
+
 	@Override
 	public Condition and(Condition condition) {
 		return this.add(Operator.AND, condition);
@@ -137,6 +276,14 @@ public final class CompoundCondition implements Condition {
 		return true;
 	}
 
+	Operator getOperator() {
+		return this.operator;
+	}
+
+	List<Condition> getConditions() {
+		return this.conditions;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -41,6 +41,10 @@ public final class ConstantCondition implements Condition {
 		this.value = value;
 	}
 
+	BooleanLiteral getValue() {
+		return this.value;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.apiguardian.api.API;
+
+/**
+ * The result of {@link CostEstimator#estimate(Statement) estimating} a statement: The estimated number of rows and the
+ * cost after each clause. Costs are given in abstract units that roughly correspond to the number of nodes and
+ * relationships the server has to touch. They are only meaningful relative to other estimates based on the same
+ * {@link GraphStatistics statistics}.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class CostEstimate {
+
+	/**
+	 * The estimate for a single clause.
+	 */
+	public static final class ClauseEstimate {
+
+		private final int clauseIndex;
+
+		private final String clause;
+
+		private final double estimatedRows;
+
+		private final double cost;
+
+		ClauseEstimate(int clauseIndex, String clause, double estimatedRows, double cost) {
+
+			this.clauseIndex = clauseIndex;
+			this.clause = clause;
+			this.estimatedRows = estimatedRows;
+			this.cost = cost;
+		}
+
+		/**
+		 * @return The position of the clause, starting with 1 for the first clause of the statement
+		 */
+		public int getClauseIndex() {
+			return clauseIndex;
+		}
+
+		/**
+		 * @return The clause, for example {@code MATCH} or {@code RETURN}
+		 */
+		public String getClause() {
+			return clause;
+		}
+
+		/**
+		 * @return The estimated number of rows produced by the clause
+		 */
+		public double getEstimatedRows() {
+			return estimatedRows;
+		}
+
+		/**
+		 * @return The estimated cost of the clause alone
+		 */
+		public double getCost() {
+			return cost;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%d %s: rows=%.1f, cost=%.1f", clauseIndex, clause, estimatedRows, cost);
+		}
+	}
+
+	private final List<ClauseEstimate> clauses;
+
+	private final double estimatedRows;
+
+	CostEstimate(List<ClauseEstimate> clauses, double estimatedRows) {
+
+		this.clauses = Collections.unmodifiableList(clauses);
+		this.estimatedRows = estimatedRows;
+	}
+
+	/**
+	 * @return The estimates of all clauses in the order of the statement
+	 */
+	public List<ClauseEstimate> getClauses() {
+		return clauses;
+	}
+
+	/**
+	 * @return The estimated number of rows returned by the statement
+	 */
+	public double getEstimatedRows() {
+		return estimatedRows;
+	}
+
+	/**
+	 * @return The estimated cost of the whole statement
+	 */
+	public double getCost() {
+		return clauses.stream().mapToDouble(ClauseEstimate::getCost).sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "rows=%.1f, cost=%.1f", estimatedRows, getCost());
+	}
+}
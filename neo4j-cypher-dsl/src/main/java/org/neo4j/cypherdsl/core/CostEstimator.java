@@ -0,0 +1,626 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.CostEstimate.ClauseEstimate;
+import org.neo4j.cypherdsl.core.Relationship.Direction;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Estimates the number of rows and the cost of statements without a database, based on {@link GraphStatistics}. The
+ * estimator walks the clauses of a statement in order: Patterns of {@code MATCH} and {@code MERGE} clauses are
+ * estimated from the counts of their labels and relationship types, starting from the cheaper end of each path, and
+ * conditions reduce the number of rows by the selectivity of their predicates. Equality predicates on indexed
+ * properties use the selectivity of the index, all other predicates the defaults of the Neo4j planner.
+ * <p>
+ * The estimates are coarse but sufficient to compare different constructions of equivalent statements:
+ * <pre>
+ * CostEstimator estimator = CostEstimator.using(GraphStatistics.read(path));
+ * Statement statement = estimator.cheapest(candidate, otherCandidate);
+ * </pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class CostEstimator {
+
+	/**
+	 * Selectivity of an equality predicate on a property without index.
+	 */
+	static final double DEFAULT_EQUALITY_SELECTIVITY = 0.1;
+
+	/**
+	 * Selectivity of range predicates and prefix searches.
+	 */
+	static final double DEFAULT_RANGE_SELECTIVITY = 0.3;
+
+	/**
+	 * Selectivity of all other predicates.
+	 */
+	static final double DEFAULT_PREDICATE_SELECTIVITY = 0.75;
+
+	/**
+	 * Assumed size of lists whose size is unknown before execution.
+	 */
+	static final int DEFAULT_LIST_SIZE = 10;
+
+	/**
+	 * Assumed maximum length of variable length relationships without an upper bound.
+	 */
+	static final int ASSUMED_MAXIMUM_LENGTH = 10;
+
+	/**
+	 * Creates an estimator based on the given statistics.
+	 *
+	 * @param statistics The statistics of the graph the statements are meant for
+	 * @return A new estimator
+	 */
+	public static CostEstimator using(GraphStatistics statistics) {
+
+		Assert.notNull(statistics, "Statistics must not be null.");
+		return new CostEstimator(statistics);
+	}
+
+	private final GraphStatistics statistics;
+
+	private CostEstimator(GraphStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * @return The statistics this estimator is based on
+	 */
+	public GraphStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Estimates the given statement.
+	 *
+	 * @param statement The statement to estimate
+	 * @return The estimated rows and costs of all clauses
+	 */
+	public CostEstimate estimate(Statement statement) {
+
+		Assert.notNull(statement, "Statement to estimate must not be null.");
+
+		Estimation estimation = new Estimation();
+		estimation.estimateQuery(statement);
+		return new CostEstimate(estimation.clauses, estimation.rows);
+	}
+
+	/**
+	 * Picks the statement with the lowest estimated cost.
+	 *
+	 * @param candidate       The first candidate
+	 * @param otherCandidates More candidates
+	 * @return The cheapest candidate, the first one of those with the same cost
+	 */
+	public Statement cheapest(Statement candidate, Statement... otherCandidates) {
+
+		Assert.notNull(otherCandidates, "Candidates must not be null.");
+
+		List<Statement> candidates = new ArrayList<>();
+		candidates.add(candidate);
+		candidates.addAll(Arrays.asList(otherCandidates));
+		return cheapest(candidates);
+	}
+
+	/**
+	 * Picks the statement with the lowest estimated cost.
+	 *
+	 * @param candidates The candidates
+	 * @return The cheapest candidate, the first one of those with the same cost
+	 */
+	public Statement cheapest(List<Statement> candidates) {
+
+		Assert.isTrue(candidates != null && !candidates.isEmpty(), "At least one candidate is required.");
+
+		Map<Statement, Double> costs = new HashMap<>();
+		candidates.forEach(candidate -> costs.put(candidate, estimate(candidate).getCost()));
+		return candidates.stream().min(Comparator.comparingDouble(costs::get)).get();
+	}
+
+	/**
+	 * The state of estimating a single statement. Bound variables and the labels of nodes are tracked per query, so
+	 * that they are reset for each part of a union.
+	 */
+	private final class Estimation {
+
+		private final List<ClauseEstimate> clauses = new ArrayList<>();
+
+		private final Map<String, List<NodeLabel>> labelsByName = new HashMap<>();
+
+		private Set<String> boundNames = new HashSet<>();
+
+		private double rows = 1.0;
+
+		private int clauseIndex;
+
+		void estimateQuery(Visitable query) {
+
+			AstElement element = AstElement.decompose(query);
+			List<Visitable> children = element.getChildren();
+			Kind kind = element.getKind();
+			if (element.isSequenceOfClauses()) {
+				element.getClausesInOrder().forEach(this::estimateQuery);
+			} else if (kind == Kind.UNION_QUERY) {
+				double total = 0.0;
+				for (Visitable part : children) {
+					this.rows = 1.0;
+					this.boundNames = new HashSet<>();
+					this.labelsByName.clear();
+					estimateQuery(part);
+					total += this.rows;
+				}
+				this.rows = total;
+			} else if (kind == Kind.UNION_PART || kind == Kind.STATEMENT_WITH_OPTIONS) {
+				estimateQuery(children.get(0));
+			} else {
+				estimateClause(element);
+			}
+		}
+
+		private void estimateClause(AstElement clause) {
+
+			++this.clauseIndex;
+
+			Kind kind = clause.getKind();
+			String name = kind.name();
+			double cost;
+			if (kind == Kind.MATCH) {
+				name = (Boolean) clause.getAttributes()[0] ? "OPTIONAL MATCH" : name;
+				cost = estimateMatch(clause);
+			} else if (kind == Kind.MERGE) {
+				cost = estimateMerge(clause);
+			} else if (kind == Kind.CREATE) {
+				cost = estimateCreate(clause);
+			} else if (kind == Kind.UNWIND) {
+				cost = this.rows;
+				this.rows *= getListSize(clause.getChildren().get(0));
+				this.boundNames.add((String) clause.getAttributes()[0]);
+			} else if (kind == Kind.WITH || kind == Kind.RETURN) {
+				cost = estimateProjection(clause);
+			} else if (kind == Kind.DELETE || kind == Kind.SET || kind == Kind.REMOVE) {
+				cost = this.rows * AstElement.decompose(clause.getChildren().get(0)).getChildren().size();
+			} else {
+				cost = this.rows;
+			}
+			this.clauses.add(new ClauseEstimate(this.clauseIndex, name, this.rows, cost));
+		}
+
+		private double estimateMatch(AstElement match) {
+
+			Visitable where = match.getChildren().get(1);
+			Visitable condition = where == null ? null : AstElement.decompose(where).getChildren().get(0);
+
+			double incoming = this.rows;
+			PatternEstimate pattern = estimatePattern(match.getChildren().get(0), getEqualityPredicates(condition));
+			double candidates = incoming * pattern.rows;
+			double cost = pattern.cost;
+			double result = candidates;
+			if (condition != null) {
+				cost += candidates * pattern.seekSelectivity;
+				result *= getSelectivity(condition);
+			}
+			this.rows = (Boolean) match.getAttributes()[0] ? Math.max(incoming, result) : result;
+			return cost;
+		}
+
+		private double estimateMerge(AstElement merge) {
+
+			double incoming = this.rows;
+			PatternEstimate pattern = estimatePattern(merge.getChildren().get(0), Collections.emptyMap());
+			this.rows = Math.max(incoming, incoming * pattern.rows);
+			return pattern.cost + incoming;
+		}
+
+		private double estimateCreate(AstElement create) {
+
+			int createdElements = 0;
+			for (Visitable element : AstElement.decompose(create.getChildren().get(0)).getChildren()) {
+				Path path = Path.of(element);
+				createdElements += path.relationships.size();
+				createdElements += (int) path.nodes.stream().filter(node -> !isBound(node)).count();
+				bind(path);
+			}
+			return this.rows * createdElements;
+		}
+
+		/**
+		 * Estimates all paths of a pattern. Paths that are not connected to variables bound before are estimated once
+		 * and build a cartesian product with the incoming rows, all other paths are estimated for each incoming row.
+		 */
+		private PatternEstimate estimatePattern(Visitable pattern, Map<String, Set<String>> equalityPredicates) {
+
+			List<Path> paths = new ArrayList<>();
+			for (Visitable element : AstElement.decompose(pattern).getChildren()) {
+				Path path = Path.of(element);
+				path.nodes.stream().filter(node -> node.getSymbolicName().isPresent() && !node.getLabels().isEmpty())
+					.forEach(node -> this.labelsByName.put(node.getRequiredSymbolicName().getValue(), node.getLabels()));
+				paths.add(path);
+			}
+
+			PatternEstimate estimate = new PatternEstimate();
+			for (Path path : paths) {
+				boolean anchored = path.nodes.stream().anyMatch(this::isBound);
+				PatternEstimate cheaper = estimatePath(path, equalityPredicates);
+
+				estimate.cost += anchored ? this.rows * estimate.rows * cheaper.cost : cheaper.cost;
+				estimate.rows *= cheaper.rows;
+				estimate.seekSelectivity *= cheaper.seekSelectivity;
+				bind(path);
+			}
+			return estimate;
+		}
+
+		/**
+		 * Estimates a path in both directions and returns the cheaper estimate.
+		 */
+		private PatternEstimate estimatePath(Path path, Map<String, Set<String>> equalityPredicates) {
+
+			PatternEstimate forward = estimatePath(path.nodes, path.relationships, equalityPredicates);
+			List<Node> reversedNodes = new ArrayList<>(path.nodes);
+			List<Relationship> reversedRelationships = new ArrayList<>(path.relationships);
+			Collections.reverse(reversedNodes);
+			Collections.reverse(reversedRelationships);
+			PatternEstimate backward = estimatePath(reversedNodes, reversedRelationships, equalityPredicates);
+			return backward.cost < forward.cost ? backward : forward;
+		}
+
+		private PatternEstimate estimatePath(List<Node> nodes, List<Relationship> relationships,
+			Map<String, Set<String>> equalityPredicates) {
+
+			PatternEstimate estimate = new PatternEstimate();
+			Node start = nodes.get(0);
+			if (!isBound(start)) {
+				double count = getNodeCount(start.getLabels());
+				Set<String> keys = new HashSet<>(getPropertyKeys(start));
+				start.getSymbolicName()
+					.map(name -> equalityPredicates.getOrDefault(name.getValue(), Collections.emptySet()))
+					.ifPresent(keys::addAll);
+				OptionalDouble seek = keys.stream().map(key -> getIndexSelectivity(start.getLabels(), key))
+					.filter(OptionalDouble::isPresent).mapToDouble(OptionalDouble::getAsDouble).min();
+				estimate.cost = seek.isPresent() ? count * seek.getAsDouble() + 1.0 : count;
+				estimate.rows = count * getPropertiesSelectivity(start);
+				estimate.seekSelectivity = seek.orElse(1.0);
+			}
+
+			for (int i = 0; i < relationships.size(); ++i) {
+				double expansion = getExpansionFactor(relationships.get(i).getDetails());
+				estimate.cost += estimate.rows * estimate.seekSelectivity * expansion;
+				estimate.rows *= expansion;
+
+				Node target = nodes.get(i + 1);
+				if (isBound(target)) {
+					estimate.rows /= Math.max(1.0, statistics.getNodeCount());
+				} else {
+					estimate.rows *= getNodeCount(target.getLabels()) / Math.max(1.0, statistics.getNodeCount())
+						* getPropertiesSelectivity(target);
+				}
+			}
+			return estimate;
+		}
+
+		private double estimateProjection(AstElement clause) {
+
+			AstElement body = AstElement.decompose(clause.getChildren().get(0));
+			List<Visitable> items = AstElement.decompose(body.getChildren().get(0)).getChildren();
+			double cost = this.rows * (1.0 + getEvaluationCost(items));
+
+			long aggregations = items.stream().filter(AstElement::containsAggregation).count();
+			if (aggregations > 0 && aggregations == items.size()) {
+				this.rows = 1.0;
+			} else if (aggregations > 0 || (Boolean) clause.getAttributes()[0]) {
+				this.rows = Math.min(this.rows, Math.sqrt(this.rows));
+			}
+			if (body.getChildren().get(1) != null) {
+				cost += this.rows * Math.max(1.0, Math.log(this.rows) / Math.log(2.0));
+			}
+			if (body.getChildren().get(2) != null) {
+				Number skip = (Number) AstElement.decompose(body.getChildren().get(2)).getAttributes()[0];
+				this.rows = Math.max(0.0, this.rows - skip.doubleValue());
+			}
+			if (body.getChildren().get(3) != null) {
+				Number limit = (Number) AstElement.decompose(body.getChildren().get(3)).getAttributes()[0];
+				this.rows = Math.min(this.rows, limit.doubleValue());
+			}
+
+			if (clause.getKind() == Kind.WITH) {
+				Visitable where = clause.getChildren().get(1);
+				if (where != null) {
+					cost += this.rows;
+					this.rows *= getSelectivity(AstElement.decompose(where).getChildren().get(0));
+				}
+				this.boundNames = AstElement.namesProjectedBy(items, this.boundNames);
+			}
+			return cost;
+		}
+
+		/**
+		 * Estimates the cost of evaluating projected items for a single row. Map projections and pattern comprehensions
+		 * are considered, as they read properties or expand relationships for each row, other expressions are free.
+		 */
+		private double getEvaluationCost(List<Visitable> items) {
+
+			double[] cost = { 0.0 };
+			items.forEach(item -> AstElement.forEachElement(item, element -> {
+				if (element instanceof MapProjection) {
+					cost[0] += 1.0;
+				} else if (element instanceof PatternComprehension) {
+					Path path = Path.of(AstElement.decompose(element).getChildren().get(0));
+					cost[0] += estimatePath(path, Collections.emptyMap()).cost;
+				}
+			}));
+			return cost[0];
+		}
+
+		private double getSelectivity(Visitable condition) {
+
+			if (condition instanceof CompoundCondition) {
+				return getSelectivity((CompoundCondition) condition);
+			} else if (condition instanceof ConstantCondition) {
+				return ((ConstantCondition) condition).getValue().getContent() ? 1.0 : 0.0;
+			} else if (condition instanceof NotCondition) {
+				return 1.0 - getSelectivity(((NotCondition) condition).getCondition());
+			} else if (condition instanceof NestedExpression) {
+				return getSelectivity(((NestedExpression) condition).getDelegate());
+			} else if (condition instanceof HasLabelCondition) {
+				return getNodeCount(((HasLabelCondition) condition).getNodeLabels())
+					/ Math.max(1.0, statistics.getNodeCount());
+			} else if (condition instanceof Comparison) {
+				return getSelectivity((Comparison) condition);
+			}
+			return DEFAULT_PREDICATE_SELECTIVITY;
+		}
+
+		/**
+		 * Combines the selectivities of the operands in the order they are rendered. An operand that is a compound
+		 * condition itself is connected with its own operator.
+		 */
+		private double getSelectivity(CompoundCondition condition) {
+
+			List<Visitable> operands = AstElement.decompose(condition).getChildren();
+			if (operands.isEmpty()) {
+				return 1.0;
+			}
+
+			double selectivity = getSelectivity(operands.get(0));
+			for (Visitable operand : operands.subList(1, operands.size())) {
+				Operator operator = operand instanceof CompoundCondition ?
+					((CompoundCondition) operand).getOperator() : condition.getOperator();
+				double other = getSelectivity(operand);
+				if (operator == Operator.AND) {
+					selectivity *= other;
+				} else if (operator == Operator.OR) {
+					selectivity += other - selectivity * other;
+				} else {
+					selectivity = selectivity * (1.0 - other) + other * (1.0 - selectivity);
+				}
+			}
+			return selectivity;
+		}
+
+		private double getSelectivity(Comparison comparison) {
+
+			switch (comparison.getComparator()) {
+				case NOT:
+					return 1.0 - getSelectivity(comparison.getRight());
+				case EQUALITY:
+					return getEqualitySelectivity(comparison.getLeft(), comparison.getRight());
+				case INEQUALITY:
+					return 1.0 - getEqualitySelectivity(comparison.getLeft(), comparison.getRight());
+				case LESS_THAN:
+				case LESS_THAN_OR_EQUAL_TO:
+				case GREATER_THAN:
+				case GREATER_THAN_OR_EQUAL_TO:
+				case STARTS_WITH:
+					return DEFAULT_RANGE_SELECTIVITY;
+				case IN:
+					return Math.min(1.0,
+						getListSize(comparison.getRight()) * getEqualitySelectivity(comparison.getLeft(), null));
+				default:
+					return DEFAULT_PREDICATE_SELECTIVITY;
+			}
+		}
+
+		private double getEqualitySelectivity(Expression left, Expression right) {
+
+			double selectivity = DEFAULT_EQUALITY_SELECTIVITY;
+			for (Expression side : Arrays.asList(left, right)) {
+				if (side instanceof Property && ((Property) side).getContainer() instanceof SymbolicName) {
+					String name = ((SymbolicName) ((Property) side).getContainer()).getValue();
+					String key = ((Property) side).getName().getPropertyKeyName();
+					selectivity = Math.min(selectivity, getIndexSelectivity(
+						this.labelsByName.getOrDefault(name, Collections.emptyList()), key).orElse(selectivity));
+				}
+			}
+			return selectivity;
+		}
+
+		private double getPropertiesSelectivity(Node node) {
+
+			return getPropertyKeys(node).stream()
+				.mapToDouble(key -> getIndexSelectivity(node.getLabels(), key).orElse(DEFAULT_EQUALITY_SELECTIVITY))
+				.reduce(1.0, (a, b) -> a * b);
+		}
+
+		private double getExpansionFactor(RelationshipDetail details) {
+
+			RelationshipTypes types = details.getTypes();
+			double relationships = types == null || types.getValues().isEmpty() ?
+				statistics.getRelationshipCount() :
+				types.getValues().stream().mapToLong(statistics::getRelationshipTypeCount).sum();
+			double degree = relationships / Math.max(1.0, statistics.getNodeCount());
+			if (details.getDirection() == Direction.UNI) {
+				degree *= 2.0;
+			}
+
+			RelationshipLength length = details.getLength();
+			if (length == null || (!length.isUnbounded() && length.getMinimum() == null
+				&& length.getMaximum() == null)) {
+				return degree;
+			}
+			int minimum = length.getMinimum() == null ? 1 : length.getMinimum();
+			int maximum = length.getMaximum() == null ? Math.max(minimum, ASSUMED_MAXIMUM_LENGTH) : length.getMaximum();
+			double factor = 0.0;
+			for (int hops = minimum; hops <= maximum; ++hops) {
+				factor += Math.pow(degree, hops);
+			}
+			return factor;
+		}
+
+		private double getNodeCount(List<NodeLabel> labels) {
+
+			return labels.isEmpty() ?
+				statistics.getNodeCount() :
+				labels.stream().mapToLong(label -> statistics.getLabelCount(label.getValue())).min().getAsLong();
+		}
+
+		private OptionalDouble getIndexSelectivity(List<NodeLabel> labels, String key) {
+
+			return labels.stream().map(label -> statistics.getIndexSelectivity(label.getValue(), key))
+				.filter(OptionalDouble::isPresent).mapToDouble(OptionalDouble::getAsDouble).min();
+		}
+
+		private boolean isBound(Node node) {
+			return node.getSymbolicName().filter(name -> this.boundNames.contains(name.getValue())).isPresent();
+		}
+
+		private void bind(Path path) {
+			this.boundNames.addAll(path.names);
+		}
+	}
+
+	/**
+	 * Estimated rows and cost of a pattern or path. The rows don't take the conditions of the clause into account, but
+	 * an index seek on one of them reduces the rows that need to be expanded and filtered by its selectivity.
+	 */
+	private static final class PatternEstimate {
+
+		private double rows = 1.0;
+
+		private double cost;
+
+		private double seekSelectivity = 1.0;
+	}
+
+	/**
+	 * The nodes and relationships of a single element of a pattern, in the order of the path.
+	 */
+	private static final class Path {
+
+		private final List<Node> nodes = new ArrayList<>();
+
+		private final List<Relationship> relationships = new ArrayList<>();
+
+		private final Set<String> names = new HashSet<>();
+
+		static Path of(Visitable element) {
+
+			Path path = new Path();
+			path.collect(element);
+			return path;
+		}
+
+		private void collect(Visitable element) {
+
+			if (element instanceof Node) {
+				add((Node) element);
+			} else if (element instanceof Relationship) {
+				Relationship relationship = (Relationship) element;
+				if (this.nodes.isEmpty()) {
+					add(relationship.getLeft());
+				}
+				this.relationships.add(relationship);
+				relationship.getSymbolicName().ifPresent(name -> this.names.add(name.getValue()));
+				add(relationship.getRight());
+			} else if (element instanceof NamedPath) {
+				((NamedPath) element).getSymbolicName().ifPresent(name -> this.names.add(name.getValue()));
+				collect(((NamedPath) element).getPattern());
+			} else if (element != null) {
+				AstElement.decompose(element).getChildren().forEach(this::collect);
+			}
+		}
+
+		private void add(Node node) {
+
+			this.nodes.add(node);
+			node.getSymbolicName().ifPresent(name -> this.names.add(name.getValue()));
+		}
+	}
+
+	private static Map<String, Set<String>> getEqualityPredicates(Visitable condition) {
+
+		Map<String, Set<String>> predicates = new HashMap<>();
+		AstElement.forEachElement(condition, element -> {
+			if (element instanceof Comparison && ((Comparison) element).getComparator() == Operator.EQUALITY) {
+				Comparison comparison = (Comparison) element;
+				addEqualityPredicate(predicates, comparison.getLeft());
+				addEqualityPredicate(predicates, comparison.getRight());
+			}
+		});
+		return predicates;
+	}
+
+	private static void addEqualityPredicate(Map<String, Set<String>> predicates, Expression side) {
+
+		if (side instanceof Property && ((Property) side).getContainer() instanceof SymbolicName) {
+			predicates.computeIfAbsent(((SymbolicName) ((Property) side).getContainer()).getValue(),
+				name -> new HashSet<>()).add(((Property) side).getName().getPropertyKeyName());
+		}
+	}
+
+	private static List<String> getPropertyKeys(Node node) {
+
+		List<String> keys = new ArrayList<>();
+		AstElement.forEachElement(AstElement.decompose(node).getChildren().get(1), element -> {
+			if (element instanceof KeyValueMapEntry) {
+				keys.add(((KeyValueMapEntry) element).getKey());
+			}
+		});
+		return keys;
+	}
+
+	private static double getListSize(Visitable list) {
+
+		if (list instanceof ListLiteral) {
+			return AstElement.decompose(list).getChildren().size();
+		} else if (list instanceof ListExpression) {
+			Visitable content = AstElement.decompose(list).getChildren().get(0);
+			return content == null ? 0 : AstElement.decompose(content).getChildren().size();
+		}
+		return DEFAULT_LIST_SIZE;
+	}
+}
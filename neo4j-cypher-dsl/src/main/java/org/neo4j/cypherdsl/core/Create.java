@@ -39,6 +39,10 @@ public final class Create implements UpdatingClause {
 		this.pattern = pattern;
 	}
 
+	Pattern getPattern() {
+		return this.pattern;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
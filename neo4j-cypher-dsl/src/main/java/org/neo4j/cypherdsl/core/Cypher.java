@@ -21,7 +21,10 @@ package org.neo4j.cypherdsl.core;
 import static org.apiguardian.api.API.Status.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apiguardian.api.API;
 import org.neo4j.cypherdsl.core.Statement.SingleQuery;
@@ -226,6 +229,58 @@ public final class Cypher {
 		return Statement.builder().with(expressions);
 	}
 
+	/**
+	 * Starts a statement with a leading {@code WITH} passing on the given variables. This is mostly useful to import
+	 * variables of the outer query into a {@link #call(Statement) subquery}.
+	 *
+	 * @param variables The variables to pass on
+	 * @return An ongoing with clause.
+	 * @since 2020.0.0
+	 */
+	public static StatementBuilder.OrderableOngoingReadingAndWithWithoutWhere with(String... variables) {
+
+		return Statement.builder().with(Expressions.createSymbolicNames(variables));
+	}
+
+	/**
+	 * Starts a statement with a leading {@code WITH} passing on the given variables. This is mostly useful to import
+	 * variables of the outer query into a {@link #call(Statement) subquery}.
+	 *
+	 * @param variables The variables to pass on
+	 * @return An ongoing with clause.
+	 * @since 2020.0.0
+	 */
+	public static StatementBuilder.OrderableOngoingReadingAndWithWithoutWhere with(Named... variables) {
+
+		return Statement.builder().with(Expressions.createSymbolicNames(variables));
+	}
+
+	/**
+	 * Starts building a statement with a subquery call.
+	 *
+	 * @param statement The statement to call
+	 * @return An ongoing statement that can be build as is or continued with further clauses
+	 * @since 2020.0.0
+	 */
+	public static StatementBuilder.OngoingSubqueryCall call(Statement statement) {
+
+		return Statement.builder().call(statement);
+	}
+
+	/**
+	 * Starts building a statement with a subquery call that is executed in separate transactions, each of them
+	 * processing the given number of rows.
+	 *
+	 * @param statement          The statement to call
+	 * @param rowsPerTransaction The number of rows per transaction, must be positive
+	 * @return An ongoing statement that can be build as is or continued with further clauses
+	 * @since 2020.0.0
+	 */
+	public static StatementBuilder.OngoingSubqueryCall callInTransactions(Statement statement, int rowsPerTransaction) {
+
+		return Statement.builder().callInTransactions(statement, rowsPerTransaction);
+	}
+
 	/**
 	 * Starts building a statement based on a {@code MERGE} clause.
 	 *
@@ -297,10 +352,12 @@ public final class Cypher {
 	}
 
 	/**
-	 * Creates a new {@link NullLiteral} from the given {@code object}.
+	 * Creates a new {@link Literal} from the given {@code object}. Arrays of {@code int}, {@code long} and {@code double}
+	 * are represented by literals that render their values without boxing them. The values of a {@link Map} must either be
+	 * literals themselves or representable as a literal.
 	 *
 	 * @param object the object to represent.
-	 * @return a new {@link NullLiteral}.
+	 * @return a new {@link Literal}.
 	 * @throws IllegalArgumentException when the object cannot be represented as a literal
 	 */
 	public static Literal<?> literalOf(Object object) {
@@ -320,9 +377,32 @@ public final class Cypher {
 		if (object instanceof Boolean) {
 			return BooleanLiteral.of((Boolean) object);
 		}
+		if (object instanceof int[]) {
+			return new IntArrayLiteral((int[]) object);
+		}
+		if (object instanceof long[]) {
+			return new LongArrayLiteral((long[]) object);
+		}
+		if (object instanceof double[]) {
+			return new DoubleArrayLiteral((double[]) object);
+		}
+		if (object instanceof Map) {
+			return mapLiteralOf((Map<?, ?>) object);
+		}
 		throw new IllegalArgumentException("Unsupported literal type: " + object.getClass());
 	}
 
+	private static MapLiteral mapLiteralOf(Map<?, ?> map) {
+
+		Map<String, Literal<?>> content = new LinkedHashMap<>(map.size());
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			Assert.isInstanceOf(CharSequence.class, entry.getKey(), "Keys of a map literal need to be of type CharSequence.");
+			Object value = entry.getValue();
+			content.put(entry.getKey().toString(), value instanceof Literal ? (Literal<?>) value : literalOf(value));
+		}
+		return new MapLiteral(Collections.unmodifiableMap(content));
+	}
+
 	/**
 	 * @return The {@literal true} literal.
 	 */
@@ -400,6 +480,25 @@ public final class Cypher {
 		return Case.create(expression);
 	}
 
+	/**
+	 * Changes the level of validation applied to names, labels and keys by all builders. The level applies globally and
+	 * should be set once during startup.
+	 *
+	 * @param validationLevel The new validation level, must not be {@literal null}
+	 * @since 2020.0.0
+	 */
+	public static void setValidationLevel(ValidationLevel validationLevel) {
+		Assert.setValidationLevel(validationLevel);
+	}
+
+	/**
+	 * @return The level of validation currently applied by all builders
+	 * @since 2020.0.0
+	 */
+	public static ValidationLevel getValidationLevel() {
+		return Assert.getValidationLevel();
+	}
+
 	private static Statement unionImpl(boolean unionAll, Statement... statements) {
 
 		Assert.isTrue(statements != null && statements.length >= 2, "At least two statements are required!");
@@ -0,0 +1,1134 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.CypherTokenizer.Token;
+import org.neo4j.cypherdsl.core.CypherTokenizer.TokenType;
+import org.neo4j.cypherdsl.core.Statement.SingleQuery;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Parses Cypher text into the same AST the DSL builds, so that statements written as text can be rendered, encoded,
+ * analysed and combined like any other statement. The parser covers the subset of Cypher the DSL can express: reading
+ * and updating clauses, {@code WITH}, {@code UNION}, patterns, conditions and expressions. Procedure calls,
+ * {@code ON CREATE} / {@code ON MATCH}, list indexing and parameters in {@code SKIP} and {@code LIMIT} are not
+ * supported.
+ * <p>
+ * The rendered form of a parsed statement is canonical: labels and types are escaped, strings use single quotes,
+ * arithmetic and conditions with more than one operand are wrapped in parentheses. Conditions mixing {@code AND},
+ * {@code OR} and {@code XOR} are grouped explicitly according to their precedence.
+ * <p>
+ * Each parser keeps a bounded cache from the text of a statement to its AST. Statements don't offer any way to change
+ * them after they have been built, so all callers parsing the same text share the same statement.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class CypherParser {
+
+	private static final int DEFAULT_CACHE_SIZE = 256;
+
+	private static final CypherParser DEFAULT_PARSER = new CypherParser(DEFAULT_CACHE_SIZE);
+
+	/**
+	 * Provides the shared default parser, caching the ASTs of the last {@value #DEFAULT_CACHE_SIZE} parsed statements.
+	 *
+	 * @return The default parser.
+	 */
+	public static CypherParser getDefaultParser() {
+		return DEFAULT_PARSER;
+	}
+
+	/**
+	 * Creates a new parser with a cache of its own.
+	 *
+	 * @param cacheSize The maximum number of cached statements, {@literal 0} disables the cache
+	 * @return A new parser
+	 */
+	public static CypherParser withCacheSize(int cacheSize) {
+
+		Assert.isTrue(cacheSize >= 0, "The cache size must not be negative.");
+		return new CypherParser(cacheSize);
+	}
+
+	private final int cacheSize;
+
+	private final Map<String, Statement> parsedStatementCache;
+
+	/**
+	 * Guards the access-ordered cache. Statements are parsed without holding the lock.
+	 */
+	private final Lock lock = new ReentrantLock();
+
+	private CypherParser(int cacheSize) {
+
+		this.cacheSize = cacheSize;
+		this.parsedStatementCache = new LinkedHashMap<String, Statement>(Math.max(16, cacheSize / 4), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+				return size() > CypherParser.this.cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * Parses the given Cypher text. Parsing the same text again returns the same statement as long as it is cached.
+	 *
+	 * @param cypher The Cypher text to parse
+	 * @return The statement represented by the text
+	 * @throws IllegalArgumentException if the text is not a valid or not a supported Cypher statement
+	 */
+	public Statement parse(String cypher) {
+
+		Assert.hasText(cypher, "The Cypher text to parse is required.");
+
+		if (this.cacheSize == 0) {
+			return new Grammar(CypherTokenizer.tokenize(cypher)).statement();
+		}
+
+		Statement statement;
+		try {
+			lock.lock();
+			statement = parsedStatementCache.get(cypher);
+		} finally {
+			lock.unlock();
+		}
+
+		if (statement == null) {
+			statement = new Grammar(CypherTokenizer.tokenize(cypher)).statement();
+			try {
+				lock.lock();
+				Statement concurrentlyParsed = parsedStatementCache.putIfAbsent(cypher, statement);
+				statement = concurrentlyParsed == null ? statement : concurrentlyParsed;
+			} finally {
+				lock.unlock();
+			}
+		}
+		return statement;
+	}
+
+	static IllegalArgumentException syntaxError(String message, int position) {
+		return new IllegalArgumentException(message + " at position " + position + ".");
+	}
+
+	/**
+	 * A recursive descent parser over the tokens of one statement.
+	 */
+	private static final class Grammar {
+
+		private final List<Token> tokens;
+
+		private int index;
+
+		Grammar(List<Token> tokens) {
+			this.tokens = tokens;
+		}
+
+		Statement statement() {
+
+			QueryOptions options = queryOptions();
+			Statement statement = query();
+			acceptSymbol(";");
+			if (peek().type != TokenType.END) {
+				throw unexpected("end of input");
+			}
+			return options == null ? statement : options.applyTo(statement);
+		}
+
+		private Statement query() {
+
+			if (atQueryEnd()) {
+				throw unexpected("a clause");
+			}
+
+			List<SingleQuery> queries = new ArrayList<>();
+			queries.add(singleQuery());
+			Boolean unionAll = null;
+			while (peek().isKeyword("UNION")) {
+				int position = next().position;
+				boolean all = acceptKeyword("ALL");
+				if (unionAll != null && unionAll != all) {
+					throw syntaxError("UNION and UNION ALL cannot be combined", position);
+				}
+				unionAll = all;
+				queries.add(singleQuery());
+			}
+			return queries.size() == 1 ? queries.get(0) : UnionQuery.create(unionAll, queries);
+		}
+
+		/**
+		 * @return The options in front of the statement or {@literal null} if there are none
+		 */
+		private QueryOptions queryOptions() {
+
+			QueryOptions.Builder builder = null;
+			while (true) {
+				if (peek().isKeyword("EXPLAIN") || peek().isKeyword("PROFILE")) {
+					builder = builder == null ? QueryOptions.builder() : builder;
+					if (next().isKeyword("EXPLAIN")) {
+						builder.explain();
+					} else {
+						builder.profile();
+					}
+				} else if (acceptKeyword("CYPHER")) {
+					builder = builder == null ? QueryOptions.builder() : builder;
+					if (peek().type == TokenType.INTEGER || peek().type == TokenType.DECIMAL) {
+						builder.version(next().text);
+					}
+					while (isName(peek()) && peek(1).isSymbol("=")) {
+						String name = next().text;
+						next();
+						builder.option(name, next().text);
+					}
+				} else {
+					return builder == null ? null : builder.build();
+				}
+			}
+		}
+
+		private SingleQuery singleQuery() {
+
+			List<MultiPartElement> parts = new ArrayList<>();
+			List<Visitable> clauses = new ArrayList<>();
+			Return aReturn = null;
+			while (aReturn == null && !atQueryEnd()) {
+				if (acceptKeyword("WITH")) {
+					parts.add(new MultiPartElement(clauses, with()));
+					clauses = new ArrayList<>();
+				} else if (acceptKeyword("RETURN")) {
+					aReturn = new Return(acceptKeyword("DISTINCT"), returnBody());
+				} else {
+					clauses.add(clause());
+				}
+			}
+
+			SinglePartQuery remainder = SinglePartQuery.create(clauses, aReturn);
+			return parts.isEmpty() ? remainder : new MultiPartQuery(parts, remainder);
+		}
+
+		private boolean atQueryEnd() {
+			return peek().type == TokenType.END || peek().isSymbol(";") || peek().isSymbol("}")
+				|| peek().isKeyword("UNION");
+		}
+
+		private Visitable clause() {
+
+			if (acceptKeyword("MATCH")) {
+				return match(false);
+			} else if (acceptKeyword("OPTIONAL")) {
+				expectKeyword("MATCH");
+				return match(true);
+			} else if (acceptKeyword("CREATE")) {
+				return new Create(pattern());
+			} else if (acceptKeyword("MERGE")) {
+				Merge merge = new Merge(pattern());
+				if (peek().isKeyword("ON")) {
+					throw syntaxError("ON CREATE and ON MATCH are not supported", peek().position);
+				}
+				return merge;
+			} else if (acceptKeyword("DETACH")) {
+				expectKeyword("DELETE");
+				return new Delete(expressionList(), true);
+			} else if (acceptKeyword("DELETE")) {
+				return new Delete(expressionList(), false);
+			} else if (acceptKeyword("SET")) {
+				return set();
+			} else if (acceptKeyword("REMOVE")) {
+				return remove();
+			} else if (acceptKeyword("UNWIND")) {
+				Expression expressionToUnwind = expression();
+				expectKeyword("AS");
+				return new Unwind(expressionToUnwind, variable().getValue());
+			} else if (acceptKeyword("CALL")) {
+				return subquery();
+			}
+			throw unexpected("a clause");
+		}
+
+		private Subquery subquery() {
+
+			expectSymbol("{");
+			Subquery subquery = Subquery.call(query());
+			expectSymbol("}");
+			if (!acceptKeyword("IN")) {
+				return subquery;
+			}
+			expectKeyword("TRANSACTIONS");
+			if (!acceptKeyword("OF")) {
+				return subquery.inTransactions();
+			}
+			Token rows = peek();
+			long rowsPerTransaction = integer();
+			if (!acceptKeyword("ROWS")) {
+				expectKeyword("ROW");
+			}
+			if (rowsPerTransaction < 1 || rowsPerTransaction > Integer.MAX_VALUE) {
+				throw syntaxError("Invalid number of rows per transaction " + rows, rows.position);
+			}
+			return subquery.inTransactionsOf((int) rowsPerTransaction);
+		}
+
+		private Match match(boolean optional) {
+
+			Pattern pattern = pattern();
+			List<Hint> hints = new ArrayList<>();
+			while (acceptKeyword("USING")) {
+				hints.add(hint());
+			}
+			Where where = acceptKeyword("WHERE") ? new Where(condition()) : null;
+			return new Match(optional, pattern, hints, where);
+		}
+
+		private Hint hint() {
+
+			Hint.Type type;
+			if (acceptKeyword("INDEX")) {
+				type = acceptKeyword("SEEK") ? Hint.Type.INDEX_SEEK : Hint.Type.INDEX;
+			} else if (acceptKeyword("SCAN")) {
+				type = Hint.Type.SCAN;
+			} else if (acceptKeyword("JOIN")) {
+				expectKeyword("ON");
+				type = Hint.Type.JOIN_ON;
+			} else {
+				throw unexpected("INDEX, SCAN or JOIN");
+			}
+
+			List<SymbolicName> symbolicNames = new ArrayList<>();
+			do {
+				symbolicNames.add(variable());
+			} while (type == Hint.Type.JOIN_ON && acceptSymbol(","));
+			if (type == Hint.Type.JOIN_ON) {
+				return new Hint(type, symbolicNames, null, Collections.emptyList());
+			}
+
+			expectSymbol(":");
+			String label = name();
+			List<String> propertyKeys = new ArrayList<>();
+			if (type != Hint.Type.SCAN) {
+				expectSymbol("(");
+				do {
+					propertyKeys.add(name());
+				} while (acceptSymbol(","));
+				expectSymbol(")");
+			}
+			return new Hint(type, symbolicNames, label, propertyKeys);
+		}
+
+		private With with() {
+
+			boolean distinct = acceptKeyword("DISTINCT");
+			ReturnBody body = returnBody();
+			Where where = acceptKeyword("WHERE") ? new Where(condition()) : null;
+			return new With(distinct, body, where);
+		}
+
+		private ReturnBody returnBody() {
+
+			List<Expression> items = new ArrayList<>();
+			do {
+				if (acceptSymbol("*")) {
+					items.add(Asterisk.INSTANCE);
+				} else {
+					Expression item = expression();
+					items.add(acceptKeyword("AS") ? new AliasedExpression(item, name()) : item);
+				}
+			} while (acceptSymbol(","));
+
+			Order order = null;
+			if (acceptKeyword("ORDER")) {
+				expectKeyword("BY");
+				List<SortItem> sortItems = new ArrayList<>();
+				do {
+					sortItems.add(SortItem.create(expression(), sortDirection()));
+				} while (acceptSymbol(","));
+				order = new Order(sortItems);
+			}
+			Skip skip = acceptKeyword("SKIP") ? Skip.create(integer()) : null;
+			Limit limit = acceptKeyword("LIMIT") ? Limit.create(integer()) : null;
+			return new ReturnBody(new ExpressionList(items), order, skip, limit);
+		}
+
+		private SortItem.Direction sortDirection() {
+
+			if (acceptKeyword("ASC") || acceptKeyword("ASCENDING")) {
+				return SortItem.Direction.ASC;
+			} else if (acceptKeyword("DESC") || acceptKeyword("DESCENDING")) {
+				return SortItem.Direction.DESC;
+			}
+			return null;
+		}
+
+		private Set set() {
+
+			List<Expression> items = new ArrayList<>();
+			do {
+				SymbolicName name = variable();
+				if (peek().isSymbol(":")) {
+					items.add(new Operation(name, Operator.SET_LABEL, nodeLabels()));
+				} else if (acceptSymbol("+=")) {
+					items.add(new Operation(name, Operator.MUTATE, expression()));
+				} else {
+					Expression target = name;
+					while (acceptSymbol(".")) {
+						target = new Property(target, new PropertyLookup(name()));
+					}
+					expectSymbol("=");
+					items.add(new Operation(target, Operator.SET, expression()));
+				}
+			} while (acceptSymbol(","));
+			return new Set(new ExpressionList(items));
+		}
+
+		private Remove remove() {
+
+			List<Expression> items = new ArrayList<>();
+			do {
+				SymbolicName name = variable();
+				if (peek().isSymbol(":")) {
+					items.add(new Operation(name, Operator.REMOVE_LABEL, nodeLabels()));
+				} else {
+					Expression target = name;
+					expectSymbol(".");
+					do {
+						target = new Property(target, new PropertyLookup(name()));
+					} while (acceptSymbol("."));
+					items.add(target);
+				}
+			} while (acceptSymbol(","));
+			return new Remove(new ExpressionList(items));
+		}
+
+		private NodeLabels nodeLabels() {
+
+			List<NodeLabel> labels = new ArrayList<>();
+			while (acceptSymbol(":")) {
+				labels.add(new NodeLabel(name()));
+			}
+			return new NodeLabels(labels);
+		}
+
+		private ExpressionList expressionList() {
+
+			List<Expression> expressions = new ArrayList<>();
+			do {
+				expressions.add(expression());
+			} while (acceptSymbol(","));
+			return new ExpressionList(expressions);
+		}
+
+		private Pattern pattern() {
+
+			List<PatternElement> elements = new ArrayList<>();
+			do {
+				elements.add(patternPart());
+			} while (acceptSymbol(","));
+			return new Pattern(elements);
+		}
+
+		private PatternElement patternPart() {
+
+			if (!(isName(peek()) && peek(1).isSymbol("="))) {
+				return patternElement();
+			}
+
+			SymbolicName name = variable();
+			next();
+			int position = peek().position;
+			if (peek().type == TokenType.IDENTIFIER && peek(1).isSymbol("(")) {
+				String algorithm = next().text;
+				expectSymbol("(");
+				PatternElement relationship = patternElement();
+				expectSymbol(")");
+				if (!(relationship instanceof Relationship)) {
+					throw syntaxError(algorithm + " requires a single relationship", position);
+				}
+				return new NamedPath(name,
+					new FunctionInvocation(algorithm, new Pattern(Collections.singletonList(relationship))));
+			}
+
+			PatternElement element = patternElement();
+			if (!(element instanceof RelationshipPattern)) {
+				throw syntaxError("A named path requires a relationship pattern", position);
+			}
+			return new NamedPath(name, (RelationshipPattern) element);
+		}
+
+		/**
+		 * @return a single node or a relationship pattern
+		 */
+		private PatternElement patternElement() {
+
+			Node left = node();
+			RelationshipPattern pattern = null;
+			while (startsRelationship(this.index)) {
+				RelationshipDetail details = relationshipDetail();
+				Node right = node();
+				Relationship relationship = new Relationship(left, details, right);
+				if (pattern == null) {
+					pattern = relationship;
+				} else if (pattern instanceof Relationship) {
+					pattern = RelationshipChain.create((Relationship) pattern).add(relationship);
+				} else {
+					pattern = ((RelationshipChain) pattern).add(relationship);
+				}
+				left = right;
+			}
+			return pattern == null ? left : pattern;
+		}
+
+		private Node node() {
+
+			expectSymbol("(");
+			SymbolicName name = isName(peek()) ? variable() : null;
+			List<NodeLabel> labels = new ArrayList<>();
+			while (acceptSymbol(":")) {
+				labels.add(new NodeLabel(name()));
+			}
+			Properties properties = peek().isSymbol("{") ? new Properties(mapLiteral()) : null;
+			expectSymbol(")");
+			return new Node(name, properties, labels);
+		}
+
+		private RelationshipDetail relationshipDetail() {
+
+			int position = peek().position;
+			boolean pointsLeft = acceptSymbol("<");
+			expectSymbol("-");
+
+			SymbolicName name = null;
+			RelationshipTypes types = null;
+			RelationshipLength length = null;
+			Properties properties = null;
+			if (acceptSymbol("[")) {
+				name = isName(peek()) ? variable() : null;
+				if (acceptSymbol(":")) {
+					List<String> typeNames = new ArrayList<>();
+					do {
+						acceptSymbol(":");
+						typeNames.add(name());
+					} while (acceptSymbol("|"));
+					types = new RelationshipTypes(typeNames);
+				}
+				length = acceptSymbol("*") ? relationshipLength() : null;
+				properties = peek().isSymbol("{") ? new Properties(mapLiteral()) : null;
+				expectSymbol("]");
+			}
+
+			expectSymbol("-");
+			boolean pointsRight = acceptSymbol(">");
+			if (pointsLeft && pointsRight) {
+				throw syntaxError("A relationship cannot point in both directions", position);
+			}
+			Relationship.Direction direction = pointsLeft ? Relationship.Direction.RTL
+				: pointsRight ? Relationship.Direction.LTR : Relationship.Direction.UNI;
+			return new RelationshipDetail(direction, name, types, length, properties);
+		}
+
+		private RelationshipLength relationshipLength() {
+
+			Integer minimum = peek().type == TokenType.INTEGER ? Math.toIntExact(integer()) : null;
+			if (!acceptSymbol("..")) {
+				return minimum == null ? new RelationshipLength() : new RelationshipLength(minimum, minimum);
+			}
+			Integer maximum = peek().type == TokenType.INTEGER ? Math.toIntExact(integer()) : null;
+			return minimum == null && maximum == null ? new RelationshipLength()
+				: new RelationshipLength(minimum, maximum);
+		}
+
+		/**
+		 * Checks whether the tokens starting at {@code start} are a node pattern followed by a relationship, which is
+		 * what distinguishes a pattern from a parenthesized expression.
+		 */
+		private boolean startsRelationshipPattern(int start) {
+
+			int depth = 0;
+			int position = start;
+			do {
+				Token token = this.tokens.get(position++);
+				if (token.type == TokenType.END) {
+					return false;
+				} else if (token.isSymbol("(")) {
+					++depth;
+				} else if (token.isSymbol(")")) {
+					--depth;
+				}
+			} while (depth > 0);
+			return startsRelationship(position);
+		}
+
+		private boolean startsRelationship(int position) {
+
+			Token first = peekAt(position);
+			Token second = peekAt(position + 1);
+			if (first.isSymbol("<")) {
+				return second.isSymbol("-") && (peekAt(position + 2).isSymbol("-") || peekAt(position + 2).isSymbol("["));
+			}
+			return first.isSymbol("-") && (second.isSymbol("-") || second.isSymbol("["));
+		}
+
+		private Expression expression() {
+
+			int position = peek().position;
+			return asExpression(disjunction(), position);
+		}
+
+		private Condition condition() {
+
+			int position = peek().position;
+			return asCondition(disjunction(), position);
+		}
+
+		private Visitable disjunction() {
+
+			int position = peek().position;
+			Visitable left = exclusiveDisjunction();
+			while (acceptKeyword("OR")) {
+				int rightPosition = peek().position;
+				Condition right = asCondition(exclusiveDisjunction(), rightPosition);
+				left = CompoundCondition.combineFlattened(asCondition(left, position), Operator.OR, right);
+			}
+			return left;
+		}
+
+		private Visitable exclusiveDisjunction() {
+
+			int position = peek().position;
+			Visitable left = conjunction();
+			while (acceptKeyword("XOR")) {
+				int rightPosition = peek().position;
+				Condition right = asCondition(conjunction(), rightPosition);
+				left = CompoundCondition.combineFlattened(asCondition(left, position), Operator.XOR, right);
+			}
+			return left;
+		}
+
+		private Visitable conjunction() {
+
+			int position = peek().position;
+			Visitable left = negation();
+			while (acceptKeyword("AND")) {
+				int rightPosition = peek().position;
+				Condition right = asCondition(negation(), rightPosition);
+				left = CompoundCondition.combineFlattened(asCondition(left, position), Operator.AND, right);
+			}
+			return left;
+		}
+
+		private Visitable negation() {
+
+			if (!acceptKeyword("NOT")) {
+				return comparison();
+			}
+
+			int position = peek().position;
+			Visitable operand = negation();
+			if (operand instanceof RelationshipPattern) {
+				return new ExcludedPattern((RelationshipPattern) operand);
+			}
+			return asCondition(operand, position).not();
+		}
+
+		private Visitable comparison() {
+
+			int position = peek().position;
+			Visitable left = predicate();
+			Operator operator = comparisonOperator();
+			if (operator == null) {
+				return left;
+			}
+			int rightPosition = peek().position;
+			Expression right = asExpression(predicate(), rightPosition);
+			return Comparison.create(asExpression(left, position), operator, right);
+		}
+
+		private Operator comparisonOperator() {
+
+			Token token = peek();
+			Operator operator = null;
+			if (token.isSymbol("=")) {
+				operator = Operator.EQUALITY;
+			} else if (token.isSymbol("<>") || token.isSymbol("!=")) {
+				operator = Operator.INEQUALITY;
+			} else if (token.isSymbol("<")) {
+				operator = Operator.LESS_THAN;
+			} else if (token.isSymbol(">")) {
+				operator = Operator.GREATER_THAN;
+			} else if (token.isSymbol("<=")) {
+				operator = Operator.LESS_THAN_OR_EQUAL_TO;
+			} else if (token.isSymbol(">=")) {
+				operator = Operator.GREATER_THAN_OR_EQUAL_TO;
+			}
+			if (operator != null) {
+				next();
+			}
+			return operator;
+		}
+
+		private Visitable predicate() {
+
+			int position = peek().position;
+			Visitable left = additive();
+			while (true) {
+				Operator operator;
+				if (acceptKeyword("IS")) {
+					operator = acceptKeyword("NOT") ? Operator.IS_NOT_NULL : Operator.IS_NULL;
+					expectKeyword("NULL");
+					left = Comparison.create(operator, asExpression(left, position));
+					continue;
+				} else if (acceptKeyword("IN")) {
+					operator = Operator.IN;
+				} else if (acceptKeyword("CONTAINS")) {
+					operator = Operator.CONTAINS;
+				} else if (acceptSymbol("=~")) {
+					operator = Operator.MATCHES;
+				} else if (peek(1).isKeyword("WITH") && (peek().isKeyword("STARTS") || peek().isKeyword("ENDS"))) {
+					operator = next().isKeyword("STARTS") ? Operator.STARTS_WITH : Operator.ENDS_WITH;
+					next();
+				} else {
+					return left;
+				}
+				int rightPosition = peek().position;
+				Expression right = asExpression(additive(), rightPosition);
+				left = Comparison.create(asExpression(left, position), operator, right);
+			}
+		}
+
+		private Visitable additive() {
+
+			int position = peek().position;
+			Visitable left = multiplicative();
+			while (peek().isSymbol("+") || peek().isSymbol("-")) {
+				Operator operator = next().isSymbol("+") ? Operator.ADDITION : Operator.SUBTRACTION;
+				left = operation(left, position, operator, multiplicative());
+			}
+			return left;
+		}
+
+		private Visitable multiplicative() {
+
+			int position = peek().position;
+			Visitable left = power();
+			while (peek().isSymbol("*") || peek().isSymbol("/") || peek().isSymbol("%")) {
+				Token token = next();
+				Operator operator = token.isSymbol("*") ? Operator.MULTIPLICATION
+					: token.isSymbol("/") ? Operator.DIVISION : Operator.MODULO_DIVISION;
+				left = operation(left, position, operator, power());
+			}
+			return left;
+		}
+
+		private Visitable power() {
+
+			int position = peek().position;
+			Visitable left = unary();
+			while (acceptSymbol("^")) {
+				left = operation(left, position, Operator.EXPONENTIATION, unary());
+			}
+			return left;
+		}
+
+		private Visitable operation(Visitable left, int position, Operator operator, Visitable right) {
+			return Operation.create(asExpression(left, position), operator, asExpression(right, position));
+		}
+
+		private Visitable unary() {
+
+			if (acceptSymbol("+")) {
+				return unary();
+			} else if (!peek().isSymbol("-")) {
+				return postfix(atom());
+			}
+
+			int position = next().position;
+			Token token = peek();
+			if (token.type == TokenType.INTEGER) {
+				next();
+				return new NumberLiteral(-parseLong(token));
+			} else if (token.type == TokenType.DECIMAL) {
+				next();
+				return new NumberLiteral(-Double.parseDouble(token.text));
+			}
+			throw syntaxError("Unary minus is only supported for number literals", position);
+		}
+
+		private Visitable postfix(Visitable atom) {
+
+			Visitable result = atom;
+			while (true) {
+				if (acceptSymbol(".")) {
+					result = new Property(asExpression(result, peek().position), new PropertyLookup(name()));
+				} else if (result instanceof SymbolicName && peek().isSymbol(":")) {
+					result = new HasLabelCondition((SymbolicName) result, nodeLabels().getValues());
+				} else if (result instanceof SymbolicName && peek().isSymbol("{")) {
+					result = mapProjection((SymbolicName) result);
+				} else if (peek().isSymbol("[")) {
+					throw syntaxError("List indexing and slicing are not supported", peek().position);
+				} else {
+					return result;
+				}
+			}
+		}
+
+		private Visitable atom() {
+
+			Token token = peek();
+			switch (token.type) {
+				case STRING:
+					next();
+					return new StringLiteral(token.text);
+				case INTEGER:
+					next();
+					return new NumberLiteral(parseLong(token));
+				case DECIMAL:
+					next();
+					return new NumberLiteral(Double.parseDouble(token.text));
+				case PARAMETER:
+					next();
+					return Parameter.create(token.text);
+				case ESCAPED_NAME:
+					return variable();
+				case IDENTIFIER:
+					return identifier();
+				default:
+					if (token.isSymbol("(")) {
+						return parenthesized();
+					} else if (token.isSymbol("[")) {
+						return list();
+					} else if (token.isSymbol("{")) {
+						return mapLiteral();
+					}
+					throw unexpected("an expression");
+			}
+		}
+
+		private Visitable identifier() {
+
+			Token token = peek();
+			if (token.isKeyword("TRUE") || token.isKeyword("FALSE")) {
+				next();
+				return token.isKeyword("TRUE") ? BooleanLiteral.TRUE : BooleanLiteral.FALSE;
+			} else if (token.isKeyword("NULL")) {
+				next();
+				return NullLiteral.INSTANCE;
+			} else if (token.isKeyword("CASE")) {
+				next();
+				return caseExpression();
+			}
+
+			int position = this.index + 1;
+			while (peekAt(position).isSymbol(".") && peekAt(position + 1).type == TokenType.IDENTIFIER) {
+				position += 2;
+			}
+			return peekAt(position).isSymbol("(") ? functionInvocation() : variable();
+		}
+
+		private Visitable parenthesized() {
+
+			if (startsRelationshipPattern(this.index)) {
+				return patternElement();
+			}
+			expectSymbol("(");
+			Visitable expression = disjunction();
+			expectSymbol(")");
+			// Most operations are rendered in parentheses anyway, the others must keep the explicit grouping.
+			if (expression instanceof Operation && !((Operation) expression).needsGrouping()) {
+				return new NestedExpression((Operation) expression);
+			}
+			return expression;
+		}
+
+		private FunctionInvocation functionInvocation() {
+
+			StringBuilder name = new StringBuilder(next().text);
+			while (acceptSymbol(".")) {
+				name.append('.').append(next().text);
+			}
+			String functionName = name.toString();
+			expectSymbol("(");
+
+			if (isListPredicate(functionName) && isName(peek()) && peek(1).isKeyword("IN")) {
+				SymbolicName variable = variable();
+				expectKeyword("IN");
+				Expression list = expression();
+				expectKeyword("WHERE");
+				Where where = new Where(condition());
+				expectSymbol(")");
+				return new FunctionInvocation(functionName, new ListPredicate(variable, list, where));
+			} else if (peek().isSymbol("*") && peek(1).isSymbol(")")) {
+				next();
+				next();
+				return new FunctionInvocation(functionName, Asterisk.INSTANCE);
+			}
+
+			boolean distinct = acceptKeyword("DISTINCT");
+			List<Expression> arguments = new ArrayList<>();
+			if (!peek().isSymbol(")")) {
+				do {
+					int position = peek().position;
+					Visitable argument = disjunction();
+					if (argument instanceof RelationshipPattern && !distinct && peek().isSymbol(")")
+						&& arguments.isEmpty()) {
+						next();
+						return new FunctionInvocation(functionName,
+							new Pattern(Collections.singletonList((PatternElement) argument)));
+					}
+					arguments.add(asExpression(argument, position));
+				} while (acceptSymbol(","));
+			}
+			expectSymbol(")");
+			if (distinct && !arguments.isEmpty()) {
+				arguments.set(0, new DistinctExpression(arguments.get(0)));
+			}
+			return new FunctionInvocation(functionName, arguments.toArray(new Expression[0]));
+		}
+
+		private static boolean isListPredicate(String functionName) {
+
+			return "all".equalsIgnoreCase(functionName) || "any".equalsIgnoreCase(functionName)
+				|| "none".equalsIgnoreCase(functionName) || "single".equalsIgnoreCase(functionName);
+		}
+
+		private Expression list() {
+
+			expectSymbol("[");
+			if (isName(peek()) && peek(1).isKeyword("IN")) {
+				SymbolicName variable = variable();
+				expectKeyword("IN");
+				Expression list = expression();
+				Where where = acceptKeyword("WHERE") ? new Where(condition()) : null;
+				Expression listDefinition = acceptSymbol("|") ? expression() : null;
+				expectSymbol("]");
+				return new ListComprehension(variable, list, where, listDefinition);
+			} else if (peek().isSymbol("(") && startsRelationshipPattern(this.index)) {
+				RelationshipPattern pattern = (RelationshipPattern) patternElement();
+				Where where = acceptKeyword("WHERE") ? new Where(condition()) : null;
+				expectSymbol("|");
+				Expression listDefinition = expression();
+				expectSymbol("]");
+				return new PatternComprehension(pattern, where, listDefinition);
+			}
+
+			List<Expression> elements = new ArrayList<>();
+			if (!acceptSymbol("]")) {
+				do {
+					elements.add(expression());
+				} while (acceptSymbol(","));
+				expectSymbol("]");
+			}
+			List<Literal<?>> literals = new ArrayList<>();
+			for (Expression element : elements) {
+				if (!(element instanceof Literal)) {
+					return new ListExpression(new ExpressionList(elements));
+				}
+				literals.add((Literal<?>) element);
+			}
+			return new ListLiteral(literals);
+		}
+
+		private MapExpression<?> mapLiteral() {
+
+			expectSymbol("{");
+			List<Expression> entries = new ArrayList<>();
+			if (!acceptSymbol("}")) {
+				do {
+					String key = name();
+					expectSymbol(":");
+					entries.add(new KeyValueMapEntry(key, expression()));
+				} while (acceptSymbol(","));
+				expectSymbol("}");
+			}
+			return MapExpression.withEntries(entries);
+		}
+
+		private MapProjection mapProjection(SymbolicName name) {
+
+			expectSymbol("{");
+			List<Expression> entries = new ArrayList<>();
+			if (!acceptSymbol("}")) {
+				do {
+					if (acceptSymbol(".")) {
+						entries.add(new PropertyLookup(acceptSymbol("*") ? "*" : name()));
+					} else if (isName(peek()) && peek(1).isSymbol(":")) {
+						String key = name();
+						next();
+						entries.add(new KeyValueMapEntry(key, expression()));
+					} else {
+						entries.add(variable());
+					}
+				} while (acceptSymbol(","));
+				expectSymbol("}");
+			}
+			return new MapProjection(name, MapExpression.withEntries(entries));
+		}
+
+		private Case.CaseEnding caseExpression() {
+
+			Case aCase = peek().isKeyword("WHEN") ? Case.create() : Case.create(expression());
+			Case.CaseEnding ending = null;
+			while (acceptKeyword("WHEN")) {
+				Expression whenExpression = expression();
+				expectKeyword("THEN");
+				Expression thenExpression = expression();
+				ending = (ending == null ? aCase.when(whenExpression) : ending.when(whenExpression)).then(thenExpression);
+			}
+			if (ending == null) {
+				throw unexpected("WHEN");
+			}
+			if (acceptKeyword("ELSE")) {
+				ending = ending.elseDefault(expression());
+			}
+			expectKeyword("END");
+			return ending;
+		}
+
+		private static Expression asExpression(Visitable visitable, int position) {
+
+			if (visitable instanceof Expression) {
+				return (Expression) visitable;
+			}
+			throw syntaxError("Expected an expression", position);
+		}
+
+		private static Condition asCondition(Visitable visitable, int position) {
+
+			if (visitable instanceof Condition) {
+				return (Condition) visitable;
+			} else if (visitable instanceof BooleanLiteral) {
+				return ((BooleanLiteral) visitable).getContent() ? ConstantCondition.TRUE : ConstantCondition.FALSE;
+			} else if (visitable instanceof FunctionInvocation) {
+				return new BooleanFunctionCondition((FunctionInvocation) visitable);
+			} else if (visitable instanceof RelationshipPattern) {
+				return new RelationshipPatternCondition((RelationshipPattern) visitable);
+			}
+			throw syntaxError("Expected a condition", position);
+		}
+
+		private SymbolicName variable() {
+
+			int position = peek().position;
+			String name = name();
+			try {
+				return SymbolicName.create(name);
+			} catch (IllegalArgumentException e) {
+				throw syntaxError("'" + name + "' is not a valid variable", position);
+			}
+		}
+
+		private String name() {
+
+			if (!isName(peek())) {
+				throw unexpected("a name");
+			}
+			return next().text;
+		}
+
+		private static boolean isName(Token token) {
+			return token.type == TokenType.IDENTIFIER || token.type == TokenType.ESCAPED_NAME;
+		}
+
+		private long integer() {
+
+			if (peek().type != TokenType.INTEGER) {
+				throw unexpected("an integer");
+			}
+			return parseLong(next());
+		}
+
+		private static long parseLong(Token token) {
+
+			try {
+				String text = token.text;
+				boolean hexadecimal = text.startsWith("0x") || text.startsWith("0X");
+				return hexadecimal ? Long.parseLong(text.substring(2), 16) : Long.parseLong(text);
+			} catch (NumberFormatException e) {
+				throw syntaxError("Invalid integer " + token, token.position);
+			}
+		}
+
+		private Token peek() {
+			return peekAt(this.index);
+		}
+
+		private Token peek(int offset) {
+			return peekAt(this.index + offset);
+		}
+
+		private Token peekAt(int position) {
+			return this.tokens.get(Math.min(position, this.tokens.size() - 1));
+		}
+
+		private Token next() {
+
+			Token token = peek();
+			if (token.type != TokenType.END) {
+				++this.index;
+			}
+			return token;
+		}
+
+		private boolean acceptSymbol(String symbol) {
+
+			if (peek().isSymbol(symbol)) {
+				next();
+				return true;
+			}
+			return false;
+		}
+
+		private boolean acceptKeyword(String keyword) {
+
+			if (peek().isKeyword(keyword)) {
+				next();
+				return true;
+			}
+			return false;
+		}
+
+		private void expectSymbol(String symbol) {
+
+			if (!acceptSymbol(symbol)) {
+				throw unexpected("'" + symbol + "'");
+			}
+		}
+
+		private void expectKeyword(String keyword) {
+
+			if (!acceptKeyword(keyword)) {
+				throw unexpected(keyword);
+			}
+		}
+
+		private IllegalArgumentException unexpected(String expected) {
+
+			Token token = peek();
+			return syntaxError("Expected " + expected + " but found " + token, token.position);
+		}
+	}
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits Cypher text into the tokens consumed by the {@link CypherParser}. Keywords are not recognized here, they are
+ * plain identifiers and compared case insensitive by the parser.
+ *
+ * @since 2020.0.0
+ */
+final class CypherTokenizer {
+
+	private static final String[] TWO_CHARACTER_SYMBOLS = { "..", "<>", "!=", "<=", ">=", "=~", "+=" };
+
+	private static final String SINGLE_CHARACTER_SYMBOLS = "()[]{},.:|;=<>+-*/%^";
+
+	/**
+	 * The type of a token.
+	 */
+	enum TokenType {
+		IDENTIFIER, ESCAPED_NAME, STRING, INTEGER, DECIMAL, PARAMETER, SYMBOL, END
+	}
+
+	/**
+	 * A single token. The text of strings, escaped names and parameters is already unescaped and does not contain the
+	 * quotes, backticks or the dollar sign.
+	 */
+	static final class Token {
+
+		final TokenType type;
+
+		final String text;
+
+		final int position;
+
+		Token(TokenType type, String text, int position) {
+			this.type = type;
+			this.text = text;
+			this.position = position;
+		}
+
+		boolean is(TokenType expectedType, String expectedText) {
+			return this.type == expectedType && this.text.equals(expectedText);
+		}
+
+		boolean isSymbol(String symbol) {
+			return is(TokenType.SYMBOL, symbol);
+		}
+
+		boolean isKeyword(String keyword) {
+			return this.type == TokenType.IDENTIFIER && this.text.equalsIgnoreCase(keyword);
+		}
+
+		@Override
+		public String toString() {
+			return this.type == TokenType.END ? "end of input" : "'" + this.text + "'";
+		}
+	}
+
+	static List<Token> tokenize(String cypher) {
+
+		return new CypherTokenizer(cypher).tokenize();
+	}
+
+	private final String input;
+
+	private int position;
+
+	private CypherTokenizer(String input) {
+		this.input = input;
+	}
+
+	private List<Token> tokenize() {
+
+		List<Token> tokens = new ArrayList<>();
+		skipWhitespaceAndComments();
+		while (this.position < this.input.length()) {
+			tokens.add(nextToken());
+			skipWhitespaceAndComments();
+		}
+		tokens.add(new Token(TokenType.END, "", this.position));
+		return tokens;
+	}
+
+	private Token nextToken() {
+
+		int start = this.position;
+		char c = this.input.charAt(start);
+		if (isIdentifierStart(c)) {
+			return new Token(TokenType.IDENTIFIER, readIdentifier(), start);
+		} else if (c == '`') {
+			return new Token(TokenType.ESCAPED_NAME, readEscapedName(), start);
+		} else if (c == '\'' || c == '"') {
+			return new Token(TokenType.STRING, readString(c), start);
+		} else if (Character.isDigit(c)) {
+			return readNumber();
+		} else if (c == '$') {
+			++this.position;
+			if (this.position < this.input.length() && this.input.charAt(this.position) == '`') {
+				return new Token(TokenType.PARAMETER, readEscapedName(), start);
+			}
+			String name = readIdentifier();
+			if (name.isEmpty()) {
+				throw CypherParser.syntaxError("Invalid parameter", start);
+			}
+			return new Token(TokenType.PARAMETER, name, start);
+		}
+
+		for (String symbol : TWO_CHARACTER_SYMBOLS) {
+			if (this.input.startsWith(symbol, start)) {
+				this.position += 2;
+				return new Token(TokenType.SYMBOL, symbol, start);
+			}
+		}
+		if (SINGLE_CHARACTER_SYMBOLS.indexOf(c) >= 0) {
+			++this.position;
+			return new Token(TokenType.SYMBOL, String.valueOf(c), start);
+		}
+		throw CypherParser.syntaxError("Unexpected character '" + c + "'", start);
+	}
+
+	private void skipWhitespaceAndComments() {
+
+		while (this.position < this.input.length()) {
+			char c = this.input.charAt(this.position);
+			if (Character.isWhitespace(c)) {
+				++this.position;
+			} else if (this.input.startsWith("//", this.position)) {
+				int end = this.input.indexOf('\n', this.position);
+				this.position = end < 0 ? this.input.length() : end + 1;
+			} else if (this.input.startsWith("/*", this.position)) {
+				int end = this.input.indexOf("*/", this.position + 2);
+				if (end < 0) {
+					throw CypherParser.syntaxError("Unterminated comment", this.position);
+				}
+				this.position = end + 2;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private String readIdentifier() {
+
+		int start = this.position;
+		while (this.position < this.input.length() && isIdentifierPart(this.input.charAt(this.position))) {
+			++this.position;
+		}
+		return this.input.substring(start, this.position);
+	}
+
+	private String readEscapedName() {
+
+		int start = this.position++;
+		StringBuilder name = new StringBuilder();
+		while (this.position < this.input.length()) {
+			char c = this.input.charAt(this.position++);
+			if (c != '`') {
+				name.append(c);
+			} else if (this.position < this.input.length() && this.input.charAt(this.position) == '`') {
+				name.append(c);
+				++this.position;
+			} else {
+				return name.toString();
+			}
+		}
+		throw CypherParser.syntaxError("Unterminated escaped name", start);
+	}
+
+	private String readString(char quote) {
+
+		int start = this.position++;
+		StringBuilder value = new StringBuilder();
+		while (this.position < this.input.length()) {
+			char c = this.input.charAt(this.position++);
+			if (c == quote) {
+				return value.toString();
+			} else if (c == '\\' && this.position < this.input.length()) {
+				value.append(readEscapeSequence());
+			} else {
+				value.append(c);
+			}
+		}
+		throw CypherParser.syntaxError("Unterminated string", start);
+	}
+
+	private char readEscapeSequence() {
+
+		char c = this.input.charAt(this.position++);
+		switch (c) {
+			case 't':
+				return '\t';
+			case 'b':
+				return '\b';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 'f':
+				return '\f';
+			case 'u':
+			case 'U':
+				if (this.position + 4 > this.input.length()) {
+					throw CypherParser.syntaxError("Invalid unicode escape", this.position - 2);
+				}
+				try {
+					char unicode = (char) Integer.parseInt(this.input.substring(this.position, this.position + 4), 16);
+					this.position += 4;
+					return unicode;
+				} catch (NumberFormatException e) {
+					throw CypherParser.syntaxError("Invalid unicode escape", this.position - 2);
+				}
+			default:
+				return c;
+		}
+	}
+
+	private Token readNumber() {
+
+		int start = this.position;
+		if (this.input.startsWith("0x", start) || this.input.startsWith("0X", start)) {
+			this.position += 2;
+			while (this.position < this.input.length() && Character.digit(this.input.charAt(this.position), 16) >= 0) {
+				++this.position;
+			}
+			return new Token(TokenType.INTEGER, this.input.substring(start, this.position), start);
+		}
+
+		skipDigits();
+		boolean decimal = false;
+		if (this.position + 1 < this.input.length() && this.input.charAt(this.position) == '.'
+			&& Character.isDigit(this.input.charAt(this.position + 1))) {
+			decimal = true;
+			++this.position;
+			skipDigits();
+		}
+		if (this.position < this.input.length() && Character.toLowerCase(this.input.charAt(this.position)) == 'e') {
+			int exponent = this.position + 1;
+			if (exponent < this.input.length() && "+-".indexOf(this.input.charAt(exponent)) >= 0) {
+				++exponent;
+			}
+			if (exponent < this.input.length() && Character.isDigit(this.input.charAt(exponent))) {
+				decimal = true;
+				this.position = exponent;
+				skipDigits();
+			}
+		}
+		return new Token(decimal ? TokenType.DECIMAL : TokenType.INTEGER, this.input.substring(start, this.position),
+			start);
+	}
+
+	private void skipDigits() {
+
+		while (this.position < this.input.length() && Character.isDigit(this.input.charAt(this.position))) {
+			++this.position;
+		}
+	}
+
+	private static boolean isIdentifierStart(char c) {
+		return Character.isLetter(c) || c == '_';
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+}
@@ -22,6 +22,7 @@ import static org.neo4j.cypherdsl.core.DefaultStatementBuilder.UpdateType.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
@@ -39,7 +40,8 @@ class DefaultStatementBuilder
 	StatementBuilder.OngoingReading,
 	StatementBuilder.OngoingUpdate,
 	StatementBuilder.OngoingReadingWithWhere,
-	StatementBuilder.OngoingReadingWithoutWhere, StatementBuilder.OngoingMatchAndUpdate {
+	StatementBuilder.OngoingReadingWithoutWhere, StatementBuilder.OngoingMatchAndUpdate,
+	StatementBuilder.OngoingSubqueryCall {
 
 	/**
 	 * Current list of reading or update clauses to be generated.
@@ -109,6 +111,25 @@ class DefaultStatementBuilder
 		return new DefaultOngoingUnwind(expression);
 	}
 
+	@Override
+	public OngoingSubqueryCall call(Subquery subquery) {
+
+		Assert.notNull(subquery, "The subquery to call is required.");
+
+		if (this.currentOngoingMatch != null) {
+			this.currentSinglePartElements.add(this.currentOngoingMatch.buildMatch());
+			this.currentOngoingMatch = null;
+		}
+
+		if (this.currentOngoingUpdate != null) {
+			this.currentSinglePartElements.add(this.currentOngoingUpdate.buildUpdatingClause());
+			this.currentOngoingUpdate = null;
+		}
+
+		this.currentSinglePartElements.add(subquery);
+		return this;
+	}
+
 	private <T extends OngoingUpdate & OngoingMatchAndUpdate> T update(UpdateType updateType, Object[] pattern) {
 
 		Assert.notNull(pattern, "Patterns to create are required.");
@@ -214,6 +235,17 @@ class DefaultStatementBuilder
 		return new DefaultStatementWithUpdateBuilder(REMOVE, Operations.remove(named, label));
 	}
 
+	@Override
+	public OngoingReadingWithoutWhere using(Hint hint) {
+
+		Assert.notNull(hint, "The hint is required.");
+		Match.assertHintsReferToPattern(new Pattern(this.currentOngoingMatch.patternList),
+			Collections.singletonList(hint));
+
+		this.currentOngoingMatch.hints.add(hint);
+		return this;
+	}
+
 	@Override
 	public OngoingReadingWithWhere where(Condition newCondition) {
 
@@ -554,6 +586,14 @@ class DefaultStatementBuilder
 				.unwind(expression);
 		}
 
+		@Override
+		public OngoingSubqueryCall call(Subquery subquery) {
+
+			return DefaultStatementBuilder.this
+				.addWith(buildWith())
+				.call(subquery);
+		}
+
 		@Override
 		public OrderableOngoingReadingAndWithWithWhere orderBy(SortItem... sortItem) {
 			orderBuilder.orderBy(sortItem);
@@ -795,6 +835,8 @@ class DefaultStatementBuilder
 
 		private final List<PatternElement> patternList = new ArrayList<>();
 
+		private final List<Hint> hints = new ArrayList<>();
+
 		private final ConditionBuilder conditionBuilder = new ConditionBuilder();
 
 		private final boolean optional;
@@ -805,7 +847,8 @@ class DefaultStatementBuilder
 
 		Match buildMatch() {
 			Pattern pattern = new Pattern(this.patternList);
-			return new Match(optional, pattern, conditionBuilder.buildCondition().map(Where::new).orElse(null));
+			return new Match(optional, pattern, hints,
+				conditionBuilder.buildCondition().map(Where::new).orElse(null));
 		}
 	}
 
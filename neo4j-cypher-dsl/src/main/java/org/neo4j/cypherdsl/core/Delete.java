@@ -45,6 +45,10 @@ public final class Delete implements UpdatingClause {
 		return detach;
 	}
 
+	ExpressionList getDeleteItems() {
+		return this.deleteItems;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
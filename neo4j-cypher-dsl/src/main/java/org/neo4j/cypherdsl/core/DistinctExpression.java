@@ -38,6 +38,10 @@ public final class DistinctExpression implements Expression {
 		this.delegate = delegate;
 	}
 
+	Expression getDelegate() {
+		return this.delegate;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
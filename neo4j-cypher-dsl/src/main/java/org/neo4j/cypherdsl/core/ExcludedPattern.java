@@ -38,6 +38,10 @@ final class ExcludedPattern implements Condition {
 		this.patternElement = patternElement;
 	}
 
+	PatternElement getPatternElement() {
+		return this.patternElement;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+
+/**
+ * A step exposing methods to add {@link Hint planner hints} to the current match. Hints can only refer to nodes that
+ * are declared by the pattern of the match.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public interface ExposesHints {
+
+	/**
+	 * Adds a hint to use an index for the given properties of the node.
+	 *
+	 * @param node       A named node with exactly one label that is part of the pattern
+	 * @param properties The indexed properties
+	 * @return An ongoing match that is used to specify more hints, an optional where and a required return clause
+	 * @see Hint#useIndexFor(Node, String...)
+	 */
+	default StatementBuilder.OngoingReadingWithoutWhere usingIndex(Node node, String... properties) {
+		return using(Hint.useIndexFor(node, properties));
+	}
+
+	/**
+	 * Adds a hint to use an index seek for the given properties of the node.
+	 *
+	 * @param node       A named node with exactly one label that is part of the pattern
+	 * @param properties The indexed properties
+	 * @return An ongoing match that is used to specify more hints, an optional where and a required return clause
+	 * @see Hint#useIndexSeekFor(Node, String...)
+	 */
+	default StatementBuilder.OngoingReadingWithoutWhere usingIndexSeek(Node node, String... properties) {
+		return using(Hint.useIndexSeekFor(node, properties));
+	}
+
+	/**
+	 * Adds a hint to start with a scan of the label of the node.
+	 *
+	 * @param node A named node with exactly one label that is part of the pattern
+	 * @return An ongoing match that is used to specify more hints, an optional where and a required return clause
+	 * @see Hint#useScanFor(Node)
+	 */
+	default StatementBuilder.OngoingReadingWithoutWhere usingScan(Node node) {
+		return using(Hint.useScanFor(node));
+	}
+
+	/**
+	 * Adds a hint to join on the given nodes.
+	 *
+	 * @param nodes Named nodes that are part of the pattern
+	 * @return An ongoing match that is used to specify more hints, an optional where and a required return clause
+	 * @see Hint#useJoinOn(Node...)
+	 */
+	default StatementBuilder.OngoingReadingWithoutWhere usingJoinOn(Node... nodes) {
+		return using(Hint.useJoinOn(nodes));
+	}
+
+	/**
+	 * Adds the given hint to the current match.
+	 *
+	 * @param hint The hint to add
+	 * @return An ongoing match that is used to specify more hints, an optional where and a required return clause
+	 */
+	StatementBuilder.OngoingReadingWithoutWhere using(Hint hint);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+
+/**
+ * A step exposing methods to {@link Subquery call subqueries}, optionally in separate transactions.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public interface ExposesSubqueryCall {
+
+	/**
+	 * Calls the statement as a subquery.
+	 *
+	 * @param statement The statement to call
+	 * @return An ongoing statement that can be build as is or continued with further clauses
+	 * @see Subquery#call(Statement)
+	 */
+	default StatementBuilder.OngoingSubqueryCall call(Statement statement) {
+		return call(Subquery.call(statement));
+	}
+
+	/**
+	 * Calls the statement as a subquery in separate transactions of the default size of the server.
+	 *
+	 * @param statement The statement to call
+	 * @return An ongoing statement that can be build as is or continued with further clauses
+	 * @see Subquery#inTransactions()
+	 */
+	default StatementBuilder.OngoingSubqueryCall callInTransactions(Statement statement) {
+		return call(Subquery.call(statement).inTransactions());
+	}
+
+	/**
+	 * Calls the statement as a subquery in separate transactions, each of them processing the given number of rows.
+	 *
+	 * @param statement          The statement to call
+	 * @param rowsPerTransaction The number of rows per transaction, must be positive
+	 * @return An ongoing statement that can be build as is or continued with further clauses
+	 * @see Subquery#inTransactionsOf(int)
+	 */
+	default StatementBuilder.OngoingSubqueryCall callInTransactions(Statement statement, int rowsPerTransaction) {
+		return call(Subquery.call(statement).inTransactionsOf(rowsPerTransaction));
+	}
+
+	/**
+	 * Adds a subquery call to the statement.
+	 *
+	 * @param subquery The subquery to call
+	 * @return An ongoing statement that can be build as is or continued with further clauses
+	 */
+	StatementBuilder.OngoingSubqueryCall call(Subquery subquery);
+}
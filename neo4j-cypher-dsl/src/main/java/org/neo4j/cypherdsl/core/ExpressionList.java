@@ -46,4 +46,8 @@ class ExpressionList<S extends ExpressionList<S>> extends TypedSubtree<Expressio
 	protected Visitable prepareVisit(Expression child) {
 		return Expressions.nameOrExpression(child);
 	}
+
+	List<Expression> getExpressions() {
+		return this.children;
+	}
 }
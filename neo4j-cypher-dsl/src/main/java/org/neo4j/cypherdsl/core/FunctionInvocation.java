@@ -51,10 +51,20 @@ public final class FunctionInvocation implements Expression {
 		this.arguments = pattern;
 	}
 
+	FunctionInvocation(String functionName, ExpressionList<?> arguments) {
+
+		this.functionName = functionName;
+		this.arguments = arguments;
+	}
+
 	public String getFunctionName() {
 		return functionName;
 	}
 
+	TypedSubtree<?, ?> getArguments() {
+		return this.arguments;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import org.apiguardian.api.API;
+
+/**
+ * Counts and selectivities describing a graph, as used by the {@link CostEstimator}. Statistics are usually read from
+ * a JSON file that has been exported once from a real database:
+ * <pre>
+ * {
+ *   "nodes": 10000,
+ *   "relationships": 40000,
+ *   "labels": { "Person": 8000, "Movie": 2000 },
+ *   "relationshipTypes": { "ACTED_IN": 25000, "DIRECTED": 15000 },
+ *   "indexes": { "Person.name": 0.0001, "Movie.released": 0.02 }
+ * }
+ * </pre>
+ * The selectivity of an index is the fraction of the nodes with its label that match an equality predicate on its
+ * property, that is {@code 1 / number of distinct values}. If the number of nodes is missing, the count of the most
+ * frequent label is used, if the number of relationships is missing, the sum of the counts of all types. Labels and
+ * types missing from the statistics are assumed to not exist.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class GraphStatistics {
+
+	/**
+	 * Reads statistics from a JSON file encoded in UTF-8.
+	 *
+	 * @param path The path of the file
+	 * @return The statistics
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file does not contain valid statistics
+	 */
+	public static GraphStatistics read(Path path) throws IOException {
+
+		Assert.notNull(path, "Path must not be null.");
+		return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses statistics from a JSON document.
+	 *
+	 * @param json The JSON document
+	 * @return The statistics
+	 * @throws IllegalArgumentException if the document does not contain valid statistics
+	 */
+	public static GraphStatistics parse(CharSequence json) {
+
+		Object document = Json.parse(json);
+		Assert.isTrue(document instanceof Map, "Statistics must be a JSON object.");
+		Map<?, ?> statistics = (Map<?, ?>) document;
+
+		Map<String, Long> labels = readCounts(statistics, "labels");
+		Map<String, Long> relationshipTypes = readCounts(statistics, "relationshipTypes");
+		Map<String, Double> indexes = new HashMap<>();
+		readMap(statistics, "indexes").forEach((index, value) -> {
+			Assert.isTrue(value instanceof Number && ((Number) value).doubleValue() > 0.0
+				&& ((Number) value).doubleValue() <= 1.0, "The selectivity of index " + index + " must be in (0, 1].");
+			indexes.put((String) index, ((Number) value).doubleValue());
+		});
+
+		long nodes = readCount(statistics, "nodes", labels.values().stream().mapToLong(Long::longValue).max().orElse(0));
+		long relationships = readCount(statistics, "relationships",
+			relationshipTypes.values().stream().mapToLong(Long::longValue).sum());
+		return new GraphStatistics(nodes, relationships, labels, relationshipTypes, indexes);
+	}
+
+	private static Map<?, ?> readMap(Map<?, ?> statistics, String key) {
+
+		Object value = statistics.get(key);
+		Assert.isTrue(value == null || value instanceof Map, "The " + key + " must be a JSON object.");
+		return value == null ? Collections.emptyMap() : (Map<?, ?>) value;
+	}
+
+	private static Map<String, Long> readCounts(Map<?, ?> statistics, String key) {
+
+		Map<String, Long> counts = new HashMap<>();
+		readMap(statistics, key).forEach((name, value) -> counts.put((String) name, toCount(value, name)));
+		return counts;
+	}
+
+	private static long readCount(Map<?, ?> statistics, String key, long defaultValue) {
+
+		Object value = statistics.get(key);
+		return value == null ? defaultValue : toCount(value, key);
+	}
+
+	private static long toCount(Object value, Object name) {
+
+		Assert.isTrue(value instanceof Long && (Long) value >= 0,
+			"The count of " + name + " must be a non-negative integer.");
+		return (Long) value;
+	}
+
+	private final long nodeCount;
+
+	private final long relationshipCount;
+
+	private final Map<String, Long> labelCounts;
+
+	private final Map<String, Long> relationshipTypeCounts;
+
+	private final Map<String, Double> indexSelectivities;
+
+	private GraphStatistics(long nodeCount, long relationshipCount, Map<String, Long> labelCounts,
+		Map<String, Long> relationshipTypeCounts, Map<String, Double> indexSelectivities) {
+
+		this.nodeCount = nodeCount;
+		this.relationshipCount = relationshipCount;
+		this.labelCounts = labelCounts;
+		this.relationshipTypeCounts = relationshipTypeCounts;
+		this.indexSelectivities = indexSelectivities;
+	}
+
+	/**
+	 * @return The total number of nodes
+	 */
+	public long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return The total number of relationships
+	 */
+	public long getRelationshipCount() {
+		return relationshipCount;
+	}
+
+	/**
+	 * @param label A node label
+	 * @return The number of nodes with the given label, 0 for unknown labels
+	 */
+	public long getLabelCount(String label) {
+		return labelCounts.getOrDefault(label, 0L);
+	}
+
+	/**
+	 * @param type A relationship type
+	 * @return The number of relationships with the given type, 0 for unknown types
+	 */
+	public long getRelationshipTypeCount(String type) {
+		return relationshipTypeCounts.getOrDefault(type, 0L);
+	}
+
+	/**
+	 * @param label    A node label
+	 * @param property A property of nodes with that label
+	 * @return The selectivity of the index on the label and property, empty if there is no such index
+	 */
+	public OptionalDouble getIndexSelectivity(String label, String property) {
+
+		Double selectivity = indexSelectivities.get(label + "." + property);
+		return selectivity == null ? OptionalDouble.empty() : OptionalDouble.of(selectivity);
+	}
+}
@@ -52,11 +52,19 @@ public final class HasLabelCondition implements Condition {
 		return new HasLabelCondition(nodeName, nodeLabels);
 	}
 
-	private HasLabelCondition(SymbolicName nodeName, List<NodeLabel> nodeLabels) {
+	HasLabelCondition(SymbolicName nodeName, List<NodeLabel> nodeLabels) {
 		this.nodeName = nodeName;
 		this.nodeLabels = nodeLabels;
 	}
 
+	SymbolicName getNodeName() {
+		return this.nodeName;
+	}
+
+	List<NodeLabel> getNodeLabels() {
+		return this.nodeLabels;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
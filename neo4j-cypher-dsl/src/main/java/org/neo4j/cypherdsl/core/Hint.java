@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * A planner hint that is attached to a {@link Match match} and rendered after its pattern, for example
+ * {@code USING INDEX n:Person(name)}. See
+ * <a href="https://neo4j.com/docs/cypher-manual/4.0/query-tuning/using/">Planner hints and the USING keyword</a>.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class Hint implements Visitable {
+
+	/**
+	 * The supported types of hints.
+	 */
+	public enum Type {
+
+		/**
+		 * Forces the planner to use an index, either for a seek or a scan.
+		 */
+		INDEX("INDEX"),
+
+		/**
+		 * Forces the planner to use an index for a seek.
+		 */
+		INDEX_SEEK("INDEX SEEK"),
+
+		/**
+		 * Forces the planner to start with a label scan.
+		 */
+		SCAN("SCAN"),
+
+		/**
+		 * Forces the planner to join the parts of the pattern on the given variables.
+		 */
+		JOIN_ON("JOIN ON");
+
+		private final String keyword;
+
+		Type(String keyword) {
+			this.keyword = keyword;
+		}
+
+		/**
+		 * @return The keyword following {@code USING}
+		 */
+		public String getKeyword() {
+			return keyword;
+		}
+	}
+
+	/**
+	 * Creates a hint to use an index for the given properties of the node. The node must be named and have exactly one
+	 * label.
+	 *
+	 * @param node       The node whose index should be used
+	 * @param properties The indexed properties
+	 * @return A new hint
+	 */
+	public static Hint useIndexFor(Node node, String... properties) {
+		return createIndexHint(Type.INDEX, node, properties);
+	}
+
+	/**
+	 * Creates a hint to use an index seek for the given properties of the node. The node must be named and have exactly
+	 * one label.
+	 *
+	 * @param node       The node whose index should be used
+	 * @param properties The indexed properties
+	 * @return A new hint
+	 */
+	public static Hint useIndexSeekFor(Node node, String... properties) {
+		return createIndexHint(Type.INDEX_SEEK, node, properties);
+	}
+
+	/**
+	 * Creates a hint to start with a scan of the label of the given node. The node must be named and have exactly one
+	 * label.
+	 *
+	 * @param node The node whose label should be scanned
+	 * @return A new hint
+	 */
+	public static Hint useScanFor(Node node) {
+
+		Assert.notNull(node, "The node is required.");
+		return new Hint(Type.SCAN, Collections.singletonList(requiredSymbolicNameOf(node)), requiredLabelOf(node),
+			Collections.emptyList());
+	}
+
+	/**
+	 * Creates a hint to join on the given nodes. All nodes must be named.
+	 *
+	 * @param nodes The nodes to join on
+	 * @return A new hint
+	 */
+	public static Hint useJoinOn(Node... nodes) {
+
+		Assert.notNull(nodes, "The nodes to join on are required.");
+		Assert.notEmpty(nodes, "At least one node to join on is required.");
+		List<SymbolicName> symbolicNames = Arrays.stream(nodes).map(Hint::requiredSymbolicNameOf)
+			.collect(Collectors.toList());
+		return new Hint(Type.JOIN_ON, symbolicNames, null, Collections.emptyList());
+	}
+
+	private static Hint createIndexHint(Type type, Node node, String... properties) {
+
+		Assert.notNull(node, "The node is required.");
+		Assert.notNull(properties, "The indexed properties are required.");
+		Assert.notEmpty(properties, "At least one indexed property is required.");
+		for (String property : properties) {
+			Assert.hasText(property, "The names of the indexed properties must not be empty.");
+		}
+		return new Hint(type, Collections.singletonList(requiredSymbolicNameOf(node)), requiredLabelOf(node),
+			Arrays.asList(properties));
+	}
+
+	private static SymbolicName requiredSymbolicNameOf(Node node) {
+
+		Assert.isTrue(node.getSymbolicName().isPresent(), "A hint can only refer to named nodes.");
+		return node.getRequiredSymbolicName();
+	}
+
+	private static String requiredLabelOf(Node node) {
+
+		List<NodeLabel> labels = node.getLabels();
+		Assert.isTrue(labels.size() == 1, "Exactly one label is required for an index or scan hint.");
+		return labels.get(0).getValue();
+	}
+
+	private final Type type;
+
+	private final List<SymbolicName> symbolicNames;
+
+	private final String label;
+
+	private final List<String> propertyKeys;
+
+	Hint(Type type, List<SymbolicName> symbolicNames, String label, List<String> propertyKeys) {
+
+		this.type = type;
+		this.symbolicNames = Collections.unmodifiableList(symbolicNames);
+		this.label = label;
+		this.propertyKeys = Collections.unmodifiableList(propertyKeys);
+	}
+
+	/**
+	 * @return The type of this hint
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return The variables this hint refers to, exactly one for all types but {@link Type#JOIN_ON}
+	 */
+	public List<SymbolicName> getSymbolicNames() {
+		return symbolicNames;
+	}
+
+	/**
+	 * @return The label of an index or scan hint
+	 */
+	public Optional<String> getLabel() {
+		return Optional.ofNullable(label);
+	}
+
+	/**
+	 * @return The properties of an index hint, empty for all other types
+	 */
+	public List<String> getPropertyKeys() {
+		return propertyKeys;
+	}
+}
@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Rewrites predicates on indexed properties into forms the Neo4j planner can answer with an index seek:
+ * <ul>
+ * <li>Regular expressions matching a literal string, such as {@code n.name =~ '^Keanu Reeves$'}, become an equality
+ * check. Those matching a literal prefix become {@code STARTS WITH}, if {@code .} matches line breaks as well, as in
+ * {@code n.name =~ '(?s)Keanu.*'}. Without the {@code (?s)} flag, {@code n.name =~ 'Keanu.*'} doesn't match values
+ * with line breaks after the prefix and is kept.</li>
+ * <li>Equality checks of the same property with literals or parameters combined with {@code OR} become a single
+ * {@code IN} check: {@code n.born = 1964 OR n.born = 1967} becomes {@code n.born IN [1964, 1967]}.</li>
+ * <li>Several lower or upper bounds of the same property combined with {@code AND} are reduced to the tightest of them,
+ * an inclusive lower and upper bound of the same value become an equality check.</li>
+ * <li>{@code toLower(n.email) = $email} becomes {@code n.email = $email}, if the values of {@code email} are
+ * declared to be {@link #withLowerCaseProperties(String...) stored in lower case}. For those values both sides are
+ * the same, so the other operand is kept as is.</li>
+ * </ul>
+ * Indexed properties are given as {@code Label.property}. A property of a variable is considered indexed if any of
+ * the labels the variable has in the patterns of the statement has an index on it:
+ * <pre>
+ * Statement rewritten = IndexFriendlyRewriter.forIndexes("Person.name", "Person.born").rewrite(statement);
+ * </pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class IndexFriendlyRewriter {
+
+	private static final String REGEX_METACHARACTERS = "\\.[]{}()*+?^$|";
+
+	private static final String DOTALL_FLAG = "(?s)";
+
+	/**
+	 * Creates a rewriter for the given indexed properties.
+	 *
+	 * @param indexedProperties The indexed properties, as {@code Label.property}
+	 * @return A new rewriter
+	 */
+	public static IndexFriendlyRewriter forIndexes(String... indexedProperties) {
+
+		Assert.notNull(indexedProperties, "Indexed properties must not be null.");
+		return forIndexes(Arrays.asList(indexedProperties));
+	}
+
+	/**
+	 * Creates a rewriter for the given indexed properties.
+	 *
+	 * @param indexedProperties The indexed properties, as {@code Label.property}
+	 * @return A new rewriter
+	 */
+	public static IndexFriendlyRewriter forIndexes(Collection<String> indexedProperties) {
+
+		Set<String> properties = validatedProperties(indexedProperties);
+		return new IndexFriendlyRewriter((label, key) -> properties.contains(label + "." + key),
+			Collections.emptySet());
+	}
+
+	/**
+	 * Creates a rewriter for the indexes contained in the given statistics.
+	 *
+	 * @param statistics Statistics of a graph
+	 * @return A new rewriter
+	 */
+	public static IndexFriendlyRewriter forIndexes(GraphStatistics statistics) {
+
+		Assert.notNull(statistics, "Statistics must not be null.");
+		return new IndexFriendlyRewriter((label, key) -> statistics.getIndexSelectivity(label, key).isPresent(),
+			Collections.emptySet());
+	}
+
+	private static Set<String> validatedProperties(Collection<String> properties) {
+
+		Assert.notNull(properties, "Properties must not be null.");
+		Set<String> result = new HashSet<>();
+		for (String property : properties) {
+			Assert.isTrue(property != null && property.indexOf('.') > 0 && !property.endsWith("."),
+				"Properties must be given as Label.property, not " + property + ".");
+			result.add(property);
+		}
+		return result;
+	}
+
+	private final BiPredicate<String, String> indexed;
+
+	private final Set<String> lowerCaseProperties;
+
+	private IndexFriendlyRewriter(BiPredicate<String, String> indexed, Set<String> lowerCaseProperties) {
+		this.indexed = indexed;
+		this.lowerCaseProperties = lowerCaseProperties;
+	}
+
+	/**
+	 * Declares properties whose values are stored in lower case only, usually to search them case-insensitively with
+	 * an index. Conditions comparing the lower case form of such a property are rewritten to compare the property
+	 * itself.
+	 *
+	 * @param properties The properties, as {@code Label.property}
+	 * @return A new rewriter for the same indexes and the given properties
+	 */
+	public IndexFriendlyRewriter withLowerCaseProperties(String... properties) {
+
+		Assert.notNull(properties, "Properties must not be null.");
+		return new IndexFriendlyRewriter(indexed, validatedProperties(Arrays.asList(properties)));
+	}
+
+	/**
+	 * Rewrites the given statement.
+	 *
+	 * @param statement The statement to rewrite
+	 * @return The rewritten statement, the same instance if none of its predicates can be rewritten
+	 */
+	public Statement rewrite(Statement statement) {
+
+		Assert.notNull(statement, "Statement to rewrite must not be null.");
+
+		Map<String, Set<String>> labelsByName = new HashMap<>();
+		AstElement.forEachElement(statement, element -> {
+			AstElement astElement = AstElement.decompose(element);
+			Visitable name = astElement.getKind() == Kind.NODE ? astElement.getChildren().get(0) : null;
+			if (name != null) {
+				@SuppressWarnings("unchecked")
+				List<String> labels = (List<String>) astElement.getAttributes()[0];
+				labelsByName.computeIfAbsent(((SymbolicName) name).getValue(), k -> new HashSet<>()).addAll(labels);
+			}
+		});
+
+		Rules rules = new Rules(labelsByName);
+		return StatementRewriter
+			.withRules(rules::rewriteRegularExpression, rules::mergeEqualities, rules::mergeBounds,
+				rules::rewriteLowerCaseComparison)
+			.rewrite(statement);
+	}
+
+	/**
+	 * The rules for a single statement, aware of the labels of its variables.
+	 */
+	private final class Rules {
+
+		private final Map<String, Set<String>> labelsByName;
+
+		Rules(Map<String, Set<String>> labelsByName) {
+			this.labelsByName = labelsByName;
+		}
+
+		Visitable rewriteRegularExpression(Visitable element) {
+
+			if (!(element instanceof Comparison)) {
+				return element;
+			}
+			Comparison comparison = (Comparison) element;
+			if (comparison.getComparator() != Operator.MATCHES || !(comparison.getRight() instanceof StringLiteral)
+				|| !isIndexed(comparison.getLeft())) {
+				return element;
+			}
+
+			String pattern = ((StringLiteral) comparison.getRight()).getContent().toString();
+			boolean dotMatchesAll = pattern.startsWith(DOTALL_FLAG);
+			pattern = dotMatchesAll ? pattern.substring(DOTALL_FLAG.length()) : pattern;
+			pattern = pattern.startsWith("^") ? pattern.substring(1) : pattern;
+			if (endsUnescaped(pattern, "$")) {
+				pattern = pattern.substring(0, pattern.length() - 1);
+			}
+			boolean prefix = endsUnescaped(pattern, ".*");
+			String literal = unescape(prefix ? pattern.substring(0, pattern.length() - 2) : pattern);
+			if (literal == null || (prefix && (literal.isEmpty() || !dotMatchesAll))) {
+				return element;
+			}
+			return Comparison.create(comparison.getLeft(), prefix ? Operator.STARTS_WITH : Operator.EQUALITY,
+				Cypher.literalOf(literal));
+		}
+
+		Visitable mergeEqualities(Visitable element) {
+
+			if (!(element instanceof CompoundCondition)
+				|| ((CompoundCondition) element).getOperator() != Operator.OR) {
+				return element;
+			}
+
+			List<Condition> operands = CompoundCondition.operandsOf((Condition) element, Operator.OR);
+			Map<String, List<Expression>> valuesByProperty = new LinkedHashMap<>();
+			Map<String, Integer> operandsByProperty = new HashMap<>();
+			for (Condition operand : operands) {
+				String property = keyOf(equalityPropertyOf(operand));
+				if (property != null) {
+					valuesByProperty.computeIfAbsent(property, k -> new ArrayList<>()).addAll(valuesOf(operand));
+					operandsByProperty.merge(property, 1, Integer::sum);
+				}
+			}
+			operandsByProperty.values().removeIf(count -> count < 2);
+			if (operandsByProperty.isEmpty()) {
+				return element;
+			}
+
+			List<Condition> newOperands = new ArrayList<>();
+			for (Condition operand : operands) {
+				Expression property = equalityPropertyOf(operand);
+				String key = keyOf(property);
+				if (!operandsByProperty.containsKey(key)) {
+					newOperands.add(operand);
+				} else if (valuesByProperty.containsKey(key)) {
+					List<Expression> values = valuesByProperty.remove(key);
+					newOperands.add(Comparison.create(property, Operator.IN,
+						Cypher.listOf(values.toArray(new Expression[0]))));
+				}
+			}
+			return combine(newOperands, Operator.OR);
+		}
+
+		Visitable mergeBounds(Visitable element) {
+
+			if (!(element instanceof CompoundCondition)
+				|| ((CompoundCondition) element).getOperator() != Operator.AND) {
+				return element;
+			}
+
+			List<Condition> operands = CompoundCondition.operandsOf((Condition) element, Operator.AND);
+			Map<String, Bounds> boundsByProperty = new LinkedHashMap<>();
+			for (Condition operand : operands) {
+				Bound bound = Bound.of(operand);
+				if (bound != null && isIndexed(bound.property)) {
+					boundsByProperty.computeIfAbsent(keyOf(bound.property), k -> new Bounds()).add(bound);
+				}
+			}
+			boundsByProperty.values().removeIf(bounds -> !bounds.canBeMerged());
+			if (boundsByProperty.isEmpty()) {
+				return element;
+			}
+
+			List<Condition> newOperands = new ArrayList<>();
+			for (Condition operand : operands) {
+				Bound bound = Bound.of(operand);
+				Bounds bounds = bound == null ? null : boundsByProperty.get(keyOf(bound.property));
+				if (bounds == null) {
+					newOperands.add(operand);
+				} else if (!bounds.merged) {
+					newOperands.addAll(bounds.merge());
+				}
+			}
+			return combine(newOperands, Operator.AND);
+		}
+
+		Visitable rewriteLowerCaseComparison(Visitable element) {
+
+			if (!(element instanceof Comparison)) {
+				return element;
+			}
+			Comparison comparison = (Comparison) element;
+			Operator comparator = comparison.getComparator();
+			Expression property = lowerCasePropertyOf(comparison.getLeft());
+			if (comparator == Operator.EQUALITY && property == null) {
+				Expression mirrored = lowerCasePropertyOf(comparison.getRight());
+				return mirrored == null ? element : Comparison.create(mirrored, comparator, comparison.getLeft());
+			}
+			if (property == null || (comparator != Operator.EQUALITY && comparator != Operator.STARTS_WITH)) {
+				return element;
+			}
+			return Comparison.create(property, comparator, comparison.getRight());
+		}
+
+		/**
+		 * @param expression An expression
+		 * @return The property of {@code toLower(property)} if the property is stored in lower case
+		 */
+		private Expression lowerCasePropertyOf(Expression expression) {
+
+			if (!(expression instanceof FunctionInvocation)
+				|| !"toLower".equals(((FunctionInvocation) expression).getFunctionName())) {
+				return null;
+			}
+			List<Visitable> arguments = AstElement.decompose(((FunctionInvocation) expression).getArguments())
+				.getChildren();
+			if (arguments.size() != 1 || !(arguments.get(0) instanceof Property)) {
+				return null;
+			}
+			Property property = (Property) arguments.get(0);
+			return hasLabelWith(property, (label, key) -> lowerCaseProperties.contains(label + "." + key)) ?
+				property : null;
+		}
+
+		/**
+		 * @param condition A condition
+		 * @return The property checked for equality with literals or parameters by the condition, if it is indexed
+		 */
+		private Expression equalityPropertyOf(Condition condition) {
+
+			if (!(condition instanceof Comparison)) {
+				return null;
+			}
+			Comparison comparison = (Comparison) condition;
+			Expression left = comparison.getLeft();
+			Expression right = comparison.getRight();
+			if (comparison.getComparator() == Operator.EQUALITY) {
+				if (isValue(right) && isIndexed(left)) {
+					return left;
+				}
+				return isValue(left) && isIndexed(right) ? right : null;
+			}
+			boolean literalList = right instanceof ListLiteral || right instanceof ListExpression;
+			return comparison.getComparator() == Operator.IN && literalList && isIndexed(left) ? left : null;
+		}
+
+		private boolean isIndexed(Expression expression) {
+			return expression instanceof Property && hasLabelWith((Property) expression, indexed);
+		}
+
+		private boolean hasLabelWith(Property property, BiPredicate<String, String> predicate) {
+
+			if (!(property.getContainer() instanceof SymbolicName)) {
+				return false;
+			}
+			String name = ((SymbolicName) property.getContainer()).getValue();
+			String key = property.getName().getPropertyKeyName();
+			return labelsByName.getOrDefault(name, Collections.emptySet()).stream()
+				.anyMatch(label -> predicate.test(label, key));
+		}
+	}
+
+	private static boolean isValue(Expression expression) {
+		return expression instanceof Parameter || (expression instanceof Literal && !(expression instanceof Asterisk));
+	}
+
+	/**
+	 * @param condition An equality check or an {@code IN} check with a literal list
+	 * @return The values the condition compares with
+	 */
+	private static List<Expression> valuesOf(Condition condition) {
+
+		Comparison comparison = (Comparison) condition;
+		if (comparison.getComparator() == Operator.EQUALITY) {
+			return Collections.singletonList(comparison.getLeft() instanceof Property ?
+				comparison.getRight() : comparison.getLeft());
+		}
+
+		List<Expression> values = new ArrayList<>();
+		Visitable list = comparison.getRight();
+		if (list instanceof ListExpression) {
+			list = AstElement.decompose(list).getChildren().get(0);
+		}
+		if (list != null) {
+			AstElement.decompose(list).getChildren().forEach(value -> values.add((Expression) value));
+		}
+		return values;
+	}
+
+	/**
+	 * @param property A property of a variable
+	 * @return A key identifying the property or {@literal null} if no property of a variable is given
+	 */
+	private static String keyOf(Expression property) {
+
+		if (!(property instanceof Property) || !(((Property) property).getContainer() instanceof SymbolicName)) {
+			return null;
+		}
+		Property p = (Property) property;
+		return ((SymbolicName) p.getContainer()).getValue() + "." + p.getName().getPropertyKeyName();
+	}
+
+	private static Condition combine(List<Condition> operands, Operator operator) {
+		return operands.stream().reduce((l, r) -> CompoundCondition.combineFlattened(l, operator, r)).get();
+	}
+
+	/**
+	 * @param pattern A regular expression
+	 * @param suffix  A suffix
+	 * @return True if the pattern ends with the suffix and the suffix is not escaped
+	 */
+	private static boolean endsUnescaped(String pattern, String suffix) {
+
+		if (!pattern.endsWith(suffix)) {
+			return false;
+		}
+		int backslashes = 0;
+		for (int i = pattern.length() - suffix.length() - 1; i >= 0 && pattern.charAt(i) == '\\'; --i) {
+			++backslashes;
+		}
+		return backslashes % 2 == 0;
+	}
+
+	/**
+	 * @param pattern A part of a regular expression
+	 * @return The literal string matched by the pattern or {@literal null} if it contains anything but literal
+	 * characters and escaped characters other than letters and digits, which denote constructs
+	 */
+	private static String unescape(String pattern) {
+
+		StringBuilder literal = new StringBuilder();
+		for (int i = 0; i < pattern.length(); ++i) {
+			char c = pattern.charAt(i);
+			if (c == '\\' && i + 1 < pattern.length() && !Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+				literal.append(pattern.charAt(++i));
+			} else if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+				return null;
+			} else {
+				literal.append(c);
+			}
+		}
+		return literal.toString();
+	}
+
+	/**
+	 * A lower or upper bound of a property given by a number literal.
+	 */
+	private static final class Bound {
+
+		private final Comparison comparison;
+
+		private final Expression property;
+
+		private final boolean lower;
+
+		private final boolean inclusive;
+
+		private final BigDecimal value;
+
+		private final NumberLiteral literal;
+
+		private Bound(Comparison comparison, Expression property, Operator comparator, NumberLiteral literal) {
+
+			this.comparison = comparison;
+			this.property = property;
+			this.lower = comparator == Operator.GREATER_THAN || comparator == Operator.GREATER_THAN_OR_EQUAL_TO;
+			this.inclusive = comparator == Operator.GREATER_THAN_OR_EQUAL_TO
+				|| comparator == Operator.LESS_THAN_OR_EQUAL_TO;
+			this.value = new BigDecimal(literal.getContent().toString());
+			this.literal = literal;
+		}
+
+		static Bound of(Condition condition) {
+
+			if (!(condition instanceof Comparison)) {
+				return null;
+			}
+			Comparison comparison = (Comparison) condition;
+			Operator comparator = comparison.getComparator();
+			if (comparator != Operator.GREATER_THAN && comparator != Operator.GREATER_THAN_OR_EQUAL_TO
+				&& comparator != Operator.LESS_THAN && comparator != Operator.LESS_THAN_OR_EQUAL_TO) {
+				return null;
+			}
+			if (comparison.getLeft() instanceof Property && isFinite(comparison.getRight())) {
+				return new Bound(comparison, comparison.getLeft(), comparator, (NumberLiteral) comparison.getRight());
+			} else if (comparison.getRight() instanceof Property && isFinite(comparison.getLeft())) {
+				return new Bound(comparison, comparison.getRight(), mirror(comparator),
+					(NumberLiteral) comparison.getLeft());
+			}
+			return null;
+		}
+
+		private static boolean isFinite(Expression expression) {
+
+			if (!(expression instanceof NumberLiteral)) {
+				return false;
+			}
+			Number number = ((NumberLiteral) expression).getContent();
+			return (number instanceof Double || number instanceof Float) ?
+				!Double.isNaN(number.doubleValue()) && !Double.isInfinite(number.doubleValue()) : number != null;
+		}
+
+		private static Operator mirror(Operator comparator) {
+
+			switch (comparator) {
+				case GREATER_THAN:
+					return Operator.LESS_THAN;
+				case GREATER_THAN_OR_EQUAL_TO:
+					return Operator.LESS_THAN_OR_EQUAL_TO;
+				case LESS_THAN:
+					return Operator.GREATER_THAN;
+				default:
+					return Operator.GREATER_THAN_OR_EQUAL_TO;
+			}
+		}
+
+		/**
+		 * @param other Another bound on the same side
+		 * @return True if this bound is tighter than the other one
+		 */
+		boolean isTighterThan(Bound other) {
+
+			int order = value.compareTo(other.value);
+			if (order == 0) {
+				return !inclusive && other.inclusive;
+			}
+			return lower ? order > 0 : order < 0;
+		}
+	}
+
+	/**
+	 * All bounds of a single property.
+	 */
+	private static final class Bounds {
+
+		private final List<Bound> bounds = new ArrayList<>();
+
+		private Bound lower;
+
+		private Bound upper;
+
+		private boolean merged;
+
+		void add(Bound bound) {
+
+			bounds.add(bound);
+			if (bound.lower) {
+				lower = lower == null || bound.isTighterThan(lower) ? bound : lower;
+			} else {
+				upper = upper == null || bound.isTighterThan(upper) ? bound : upper;
+			}
+		}
+
+		boolean canBeMerged() {
+			return bounds.size() > (lower == null ? 0 : 1) + (upper == null ? 0 : 1) || isSingleValue();
+		}
+
+		private boolean isSingleValue() {
+			return lower != null && upper != null && lower.inclusive && upper.inclusive
+				&& lower.value.compareTo(upper.value) == 0;
+		}
+
+		List<Condition> merge() {
+
+			merged = true;
+			if (isSingleValue()) {
+				return Collections.singletonList(Comparison.create(lower.property, Operator.EQUALITY, lower.literal));
+			}
+			List<Condition> result = new ArrayList<>();
+			for (Bound bound : bounds) {
+				if (bound == lower || bound == upper) {
+					result.add(bound.comparison);
+				}
+			}
+			return result;
+		}
+	}
+}
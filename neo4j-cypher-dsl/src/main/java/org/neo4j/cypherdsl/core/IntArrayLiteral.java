@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+
+/**
+ * A list literal backed by an array of primitive {@code int} values. The values are rendered straight into the
+ * output without boxing them or creating a literal per element. The array is copied when the literal is created and
+ * when its content is retrieved, so that an already built statement cannot be changed through it.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class IntArrayLiteral extends Literal<int[]> {
+
+	IntArrayLiteral(int[] content) {
+		super(content.clone());
+	}
+
+	@Override
+	public int[] getContent() {
+		return super.getContent().clone();
+	}
+
+	@Override
+	public String asString() {
+
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder);
+		return builder.toString();
+	}
+
+	@Override
+	public void appendTo(StringBuilder builder) {
+
+		int[] values = super.getContent();
+		builder.append("[");
+		for (int i = 0; i < values.length; ++i) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(values[i]);
+		}
+		builder.append("]");
+	}
+}
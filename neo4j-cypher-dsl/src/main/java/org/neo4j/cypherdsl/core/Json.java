@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal reader for JSON documents, so that statistics and fixtures can be read without adding a dependency to this
+ * module. Objects are read into {@link LinkedHashMap linked hash maps}, arrays into lists, numbers into longs if they
+ * are integral and fit, otherwise into doubles.
+ *
+ * @since 2020.0.0
+ */
+final class Json {
+
+	/**
+	 * Parses a JSON document.
+	 *
+	 * @param json The document to parse
+	 * @return The value of the document: A map, a list, a string, a number, a boolean or {@literal null}
+	 * @throws IllegalArgumentException if the document is not valid JSON
+	 */
+	static Object parse(CharSequence json) {
+
+		Assert.notNull(json, "JSON document must not be null.");
+
+		Json reader = new Json(json);
+		Object value = reader.readValue();
+		reader.skipWhitespace();
+		if (reader.position < json.length()) {
+			throw reader.error("Unexpected content after the document");
+		}
+		return value;
+	}
+
+	private final CharSequence json;
+
+	private int position;
+
+	private Json(CharSequence json) {
+		this.json = json;
+	}
+
+	private Object readValue() {
+
+		skipWhitespace();
+		if (position >= json.length()) {
+			throw error("Unexpected end of document");
+		}
+		char next = json.charAt(position);
+		if (next == '{') {
+			return readObject();
+		} else if (next == '[') {
+			return readArray();
+		} else if (next == '"') {
+			return readString();
+		} else if (next == '-' || Character.isDigit(next)) {
+			return readNumber();
+		} else if (tryConsume("true")) {
+			return Boolean.TRUE;
+		} else if (tryConsume("false")) {
+			return Boolean.FALSE;
+		} else if (tryConsume("null")) {
+			return null;
+		}
+		throw error("Unexpected character '" + next + "'");
+	}
+
+	private Map<String, Object> readObject() {
+
+		Map<String, Object> object = new LinkedHashMap<>();
+		++position;
+		skipWhitespace();
+		if (tryConsume("}")) {
+			return object;
+		}
+		do {
+			skipWhitespace();
+			if (position >= json.length() || json.charAt(position) != '"') {
+				throw error("Expected a string as key");
+			}
+			String key = readString();
+			skipWhitespace();
+			expect(':');
+			object.put(key, readValue());
+			skipWhitespace();
+		} while (tryConsume(","));
+		expect('}');
+		return object;
+	}
+
+	private List<Object> readArray() {
+
+		List<Object> array = new ArrayList<>();
+		++position;
+		skipWhitespace();
+		if (tryConsume("]")) {
+			return array;
+		}
+		do {
+			array.add(readValue());
+			skipWhitespace();
+		} while (tryConsume(","));
+		expect(']');
+		return array;
+	}
+
+	private String readString() {
+
+		StringBuilder value = new StringBuilder();
+		++position;
+		while (position < json.length()) {
+			char next = json.charAt(position++);
+			if (next == '"') {
+				return value.toString();
+			} else if (next != '\\') {
+				value.append(next);
+			} else if (position < json.length()) {
+				value.append(readEscapedCharacter(json.charAt(position++)));
+			}
+		}
+		throw error("Unterminated string");
+	}
+
+	private char readEscapedCharacter(char escaped) {
+
+		switch (escaped) {
+			case 'b':
+				return '\b';
+			case 'f':
+				return '\f';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 't':
+				return '\t';
+			case 'u':
+				if (position + 4 > json.length()) {
+					throw error("Invalid unicode escape");
+				}
+				try {
+					char character = (char) Integer.parseInt(json.subSequence(position, position + 4).toString(), 16);
+					position += 4;
+					return character;
+				} catch (NumberFormatException e) {
+					throw error("Invalid unicode escape");
+				}
+			case '"':
+			case '\\':
+			case '/':
+				return escaped;
+			default:
+				throw error("Invalid escape sequence '\\" + escaped + "'");
+		}
+	}
+
+	private Number readNumber() {
+
+		int start = position;
+		boolean integral = true;
+		while (position < json.length()) {
+			char next = json.charAt(position);
+			if (next == '.' || next == 'e' || next == 'E') {
+				integral = false;
+			} else if (!(Character.isDigit(next) || next == '-' || next == '+')) {
+				break;
+			}
+			++position;
+		}
+		String number = json.subSequence(start, position).toString();
+		try {
+			if (integral) {
+				return Long.parseLong(number);
+			}
+		} catch (NumberFormatException e) {
+			// Too large for a long, read as double below.
+		}
+		try {
+			return Double.parseDouble(number);
+		} catch (NumberFormatException e) {
+			throw error("Invalid number '" + number + "'");
+		}
+	}
+
+	private void skipWhitespace() {
+
+		while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+			++position;
+		}
+	}
+
+	private boolean tryConsume(String expected) {
+
+		int end = position + expected.length();
+		if (end <= json.length() && json.subSequence(position, end).toString().equals(expected)) {
+			position = end;
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(char expected) {
+
+		if (position >= json.length() || json.charAt(position) != expected) {
+			throw error("Expected '" + expected + "'");
+		}
+		++position;
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException("Invalid JSON: " + message + " at position " + position + ".");
+	}
+}
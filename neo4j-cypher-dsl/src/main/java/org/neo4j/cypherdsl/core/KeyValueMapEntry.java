@@ -46,6 +46,10 @@ public final class KeyValueMapEntry implements Expression {
 		return key;
 	}
 
+	Expression getValue() {
+		return this.value;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
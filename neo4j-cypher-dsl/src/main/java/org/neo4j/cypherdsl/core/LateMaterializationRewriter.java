@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Moves {@code ORDER BY}, {@code SKIP} and {@code LIMIT} in front of expensive projections. Map projections and pattern
+ * comprehensions in a {@code RETURN} clause are evaluated for every row before the rows are sorted and limited. If the
+ * clause has a limit, the rows are limited in an additional {@code WITH} clause first, so that the projection is only
+ * evaluated for the rows that are actually returned:
+ * <pre>
+ * MATCH (n:Person) RETURN n{.*, friends: [(n)-[:KNOWS]-&gt;(f) | f.name]} ORDER BY n.name LIMIT 20
+ * </pre>
+ * becomes
+ * <pre>
+ * MATCH (n:Person) WITH * ORDER BY n.name LIMIT 20 RETURN n{.*, friends: [(n)-[:KNOWS]-&gt;(f) | f.name]} ORDER BY n.name
+ * </pre>
+ * The {@code WITH} clause keeps all variables, and the now small number of rows is sorted once more, so that the order
+ * of the result is guaranteed. Distinct and aggregating projections, where the projected values decide which rows are
+ * returned, are not rewritten, nor are projections ordered by the aliases of their items or following clauses that
+ * don't declare any variable, as {@code WITH *} is not allowed there. The
+ * {@link CostEstimator} accounts for the evaluation of projections and shows the difference.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class LateMaterializationRewriter {
+
+	/**
+	 * Rewrites the given statement.
+	 *
+	 * @param statement The statement to rewrite
+	 * @return The rewritten statement, the same instance if none of its projections can be materialized later
+	 */
+	public static Statement rewrite(Statement statement) {
+
+		Assert.notNull(statement, "Statement to rewrite must not be null.");
+
+		if (statement instanceof SinglePartQuery) {
+			SinglePartQuery query = (SinglePartQuery) statement;
+			MultiPartElement limitingPart = limit(query, false);
+			return limitingPart == null ? query :
+				new MultiPartQuery(Collections.singletonList(limitingPart), project(query.getReturn()));
+		} else if (statement instanceof MultiPartQuery) {
+			MultiPartQuery query = (MultiPartQuery) statement;
+			MultiPartElement limitingPart = limit(query.getRemainder(), true);
+			if (limitingPart == null) {
+				return query;
+			}
+			List<MultiPartElement> parts = new ArrayList<>(query.getParts());
+			parts.add(limitingPart);
+			return new MultiPartQuery(parts, project(query.getRemainder().getReturn()));
+		} else if (statement instanceof UnionQuery) {
+			return rewrite((UnionQuery) statement);
+		}
+		return statement;
+	}
+
+	private static Statement rewrite(UnionQuery query) {
+
+		AstElement astElement = AstElement.decompose(query);
+		List<Visitable> newChildren = new ArrayList<>();
+		boolean changed = false;
+		for (Visitable child : astElement.getChildren()) {
+			Visitable newChild;
+			if (child instanceof UnionPart) {
+				UnionPart part = (UnionPart) child;
+				Statement newQuery = rewrite(part.getQuery());
+				newChild = newQuery == part.getQuery() ? part :
+					new UnionPart(part.isAll(), (Statement.SingleQuery) newQuery);
+			} else {
+				newChild = rewrite((Statement) child);
+			}
+			changed |= newChild != child;
+			newChildren.add(newChild);
+		}
+		return changed ? (Statement) astElement.withChildren(newChildren).compose() : query;
+	}
+
+	/**
+	 * Creates the part limiting the rows of the given query before its projection.
+	 *
+	 * @param query    The query to rewrite
+	 * @param anyBound Whether variables have been bound by preceding parts of the query
+	 * @return The preceding clauses of the query followed by the limiting {@code WITH} clause or {@literal null} if the
+	 * projection of the query can't be materialized later
+	 */
+	private static MultiPartElement limit(SinglePartQuery query, boolean anyBound) {
+
+		Return aReturn = query.getReturn();
+		if (aReturn == null || aReturn.isDistinct()
+			|| (!anyBound && !AstElement.declaresVariables(query.getPrecedingClauses()))) {
+			return null;
+		}
+
+		ReturnBody body = aReturn.getBody();
+		List<Expression> items = body.getReturnItems().getExpressions();
+		if (body.getLimit() == null
+			|| items.stream().noneMatch(LateMaterializationRewriter::isExpensive)
+			|| items.stream().anyMatch(AstElement::containsAggregation)) {
+			return null;
+		}
+
+		Set<String> aliases = new HashSet<>();
+		items.stream().filter(AliasedExpression.class::isInstance)
+			.forEach(item -> aliases.add(((AliasedExpression) item).getAlias()));
+		if (AstElement.contains(body.getOrder(), element -> element instanceof SymbolicName
+			&& aliases.contains(((SymbolicName) element).getValue()))) {
+			return null;
+		}
+
+		ReturnBody limitingBody = new ReturnBody(new ExpressionList(Asterisk.INSTANCE), body.getOrder(),
+			body.getSkip(), body.getLimit());
+		return new MultiPartElement(query.getPrecedingClauses(), new With(false, limitingBody, null));
+	}
+
+	private static SinglePartQuery project(Return aReturn) {
+
+		ReturnBody body = aReturn.getBody();
+		return new SinglePartQuery(Collections.emptyList(),
+			new Return(false, new ReturnBody(body.getReturnItems(), body.getOrder(), null, null)));
+	}
+
+	private static boolean isExpensive(Expression item) {
+		return AstElement.contains(item,
+			element -> element instanceof MapProjection || element instanceof PatternComprehension);
+	}
+
+	private LateMaterializationRewriter() {
+	}
+}
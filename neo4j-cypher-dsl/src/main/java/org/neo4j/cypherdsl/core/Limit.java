@@ -45,6 +45,10 @@ public final class Limit implements Visitable {
 		this.limitAmount = limitAmount;
 	}
 
+	NumberLiteral getLimitAmount() {
+		return this.limitAmount;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
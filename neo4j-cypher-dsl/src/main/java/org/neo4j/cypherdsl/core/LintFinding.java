@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+
+/**
+ * A single finding of the {@link StatementLinter}. The location of a finding is given by the position of the clause in
+ * the statement and a short description of the offending element.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class LintFinding {
+
+	/**
+	 * The severity of a finding.
+	 */
+	public enum Severity {
+		/**
+		 * The statement works but will most likely perform badly.
+		 */
+		WARNING,
+		/**
+		 * The statement will be rejected by the server.
+		 */
+		ERROR
+	}
+
+	private final LintRule rule;
+
+	private final Severity severity;
+
+	private final int clauseIndex;
+
+	private final String clause;
+
+	private final String element;
+
+	private final String message;
+
+	LintFinding(LintRule rule, Severity severity, int clauseIndex, String clause, String element, String message) {
+
+		this.rule = rule;
+		this.severity = severity;
+		this.clauseIndex = clauseIndex;
+		this.clause = clause;
+		this.element = element;
+		this.message = message;
+	}
+
+	/**
+	 * @return The violated rule
+	 */
+	public LintRule getRule() {
+		return rule;
+	}
+
+	/**
+	 * @return The severity of this finding
+	 */
+	public Severity getSeverity() {
+		return severity;
+	}
+
+	/**
+	 * @return The position of the clause containing the finding, starting with 1 for the first clause of the statement
+	 */
+	public int getClauseIndex() {
+		return clauseIndex;
+	}
+
+	/**
+	 * @return The clause containing the finding, for example {@code MATCH} or {@code MERGE}
+	 */
+	public String getClause() {
+		return clause;
+	}
+
+	/**
+	 * @return A short description of the offending element, for example {@code (n)-[*]->(m)}
+	 */
+	public String getElement() {
+		return element;
+	}
+
+	/**
+	 * @return A message explaining the finding
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return severity + " " + rule + " in clause " + clauseIndex + " (" + clause + ") at " + element + ": " + message;
+	}
+}
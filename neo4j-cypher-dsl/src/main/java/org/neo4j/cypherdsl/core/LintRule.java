@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+
+/**
+ * The rules checked by the {@link StatementLinter}. Each rule describes a shape of statement that is valid Cypher but
+ * known to perform badly on the server.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public enum LintRule {
+
+	/**
+	 * A {@code MATCH} clause consisting of patterns that are not connected through a common variable. The server
+	 * builds the cartesian product of the matches of such patterns.
+	 */
+	CARTESIAN_PRODUCT,
+
+	/**
+	 * A variable length relationship without an upper bound, like {@code -[*]->} or {@code -[*2..]->}. The number of
+	 * paths to expand grows exponentially with the size of the graph.
+	 */
+	UNBOUNDED_VARIABLE_LENGTH,
+
+	/**
+	 * A pattern in a {@code MATCH} or {@code MERGE} clause that has neither a node with a label nor a variable bound by
+	 * a previous clause. The server has to start with a scan of all nodes.
+	 */
+	ALL_NODES_SCAN,
+
+	/**
+	 * A relationship without a direction in a {@code CREATE} or {@code MERGE} clause. {@code CREATE} rejects those,
+	 * {@code MERGE} has to look for the relationship in both directions.
+	 */
+	UNDIRECTED_WRITE,
+
+	/**
+	 * A {@code MERGE} of a node with a label or a relationship with a type that has been matched before in the same
+	 * statement. The server has to materialize all previous results eagerly, so that the merge doesn't influence the
+	 * match.
+	 */
+	EAGER_MERGE
+}
@@ -142,7 +142,7 @@ public final class ListComprehension implements Expression {
 		}
 	}
 
-	private ListComprehension(SymbolicName variable, Expression listExpression,
+	ListComprehension(SymbolicName variable, Expression listExpression,
 		Where where, Expression listDefinition) {
 		this.variable = variable;
 		this.listExpression = listExpression;
@@ -150,6 +150,22 @@ public final class ListComprehension implements Expression {
 		this.listDefinition = listDefinition;
 	}
 
+	SymbolicName getVariable() {
+		return this.variable;
+	}
+
+	Expression getListExpression() {
+		return this.listExpression;
+	}
+
+	Where getWhere() {
+		return this.where;
+	}
+
+	Expression getListDefinition() {
+		return this.listDefinition;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
@@ -52,10 +52,14 @@ public final class ListExpression implements Expression {
 
 	private final ExpressionList<?> content;
 
-	private ListExpression(ExpressionList<?> content) {
+	ListExpression(ExpressionList<?> content) {
 		this.content = content;
 	}
 
+	ExpressionList<?> getContent() {
+		return this.content;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -18,11 +18,8 @@
  */
 package org.neo4j.cypherdsl.core;
 
-import static java.util.stream.Collectors.*;
 import static org.apiguardian.api.API.Status.*;
 
-import java.util.stream.StreamSupport;
-
 import org.apiguardian.api.API;
 
 /**
@@ -42,7 +39,23 @@ public final class ListLiteral extends Literal<Iterable<Literal<?>>> {
 	@Override
 	public String asString() {
 
-		return StreamSupport.stream(getContent().spliterator(), false).map(Literal::asString).collect(
-			joining(", ", "[", "]"));
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder);
+		return builder.toString();
+	}
+
+	@Override
+	public void appendTo(StringBuilder builder) {
+
+		builder.append("[");
+		boolean first = true;
+		for (Literal<?> literal : getContent()) {
+			if (!first) {
+				builder.append(", ");
+			}
+			literal.appendTo(builder);
+			first = false;
+		}
+		builder.append("]");
 	}
 }
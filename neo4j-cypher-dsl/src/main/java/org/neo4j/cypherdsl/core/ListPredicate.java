@@ -56,6 +56,18 @@ final class ListPredicate implements Expression {
 		this.where = where;
 	}
 
+	SymbolicName getVariable() {
+		return this.variable;
+	}
+
+	Expression getListExpression() {
+		return this.listExpression;
+	}
+
+	Where getWhere() {
+		return this.where;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
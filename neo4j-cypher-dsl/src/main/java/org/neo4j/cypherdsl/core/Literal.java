@@ -56,5 +56,17 @@ public abstract class Literal<T> implements Expression {
 	 * @return A string representation to be used literally in a cypher statement.
 	 */
 	public abstract String asString();
+
+	/**
+	 * Appends the string representation of this literal to {@code builder}. Literals with large content override this
+	 * so that they can be rendered without creating an intermediate string.
+	 *
+	 * @param builder The builder to append to
+	 * @since 2020.0.0
+	 */
+	@API(status = INTERNAL, since = "2020.0.0")
+	public void appendTo(StringBuilder builder) {
+		builder.append(asString());
+	}
 }
 
@@ -48,16 +48,17 @@ public final class MapExpression<S extends MapExpression<S>> extends TypedSubtre
 
 		Assert.isTrue(input.length % 2 == 0, "Need an even number of input parameters");
 		List<Expression> newContent = new ArrayList<>(input.length / 2);
-		Set<String> knownKeys = new HashSet<>();
+		Set<String> knownKeys = Assert.checksForDuplicateKeys() ? new HashSet<>() : null;
 
 		for (int i = 0; i < input.length; i += 2) {
 			Assert.isInstanceOf(String.class, input[i], "Key needs to be of type String.");
 			Assert.isInstanceOf(Expression.class, input[i + 1], "Value needs to be of type Expression.");
-			Assert.isTrue(!knownKeys.contains(input[i]), "Duplicate key '" + input[i] + "'");
 
 			final KeyValueMapEntry entry = new KeyValueMapEntry((String) input[i], (Expression) input[i + 1]);
+			if (knownKeys != null) {
+				Assert.isTrue(knownKeys.add(entry.getKey()), "Duplicate key '" + input[i] + "'");
+			}
 			newContent.add(entry);
-			knownKeys.add(entry.getKey());
 		}
 
 		return new MapExpression<>(newContent);
@@ -78,6 +79,10 @@ public final class MapExpression<S extends MapExpression<S>> extends TypedSubtre
 		return new MapExpression<>(newContent);
 	}
 
+	List<Expression> getEntries() {
+		return this.children;
+	}
+
 	@Override
 	protected Visitable prepareVisit(Expression child) {
 		return nameOrExpression(child);
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Map;
+
+import org.apiguardian.api.API;
+
+/**
+ * A map of literals, rendered as {@code {key: value}}. Keys that are not valid identifiers are escaped like other
+ * property keys, the order of the entries is the iteration order of the underlying map.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class MapLiteral extends Literal<Map<String, Literal<?>>> {
+
+	MapLiteral(Map<String, Literal<?>> content) {
+		super(content);
+	}
+
+	@Override
+	public String asString() {
+
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder);
+		return builder.toString();
+	}
+
+	@Override
+	public void appendTo(StringBuilder builder) {
+
+		builder.append("{");
+		boolean first = true;
+		for (Map.Entry<String, Literal<?>> entry : getContent().entrySet()) {
+			if (!first) {
+				builder.append(", ");
+			}
+			appendKey(builder, entry.getKey());
+			builder.append(": ");
+			entry.getValue().appendTo(builder);
+			first = false;
+		}
+		builder.append("}");
+	}
+
+	private static void appendKey(StringBuilder builder, String key) {
+
+		if (Cypher.isIdentifier(key)) {
+			builder.append(key);
+		} else {
+			builder.append('`').append(key.replace("`", "``")).append('`');
+		}
+	}
+}
@@ -61,6 +61,14 @@ public final class MapProjection implements Expression {
 		return new MapProjection(this.name, this.map.addEntries(createNewContent(content)));
 	}
 
+	SymbolicName getName() {
+		return this.name;
+	}
+
+	MapExpression<?> getMap() {
+		return this.map;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
@@ -71,7 +79,7 @@ public final class MapProjection implements Expression {
 
 	private static List<Expression> createNewContent(Object... content) {
 		final List<Expression> newContent = new ArrayList<>(content.length);
-		final Set<String> knownKeys = new HashSet<>();
+		final Set<String> knownKeys = Assert.checksForDuplicateKeys() ? new HashSet<>() : null;
 
 		String lastKey = null;
 		Expression lastExpression = null;
@@ -108,9 +116,10 @@ public final class MapProjection implements Expression {
 
 			final Expression entry;
 			if (lastKey != null) {
-				Assert.isTrue(!knownKeys.contains(lastKey), "Duplicate key '" + lastKey + "'");
+				if (knownKeys != null) {
+					Assert.isTrue(knownKeys.add(lastKey), "Duplicate key '" + lastKey + "'");
+				}
 				entry = new KeyValueMapEntry(lastKey, lastExpression);
-				knownKeys.add(lastKey);
 			} else if (lastExpression instanceof SymbolicName || lastExpression instanceof PropertyLookup) {
 				entry = lastExpression;
 			} else if (lastExpression instanceof Property) {
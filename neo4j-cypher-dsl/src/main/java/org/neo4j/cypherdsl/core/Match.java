@@ -20,6 +20,12 @@ package org.neo4j.cypherdsl.core;
 
 import static org.apiguardian.api.API.Status.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.apiguardian.api.API;
 import org.neo4j.cypherdsl.core.support.Visitable;
 import org.neo4j.cypherdsl.core.support.Visitor;
@@ -37,23 +43,69 @@ public final class Match implements ReadingClause {
 
 	private final Pattern pattern;
 
+	private final List<Hint> hints;
+
 	private final Where optionalWhere;
 
 	Match(boolean optional, Pattern pattern, Where optionalWhere) {
+		this(optional, pattern, Collections.emptyList(), optionalWhere);
+	}
+
+	Match(boolean optional, Pattern pattern, List<Hint> hints, Where optionalWhere) {
+
+		assertHintsReferToPattern(pattern, hints);
+
 		this.optional = optional;
 		this.pattern = pattern;
+		this.hints = Collections.unmodifiableList(new ArrayList<>(hints));
 		this.optionalWhere = optionalWhere;
 	}
 
+	/**
+	 * Makes sure that all variables used in the hints are declared by the pattern.
+	 *
+	 * @param pattern The pattern of a match
+	 * @param hints   The hints for the match
+	 */
+	static void assertHintsReferToPattern(Pattern pattern, List<Hint> hints) {
+
+		if (hints.isEmpty()) {
+			return;
+		}
+
+		Set<String> declaredNames = new HashSet<>();
+		pattern.accept(segment -> {
+			if (segment instanceof Named) {
+				((Named) segment).getSymbolicName().map(SymbolicName::getValue).ifPresent(declaredNames::add);
+			}
+		});
+		hints.stream().flatMap(hint -> hint.getSymbolicNames().stream()).map(SymbolicName::getValue)
+			.forEach(name -> Assert.isTrue(declaredNames.contains(name),
+				"The variable '" + name + "' used in a hint is not declared by the pattern of the match."));
+	}
+
 	public boolean isOptional() {
 		return optional;
 	}
 
+	Pattern getPattern() {
+		return this.pattern;
+	}
+
+	List<Hint> getHints() {
+		return this.hints;
+	}
+
+	Where getOptionalWhere() {
+		return this.optionalWhere;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
 		visitor.enter(this);
 		this.pattern.accept(visitor);
+		this.hints.forEach(hint -> hint.accept(visitor));
 		Visitable.visitIfNotNull(optionalWhere, visitor);
 		visitor.leave(this);
 	}
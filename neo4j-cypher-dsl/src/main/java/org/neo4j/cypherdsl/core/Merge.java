@@ -39,6 +39,10 @@ public final class Merge implements UpdatingClause {
 		this.pattern = pattern;
 	}
 
+	Pattern getPattern() {
+		return this.pattern;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -46,6 +46,14 @@ class MultiPartElement implements Visitable {
 		this.with = with;
 	}
 
+	List<Visitable> getPrecedingClauses() {
+		return this.precedingClauses;
+	}
+
+	With getWith() {
+		return this.with;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
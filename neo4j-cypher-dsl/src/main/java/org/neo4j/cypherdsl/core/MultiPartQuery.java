@@ -34,7 +34,7 @@ import org.neo4j.cypherdsl.core.support.Visitor;
  * @since 1.0
  */
 @API(status = EXPERIMENTAL, since = "1.0")
-public final class MultiPartQuery implements Statement.SingleQuery {
+public final class MultiPartQuery extends AbstractStatement implements Statement.SingleQuery {
 
 	private final List<MultiPartElement> parts;
 
@@ -46,6 +46,14 @@ public final class MultiPartQuery implements Statement.SingleQuery {
 		this.remainder = remainder;
 	}
 
+	List<MultiPartElement> getParts() {
+		return this.parts;
+	}
+
+	SinglePartQuery getRemainder() {
+		return this.remainder;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
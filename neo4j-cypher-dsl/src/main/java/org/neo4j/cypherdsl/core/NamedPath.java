@@ -115,12 +115,12 @@ public final class NamedPath implements PatternElement, Named {
 		}
 	}
 
-	private NamedPath(SymbolicName name, RelationshipPattern pattern) {
+	NamedPath(SymbolicName name, RelationshipPattern pattern) {
 		this.name = name;
 		this.pattern = pattern;
 	}
 
-	private NamedPath(SymbolicName name, FunctionInvocation algorithm) {
+	NamedPath(SymbolicName name, FunctionInvocation algorithm) {
 		this.name = name;
 		this.pattern = algorithm;
 	}
@@ -130,6 +130,10 @@ public final class NamedPath implements PatternElement, Named {
 		return Optional.of(name);
 	}
 
+	Visitable getPattern() {
+		return this.pattern;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
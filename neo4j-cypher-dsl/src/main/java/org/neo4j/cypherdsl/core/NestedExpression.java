@@ -37,6 +37,10 @@ public final class NestedExpression implements Expression {
 		this.delegate = delegate;
 	}
 
+	Expression getDelegate() {
+		return this.delegate;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -81,7 +81,7 @@ public final class Node implements PatternElement, PropertyContainer, ExposesRel
 		this.properties = properties;
 	}
 
-	private Node(SymbolicName symbolicName, Properties properties, List<NodeLabel> labels) {
+	Node(SymbolicName symbolicName, Properties properties, List<NodeLabel> labels) {
 
 		this.symbolicName = symbolicName;
 
@@ -201,6 +201,14 @@ public final class Node implements PatternElement, PropertyContainer, ExposesRel
 			labelsToQuery);
 	}
 
+	List<NodeLabel> getLabels() {
+		return this.labels;
+	}
+
+	Properties getProperties() {
+		return this.properties;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -46,4 +46,8 @@ final class NodeLabels implements Visitable {
 		values.forEach(value -> value.accept(visitor));
 		visitor.leave(this);
 	}
+
+	List<NodeLabel> getValues() {
+		return this.values;
+	}
 }
@@ -41,6 +41,10 @@ public final class NotCondition implements Condition {
 		this.condition = condition;
 	}
 
+	Condition getCondition() {
+		return this.condition;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
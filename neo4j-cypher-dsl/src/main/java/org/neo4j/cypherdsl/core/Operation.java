@@ -85,6 +85,18 @@ public final class Operation implements Expression {
 		this.right = right;
 	}
 
+	Expression getLeft() {
+		return this.left;
+	}
+
+	Operator getOperator() {
+		return this.operator;
+	}
+
+	Visitable getRight() {
+		return this.right;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -39,4 +39,8 @@ public final class Order<S extends Order<S>> extends TypedSubtree<SortItem, S> {
 	Order(List<SortItem> sortItems) {
 		super(sortItems);
 	}
+
+	List<SortItem> getSortItems() {
+		return this.children;
+	}
 }
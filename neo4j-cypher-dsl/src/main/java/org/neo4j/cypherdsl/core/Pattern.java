@@ -41,4 +41,8 @@ public final class Pattern<S extends Pattern<S>> extends TypedSubtree<PatternEle
 	Pattern(List<PatternElement> patternElements) {
 		super(patternElements);
 	}
+
+	List<PatternElement> getPatternElements() {
+		return this.children;
+	}
 }
@@ -121,12 +121,24 @@ public final class PatternComprehension implements Expression {
 		}
 	}
 
-	private PatternComprehension(RelationshipPattern pattern, Where where, Expression listDefinition) {
+	PatternComprehension(RelationshipPattern pattern, Where where, Expression listDefinition) {
 		this.pattern = pattern;
 		this.where = where;
 		this.listDefinition = listDefinition;
 	}
 
+	RelationshipPattern getPattern() {
+		return this.pattern;
+	}
+
+	Where getWhere() {
+		return this.where;
+	}
+
+	Expression getListDefinition() {
+		return this.listDefinition;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
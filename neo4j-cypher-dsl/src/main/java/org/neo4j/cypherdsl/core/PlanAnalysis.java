@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Maps the operators of a {@link QueryPlan plan} back to the clauses of the statement it has been created for and
+ * summarises database hits and rows per clause. This allows tests to assert on the shape of the plans of statements
+ * built with the DSL:
+ * <pre>
+ * PlanAnalysis analysis = PlanAnalysis.of(statement, QueryPlan.read(path));
+ * assertThat(analysis.getClausesUsing("CartesianProduct")).isEmpty();
+ * </pre>
+ * The planner does not record which clause an operator has been planned for, so the mapping is derived: An operator
+ * belongs to the clause that declares the variables it introduces, operators that project, sort, aggregate or update
+ * belong to the next clause doing so, and all other operators belong to the latest clause of their children. Operators
+ * that can't be attributed in this way, for example the arguments of an {@code Apply}, belong to the clause of their
+ * parent. Clauses are numbered the same way as in a {@link CostEstimate}. In unions, variables declared in several
+ * parts are attributed to the first part declaring them.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class PlanAnalysis {
+
+	private static final Set<String> PROJECTING_OPERATORS = new HashSet<>(Arrays.asList(
+		"Projection", "Sort", "PartialSort", "Top", "PartialTop", "Skip", "Limit", "Distinct", "OrderedDistinct",
+		"EagerAggregation", "OrderedAggregation", "NodeCountFromCountStore", "RelationshipCountFromCountStore",
+		"ProduceResults"));
+
+	/**
+	 * The profile of a single clause.
+	 */
+	public static final class ClauseProfile {
+
+		private final int clauseIndex;
+
+		private final String clause;
+
+		private final List<QueryPlan> operators;
+
+		ClauseProfile(int clauseIndex, String clause, List<QueryPlan> operators) {
+			this.clauseIndex = clauseIndex;
+			this.clause = clause;
+			this.operators = Collections.unmodifiableList(operators);
+		}
+
+		/**
+		 * @return The position of the clause, starting with 1 for the first clause of the statement
+		 */
+		public int getClauseIndex() {
+			return clauseIndex;
+		}
+
+		/**
+		 * @return The clause, for example {@code MATCH} or {@code RETURN}
+		 */
+		public String getClause() {
+			return clause;
+		}
+
+		/**
+		 * @return The operators planned for the clause, each operator before the operators it reads from
+		 */
+		public List<QueryPlan> getOperators() {
+			return operators;
+		}
+
+		/**
+		 * @return The types of the operators planned for the clause
+		 */
+		public List<String> getOperatorTypes() {
+			return operators.stream().map(QueryPlan::getOperatorType).collect(Collectors.toList());
+		}
+
+		/**
+		 * @return The number of rows produced by the clause, that is by its topmost operator, 0 if no operator has
+		 * been planned for it
+		 */
+		public long getRows() {
+			return operators.isEmpty() ? 0L : operators.get(0).getRows();
+		}
+
+		/**
+		 * @return The number of database hits of all operators planned for the clause
+		 */
+		public long getDbHits() {
+			return operators.stream().mapToLong(QueryPlan::getDbHits).sum();
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%d %s: rows=%d, dbHits=%d, operators=%s", clauseIndex, clause,
+				getRows(), getDbHits(), getOperatorTypes());
+		}
+	}
+
+	/**
+	 * Analyses the plan of a statement.
+	 *
+	 * @param statement The statement that has been planned
+	 * @param plan      The plan of the statement
+	 * @return The operators, rows and database hits of all clauses
+	 */
+	public static PlanAnalysis of(Statement statement, QueryPlan plan) {
+
+		Assert.notNull(statement, "Statement to analyse must not be null.");
+		Assert.notNull(plan, "Plan to analyse must not be null.");
+
+		Attribution attribution = new Attribution();
+		attribution.collectClauses(statement);
+		Assert.isTrue(!attribution.clauses.isEmpty(), "The statement does not contain any clauses.");
+		attribution.attribute(plan);
+		attribution.inheritFromParent(plan, attribution.clauses.size());
+
+		Map<Integer, List<QueryPlan>> operatorsByClause = new HashMap<>();
+		plan.getOperators().forEach(operator -> operatorsByClause
+			.computeIfAbsent(attribution.clauseIndexes.get(operator), index -> new ArrayList<>()).add(operator));
+
+		List<ClauseProfile> clauses = new ArrayList<>();
+		for (int i = 0; i < attribution.clauses.size(); ++i) {
+			clauses.add(new ClauseProfile(i + 1, attribution.clauses.get(i).name,
+				operatorsByClause.getOrDefault(i + 1, Collections.emptyList())));
+		}
+		return new PlanAnalysis(plan, clauses);
+	}
+
+	private final QueryPlan plan;
+
+	private final List<ClauseProfile> clauses;
+
+	private PlanAnalysis(QueryPlan plan, List<ClauseProfile> clauses) {
+		this.plan = plan;
+		this.clauses = Collections.unmodifiableList(clauses);
+	}
+
+	/**
+	 * @return The analysed plan
+	 */
+	public QueryPlan getPlan() {
+		return plan;
+	}
+
+	/**
+	 * @return The profiles of all clauses in the order of the statement
+	 */
+	public List<ClauseProfile> getClauses() {
+		return clauses;
+	}
+
+	/**
+	 * @param operatorType The type of an operator, for example {@code AllNodesScan}
+	 * @return The profiles of all clauses an operator of the given type has been planned for
+	 */
+	public List<ClauseProfile> getClausesUsing(String operatorType) {
+
+		return clauses.stream()
+			.filter(clause -> clause.getOperatorTypes().contains(operatorType))
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return The number of database hits of the whole statement
+	 */
+	public long getTotalDbHits() {
+		return plan.getTotalDbHits();
+	}
+
+	/**
+	 * @return The number of rows returned by the statement
+	 */
+	public long getRows() {
+		return plan.getRows();
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "rows=%d, dbHits=%d", getRows(), getTotalDbHits());
+	}
+
+	private static final class Clause {
+
+		private final Kind kind;
+
+		private final String name;
+
+		Clause(Kind kind, String name) {
+			this.kind = kind;
+			this.name = name;
+		}
+	}
+
+	private static final class Attribution {
+
+		private final List<Clause> clauses = new ArrayList<>();
+
+		/**
+		 * The index of the clause declaring a variable, starting with 1.
+		 */
+		private final Map<String, Integer> declaringClauses = new HashMap<>();
+
+		/**
+		 * The index of the clause of each operator, 0 for operators that have not been attributed yet.
+		 */
+		private final Map<QueryPlan, Integer> clauseIndexes = new IdentityHashMap<>();
+
+		void collectClauses(Visitable query) {
+
+			AstElement element = AstElement.decompose(query);
+			List<Visitable> children = element.getChildren();
+			Kind kind = element.getKind();
+			if (element.isSequenceOfClauses()) {
+				element.getClausesInOrder().forEach(this::collectClauses);
+			} else if (kind == Kind.UNION_QUERY || kind == Kind.UNION_PART || kind == Kind.STATEMENT_WITH_OPTIONS) {
+				children.forEach(this::collectClauses);
+			} else {
+				collectClause(element);
+			}
+		}
+
+		private void collectClause(AstElement clause) {
+
+			Kind kind = clause.getKind();
+			String name = kind == Kind.MATCH && (Boolean) clause.getAttributes()[0] ? "OPTIONAL MATCH" : kind.name();
+			this.clauses.add(new Clause(kind, name));
+
+			if (kind == Kind.MATCH || kind == Kind.CREATE || kind == Kind.MERGE) {
+				clause.getChildren().get(0).accept(segment -> {
+					if (segment instanceof Named) {
+						((Named) segment).getSymbolicName().ifPresent(symbolicName -> declare(symbolicName.getValue()));
+					}
+				});
+			} else if (kind == Kind.UNWIND) {
+				declare((String) clause.getAttributes()[0]);
+			} else if (kind == Kind.WITH || kind == Kind.RETURN) {
+				Visitable items = AstElement.decompose(clause.getChildren().get(0)).getChildren().get(0);
+				AstElement.decompose(items).getChildren().stream()
+					.filter(AliasedExpression.class::isInstance)
+					.forEach(item -> declare(((AliasedExpression) item).getAlias()));
+			}
+		}
+
+		private void declare(String variable) {
+			this.declaringClauses.putIfAbsent(variable, this.clauses.size());
+		}
+
+		/**
+		 * Attributes the operator and all operators below it, children first.
+		 *
+		 * @return The index of the clause of the operator, 0 if it has not been attributed
+		 */
+		int attribute(QueryPlan operator) {
+
+			int clauseIndex = 0;
+			Set<String> introducedVariables = new HashSet<>(operator.getIdentifiers());
+			for (QueryPlan child : operator.getChildren()) {
+				clauseIndex = Math.max(clauseIndex, attribute(child));
+				introducedVariables.removeAll(child.getIdentifiers());
+			}
+
+			// Arguments only pass on the variables of the operator they are planned for.
+			if (!"Argument".equals(operator.getOperatorType())) {
+				for (String variable : introducedVariables) {
+					clauseIndex = Math.max(clauseIndex, this.declaringClauses.getOrDefault(variable, 0));
+				}
+			}
+
+			Set<Kind> kinds = clauseKindsOf(operator.getOperatorType());
+			for (int i = Math.max(clauseIndex, 1); i <= this.clauses.size(); ++i) {
+				if (kinds.contains(this.clauses.get(i - 1).kind)) {
+					clauseIndex = i;
+					break;
+				}
+			}
+
+			this.clauseIndexes.put(operator, clauseIndex);
+			return clauseIndex;
+		}
+
+		/**
+		 * Attributes operators that could not be attributed from their children to the clause of their parent.
+		 */
+		void inheritFromParent(QueryPlan operator, int parentClauseIndex) {
+
+			int clauseIndex = this.clauseIndexes.get(operator);
+			if (clauseIndex == 0) {
+				clauseIndex = parentClauseIndex;
+				this.clauseIndexes.put(operator, clauseIndex);
+			}
+			for (QueryPlan child : operator.getChildren()) {
+				inheritFromParent(child, clauseIndex);
+			}
+		}
+
+		private static Set<Kind> clauseKindsOf(String operatorType) {
+
+			if (PROJECTING_OPERATORS.contains(operatorType)) {
+				return EnumSet.of(Kind.WITH, Kind.RETURN);
+			} else if (operatorType.startsWith("Set")) {
+				return EnumSet.of(Kind.SET);
+			} else if (operatorType.startsWith("Remove")) {
+				return EnumSet.of(Kind.REMOVE);
+			} else if (operatorType.contains("Delete")) {
+				return EnumSet.of(Kind.DELETE);
+			} else if (operatorType.startsWith("Create")) {
+				return EnumSet.of(Kind.CREATE);
+			} else if (operatorType.startsWith("Merge")) {
+				return EnumSet.of(Kind.MERGE);
+			}
+			return EnumSet.noneOf(Kind.class);
+		}
+	}
+}
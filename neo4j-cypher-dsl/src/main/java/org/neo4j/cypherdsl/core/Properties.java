@@ -39,6 +39,10 @@ public final class Properties implements Visitable {
 		this.properties = properties;
 	}
 
+	MapExpression<?> getProperties() {
+		return this.properties;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
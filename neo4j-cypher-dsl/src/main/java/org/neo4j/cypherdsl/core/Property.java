@@ -81,6 +81,10 @@ public final class Property implements Expression {
 		return Operations.set(this, expression);
 	}
 
+	Expression getContainer() {
+		return this.container;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
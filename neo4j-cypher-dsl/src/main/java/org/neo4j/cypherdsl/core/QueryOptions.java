@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.apiguardian.api.API;
+
+/**
+ * Options for the execution of a single statement, rendered as a prefix in front of it, for example
+ * {@code PROFILE CYPHER runtime=pipelined MATCH (n) RETURN n}. Options are applied to a statement with
+ * {@link #applyTo(Statement)}. See
+ * <a href="https://neo4j.com/docs/cypher-manual/4.0/query-tuning/query-options/">Query options</a>.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class QueryOptions {
+
+	/**
+	 * Option names and values must be single words, so that they cannot change the statement they are applied to.
+	 */
+	private static final Pattern WORD = Pattern.compile("[A-Za-z0-9_.]+");
+
+	private static final Pattern VERSION = Pattern.compile("\\d+(\\.\\d+)?");
+
+	/**
+	 * Whether a statement is executed, only planned or executed while recording its plan.
+	 */
+	public enum Mode {
+
+		/**
+		 * Only plans the statement and returns the plan without executing it.
+		 */
+		EXPLAIN,
+
+		/**
+		 * Executes the statement and returns its plan together with the rows and db hits of every operator.
+		 */
+		PROFILE
+	}
+
+	/**
+	 * The planners that can be selected with the {@code planner} option.
+	 */
+	public enum Planner {
+
+		/**
+		 * The cost based planner.
+		 */
+		COST,
+
+		/**
+		 * The cost based planner using iterative dynamic programming.
+		 */
+		IDP,
+
+		/**
+		 * The cost based planner using dynamic programming.
+		 */
+		DP
+	}
+
+	/**
+	 * The runtimes that can be selected with the {@code runtime} option.
+	 */
+	public enum Runtime {
+
+		/**
+		 * The interpreted runtime.
+		 */
+		INTERPRETED,
+
+		/**
+		 * The slotted runtime.
+		 */
+		SLOTTED,
+
+		/**
+		 * The pipelined runtime, only available in the Enterprise Edition.
+		 */
+		PIPELINED,
+
+		/**
+		 * The parallel runtime, only available in the Enterprise Edition.
+		 */
+		PARALLEL
+	}
+
+	/**
+	 * @return A builder for new options
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private final String version;
+
+	private final Map<String, String> options;
+
+	private final Mode mode;
+
+	QueryOptions(String version, Map<String, String> options, Mode mode) {
+
+		this.version = version;
+		this.options = Collections.unmodifiableMap(new LinkedHashMap<>(options));
+		this.mode = mode;
+	}
+
+	/**
+	 * @return The Cypher version to use
+	 */
+	public Optional<String> getVersion() {
+		return Optional.ofNullable(version);
+	}
+
+	/**
+	 * @return All options with their values, in the order they have been set
+	 */
+	public Map<String, String> getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return The mode of execution, empty for a regular execution
+	 */
+	public Optional<Mode> getMode() {
+		return Optional.ofNullable(mode);
+	}
+
+	/**
+	 * Wraps the statement with these options. The wrapped statement can be used like any other statement, its
+	 * rendered form is the prefix of these options followed by the rendered form of the statement.
+	 *
+	 * @param statement The statement to apply these options to
+	 * @return A new statement
+	 */
+	public StatementWithOptions applyTo(Statement statement) {
+
+		Assert.notNull(statement, "The statement is required.");
+		Assert.isTrue(!(statement instanceof StatementWithOptions), "The statement has already options applied.");
+		return new StatementWithOptions(this, statement);
+	}
+
+	/**
+	 * Collects the options to apply to a statement.
+	 */
+	public static final class Builder {
+
+		private String version;
+
+		private final Map<String, String> options = new LinkedHashMap<>();
+
+		private Mode mode;
+
+		private Builder() {
+		}
+
+		/**
+		 * Selects the Cypher version.
+		 *
+		 * @param newVersion A Cypher version like {@code 4.0}
+		 * @return This builder
+		 */
+		public Builder version(String newVersion) {
+
+			Assert.isTrue(newVersion != null && VERSION.matcher(newVersion).matches(),
+				"The version must be a major or a major.minor version.");
+			this.version = newVersion;
+			return this;
+		}
+
+		/**
+		 * Selects the planner.
+		 *
+		 * @param planner The planner to use
+		 * @return This builder
+		 */
+		public Builder planner(Planner planner) {
+
+			Assert.notNull(planner, "The planner is required.");
+			return option("planner", planner.name().toLowerCase(Locale.ROOT));
+		}
+
+		/**
+		 * Selects the runtime.
+		 *
+		 * @param runtime The runtime to use
+		 * @return This builder
+		 */
+		public Builder runtime(Runtime runtime) {
+
+			Assert.notNull(runtime, "The runtime is required.");
+			return option("runtime", runtime.name().toLowerCase(Locale.ROOT));
+		}
+
+		/**
+		 * Sets any other option, for example {@code expressionEngine=compiled}. Setting an option again replaces its
+		 * value.
+		 *
+		 * @param name  The name of the option
+		 * @param value The value of the option
+		 * @return This builder
+		 */
+		public Builder option(String name, String value) {
+
+			Assert.isTrue(name != null && WORD.matcher(name).matches(), "The name of an option must be a single word.");
+			Assert.isTrue(value != null && WORD.matcher(value).matches(),
+				"The value of an option must be a single word.");
+			this.options.put(name, value);
+			return this;
+		}
+
+		/**
+		 * Only plans the statement, see {@link Mode#EXPLAIN}.
+		 *
+		 * @return This builder
+		 */
+		public Builder explain() {
+
+			this.mode = Mode.EXPLAIN;
+			return this;
+		}
+
+		/**
+		 * Profiles the statement, see {@link Mode#PROFILE}.
+		 *
+		 * @return This builder
+		 */
+		public Builder profile() {
+
+			this.mode = Mode.PROFILE;
+			return this;
+		}
+
+		/**
+		 * @return New, immutable options
+		 */
+		public QueryOptions build() {
+			return new QueryOptions(version, options, mode);
+		}
+	}
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+
+/**
+ * The plan of a statement as returned by the database for {@link QueryOptions.Mode#EXPLAIN EXPLAIN} and
+ * {@link QueryOptions.Mode#PROFILE PROFILE}. A plan is a tree of operators, each of them describing the variables it
+ * produces and, if profiled, the number of rows it produced and the number of database hits it needed. Plans are
+ * created from the maps a driver provides or read from JSON fixtures, so that they can be analysed offline:
+ * <pre>
+ * {
+ *   "operatorType": "ProduceResults@neo4j",
+ *   "identifiers": ["p"],
+ *   "dbHits": 0,
+ *   "rows": 1,
+ *   "children": [
+ *     { "operatorType": "NodeIndexSeek@neo4j", "identifiers": ["p"], "dbHits": 2, "rows": 1 }
+ *   ]
+ * }
+ * </pre>
+ * The number of rows is read from {@code rows} or {@code records}. Database hits and rows are also read from the
+ * {@code DbHits} and {@code Rows} arguments of an operator, as found in plans returned by the HTTP API. A plan nested in
+ * a {@code plan}, {@code profile} or {@code root} entry is unwrapped. The name of the database some versions append to
+ * the operator type is removed.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class QueryPlan {
+
+	/**
+	 * Reads a plan from a JSON file encoded in UTF-8.
+	 *
+	 * @param path The path of the file
+	 * @return The plan
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file does not contain a valid plan
+	 */
+	public static QueryPlan read(Path path) throws IOException {
+
+		Assert.notNull(path, "Path must not be null.");
+		return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses a plan from a JSON document.
+	 *
+	 * @param json The JSON document
+	 * @return The plan
+	 * @throws IllegalArgumentException if the document does not contain a valid plan
+	 */
+	public static QueryPlan parse(CharSequence json) {
+
+		Object document = Json.parse(json);
+		Assert.isTrue(document instanceof Map, "A plan must be a JSON object.");
+		return of((Map<?, ?>) document);
+	}
+
+	/**
+	 * Creates a plan from nested maps, for example the map representation of the plan provided by a driver.
+	 *
+	 * @param plan The root operator of the plan
+	 * @return The plan
+	 * @throws IllegalArgumentException if the map does not contain a valid plan
+	 */
+	public static QueryPlan of(Map<?, ?> plan) {
+
+		Assert.notNull(plan, "The plan must not be null.");
+
+		if (!plan.containsKey("operatorType")) {
+			for (String wrapper : new String[] { "plan", "profile", "root" }) {
+				if (plan.get(wrapper) instanceof Map) {
+					return of((Map<?, ?>) plan.get(wrapper));
+				}
+			}
+		}
+
+		Object operatorType = plan.get("operatorType");
+		Assert.isTrue(operatorType instanceof String, "Every operator needs an operatorType.");
+
+		Map<String, Object> arguments = new LinkedHashMap<>();
+		Object argumentsValue = plan.get("arguments");
+		Assert.isTrue(argumentsValue == null || argumentsValue instanceof Map, "The arguments must be a map.");
+		if (argumentsValue != null) {
+			((Map<?, ?>) argumentsValue).forEach((key, value) -> arguments.put(String.valueOf(key), value));
+		}
+
+		Set<String> identifiers = new LinkedHashSet<>();
+		for (Object identifier : readList(plan, "identifiers")) {
+			identifiers.add(String.valueOf(identifier));
+		}
+
+		List<QueryPlan> children = new ArrayList<>();
+		for (Object child : readList(plan, "children")) {
+			Assert.isTrue(child instanceof Map, "The children of an operator must be maps.");
+			children.add(of((Map<?, ?>) child));
+		}
+
+		long dbHits = readCount(plan.get("dbHits"), arguments.get("DbHits"));
+		long rows = readCount(plan.containsKey("rows") ? plan.get("rows") : plan.get("records"), arguments.get("Rows"));
+		return new QueryPlan(normalize((String) operatorType), identifiers, arguments, dbHits, rows, children);
+	}
+
+	private static List<?> readList(Map<?, ?> plan, String key) {
+
+		Object value = plan.get(key);
+		Assert.isTrue(value == null || value instanceof List, "The " + key + " of an operator must be a list.");
+		return value == null ? Collections.emptyList() : (List<?>) value;
+	}
+
+	private static long readCount(Object value, Object fallback) {
+
+		Object count = value == null ? fallback : value;
+		Assert.isTrue(count == null || count instanceof Number && ((Number) count).longValue() >= 0,
+			"Database hits and rows must be non-negative numbers.");
+		return count == null ? 0L : ((Number) count).longValue();
+	}
+
+	/**
+	 * @param operatorType The type of an operator as returned by the database
+	 * @return The type without the name of the database
+	 */
+	private static String normalize(String operatorType) {
+
+		int indexOfDatabase = operatorType.indexOf('@');
+		return indexOfDatabase < 0 ? operatorType : operatorType.substring(0, indexOfDatabase);
+	}
+
+	private final String operatorType;
+
+	private final Set<String> identifiers;
+
+	private final Map<String, Object> arguments;
+
+	private final long dbHits;
+
+	private final long rows;
+
+	private final List<QueryPlan> children;
+
+	private QueryPlan(String operatorType, Set<String> identifiers, Map<String, Object> arguments, long dbHits,
+		long rows, List<QueryPlan> children) {
+
+		this.operatorType = operatorType;
+		this.identifiers = Collections.unmodifiableSet(identifiers);
+		this.arguments = Collections.unmodifiableMap(arguments);
+		this.dbHits = dbHits;
+		this.rows = rows;
+		this.children = Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * @return The type of this operator, for example {@code NodeByLabelScan} or {@code CartesianProduct}
+	 */
+	public String getOperatorType() {
+		return operatorType;
+	}
+
+	/**
+	 * @return The variables produced by this operator, including the ones produced by its children
+	 */
+	public Set<String> getIdentifiers() {
+		return identifiers;
+	}
+
+	/**
+	 * @return The arguments of this operator, for example its details or estimated rows
+	 */
+	public Map<String, Object> getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * @return The number of database hits of this operator alone, 0 if the plan has not been profiled
+	 */
+	public long getDbHits() {
+		return dbHits;
+	}
+
+	/**
+	 * @return The number of rows produced by this operator, 0 if the plan has not been profiled
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return The operators producing the input of this operator
+	 */
+	public List<QueryPlan> getChildren() {
+		return children;
+	}
+
+	/**
+	 * @return This operator and all operators below it, each operator before its children
+	 */
+	public List<QueryPlan> getOperators() {
+
+		List<QueryPlan> operators = new ArrayList<>();
+		collectOperators(operators);
+		return Collections.unmodifiableList(operators);
+	}
+
+	private void collectOperators(List<QueryPlan> operators) {
+
+		operators.add(this);
+		children.forEach(child -> child.collectOperators(operators));
+	}
+
+	/**
+	 * @return The number of database hits of this operator and all operators below it
+	 */
+	public long getTotalDbHits() {
+		return getOperators().stream().mapToLong(QueryPlan::getDbHits).sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "%s: rows=%d, dbHits=%d", operatorType, rows, dbHits);
+	}
+}
@@ -21,6 +21,7 @@ package org.neo4j.cypherdsl.core;
 import static org.apiguardian.api.API.Status.*;
 
 import java.util.LinkedList;
+import java.util.List;
 
 import org.apiguardian.api.API;
 import org.neo4j.cypherdsl.core.support.Visitable;
@@ -151,6 +152,10 @@ public final class RelationshipChain implements RelationshipPattern, ExposesRela
 		return this.add(lastElement.withProperties(keysAndValues));
 	}
 
+	List<Relationship> getRelationships() {
+		return this.relationships;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
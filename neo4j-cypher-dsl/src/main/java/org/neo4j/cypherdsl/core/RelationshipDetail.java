@@ -56,7 +56,7 @@ public final class RelationshipDetail implements Visitable {
 		return new RelationshipDetail(direction, symbolicName, types, null, null);
 	}
 
-	private RelationshipDetail(Direction direction,
+	RelationshipDetail(Direction direction,
 		SymbolicName symbolicName,
 		RelationshipTypes types,
 		RelationshipLength length,
@@ -143,6 +143,10 @@ public final class RelationshipDetail implements Visitable {
 		return properties;
 	}
 
+	RelationshipLength getLength() {
+		return this.length;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -39,6 +39,10 @@ final class RelationshipPatternCondition implements Condition {
 		this.pathPattern = pathPattern;
 	}
 
+	RelationshipPattern getPathPattern() {
+		return this.pathPattern;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -38,6 +38,10 @@ public final class Remove implements UpdatingClause {
 		this.setItems = setItems;
 	}
 
+	ExpressionList getRemoveItems() {
+		return this.setItems;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -42,6 +42,19 @@ public final class Return implements Visitable {
 		this.body = new ReturnBody(returnItems, order, skip, limit);
 	}
 
+	Return(boolean distinct, ReturnBody body) {
+		this.distinct = distinct ? Distinct.INSTANCE : null;
+		this.body = body;
+	}
+
+	boolean isDistinct() {
+		return this.distinct != null;
+	}
+
+	ReturnBody getBody() {
+		return this.body;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
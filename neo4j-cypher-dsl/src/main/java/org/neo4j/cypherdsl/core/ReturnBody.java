@@ -48,6 +48,22 @@ public final class ReturnBody implements Visitable {
 		this.limit = limit;
 	}
 
+	ExpressionList getReturnItems() {
+		return this.returnItems;
+	}
+
+	Order getOrder() {
+		return this.order;
+	}
+
+	Skip getSkip() {
+		return this.skip;
+	}
+
+	Limit getLimit() {
+		return this.limit;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		returnItems.accept(visitor);
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * A rule used by the {@link StatementRewriter} to rewrite single elements of a statement.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+@FunctionalInterface
+public interface RewriteRule {
+
+	/**
+	 * Rewrites a single element. The children of the element have already been rewritten when this method is called.
+	 * Implementations must not modify the element but return a new element to replace it. The replacement must be
+	 * able to take the place of the original element, a replacement for a condition that is not a condition itself is
+	 * discarded where the statement requires a condition.
+	 *
+	 * @param element The element to rewrite
+	 * @return The element itself if the rule does not apply, otherwise its replacement
+	 */
+	Visitable apply(Visitable element);
+}
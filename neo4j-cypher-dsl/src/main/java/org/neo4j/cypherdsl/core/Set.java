@@ -38,6 +38,10 @@ public final class Set implements UpdatingClause {
 		this.setItems = setItems;
 	}
 
+	ExpressionList getSetItems() {
+		return this.setItems;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
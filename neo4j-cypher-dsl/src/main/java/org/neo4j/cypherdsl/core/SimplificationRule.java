@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.function.UnaryOperator;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * The standard rules simplifying statements, as applied by {@link StatementRewriter#simplifier()}. None of the rules
+ * changes the result of a statement, they only remove redundant structure that dynamic query building tends to
+ * produce.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public enum SimplificationRule implements RewriteRule {
+
+	/**
+	 * Evaluates arithmetic on integer and floating point literals, concatenation of string literals and comparisons of
+	 * literals. Operations that would overflow or divide by zero are kept.
+	 */
+	FOLD_CONSTANTS(Simplifications::foldConstants),
+
+	/**
+	 * Removes empty conditions and constant operands from compound conditions, unwraps compound conditions with a
+	 * single operand and flattens nested compound conditions with the same operator. Conditions mixing different
+	 * operators are grouped explicitly according to their precedence.
+	 */
+	SIMPLIFY_CONDITIONS(Simplifications::simplifyConditions),
+
+	/**
+	 * Removes double negations and negates constant conditions, equality and null checks directly.
+	 */
+	SIMPLIFY_NEGATIONS(Simplifications::simplifyNegations),
+
+	/**
+	 * Replaces {@code CASE} expressions that are decided by constants with the selected result.
+	 */
+	SIMPLIFY_CASE(Simplifications::simplifyCase),
+
+	/**
+	 * Removes {@code WHERE} clauses whose condition is always true.
+	 */
+	REMOVE_TRIVIAL_WHERE(Simplifications::removeTrivialWhere);
+
+	private final UnaryOperator<Visitable> implementation;
+
+	SimplificationRule(UnaryOperator<Visitable> implementation) {
+		this.implementation = implementation;
+	}
+
+	@Override
+	public Visitable apply(Visitable element) {
+		return implementation.apply(element);
+	}
+}
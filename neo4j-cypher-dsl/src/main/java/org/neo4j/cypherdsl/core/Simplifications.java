@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Implementations of the {@link SimplificationRule simplification rules}.
+ *
+ * @since 2020.0.0
+ */
+final class Simplifications {
+
+	static Visitable foldConstants(Visitable element) {
+
+		if (element instanceof Operation) {
+			return foldOperation((Operation) element);
+		} else if (element instanceof Comparison) {
+			return foldComparison((Comparison) element);
+		}
+		return element;
+	}
+
+	private static Visitable foldOperation(Operation operation) {
+
+		Visitable left = operation.getLeft();
+		Visitable right = operation.getRight();
+		Operator operator = operation.getOperator();
+
+		boolean concatenation = operator == Operator.ADDITION || operator == Operator.CONCAT;
+		if (concatenation && left instanceof StringLiteral && right instanceof StringLiteral) {
+			return new StringLiteral(((StringLiteral) left).getContent().toString() + ((StringLiteral) right).getContent());
+		}
+		if (!(isFoldableNumber(left) && isFoldableNumber(right))) {
+			return operation;
+		}
+
+		Number a = ((NumberLiteral) left).getContent();
+		Number b = ((NumberLiteral) right).getContent();
+		// Not a conditional expression: That would unbox both branches to double.
+		Number result;
+		if (isIntegral(a) && isIntegral(b) && operator != Operator.EXPONENTIATION) {
+			result = foldIntegral(a.longValue(), operator, b.longValue());
+		} else {
+			result = foldFloatingPoint(a.doubleValue(), operator, b.doubleValue());
+		}
+		return result == null ? operation : new NumberLiteral(result);
+	}
+
+	private static Long foldIntegral(long a, Operator operator, long b) {
+
+		try {
+			switch (operator) {
+				case ADDITION:
+					return Math.addExact(a, b);
+				case SUBTRACTION:
+					return Math.subtractExact(a, b);
+				case MULTIPLICATION:
+					return Math.multiplyExact(a, b);
+				case DIVISION:
+					return b == 0 || (a == Long.MIN_VALUE && b == -1) ? null : a / b;
+				case MODULO_DIVISION:
+					return b == 0 ? null : a % b;
+				default:
+					return null;
+			}
+		} catch (ArithmeticException e) {
+			return null;
+		}
+	}
+
+	private static Double foldFloatingPoint(double a, Operator operator, double b) {
+
+		double result;
+		switch (operator) {
+			case ADDITION:
+				result = a + b;
+				break;
+			case SUBTRACTION:
+				result = a - b;
+				break;
+			case MULTIPLICATION:
+				result = a * b;
+				break;
+			case DIVISION:
+				result = b == 0.0 ? Double.NaN : a / b;
+				break;
+			case MODULO_DIVISION:
+				result = b == 0.0 ? Double.NaN : a % b;
+				break;
+			case EXPONENTIATION:
+				result = Math.pow(a, b);
+				break;
+			default:
+				return null;
+		}
+		return Double.isFinite(result) ? result : null;
+	}
+
+	private static Visitable foldComparison(Comparison comparison) {
+
+		Expression left = comparison.getLeft();
+		Expression right = comparison.getRight();
+		Operator operator = comparison.getComparator();
+
+		if (operator == Operator.IS_NULL || operator == Operator.IS_NOT_NULL) {
+			return left instanceof Literal ?
+				constant(left instanceof NullLiteral == (operator == Operator.IS_NULL)) :
+				comparison;
+		}
+
+		boolean equalityOnly = operator == Operator.EQUALITY || operator == Operator.INEQUALITY;
+		Integer order = compareLiterals(left, right, equalityOnly);
+		if (order == null) {
+			return comparison;
+		}
+		switch (operator) {
+			case EQUALITY:
+				return constant(order == 0);
+			case INEQUALITY:
+				return constant(order != 0);
+			case LESS_THAN:
+				return constant(order < 0);
+			case LESS_THAN_OR_EQUAL_TO:
+				return constant(order <= 0);
+			case GREATER_THAN:
+				return constant(order > 0);
+			case GREATER_THAN_OR_EQUAL_TO:
+				return constant(order >= 0);
+			default:
+				return comparison;
+		}
+	}
+
+	/**
+	 * Compares two literals the way Cypher does.
+	 *
+	 * @param equalityOnly Whether it is enough to decide equality, which is the case for strings and booleans
+	 * @return The order of the literals or {@literal null} if they cannot be compared statically
+	 */
+	private static Integer compareLiterals(Expression left, Expression right, boolean equalityOnly) {
+
+		if (isFoldableNumber(left) && isFoldableNumber(right)) {
+			Number a = ((NumberLiteral) left).getContent();
+			Number b = ((NumberLiteral) right).getContent();
+			if (isIntegral(a) && isIntegral(b)) {
+				return Long.compare(a.longValue(), b.longValue());
+			}
+			double x = a.doubleValue();
+			double y = b.doubleValue();
+			return Double.isNaN(x) || Double.isNaN(y) ? null : x < y ? -1 : x > y ? 1 : 0;
+		}
+		boolean comparable = left instanceof StringLiteral && right instanceof StringLiteral
+			|| left instanceof BooleanLiteral && right instanceof BooleanLiteral;
+		if (equalityOnly && comparable) {
+			Object a = ((Literal<?>) left).getContent().toString();
+			Object b = ((Literal<?>) right).getContent().toString();
+			return a.equals(b) ? 0 : 1;
+		}
+		return null;
+	}
+
+	private static boolean isFoldableNumber(Visitable visitable) {
+
+		if (!(visitable instanceof NumberLiteral)) {
+			return false;
+		}
+		Number value = ((NumberLiteral) visitable).getContent();
+		return isIntegral(value) || value instanceof Double || value instanceof Float;
+	}
+
+	private static boolean isIntegral(Number value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+	}
+
+	static Visitable simplifyConditions(Visitable element) {
+
+		if (!(element instanceof CompoundCondition) || isEmpty((Condition) element)) {
+			return element;
+		}
+
+		// Read the operands and operators in the order they are rendered
+		CompoundCondition compoundCondition = (CompoundCondition) element;
+		List<Condition> operands = new ArrayList<>();
+		List<Operator> operators = new ArrayList<>();
+		for (Condition condition : compoundCondition.getConditions()) {
+			Condition operand = CompoundCondition.unwrap(condition);
+			if (isEmpty(operand)) {
+				continue;
+			}
+			if (!operands.isEmpty()) {
+				operators.add(condition instanceof CompoundCondition ?
+					((CompoundCondition) condition).getOperator() :
+					compoundCondition.getOperator());
+			}
+			operands.add(operand);
+		}
+		if (operands.isEmpty()) {
+			return CompoundCondition.empty();
+		}
+
+		// Combine them according to the precedence of the operators
+		Deque<Condition> values = new ArrayDeque<>();
+		Deque<Operator> pendingOperators = new ArrayDeque<>();
+		values.push(operands.get(0));
+		for (int i = 1; i < operands.size(); ++i) {
+			Operator operator = operators.get(i - 1);
+			while (!pendingOperators.isEmpty() && precedenceOf(pendingOperators.peek()) >= precedenceOf(operator)) {
+				reduce(values, pendingOperators.pop());
+			}
+			pendingOperators.push(operator);
+			values.push(operands.get(i));
+		}
+		while (!pendingOperators.isEmpty()) {
+			reduce(values, pendingOperators.pop());
+		}
+
+		Condition simplified = values.pop();
+		return CompoundCondition.hasSameShape(simplified, compoundCondition) ? compoundCondition : simplified;
+	}
+
+	private static int precedenceOf(Operator operator) {
+		return operator == Operator.AND ? 3 : operator == Operator.XOR ? 2 : 1;
+	}
+
+	private static void reduce(Deque<Condition> values, Operator operator) {
+
+		Condition right = values.pop();
+		Condition left = values.pop();
+		values.push(combine(left, operator, right));
+	}
+
+	private static Condition combine(Condition left, Operator operator, Condition right) {
+
+		Condition neutral = operator == Operator.AND ? ConstantCondition.TRUE : ConstantCondition.FALSE;
+		Condition dominant = operator == Operator.AND ? ConstantCondition.FALSE : ConstantCondition.TRUE;
+		if (left == neutral) {
+			return right;
+		} else if (right == neutral) {
+			return left;
+		} else if (operator == Operator.XOR && (left == ConstantCondition.TRUE || right == ConstantCondition.TRUE)) {
+			return left == ConstantCondition.TRUE ? right.not() : left.not();
+		} else if (operator != Operator.XOR && (left == dominant || right == dominant)) {
+			return dominant;
+		}
+		return CompoundCondition.combineFlattened(left, operator, right);
+	}
+
+	private static boolean isEmpty(Condition condition) {
+		return condition instanceof CompoundCondition && ((CompoundCondition) condition).getConditions().isEmpty();
+	}
+
+	static Visitable simplifyNegations(Visitable element) {
+
+		Visitable negated;
+		if (element instanceof Comparison && ((Comparison) element).getComparator() == Operator.NOT) {
+			negated = unwrapNested(((Comparison) element).getRight());
+		} else if (element instanceof NotCondition) {
+			negated = ((NotCondition) element).getCondition();
+		} else {
+			return element;
+		}
+
+		if (negated == ConstantCondition.TRUE || negated == ConstantCondition.FALSE) {
+			return negated == ConstantCondition.TRUE ? ConstantCondition.FALSE : ConstantCondition.TRUE;
+		} else if (negated instanceof Condition && isEmpty((Condition) negated)) {
+			return negated;
+		} else if (negated instanceof NotCondition) {
+			return ((NotCondition) negated).getCondition();
+		} else if (negated instanceof ExcludedPattern
+			&& ((ExcludedPattern) negated).getPatternElement() instanceof RelationshipPattern) {
+			return new RelationshipPatternCondition((RelationshipPattern) ((ExcludedPattern) negated).getPatternElement());
+		} else if (negated instanceof Comparison) {
+			return negateComparison((Comparison) negated, element);
+		}
+		return element;
+	}
+
+	private static Visitable negateComparison(Comparison comparison, Visitable negation) {
+
+		Operator operator = comparison.getComparator();
+		if (operator == Operator.NOT) {
+			Visitable negated = unwrapNested(comparison.getRight());
+			return negated instanceof Condition ? negated : negation;
+		}
+
+		Operator inverse;
+		switch (operator) {
+			case EQUALITY:
+				inverse = Operator.INEQUALITY;
+				break;
+			case INEQUALITY:
+				inverse = Operator.EQUALITY;
+				break;
+			case IS_NULL:
+				inverse = Operator.IS_NOT_NULL;
+				break;
+			case IS_NOT_NULL:
+				inverse = Operator.IS_NULL;
+				break;
+			default:
+				return negation;
+		}
+		return new Comparison(comparison.getLeft(), inverse, comparison.getRight());
+	}
+
+	private static Visitable unwrapNested(Visitable visitable) {
+		return visitable instanceof NestedExpression ? ((NestedExpression) visitable).getDelegate() : visitable;
+	}
+
+	static Visitable simplifyCase(Visitable element) {
+
+		if (!(element instanceof Case)) {
+			return element;
+		}
+
+		Case aCase = (Case) element;
+		Expression selector = aCase.getCaseExpression();
+		if (selector != null && (!(selector instanceof Literal) || selector instanceof NullLiteral)) {
+			return element;
+		}
+
+		for (Case.CaseWhenThen caseWhenThen : aCase.getCaseWhenThens()) {
+			Boolean selected = selector == null ?
+				constantValueOf(caseWhenThen.getWhenExpression()) :
+				literalsEqual(selector, caseWhenThen.getWhenExpression());
+			if (selected == null) {
+				return element;
+			} else if (selected) {
+				return asResult(caseWhenThen.getThenExpression());
+			}
+		}
+		return asResult(aCase.getCaseElse() == null ? NullLiteral.INSTANCE : aCase.getCaseElse().getElseExpression());
+	}
+
+	/**
+	 * @return The value of constant conditions and boolean literals, {@literal false} for {@literal null}, which never
+	 * selects a branch, and {@literal null} for everything that is not constant
+	 */
+	private static Boolean constantValueOf(Expression expression) {
+
+		if (expression == ConstantCondition.TRUE || expression == ConstantCondition.FALSE) {
+			return expression == ConstantCondition.TRUE;
+		} else if (expression instanceof BooleanLiteral) {
+			return ((BooleanLiteral) expression).getContent();
+		}
+		return expression instanceof NullLiteral ? Boolean.FALSE : null;
+	}
+
+	private static Boolean literalsEqual(Expression selector, Expression candidate) {
+
+		if (candidate instanceof NullLiteral) {
+			return false;
+		}
+		Integer order = compareLiterals(selector, candidate, true);
+		return order == null ? null : order == 0;
+	}
+
+	/**
+	 * Boolean results are turned into constant conditions, so that they can still be used where a condition is needed.
+	 */
+	private static Expression asResult(Expression expression) {
+
+		if (expression instanceof BooleanLiteral) {
+			return constant(((BooleanLiteral) expression).getContent());
+		}
+		return expression;
+	}
+
+	static Visitable removeTrivialWhere(Visitable element) {
+
+		if (!(element instanceof Match || element instanceof With || element instanceof ListComprehension
+			|| element instanceof PatternComprehension)) {
+			return element;
+		}
+
+		AstElement astElement = AstElement.decompose(element);
+		List<Visitable> children = new ArrayList<>(astElement.getChildren());
+		boolean changed = false;
+		for (int i = 0; i < children.size(); ++i) {
+			Visitable child = children.get(i);
+			if (child instanceof Where && isAlwaysTrue(((Where) child).getCondition())) {
+				children.set(i, null);
+				changed = true;
+			}
+		}
+		return changed ? astElement.withChildren(children).compose() : element;
+	}
+
+	private static boolean isAlwaysTrue(Condition condition) {
+		return condition == ConstantCondition.TRUE || isEmpty(condition);
+	}
+
+	private static ConstantCondition constant(boolean value) {
+		return value ? ConstantCondition.TRUE : ConstantCondition.FALSE;
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private Simplifications() {
+	}
+}
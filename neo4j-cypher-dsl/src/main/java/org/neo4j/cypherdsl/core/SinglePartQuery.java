@@ -35,7 +35,7 @@ import org.neo4j.cypherdsl.core.support.Visitor;
  * @since 1.0
  */
 @API(status = EXPERIMENTAL, since = "1.0")
-public final class SinglePartQuery implements SingleQuery {
+public final class SinglePartQuery extends AbstractStatement implements SingleQuery {
 
 	private final List<Visitable> precedingClauses;
 
@@ -50,12 +50,20 @@ public final class SinglePartQuery implements SingleQuery {
 		return new SinglePartQuery(precedingClauses, aReturn);
 	}
 
-	private SinglePartQuery(List<Visitable> precedingClauses, Return aReturn) {
+	SinglePartQuery(List<Visitable> precedingClauses, Return aReturn) {
 
 		this.precedingClauses = new ArrayList(precedingClauses);
 		this.aReturn = aReturn;
 	}
 
+	List<Visitable> getPrecedingClauses() {
+		return this.precedingClauses;
+	}
+
+	Return getReturn() {
+		return this.aReturn;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -45,6 +45,10 @@ public final class Skip implements Visitable {
 		this.skipAmount = skipAmount;
 	}
 
+	NumberLiteral getSkipAmount() {
+		return this.skipAmount;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
@@ -56,6 +56,14 @@ public final class SortItem implements Visitable {
 		return new SortItem(this.expression, Direction.DESC);
 	}
 
+	Expression getExpression() {
+		return this.expression;
+	}
+
+	Direction getDirection() {
+		return this.direction;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Builds distance predicates that can be answered with a point index. A condition like
+ * {@code distance(s.location, point({x: 3.0, y: 4.0})) <= 10.0} is evaluated for every candidate node, as the
+ * planner can't use an index for it. Combined with a bounding box around the circle, the planner seeks the nodes inside
+ * the box in the index and checks the exact distance only for those:
+ * <pre>
+ * s.location &gt;= point({x: -7.0, y: -6.0}) AND s.location &lt;= point({x: 13.0, y: 14.0})
+ *     AND distance(s.location, point({x: 3.0, y: 4.0})) &lt;= 10.0
+ * </pre>
+ * {@link #withinDistance(Expression, Expression, Expression)} creates such a condition,
+ * {@link #boundingBoxRule()} adds the bounding box to existing distance predicates of a statement. Bounding boxes can
+ * be computed for Cartesian points with arbitrary coordinates and radius and for WGS-84 points with literal
+ * coordinates and radius. Around WGS-84 points near the poles or the 180th meridian the box spans all longitudes.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class SpatialPredicates {
+
+	/**
+	 * The mean radius of the earth in meters. It is slightly smaller than the radius Neo4j uses to compute distances
+	 * between WGS-84 points, so that the bounding boxes are slightly larger than needed, never smaller.
+	 */
+	static final double EARTH_RADIUS = 6_371_000.0;
+
+	private static final RewriteRule BOUNDING_BOX_RULE = SpatialPredicates::addBoundingBoxes;
+
+	/**
+	 * Creates a condition checking that the distance between a location and a center is at most the given radius,
+	 * combined with a bounding box if the center is a Cartesian or WGS-84 point created with {@code point()}.
+	 *
+	 * @param location The location to check, usually an indexed property
+	 * @param center   The center of the circle
+	 * @param radius   The radius of the circle, in meters for WGS-84 points
+	 * @return A new condition
+	 */
+	public static Condition withinDistance(Expression location, Expression center, Expression radius) {
+
+		Assert.notNull(location, "The location is required.");
+		Assert.notNull(center, "The center is required.");
+		Assert.notNull(radius, "The radius is required.");
+
+		Comparison distance = Comparison.create(Functions.distance(location, center), Operator.LESS_THAN_OR_EQUAL_TO,
+			radius);
+		List<Condition> box = boundingBoxOf(distance);
+		return box == null ? distance : combine(box, distance);
+	}
+
+	/**
+	 * Provides a rule for the {@link StatementRewriter} that adds a bounding box to all distance predicates in
+	 * {@code WHERE} clauses, that are combined with other conditions by {@code AND} only, compare the distance between
+	 * a property and a point with a radius and don't have a bounding box already.
+	 *
+	 * @return A rule adding bounding boxes
+	 */
+	public static RewriteRule boundingBoxRule() {
+		return BOUNDING_BOX_RULE;
+	}
+
+	private static Visitable addBoundingBoxes(Visitable element) {
+
+		if (!(element instanceof Where)) {
+			return element;
+		}
+
+		// A condition that isn't rendered as a chain of AND only is a single operand without a bounding box
+		Condition condition = ((Where) element).getCondition();
+		List<Condition> operands = CompoundCondition.operandsOf(condition, Operator.AND);
+		List<Condition> newOperands = new ArrayList<>();
+		for (Condition operand : operands) {
+			List<Condition> box = boundingBoxOf(operand);
+			if (box != null) {
+				box.stream()
+					.filter(boundary -> operands.stream().noneMatch(o -> AstElement.isStructurallyEqual(o, boundary)))
+					.forEach(newOperands::add);
+			}
+			newOperands.add(operand);
+		}
+		return newOperands.size() == operands.size() ? element :
+			new Where(combine(newOperands.subList(0, newOperands.size() - 1), newOperands.get(newOperands.size() - 1)));
+	}
+
+	private static Condition combine(List<Condition> operands, Condition last) {
+
+		Condition result = last;
+		for (int i = operands.size() - 1; i >= 0; --i) {
+			result = CompoundCondition.combineFlattened(operands.get(i), Operator.AND, result);
+		}
+		return result;
+	}
+
+	/**
+	 * @param condition A condition
+	 * @return The lower and upper boundary of the bounding box if the condition compares the distance between a
+	 * property and a point with a radius, otherwise {@literal null}
+	 */
+	private static List<Condition> boundingBoxOf(Condition condition) {
+
+		if (!(condition instanceof Comparison)) {
+			return null;
+		}
+
+		Comparison comparison = (Comparison) condition;
+		Operator comparator = comparison.getComparator();
+		Expression distance;
+		Expression radius;
+		if (comparator == Operator.LESS_THAN || comparator == Operator.LESS_THAN_OR_EQUAL_TO) {
+			distance = comparison.getLeft();
+			radius = comparison.getRight();
+		} else if (comparator == Operator.GREATER_THAN || comparator == Operator.GREATER_THAN_OR_EQUAL_TO) {
+			distance = comparison.getRight();
+			radius = comparison.getLeft();
+		} else {
+			return null;
+		}
+		if (!isInvocationOf(distance, "distance")) {
+			return null;
+		}
+
+		List<Visitable> arguments = argumentsOf(distance);
+		if (arguments.size() != 2) {
+			return null;
+		}
+		Expression location = (Expression) arguments.get(0);
+		Expression center = (Expression) arguments.get(1);
+		if (!(location instanceof Property)) {
+			location = (Expression) arguments.get(1);
+			center = (Expression) arguments.get(0);
+		}
+		if (!(location instanceof Property) || !isInvocationOf(center, "point")) {
+			return null;
+		}
+
+		Map<String, Expression> coordinates = coordinatesOf(center);
+		if (coordinates == null) {
+			return null;
+		}
+		Expression[] corners = coordinates.containsKey("x") ?
+			cartesianCorners(coordinates.get("x"), coordinates.get("y"), radius) :
+			wgs84Corners(coordinates.get("latitude"), coordinates.get("longitude"), radius);
+		if (corners == null) {
+			return null;
+		}
+
+		List<Condition> box = new ArrayList<>();
+		box.add(Comparison.create(location, Operator.GREATER_THAN_OR_EQUAL_TO, corners[0]));
+		box.add(Comparison.create(location, Operator.LESS_THAN_OR_EQUAL_TO, corners[1]));
+		return box;
+	}
+
+	/**
+	 * @param point An invocation of {@code point()}
+	 * @return The coordinates of a two dimensional Cartesian or WGS-84 point or {@literal null} for other points
+	 */
+	private static Map<String, Expression> coordinatesOf(Expression point) {
+
+		List<Visitable> arguments = argumentsOf(point);
+		if (arguments.size() != 1 || !(arguments.get(0) instanceof MapExpression)) {
+			return null;
+		}
+
+		Map<String, Expression> coordinates = new LinkedHashMap<>();
+		String crs = null;
+		for (Visitable entry : AstElement.decompose(arguments.get(0)).getChildren()) {
+			KeyValueMapEntry keyValue = (KeyValueMapEntry) entry;
+			if ("crs".equals(keyValue.getKey()) && keyValue.getValue() instanceof StringLiteral) {
+				crs = ((StringLiteral) keyValue.getValue()).getContent().toString().toLowerCase(Locale.ROOT);
+			} else {
+				coordinates.put(keyValue.getKey(), keyValue.getValue());
+			}
+		}
+
+		boolean cartesian = coordinates.size() == 2 && coordinates.containsKey("x") && coordinates.containsKey("y")
+			&& (crs == null || "cartesian".equals(crs));
+		boolean wgs84 = coordinates.size() == 2 && coordinates.containsKey("latitude")
+			&& coordinates.containsKey("longitude") && (crs == null || "wgs-84".equals(crs));
+		return cartesian || wgs84 ? coordinates : null;
+	}
+
+	private static Expression[] cartesianCorners(Expression x, Expression y, Expression radius) {
+
+		if (x instanceof NumberLiteral && y instanceof NumberLiteral && radius instanceof NumberLiteral) {
+			double r = valueOf(radius);
+			return new Expression[] {
+				point("x", valueOf(x) - r, "y", valueOf(y) - r),
+				point("x", valueOf(x) + r, "y", valueOf(y) + r)
+			};
+		}
+		return new Expression[] {
+			Functions.point(Cypher.mapOf("x", x.subtract(radius), "y", y.subtract(radius))),
+			Functions.point(Cypher.mapOf("x", x.add(radius), "y", y.add(radius)))
+		};
+	}
+
+	/**
+	 * Computes the corners of the box around a circle on a sphere. The circle contains a pole if its angular radius
+	 * reaches beyond it, otherwise the largest difference in longitude is at the points where meridians touch the
+	 * circle.
+	 */
+	private static Expression[] wgs84Corners(Expression latitude, Expression longitude, Expression radius) {
+
+		if (!(latitude instanceof NumberLiteral && longitude instanceof NumberLiteral
+			&& radius instanceof NumberLiteral)) {
+			return null;
+		}
+
+		double lat = valueOf(latitude);
+		double lon = valueOf(longitude);
+		double angularRadius = valueOf(radius) / EARTH_RADIUS;
+		double deltaLatitude = Math.toDegrees(angularRadius);
+
+		double minLatitude = lat - deltaLatitude;
+		double maxLatitude = lat + deltaLatitude;
+		double minLongitude = -180.0;
+		double maxLongitude = 180.0;
+		if (minLatitude > -90.0 && maxLatitude < 90.0) {
+			double deltaLongitude = Math.toDegrees(
+				Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(lat))));
+			if (lon - deltaLongitude >= -180.0 && lon + deltaLongitude <= 180.0) {
+				minLongitude = lon - deltaLongitude;
+				maxLongitude = lon + deltaLongitude;
+			}
+		}
+		return new Expression[] {
+			point("latitude", Math.max(-90.0, minLatitude), "longitude", minLongitude),
+			point("latitude", Math.min(90.0, maxLatitude), "longitude", maxLongitude)
+		};
+	}
+
+	private static Expression point(String firstKey, double first, String secondKey, double second) {
+		return Functions.point(Cypher.mapOf(firstKey, Cypher.literalOf(first), secondKey, Cypher.literalOf(second)));
+	}
+
+	private static double valueOf(Expression numberLiteral) {
+		return ((NumberLiteral) numberLiteral).getContent().doubleValue();
+	}
+
+	private static boolean isInvocationOf(Expression expression, String functionName) {
+		return expression instanceof FunctionInvocation
+			&& functionName.equals(((FunctionInvocation) expression).getFunctionName());
+	}
+
+	private static List<Visitable> argumentsOf(Expression invocation) {
+		return AstElement.decompose(((FunctionInvocation) invocation).getArguments()).getChildren();
+	}
+
+	private SpatialPredicates() {
+	}
+}
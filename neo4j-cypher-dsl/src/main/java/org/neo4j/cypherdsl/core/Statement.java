@@ -20,7 +20,12 @@ package org.neo4j.cypherdsl.core;
 
 import static org.apiguardian.api.API.Status.*;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.renderer.Renderer;
 import org.neo4j.cypherdsl.core.support.Visitable;
 
 /**
@@ -41,6 +46,50 @@ public interface Statement extends Visitable {
 		return new DefaultStatementBuilder();
 	}
 
+	/**
+	 * Renders this statement with the {@link org.neo4j.cypherdsl.core.renderer.Renderer#getDefaultRenderer() default
+	 * renderer}. The statements built by this library compute the result on first access and memoize it in the
+	 * instance, so that repeated calls on the same statement, for example one held in a constant, don't need to consult
+	 * any cache. Other implementations render on every call.
+	 *
+	 * @return The rendered Cypher statement
+	 * @since 2020.0.0
+	 */
+	default String getCypher() {
+
+		return Renderer.getDefaultRenderer().render(this);
+	}
+
+	/**
+	 * Analyzes whether this statement is read-only and which labels, relationship types and properties it reads and
+	 * writes. The statements built by this library compute the result on first access and memoize it in the instance.
+	 *
+	 * @return The info about this statement
+	 * @throws IllegalArgumentException if the analysis does not support this statement or one of its elements
+	 * @since 2020.0.0
+	 */
+	default StatementInfo getInfo() {
+
+		return StatementInfo.of(this);
+	}
+
+	/**
+	 * Collects the names of all parameters used in this statement.
+	 *
+	 * @return The names of the parameters in the order of their first appearance
+	 * @since 2020.0.0
+	 */
+	default Set<String> getParameterNames() {
+
+		Set<String> parameterNames = new LinkedHashSet<>();
+		this.accept(segment -> {
+			if (segment instanceof Parameter) {
+				parameterNames.add(((Parameter) segment).getName());
+			}
+		});
+		return Collections.unmodifiableSet(parameterNames);
+	}
+
 	/**
 	 * Represents {@code RegularQuery}.
 	 * @since 1.0
@@ -29,7 +29,8 @@ import org.apiguardian.api.API;
  * @since 1.0
  */
 @API(status = EXPERIMENTAL, since = "1.0")
-public interface StatementBuilder extends ExposesMatch, ExposesCreate, ExposesMerge, ExposesUnwind {
+public interface StatementBuilder
+	extends ExposesMatch, ExposesCreate, ExposesMerge, ExposesUnwind, ExposesSubqueryCall {
 
 	/**
 	 * Allows for queries starting with {@code with range(1,10) as x return x} or similar.
@@ -39,6 +40,15 @@ public interface StatementBuilder extends ExposesMatch, ExposesCreate, ExposesMe
 	 */
 	OrderableOngoingReadingAndWith with(AliasedExpression... expressions);
 
+	/**
+	 * Allows for queries starting with {@code WITH n}, for example to import variables into a subquery.
+	 *
+	 * @param expressions The expressions to start the query with
+	 * @return An ongoing read, exposing return, updates and further matches.
+	 * @since 2020.0.0
+	 */
+	OrderableOngoingReadingAndWithWithoutWhere with(Expression... expressions);
+
 	/**
 	 * An ongoing update statement that can be used to chain more update statements or add a with or return clause.
 	 *
@@ -55,7 +65,8 @@ public interface StatementBuilder extends ExposesMatch, ExposesCreate, ExposesMe
 	 *
 	 * @since 1.0
 	 */
-	interface OngoingReadingWithoutWhere extends OngoingReading, ExposesMatch, ExposesCreate, ExposesMerge {
+	interface OngoingReadingWithoutWhere
+		extends OngoingReading, ExposesMatch, ExposesCreate, ExposesMerge, ExposesHints {
 
 		/**
 		 * Adds a where clause to this match.
@@ -98,7 +109,17 @@ public interface StatementBuilder extends ExposesMatch, ExposesCreate, ExposesMe
 	 * @since 1.0
 	 */
 	interface OngoingReading
-		extends ExposesReturning, ExposesWith, ExposesUpdatingClause, ExposesUnwind, ExposesCreate {
+		extends ExposesReturning, ExposesWith, ExposesUpdatingClause, ExposesUnwind, ExposesCreate,
+		ExposesSubqueryCall {
+	}
+
+	/**
+	 * A statement ending in a subquery call. It can be build as is, for example if the subquery only updates data, or
+	 * be continued with further clauses.
+	 *
+	 * @since 2020.0.0
+	 */
+	interface OngoingSubqueryCall extends OngoingReading, ExposesMatch, BuildableStatement {
 	}
 
 	/**
@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * A compact, versioned binary codec for the complete AST of a {@link Statement}. Other than the rendered Cypher, the
+ * decoded statement is a fully functional statement that can be rendered, analysed or used as part of other statements.
+ * <p>
+ * The format starts with a magic number and the {@link #FORMAT_VERSION format version}, followed by the elements of
+ * the tree in pre-order. The number of attributes and children is only written for elements with a variable number of
+ * children. Strings are written only once and referred to by index afterwards. Elements that are used
+ * more than once in the same statement, for example a node that appears in a pattern and in a condition, are written
+ * once and referred to afterwards as well, so that the decoded statement shares them in the same way as the original
+ * statement.
+ * <p>
+ * Decoding reads directly from the given {@link ByteBuffer} without copying its content into an intermediate array
+ * first, for heap buffers not even the bytes of strings are copied.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementCodec {
+
+	/**
+	 * The version of the binary format written by this codec. Only data written with the same version can be read.
+	 */
+	public static final int FORMAT_VERSION = 2;
+
+	private static final byte[] MAGIC = { 'C', 'D', 'S', 'L' };
+
+	private static final int TAG_NULL = 0;
+	private static final int TAG_REFERENCE = 1;
+	private static final int TAG_KIND_OFFSET = 1;
+
+	private static final byte VALUE_NULL = 0;
+	private static final byte VALUE_FALSE = 1;
+	private static final byte VALUE_TRUE = 2;
+	private static final byte VALUE_STRING = 3;
+	private static final byte VALUE_INT = 4;
+	private static final byte VALUE_LONG = 5;
+	private static final byte VALUE_DOUBLE = 6;
+	private static final byte VALUE_FLOAT = 7;
+	private static final byte VALUE_SHORT = 8;
+	private static final byte VALUE_BYTE = 9;
+	private static final byte VALUE_BIG_INTEGER = 10;
+	private static final byte VALUE_BIG_DECIMAL = 11;
+	private static final byte VALUE_STRING_LIST = 12;
+	private static final byte VALUE_OPERATOR = 13;
+	private static final byte VALUE_RELATIONSHIP_DIRECTION = 14;
+	private static final byte VALUE_SORT_DIRECTION = 15;
+	private static final byte VALUE_INT_ARRAY = 16;
+	private static final byte VALUE_LONG_ARRAY = 17;
+	private static final byte VALUE_DOUBLE_ARRAY = 18;
+
+	/**
+	 * Encodes the given statement.
+	 *
+	 * @param statement The statement to encode
+	 * @return The binary representation of the statement
+	 * @throws IllegalArgumentException if the statement contains elements that cannot be encoded
+	 */
+	public static byte[] encode(Statement statement) {
+
+		Assert.notNull(statement, "Statement to encode must not be null.");
+
+		Encoder encoder = new Encoder();
+		encoder.writeBytes(MAGIC);
+		encoder.writeVarInt(FORMAT_VERSION);
+		encoder.writeElement(statement);
+		return encoder.toByteArray();
+	}
+
+	/**
+	 * Computes the structural fingerprint of the given statement, the SHA-256 digest of its encoded form. Statements
+	 * with the same fingerprint have the same structure and render to the same Cypher, regardless whether they are the
+	 * same instance or have been built independently.
+	 *
+	 * @param statement The statement to fingerprint
+	 * @return The 32 bytes of the fingerprint
+	 * @throws IllegalArgumentException if the statement contains elements that cannot be encoded
+	 */
+	public static byte[] fingerprint(Statement statement) {
+
+		byte[] encoded = encode(statement);
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(encoded);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is required to be supported by every Java platform.", e);
+		}
+	}
+
+	/**
+	 * Decodes a statement from the given byte array.
+	 *
+	 * @param data The binary representation of a statement
+	 * @return The decoded statement
+	 * @throws IllegalArgumentException if the data does not represent a statement of a supported format version
+	 */
+	public static Statement decode(byte[] data) {
+
+		Assert.notNull(data, "Data to decode must not be null.");
+
+		return decode(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * Decodes a statement from the given buffer, starting at its current position. The position of the buffer is
+	 * advanced to the first byte after the statement, so that several statements can be read from one buffer.
+	 *
+	 * @param buffer The buffer containing the binary representation of a statement
+	 * @return The decoded statement
+	 * @throws IllegalArgumentException if the data does not represent a statement of a supported format version
+	 */
+	public static Statement decode(ByteBuffer buffer) {
+
+		Assert.notNull(buffer, "Buffer to decode must not be null.");
+
+		try {
+			Decoder decoder = new Decoder(buffer);
+			for (byte expected : MAGIC) {
+				Assert.isTrue(buffer.get() == expected, "Data does not contain an encoded statement.");
+			}
+			int version = decoder.readVarInt();
+			Assert.isTrue(version == FORMAT_VERSION,
+				"Unsupported format version " + version + ", only version " + FORMAT_VERSION + " is supported.");
+
+			Visitable root = decoder.readElement();
+			Assert.isInstanceOf(Statement.class, root, "Data does not contain an encoded statement.");
+			return (Statement) root;
+		} catch (BufferUnderflowException | ClassCastException | IndexOutOfBoundsException
+			| NullPointerException e) {
+			throw new IllegalArgumentException("Malformed statement data.", e);
+		}
+	}
+
+	private static final class Encoder {
+
+		private final Map<Visitable, Integer> elements = new IdentityHashMap<>();
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		private byte[] buffer = new byte[256];
+		private int size;
+
+		void writeElement(Visitable element) {
+
+			if (element == null) {
+				writeVarInt(TAG_NULL);
+				return;
+			}
+
+			Integer reference = elements.get(element);
+			if (reference != null) {
+				writeVarInt(TAG_REFERENCE);
+				writeVarInt(reference);
+				return;
+			}
+
+			AstElement astElement = AstElement.decompose(element);
+			writeVarInt(astElement.getKind().getId() + TAG_KIND_OFFSET);
+			for (Object attribute : astElement.getAttributes()) {
+				writeValue(attribute);
+			}
+			List<Visitable> children = astElement.getChildren();
+			if (astElement.getKind().hasVariableNumberOfChildren()) {
+				writeVarInt(children.size());
+			}
+			for (Visitable child : children) {
+				writeElement(child);
+			}
+			elements.put(element, elements.size());
+		}
+
+		@SuppressWarnings("unchecked")
+		void writeValue(Object value) {
+
+			if (value == null) {
+				writeByte(VALUE_NULL);
+			} else if (value instanceof Boolean) {
+				writeByte((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+			} else if (value instanceof String) {
+				writeByte(VALUE_STRING);
+				writeString((String) value);
+			} else if (value instanceof Number) {
+				writeNumber((Number) value);
+			} else if (value instanceof List) {
+				List<String> values = (List<String>) value;
+				writeByte(VALUE_STRING_LIST);
+				writeVarInt(values.size());
+				values.forEach(this::writeString);
+			} else if (value instanceof Operator) {
+				writeByte(VALUE_OPERATOR);
+				writeString(((Operator) value).name());
+			} else if (value instanceof Relationship.Direction) {
+				writeByte(VALUE_RELATIONSHIP_DIRECTION);
+				writeString(((Relationship.Direction) value).name());
+			} else if (value instanceof SortItem.Direction) {
+				writeByte(VALUE_SORT_DIRECTION);
+				writeString(((SortItem.Direction) value).name());
+			} else {
+				writeArray(value);
+			}
+		}
+
+		void writeNumber(Number value) {
+
+			if (value instanceof Integer) {
+				writeByte(VALUE_INT);
+				writeVarLong(zigZag(value.intValue()));
+			} else if (value instanceof Long) {
+				writeByte(VALUE_LONG);
+				writeVarLong(zigZag(value.longValue()));
+			} else if (value instanceof Double) {
+				writeByte(VALUE_DOUBLE);
+				writeLong(Double.doubleToRawLongBits(value.doubleValue()));
+			} else if (value instanceof Float) {
+				writeByte(VALUE_FLOAT);
+				writeVarInt(Float.floatToRawIntBits(value.floatValue()));
+			} else if (value instanceof Short) {
+				writeByte(VALUE_SHORT);
+				writeVarLong(zigZag(value.shortValue()));
+			} else if (value instanceof Byte) {
+				writeByte(VALUE_BYTE);
+				writeByte(value.byteValue());
+			} else if (value instanceof BigInteger) {
+				writeByte(VALUE_BIG_INTEGER);
+				writeString(value.toString());
+			} else {
+				writeByte(VALUE_BIG_DECIMAL);
+				writeString(value instanceof BigDecimal ? value.toString() : new BigDecimal(value.toString()).toString());
+			}
+		}
+
+		void writeArray(Object value) {
+
+			if (value instanceof int[]) {
+				int[] values = (int[]) value;
+				writeByte(VALUE_INT_ARRAY);
+				writeVarInt(values.length);
+				for (int v : values) {
+					writeVarLong(zigZag(v));
+				}
+			} else if (value instanceof long[]) {
+				long[] values = (long[]) value;
+				writeByte(VALUE_LONG_ARRAY);
+				writeVarInt(values.length);
+				for (long v : values) {
+					writeVarLong(zigZag(v));
+				}
+			} else if (value instanceof double[]) {
+				double[] values = (double[]) value;
+				writeByte(VALUE_DOUBLE_ARRAY);
+				writeVarInt(values.length);
+				for (double v : values) {
+					writeLong(Double.doubleToRawLongBits(v));
+				}
+			} else {
+				throw new IllegalArgumentException("Unsupported attribute " + value.getClass().getName() + ".");
+			}
+		}
+
+		void writeString(String value) {
+
+			Integer index = strings.get(value);
+			if (index != null) {
+				writeVarInt(index + 1);
+				return;
+			}
+
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(0);
+			writeVarInt(bytes.length);
+			writeBytes(bytes);
+			strings.put(value, strings.size());
+		}
+
+		void writeVarInt(int value) {
+			writeVarLong(value & 0xFFFFFFFFL);
+		}
+
+		void writeVarLong(long value) {
+
+			ensureCapacity(10);
+			long remaining = value;
+			while ((remaining & ~0x7FL) != 0) {
+				buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+				remaining >>>= 7;
+			}
+			buffer[size++] = (byte) remaining;
+		}
+
+		void writeLong(long value) {
+
+			ensureCapacity(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				buffer[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		void writeByte(int value) {
+
+			ensureCapacity(1);
+			buffer[size++] = (byte) value;
+		}
+
+		void writeBytes(byte[] bytes) {
+
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, buffer, size, bytes.length);
+			size += bytes.length;
+		}
+
+		private void ensureCapacity(int additionalBytes) {
+
+			if (size + additionalBytes > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additionalBytes));
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, size);
+		}
+
+		private static long zigZag(long value) {
+			return (value << 1) ^ (value >> 63);
+		}
+	}
+
+	private static final class Decoder {
+
+		private final ByteBuffer buffer;
+		private final List<Visitable> elements = new ArrayList<>();
+		private final List<String> strings = new ArrayList<>();
+
+		Decoder(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		Visitable readElement() {
+
+			int tag = readVarInt();
+			if (tag == TAG_NULL) {
+				return null;
+			} else if (tag == TAG_REFERENCE) {
+				return elements.get(readVarInt());
+			}
+
+			Kind kind = Kind.of(tag - TAG_KIND_OFFSET);
+			Object[] attributes = new Object[kind.getNumberOfAttributes()];
+			for (int i = 0; i < attributes.length; ++i) {
+				attributes[i] = readValue();
+			}
+			int numberOfChildren = kind.hasVariableNumberOfChildren() ? readLength() : kind.getNumberOfChildren();
+			List<Visitable> children = new ArrayList<>(numberOfChildren);
+			for (int i = 0; i < numberOfChildren; ++i) {
+				children.add(readElement());
+			}
+
+			Visitable element = new AstElement(kind, attributes, children).compose();
+			elements.add(element);
+			return element;
+		}
+
+		Object readValue() {
+
+			byte type = buffer.get();
+			switch (type) {
+				case VALUE_NULL:
+					return null;
+				case VALUE_FALSE:
+					return Boolean.FALSE;
+				case VALUE_TRUE:
+					return Boolean.TRUE;
+				case VALUE_STRING:
+					return readString();
+				case VALUE_INT:
+					return (int) unZigZag(readVarLong());
+				case VALUE_LONG:
+					return unZigZag(readVarLong());
+				case VALUE_DOUBLE:
+					return Double.longBitsToDouble(readLong());
+				case VALUE_FLOAT:
+					return Float.intBitsToFloat(readVarInt());
+				case VALUE_SHORT:
+					return (short) unZigZag(readVarLong());
+				case VALUE_BYTE:
+					return buffer.get();
+				case VALUE_BIG_INTEGER:
+					return new BigInteger(readString());
+				case VALUE_BIG_DECIMAL:
+					return new BigDecimal(readString());
+				case VALUE_STRING_LIST:
+					String[] values = new String[readLength()];
+					for (int i = 0; i < values.length; ++i) {
+						values[i] = readString();
+					}
+					return Arrays.asList(values);
+				case VALUE_OPERATOR:
+					return Operator.valueOf(readString());
+				case VALUE_RELATIONSHIP_DIRECTION:
+					return Relationship.Direction.valueOf(readString());
+				case VALUE_SORT_DIRECTION:
+					return SortItem.Direction.valueOf(readString());
+				default:
+					return readArray(type);
+			}
+		}
+
+		Object readArray(byte type) {
+
+			int length = readLength();
+			switch (type) {
+				case VALUE_INT_ARRAY:
+					int[] ints = new int[length];
+					for (int i = 0; i < length; ++i) {
+						ints[i] = (int) unZigZag(readVarLong());
+					}
+					return ints;
+				case VALUE_LONG_ARRAY:
+					long[] longs = new long[length];
+					for (int i = 0; i < length; ++i) {
+						longs[i] = unZigZag(readVarLong());
+					}
+					return longs;
+				case VALUE_DOUBLE_ARRAY:
+					double[] doubles = new double[length];
+					for (int i = 0; i < length; ++i) {
+						doubles[i] = Double.longBitsToDouble(readLong());
+					}
+					return doubles;
+				default:
+					throw new IllegalArgumentException("Unknown value type " + type + ".");
+			}
+		}
+
+		/**
+		 * Reads a long in the same byte order as {@link Encoder#writeLong(long)}, regardless of the order of the buffer.
+		 */
+		long readLong() {
+
+			long value = 0L;
+			for (int i = 0; i < 8; ++i) {
+				value = (value << 8) | (buffer.get() & 0xFF);
+			}
+			return value;
+		}
+
+		String readString() {
+
+			int index = readVarInt();
+			if (index > 0) {
+				return strings.get(index - 1);
+			}
+
+			int length = readLength();
+			String value;
+			if (buffer.hasArray()) {
+				value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+					StandardCharsets.UTF_8);
+				buffer.position(buffer.position() + length);
+			} else {
+				byte[] bytes = new byte[length];
+				buffer.get(bytes);
+				value = new String(bytes, StandardCharsets.UTF_8);
+			}
+			strings.add(value);
+			return value;
+		}
+
+		int readLength() {
+
+			int length = readVarInt();
+			Assert.isTrue(length >= 0 && length <= buffer.remaining(), "Malformed statement data.");
+			return length;
+		}
+
+		int readVarInt() {
+			return (int) readVarLong();
+		}
+
+		long readVarLong() {
+
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = buffer.get();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Malformed variable length number.");
+		}
+
+		private static long unZigZag(long value) {
+			return (value >>> 1) ^ -(value & 1);
+		}
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private StatementCodec() {
+	}
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Describes what a statement does to the graph: Whether it is read-only and which labels, relationship types and
+ * property keys it reads and writes. A statement is read-only if it contains neither a {@code CREATE}, {@code MERGE},
+ * {@code SET}, {@code REMOVE} nor {@code DELETE} clause in any of its parts. This can be used for routing statements
+ * to the members of a cluster or for invalidating cached results.
+ * <p>
+ * {@code MERGE} both reads and writes the labels, types and properties of its pattern. Labels and types of elements
+ * that are updated or deleted are derived from the patterns that bound their variables. If there is no such pattern,
+ * for example for a variable introduced by {@code UNWIND}, or if {@code DETACH DELETE} removes relationships of unknown
+ * types, the written labels and types are incomplete, see {@link #hasIncompleteWrites()}. Likewise, the read labels
+ * and types are incomplete if the statement matches nodes without labels or relationships without types, see
+ * {@link #hasIncompleteReads()}. Properties that are only known at runtime, for example those of a parameter assigned
+ * with {@code +=}, cannot be determined.
+ * <p>
+ * The info is computed once per statement instance, see {@link Statement#getInfo()}.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementInfo {
+
+	static StatementInfo of(Statement statement) {
+
+		Collector collector = new Collector();
+		collector.visit(statement, false);
+		return new StatementInfo(collector);
+	}
+
+	private final boolean readOnly;
+
+	private final Set<String> readLabels;
+
+	private final Set<String> writtenLabels;
+
+	private final Set<String> readRelationshipTypes;
+
+	private final Set<String> writtenRelationshipTypes;
+
+	private final Set<String> readProperties;
+
+	private final Set<String> writtenProperties;
+
+	private final boolean incompleteReads;
+
+	private final boolean incompleteWrites;
+
+	private StatementInfo(Collector collector) {
+
+		this.readOnly = !collector.updating;
+		this.readLabels = Collections.unmodifiableSet(collector.readLabels);
+		this.writtenLabels = Collections.unmodifiableSet(collector.writtenLabels);
+		this.readRelationshipTypes = Collections.unmodifiableSet(collector.readTypes);
+		this.writtenRelationshipTypes = Collections.unmodifiableSet(collector.writtenTypes);
+		this.readProperties = Collections.unmodifiableSet(collector.readProperties);
+		this.writtenProperties = Collections.unmodifiableSet(collector.writtenProperties);
+		this.incompleteReads = collector.incompleteReads;
+		this.incompleteWrites = collector.incompleteWrites;
+	}
+
+	/**
+	 * @return True if the statement doesn't contain any updating clause and can be executed by a read replica
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * @return The labels of nodes that are matched or checked, in the order of their first appearance
+	 */
+	public Set<String> getReadLabels() {
+		return readLabels;
+	}
+
+	/**
+	 * @return The labels of nodes that are created or merged, of nodes whose labels or properties are set or removed
+	 * and of deleted nodes
+	 */
+	public Set<String> getWrittenLabels() {
+		return writtenLabels;
+	}
+
+	/**
+	 * @return The types of relationships that are matched
+	 */
+	public Set<String> getReadRelationshipTypes() {
+		return readRelationshipTypes;
+	}
+
+	/**
+	 * @return The types of relationships that are created or merged, of relationships whose properties are set or
+	 * removed and of deleted relationships
+	 */
+	public Set<String> getWrittenRelationshipTypes() {
+		return writtenRelationshipTypes;
+	}
+
+	/**
+	 * @return The keys of properties that are read, including those used in patterns of {@code MATCH} clauses
+	 */
+	public Set<String> getReadProperties() {
+		return readProperties;
+	}
+
+	/**
+	 * @return The keys of properties that are created, merged, set or removed
+	 */
+	public Set<String> getWrittenProperties() {
+		return writtenProperties;
+	}
+
+	/**
+	 * @return True if the statement matches nodes without labels or relationships without types that have not been
+	 * bound with labels or types before, so that {@link #getReadLabels()} and {@link #getReadRelationshipTypes()} don't
+	 * cover all elements it reads
+	 */
+	public boolean hasIncompleteReads() {
+		return incompleteReads;
+	}
+
+	/**
+	 * @return True if the statement updates or deletes nodes or relationships whose labels or types cannot be
+	 * determined, so that {@link #getWrittenLabels()} and {@link #getWrittenRelationshipTypes()} are incomplete
+	 */
+	public boolean hasIncompleteWrites() {
+		return incompleteWrites;
+	}
+
+	@Override
+	public String toString() {
+		return "StatementInfo{" +
+			"readOnly=" + readOnly +
+			", readLabels=" + readLabels +
+			", writtenLabels=" + writtenLabels +
+			", readRelationshipTypes=" + readRelationshipTypes +
+			", writtenRelationshipTypes=" + writtenRelationshipTypes +
+			", readProperties=" + readProperties +
+			", writtenProperties=" + writtenProperties +
+			", incompleteReads=" + incompleteReads +
+			", incompleteWrites=" + incompleteWrites +
+			'}';
+	}
+
+	/**
+	 * Collects the info while walking a statement in the order of its clauses.
+	 */
+	private static final class Collector {
+
+		private final Set<String> readLabels = new LinkedHashSet<>();
+
+		private final Set<String> writtenLabels = new LinkedHashSet<>();
+
+		private final Set<String> readTypes = new LinkedHashSet<>();
+
+		private final Set<String> writtenTypes = new LinkedHashSet<>();
+
+		private final Set<String> readProperties = new LinkedHashSet<>();
+
+		private final Set<String> writtenProperties = new LinkedHashSet<>();
+
+		/**
+		 * Labels of nodes by the names of their variables.
+		 */
+		private final Map<String, Set<String>> labelsByName = new HashMap<>();
+
+		/**
+		 * Types of relationships by the names of their variables.
+		 */
+		private final Map<String, Set<String>> typesByName = new HashMap<>();
+
+		private boolean updating;
+
+		private boolean incompleteReads;
+
+		private boolean incompleteWrites;
+
+		/**
+		 * Visits an element and all of its children.
+		 *
+		 * @param element The element to visit
+		 * @param writing True if the element is part of the pattern of a {@code CREATE} or {@code MERGE} clause
+		 */
+		void visit(Visitable element, boolean writing) {
+
+			if (element == null) {
+				return;
+			}
+
+			AstElement astElement = AstElement.decompose(element);
+			List<Visitable> children = astElement.getChildren();
+			Kind kind = astElement.getKind();
+			if (astElement.isSequenceOfClauses()) {
+				astElement.getClausesInOrder().forEach(child -> visit(child, false));
+			} else if (kind == Kind.CREATE) {
+				this.updating = true;
+				visit(children.get(0), true);
+			} else if (kind == Kind.MERGE) {
+				this.updating = true;
+				visit(children.get(0), false);
+				visit(children.get(0), true);
+			} else if (kind == Kind.SET || kind == Kind.REMOVE) {
+				this.updating = true;
+				AstElement.decompose(children.get(0)).getChildren().forEach(this::visitUpdate);
+			} else if (kind == Kind.DELETE) {
+				this.updating = true;
+				boolean detach = ((Delete) element).isDetach();
+				AstElement.decompose(children.get(0)).getChildren().forEach(item -> visitDelete(item, detach));
+			} else if (element instanceof Node) {
+				Node node = (Node) element;
+				List<String> labels = node.getLabels().stream().map(NodeLabel::getValue).collect(Collectors.toList());
+				(writing ? this.writtenLabels : this.readLabels).addAll(labels);
+				this.incompleteReads |= !writing && labels.isEmpty()
+					&& !isBound(this.labelsByName, node.getSymbolicName());
+				node.getSymbolicName().ifPresent(name -> remember(this.labelsByName, name, labels));
+				visitProperties(children.get(1), writing);
+			} else if (element instanceof RelationshipDetail) {
+				RelationshipDetail details = (RelationshipDetail) element;
+				List<String> types = details.getTypes() == null ?
+					Collections.emptyList() :
+					details.getTypes().getValues();
+				(writing ? this.writtenTypes : this.readTypes).addAll(types);
+				this.incompleteReads |= !writing && types.isEmpty()
+					&& !isBound(this.typesByName, details.getSymbolicName());
+				details.getSymbolicName().ifPresent(name -> remember(this.typesByName, name, types));
+				visit(details.getLength(), writing);
+				visitProperties(details.getProperties(), writing);
+			} else if (element instanceof HasLabelCondition) {
+				((HasLabelCondition) element).getNodeLabels().forEach(label -> this.readLabels.add(label.getValue()));
+			} else if (element instanceof PropertyLookup) {
+				addProperty(this.readProperties, ((PropertyLookup) element).getPropertyKeyName());
+			} else {
+				children.forEach(child -> visit(child, writing));
+			}
+		}
+
+		/**
+		 * Visits the properties of a node or a relationship. Their keys are read or written, their values are
+		 * always read.
+		 */
+		private void visitProperties(Visitable properties, boolean writing) {
+
+			if (properties == null) {
+				return;
+			}
+			Visitable map = AstElement.decompose(properties).getChildren().get(0);
+			for (Visitable entry : AstElement.decompose(map).getChildren()) {
+				if (entry instanceof KeyValueMapEntry) {
+					addProperty(writing ? this.writtenProperties : this.readProperties,
+						((KeyValueMapEntry) entry).getKey());
+				}
+				AstElement.decompose(entry).getChildren().forEach(value -> visit(value, false));
+			}
+		}
+
+		/**
+		 * Visits a single item of a {@code SET} or {@code REMOVE} clause.
+		 */
+		private void visitUpdate(Visitable item) {
+
+			if (!(item instanceof Operation)) {
+				if (item instanceof Property) {
+					writeTarget(((Property) item).getContainer());
+					addProperty(this.writtenProperties, ((Property) item).getName().getPropertyKeyName());
+				} else {
+					this.incompleteWrites = true;
+				}
+				return;
+			}
+
+			Operation operation = (Operation) item;
+			Operator operator = operation.getOperator();
+			Visitable target = operation.getLeft();
+			Visitable value = operation.getRight();
+			if (operator == Operator.SET_LABEL || operator == Operator.REMOVE_LABEL) {
+				writeTarget(target);
+				((NodeLabels) value).getValues().forEach(label -> this.writtenLabels.add(label.getValue()));
+				return;
+			}
+
+			if (target instanceof Property) {
+				writeTarget(((Property) target).getContainer());
+				addProperty(this.writtenProperties, ((Property) target).getName().getPropertyKeyName());
+			} else {
+				writeTarget(target);
+			}
+			if (value instanceof MapExpression) {
+				// Assigning a map to a node or relationship writes all of its keys.
+				AstElement.decompose(value).getChildren().stream().filter(KeyValueMapEntry.class::isInstance)
+					.forEach(entry -> addProperty(this.writtenProperties, ((KeyValueMapEntry) entry).getKey()));
+			}
+			visit(value, false);
+		}
+
+		/**
+		 * Visits a single item of a {@code DELETE} clause. Deleting a variable writes the labels or types it has been
+		 * bound with. Detaching a node deletes its relationships, whose types are unknown.
+		 */
+		private void visitDelete(Visitable item, boolean detach) {
+
+			String name = writeTarget(item);
+			if (detach && !this.typesByName.containsKey(name)) {
+				this.incompleteWrites = true;
+			}
+			if (name == null) {
+				visit(item, false);
+			}
+		}
+
+		/**
+		 * Records the labels or types a node or relationship that is updated or deleted has been bound with.
+		 *
+		 * @param target The updated or deleted element
+		 * @return The name of the target, {@literal null} if it is not a variable
+		 */
+		private String writeTarget(Visitable target) {
+
+			Visitable resolvedTarget = Expressions.nameOrExpression(target);
+			String name = resolvedTarget instanceof SymbolicName ? ((SymbolicName) resolvedTarget).getValue() : null;
+			if (name == null || !(this.labelsByName.containsKey(name) || this.typesByName.containsKey(name))) {
+				this.incompleteWrites = true;
+			} else {
+				this.writtenLabels.addAll(this.labelsByName.getOrDefault(name, Collections.emptySet()));
+				this.writtenTypes.addAll(this.typesByName.getOrDefault(name, Collections.emptySet()));
+			}
+			return name;
+		}
+
+		private static boolean isBound(Map<String, Set<String>> tokensByName, Optional<SymbolicName> name) {
+			return name.map(SymbolicName::getValue).filter(tokensByName::containsKey).isPresent();
+		}
+
+		private static void remember(Map<String, Set<String>> tokensByName, SymbolicName name,
+			Collection<String> tokens) {
+
+			if (!tokens.isEmpty()) {
+				tokensByName.computeIfAbsent(name.getValue(), key -> new LinkedHashSet<>()).addAll(tokens);
+			}
+		}
+
+		private static void addProperty(Set<String> properties, String key) {
+
+			if (!"*".equals(key)) {
+				properties.add(key);
+			}
+		}
+	}
+}
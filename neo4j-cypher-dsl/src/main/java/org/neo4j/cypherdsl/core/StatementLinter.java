@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static java.util.stream.Collectors.*;
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.LintFinding.Severity;
+import org.neo4j.cypherdsl.core.Relationship.Direction;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Checks statements for shapes that are known to perform badly on the server, without executing them. The linter
+ * walks the clauses of a statement in order and reports a {@link LintFinding} for each violation of one of its
+ * {@link LintRule rules}, for example disconnected patterns in a {@code MATCH} or variable length relationships without
+ * an upper bound.
+ * <p>
+ * The linter is meant to be used in tests of the code building statements:
+ * <pre>
+ * StatementLinter.getDefaultLinter().assertNoFindings(statement);
+ * </pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementLinter {
+
+	private static final StatementLinter DEFAULT_LINTER = new StatementLinter(EnumSet.allOf(LintRule.class));
+
+	/**
+	 * Provides a linter checking all rules.
+	 *
+	 * @return A shared linter
+	 */
+	public static StatementLinter getDefaultLinter() {
+		return DEFAULT_LINTER;
+	}
+
+	/**
+	 * Creates a linter checking only the given rules.
+	 *
+	 * @param rules The rules to check
+	 * @return A new linter
+	 */
+	public static StatementLinter withRules(LintRule... rules) {
+
+		Assert.notNull(rules, "Rules must not be null.");
+
+		EnumSet<LintRule> enabledRules = EnumSet.noneOf(LintRule.class);
+		for (LintRule rule : rules) {
+			Assert.notNull(rule, "Rules must not contain null rules.");
+			enabledRules.add(rule);
+		}
+		return new StatementLinter(enabledRules);
+	}
+
+	private final Set<LintRule> rules;
+
+	private StatementLinter(EnumSet<LintRule> rules) {
+		this.rules = Collections.unmodifiableSet(rules);
+	}
+
+	/**
+	 * @return The rules checked by this linter
+	 */
+	public Set<LintRule> getRules() {
+		return rules;
+	}
+
+	/**
+	 * Checks the given statement.
+	 *
+	 * @param statement The statement to check
+	 * @return The findings in the order of the clauses they occur in, an empty list if the statement is fine
+	 */
+	public List<LintFinding> lint(Statement statement) {
+
+		Assert.notNull(statement, "Statement to lint must not be null.");
+
+		Analysis analysis = new Analysis();
+		analysis.analyzeQuery(statement);
+		return Collections.unmodifiableList(analysis.findings);
+	}
+
+	/**
+	 * Asserts that the given statement has no findings at all.
+	 *
+	 * @param statement The statement to check
+	 * @throws AssertionError if there are findings, listing all of them
+	 */
+	public void assertNoFindings(Statement statement) {
+		assertNoFindings(statement, Severity.WARNING);
+	}
+
+	/**
+	 * Asserts that the given statement has no findings of the given or a higher severity.
+	 *
+	 * @param statement       The statement to check
+	 * @param minimumSeverity The lowest severity of findings that are not acceptable
+	 * @throws AssertionError if there are such findings, listing all of them
+	 */
+	public void assertNoFindings(Statement statement, Severity minimumSeverity) {
+
+		Assert.notNull(minimumSeverity, "Minimum severity must not be null.");
+
+		List<LintFinding> findings = lint(statement).stream()
+			.filter(finding -> finding.getSeverity().compareTo(minimumSeverity) >= 0)
+			.collect(toList());
+		if (!findings.isEmpty()) {
+			throw new AssertionError(findings.stream().map(LintFinding::toString)
+				.collect(joining(System.lineSeparator() + "\t", "Expected no findings, but found:"
+					+ System.lineSeparator() + "\t", "")));
+		}
+	}
+
+	/**
+	 * The state of checking a single statement. The names of variables that are bound so far and the labels and types
+	 * matched so far are tracked per query, so that they are reset for each part of a union. Called subqueries are
+	 * checked in their own scope, which sees the variables of the enclosing query only through an importing
+	 * {@code WITH} and adds the variables it returns to the enclosing query.
+	 */
+	private final class Analysis {
+
+		private final List<LintFinding> findings = new ArrayList<>();
+
+		private final Set<RelationshipDetail> checkedDetails = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private Set<String> boundNames = new HashSet<>();
+
+		private final Set<String> matchedLabels = new HashSet<>();
+
+		private final Set<String> matchedTypes = new HashSet<>();
+
+		/**
+		 * Whether the next clause is the first one of a called subquery, which may import variables with {@code WITH}.
+		 */
+		private boolean importing;
+
+		private Set<String> returnedNames = new HashSet<>();
+
+		private int clauseIndex;
+
+		void analyzeQuery(Visitable query) {
+
+			AstElement element = AstElement.decompose(query);
+			List<Visitable> children = element.getChildren();
+			Kind kind = element.getKind();
+			if (element.isSequenceOfClauses()) {
+				element.getClausesInOrder().forEach(this::analyzeQuery);
+			} else if (kind == Kind.UNION_QUERY) {
+				Set<String> namesBefore = this.boundNames;
+				Set<String> labelsBefore = new HashSet<>(this.matchedLabels);
+				Set<String> typesBefore = new HashSet<>(this.matchedTypes);
+				boolean importingBefore = this.importing;
+				for (Visitable part : children) {
+					this.boundNames = new HashSet<>(namesBefore);
+					this.matchedLabels.retainAll(labelsBefore);
+					this.matchedTypes.retainAll(typesBefore);
+					this.importing = importingBefore;
+					analyzeQuery(part);
+				}
+			} else if (kind == Kind.UNION_PART || kind == Kind.STATEMENT_WITH_OPTIONS) {
+				analyzeQuery(children.get(0));
+			} else {
+				analyzeClause(element);
+			}
+		}
+
+		private void analyzeClause(AstElement clause) {
+
+			++this.clauseIndex;
+
+			Kind kind = clause.getKind();
+			if (this.importing) {
+				this.importing = false;
+				if (kind != Kind.WITH) {
+					this.boundNames = new HashSet<>();
+				}
+			}
+
+			String name = kind.name();
+			if (kind == Kind.MATCH && (Boolean) clause.getAttributes()[0]) {
+				name = "OPTIONAL MATCH";
+			}
+
+			String clauseName = name;
+			clause.getChildren().forEach(child -> AstElement.forEachElement(child, element -> {
+				if (element instanceof RelationshipDetail) {
+					checkLength(clauseName, (RelationshipDetail) element);
+				}
+			}));
+
+			if (kind == Kind.MATCH) {
+				analyzeMatch(name, clause);
+			} else if (kind == Kind.MERGE || kind == Kind.CREATE) {
+				analyzeWrite(name, clause);
+			} else if (kind == Kind.UNWIND) {
+				this.boundNames.add((String) clause.getAttributes()[0]);
+			} else if (kind == Kind.WITH) {
+				this.boundNames = namesProjectedBy(clause);
+			} else if (kind == Kind.RETURN) {
+				this.returnedNames = namesProjectedBy(clause);
+			} else if (kind == Kind.SUBQUERY) {
+				analyzeSubquery(clause);
+			}
+		}
+
+		private void checkLength(String clause, RelationshipDetail details) {
+
+			RelationshipLength length = details.getLength();
+			if (length == null || !this.checkedDetails.add(details)) {
+				return;
+			}
+			if (length.isUnbounded() || (length.getMinimum() != null && length.getMaximum() == null)) {
+				report(LintRule.UNBOUNDED_VARIABLE_LENGTH, Severity.WARNING, clause, describe(details),
+					"The variable length relationship has no upper bound, add a maximum length.");
+			}
+		}
+
+		private void analyzeMatch(String clause, AstElement match) {
+
+			List<PatternPart> parts = PatternPart.of(match.getChildren().get(0));
+			List<PatternPart> components = connect(parts);
+			List<PatternPart> unanchored = components.stream().filter(this::isUnanchored).collect(toList());
+			if (components.size() > 1 && !unanchored.isEmpty()) {
+				report(LintRule.CARTESIAN_PRODUCT, Severity.WARNING, clause, describe(parts),
+					"The patterns are not connected, so the server builds the cartesian product of their matches.");
+			}
+
+			Set<String> seekableNames = getSeekableNames(match.getChildren().get(1));
+			unanchored.stream().filter(component -> !component.hasStartingPoint(seekableNames))
+				.forEach(component -> report(LintRule.ALL_NODES_SCAN, Severity.WARNING, clause, describe(component),
+					"The pattern has neither a label nor a bound variable, so the server scans all nodes."));
+
+			for (PatternPart part : parts) {
+				part.nodes.forEach(node -> node.getLabels().forEach(label -> this.matchedLabels.add(label.getValue())));
+				part.relationships.forEach(relationship -> this.matchedTypes.addAll(getTypes(relationship)));
+				this.boundNames.addAll(part.names);
+			}
+		}
+
+		private void analyzeWrite(String clause, AstElement write) {
+
+			boolean merge = write.getKind() == Kind.MERGE;
+			List<PatternPart> parts = PatternPart.of(write.getChildren().get(0));
+			parts.stream().flatMap(part -> part.relationships.stream())
+				.filter(relationship -> relationship.getDetails().getDirection() == Direction.UNI)
+				.forEach(relationship -> report(LintRule.UNDIRECTED_WRITE,
+					merge ? Severity.WARNING : Severity.ERROR, clause, describe(relationship), merge ?
+						"The relationship has no direction, so the server has to check both directions." :
+						"The relationship has no direction, which is not supported when creating relationships."));
+
+			if (merge) {
+				connect(parts).stream().filter(this::isUnanchored)
+					.filter(component -> !component.hasStartingPoint(Collections.emptySet()))
+					.forEach(component -> report(LintRule.ALL_NODES_SCAN, Severity.WARNING, clause,
+						describe(component),
+						"The pattern has neither a label nor a bound variable, so the server scans all nodes."));
+				parts.forEach(part -> checkEagerMerge(clause, part));
+			}
+
+			parts.forEach(part -> this.boundNames.addAll(part.names));
+		}
+
+		private void checkEagerMerge(String clause, PatternPart part) {
+
+			for (Node node : part.nodes) {
+				if (isBound(node.getSymbolicName())) {
+					continue;
+				}
+				node.getLabels().stream().map(NodeLabel::getValue).filter(this.matchedLabels::contains).findFirst()
+					.ifPresent(label -> report(LintRule.EAGER_MERGE, Severity.WARNING, clause, describe(node),
+						"Nodes labeled " + label + " are matched before, so all previous rows are materialized eagerly."));
+			}
+			for (Relationship relationship : part.relationships) {
+				if (isBound(relationship.getSymbolicName())) {
+					continue;
+				}
+				getTypes(relationship).stream().filter(this.matchedTypes::contains).findFirst()
+					.ifPresent(type -> report(LintRule.EAGER_MERGE, Severity.WARNING, clause, describe(relationship),
+						"Relationships of type " + type
+							+ " are matched before, so all previous rows are materialized eagerly."));
+			}
+		}
+
+		private Set<String> namesProjectedBy(AstElement projection) {
+
+			AstElement body = AstElement.decompose(projection.getChildren().get(0));
+			List<Visitable> items = AstElement.decompose(body.getChildren().get(0)).getChildren();
+			return AstElement.namesProjectedBy(items, this.boundNames);
+		}
+
+		private void analyzeSubquery(AstElement subquery) {
+
+			Set<String> outerNames = this.boundNames;
+			this.boundNames = new HashSet<>(outerNames);
+			this.returnedNames = new HashSet<>();
+			this.importing = true;
+			analyzeQuery(subquery.getChildren().get(0));
+
+			outerNames.addAll(this.returnedNames);
+			this.boundNames = outerNames;
+			this.importing = false;
+		}
+
+		private boolean isBound(Optional<SymbolicName> name) {
+			return name.map(SymbolicName::getValue).filter(this.boundNames::contains).isPresent();
+		}
+
+		private boolean isUnanchored(PatternPart component) {
+			return Collections.disjoint(component.names, this.boundNames);
+		}
+
+		private void report(LintRule rule, Severity severity, String clause, String element, String message) {
+
+			if (rules.contains(rule)) {
+				this.findings.add(new LintFinding(rule, severity, this.clauseIndex, clause, element, message));
+			}
+		}
+	}
+
+	/**
+	 * The nodes, relationships and variables of one or more elements of a pattern.
+	 */
+	private static final class PatternPart {
+
+		private final List<Visitable> elements = new ArrayList<>();
+
+		private final Set<String> names = new HashSet<>();
+
+		private final List<Node> nodes = new ArrayList<>();
+
+		private final List<Relationship> relationships = new ArrayList<>();
+
+		static List<PatternPart> of(Visitable pattern) {
+
+			List<PatternPart> parts = new ArrayList<>();
+			for (Visitable element : AstElement.decompose(pattern).getChildren()) {
+				PatternPart part = new PatternPart();
+				part.elements.add(element);
+				part.collect(element);
+				parts.add(part);
+			}
+			return parts;
+		}
+
+		private void collect(Visitable element) {
+
+			if (element instanceof Node) {
+				Node node = (Node) element;
+				this.nodes.add(node);
+				node.getSymbolicName().ifPresent(this::addName);
+			} else if (element instanceof Relationship) {
+				Relationship relationship = (Relationship) element;
+				this.relationships.add(relationship);
+				relationship.getSymbolicName().ifPresent(this::addName);
+				collect(relationship.getLeft());
+				collect(relationship.getRight());
+			} else if (element instanceof NamedPath) {
+				((NamedPath) element).getSymbolicName().ifPresent(this::addName);
+				collect(((NamedPath) element).getPattern());
+			} else if (element != null) {
+				AstElement.decompose(element).getChildren().forEach(this::collect);
+			}
+		}
+
+		private void addName(SymbolicName name) {
+			this.names.add(name.getValue());
+		}
+
+		private void addAll(PatternPart other) {
+
+			this.elements.addAll(other.elements);
+			this.names.addAll(other.names);
+			this.nodes.addAll(other.nodes);
+			this.relationships.addAll(other.relationships);
+		}
+
+		/**
+		 * @param seekableNames Names of nodes that can be looked up by other means than their labels
+		 * @return True if the server can start matching this part with a lookup by label or id
+		 */
+		private boolean hasStartingPoint(Set<String> seekableNames) {
+			return this.nodes.stream().anyMatch(node -> !node.getLabels().isEmpty())
+				|| !Collections.disjoint(this.names, seekableNames);
+		}
+	}
+
+	/**
+	 * Merges pattern parts sharing a variable into connected components.
+	 */
+	private static List<PatternPart> connect(List<PatternPart> parts) {
+
+		List<PatternPart> components = new ArrayList<>();
+		for (PatternPart part : parts) {
+			PatternPart component = new PatternPart();
+			List<PatternPart> connected = components.stream()
+				.filter(other -> !Collections.disjoint(other.names, part.names)).collect(toList());
+			connected.forEach(component::addAll);
+			component.addAll(part);
+			components.removeAll(connected);
+			components.add(component);
+		}
+		return components;
+	}
+
+	/**
+	 * Computes the names of nodes for which a condition allows the server to look them up by label or id. Only the
+	 * conjuncts of the top-level {@code AND} chain restrict every match, conditions under {@code NOT}, {@code OR} or
+	 * {@code XOR} don't.
+	 */
+	private static Set<String> getSeekableNames(Visitable where) {
+
+		Set<String> names = new HashSet<>();
+		if (where instanceof Where) {
+			CompoundCondition.operandsOf(((Where) where).getCondition(), Operator.AND)
+				.forEach(conjunct -> collectSeekableNames(conjunct, names));
+		}
+		return names;
+	}
+
+	private static void collectSeekableNames(Condition conjunct, Set<String> names) {
+
+		if (conjunct instanceof HasLabelCondition) {
+			names.add(((HasLabelCondition) conjunct).getNodeName().getValue());
+		} else if (conjunct instanceof Comparison) {
+			Comparison comparison = (Comparison) conjunct;
+			collectIdArguments(comparison.getLeft(), names);
+			collectIdArguments(comparison.getRight(), names);
+		}
+	}
+
+	private static void collectIdArguments(Expression operand, Set<String> names) {
+
+		if (operand instanceof FunctionInvocation
+			&& "id".equalsIgnoreCase(((FunctionInvocation) operand).getFunctionName())) {
+			AstElement.forEachElement(operand, argument -> {
+				if (argument instanceof SymbolicName) {
+					names.add(((SymbolicName) argument).getValue());
+				}
+			});
+		}
+	}
+
+	private static List<String> getTypes(Relationship relationship) {
+
+		RelationshipTypes types = relationship.getDetails().getTypes();
+		return types == null ? Collections.emptyList() : types.getValues();
+	}
+
+	private static String describe(PatternPart part) {
+		return part.elements.stream().map(StatementLinter::describe).collect(joining(", "));
+	}
+
+	private static String describe(List<PatternPart> parts) {
+		return parts.stream().map(StatementLinter::describe).collect(joining(", "));
+	}
+
+	private static String describe(Visitable element) {
+
+		if (element instanceof Node) {
+			Node node = (Node) element;
+			return node.getLabels().stream().map(label -> ":" + label.getValue())
+				.collect(joining("", "(" + node.getSymbolicName().map(SymbolicName::getValue).orElse(""), ")"));
+		} else if (element instanceof Relationship) {
+			Relationship relationship = (Relationship) element;
+			return describe(relationship.getLeft()) + describe(relationship.getDetails())
+				+ describe(relationship.getRight());
+		} else if (element instanceof RelationshipChain) {
+			List<Relationship> relationships = ((RelationshipChain) element).getRelationships();
+			StringBuilder description = new StringBuilder(describe(relationships.get(0).getLeft()));
+			relationships.forEach(relationship -> description.append(describe(relationship.getDetails()))
+				.append(describe(relationship.getRight())));
+			return description.toString();
+		} else if (element instanceof RelationshipDetail) {
+			return describe((RelationshipDetail) element);
+		} else if (element instanceof NamedPath) {
+			NamedPath namedPath = (NamedPath) element;
+			return namedPath.getSymbolicName().map(name -> name.getValue() + " = ").orElse("")
+				+ describe(namedPath.getPattern());
+		} else if (element instanceof FunctionInvocation) {
+			return ((FunctionInvocation) element).getFunctionName() + "(...)";
+		}
+		return element.getClass().getSimpleName();
+	}
+
+	private static String describe(RelationshipDetail details) {
+
+		StringBuilder content = new StringBuilder();
+		details.getSymbolicName().map(SymbolicName::getValue).ifPresent(content::append);
+		Optional.ofNullable(details.getTypes()).map(RelationshipTypes::getValues).filter(types -> !types.isEmpty())
+			.ifPresent(types -> content.append(":").append(String.join("|", types)));
+
+		RelationshipLength length = details.getLength();
+		if (length != null && length.isUnbounded()) {
+			content.append("*");
+		} else if (length != null && (length.getMinimum() != null || length.getMaximum() != null)) {
+			content.append("*").append(Optional.ofNullable(length.getMinimum()).map(String::valueOf).orElse(""))
+				.append("..").append(Optional.ofNullable(length.getMaximum()).map(String::valueOf).orElse(""));
+		}
+
+		Direction direction = details.getDirection();
+		return direction.getSymbolLeft() + (content.length() == 0 ? "" : "[" + content + "]")
+			+ direction.getSymbolRight();
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.AstElement.Kind;
+import org.neo4j.cypherdsl.core.support.Visitable;
+
+/**
+ * Rewrites statements by applying a list of {@link RewriteRule rules} to all of their elements, bottom up. Rewriting
+ * is copy-on-write: Elements without any rewritten children and to which no rule applies are reused as they are, so
+ * the result shares all unchanged parts with the original statement, which is never modified. Elements that are used
+ * more than once in a statement, for example a node in a pattern and a condition, are rewritten once and stay shared.
+ * <p>
+ * The rules are applied to each element until none of them changes it anymore.
+ * {@link #simplifier()} provides a rewriter with the {@link SimplificationRule standard simplifications}, which make
+ * statements shorter and cheaper to plan for the server before they are rendered:
+ * <pre>
+ * Statement simplified = StatementRewriter.simplifier().rewrite(statement);
+ * </pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementRewriter {
+
+	/**
+	 * Guards against rules that keep replacing each others results.
+	 */
+	private static final int MAX_PASSES_PER_ELEMENT = 32;
+
+	/**
+	 * Kinds of elements whose children must be conditions.
+	 */
+	private static final EnumSet<Kind> REQUIRING_CONDITIONS = EnumSet
+		.of(Kind.WHERE, Kind.COMPOUND_CONDITION, Kind.NOT_CONDITION);
+
+	private static final StatementRewriter SIMPLIFIER = new StatementRewriter(
+		Arrays.asList(SimplificationRule.values()));
+
+	/**
+	 * Provides a rewriter applying all {@link SimplificationRule simplification rules}.
+	 *
+	 * @return A shared rewriter
+	 */
+	public static StatementRewriter simplifier() {
+		return SIMPLIFIER;
+	}
+
+	/**
+	 * Creates a rewriter applying the given rules in order.
+	 *
+	 * @param rules The rules to apply
+	 * @return A new rewriter
+	 */
+	public static StatementRewriter withRules(RewriteRule... rules) {
+
+		Assert.notNull(rules, "Rules must not be null.");
+		return withRules(Arrays.asList(rules));
+	}
+
+	/**
+	 * Creates a rewriter applying the given rules in order.
+	 *
+	 * @param rules The rules to apply
+	 * @return A new rewriter
+	 */
+	public static StatementRewriter withRules(List<? extends RewriteRule> rules) {
+
+		Assert.notNull(rules, "Rules must not be null.");
+		Assert.isTrue(rules.stream().allMatch(rule -> rule != null), "Rules must not contain null rules.");
+		return new StatementRewriter(new ArrayList<>(rules));
+	}
+
+	private final List<RewriteRule> rules;
+
+	private StatementRewriter(List<RewriteRule> rules) {
+		this.rules = Collections.unmodifiableList(rules);
+	}
+
+	/**
+	 * @return The rules of this rewriter
+	 */
+	public List<RewriteRule> getRules() {
+		return rules;
+	}
+
+	/**
+	 * Rewrites the given statement.
+	 *
+	 * @param statement The statement to rewrite
+	 * @return The rewritten statement, the same instance if no rule applied to any of its elements
+	 * @throws IllegalStateException if a rule returns {@literal null} or the rules don't produce a statement
+	 */
+	public Statement rewrite(Statement statement) {
+
+		Assert.notNull(statement, "Statement to rewrite must not be null.");
+
+		Visitable rewritten = new Rewrite().rewrite(statement);
+		if (!(rewritten instanceof Statement)) {
+			throw new IllegalStateException("The rules did not produce a statement.");
+		}
+		return (Statement) rewritten;
+	}
+
+	/**
+	 * The state of rewriting a single statement.
+	 */
+	private final class Rewrite {
+
+		private final Map<Visitable, Visitable> rewrittenElements = new IdentityHashMap<>();
+
+		Visitable rewrite(Visitable element) {
+
+			if (element == null) {
+				return null;
+			}
+
+			Visitable rewritten = rewrittenElements.get(element);
+			if (rewritten == null) {
+				rewritten = applyRules(rewriteChildren(element));
+				rewrittenElements.put(element, rewritten);
+			}
+			return rewritten;
+		}
+
+		private Visitable rewriteChildren(Visitable element) {
+
+			AstElement astElement = AstElement.decompose(element);
+			List<Visitable> children = astElement.getChildren();
+			List<Visitable> newChildren = null;
+			for (int i = 0; i < children.size(); ++i) {
+				Visitable child = children.get(i);
+				Visitable newChild = rewrite(child);
+				if (newChild == child || !canReplace(astElement.getKind(), child, newChild)) {
+					continue;
+				}
+				if (astElement.getKind() == Kind.COMPOUND_CONDITION && i > 0) {
+					newChild = CompoundCondition.replaceOperand((Operator) astElement.getAttributes()[0],
+						(Condition) child, (Condition) newChild);
+					if (newChild == child) {
+						continue;
+					}
+				}
+				if (newChildren == null) {
+					newChildren = new ArrayList<>(children);
+				}
+				newChildren.set(i, newChild);
+			}
+			return newChildren == null ? element : astElement.withChildren(newChildren).compose();
+		}
+
+		private Visitable applyRules(Visitable element) {
+
+			Visitable current = element;
+			for (int pass = 0; pass < MAX_PASSES_PER_ELEMENT; ++pass) {
+				Visitable previous = current;
+				for (RewriteRule rule : rules) {
+					current = rule.apply(current);
+					if (current == null) {
+						throw new IllegalStateException("Rule " + rule + " returned null.");
+					}
+				}
+				if (current == previous) {
+					break;
+				}
+			}
+			return current;
+		}
+	}
+
+	private static boolean canReplace(Kind kindOfParent, Visitable child, Visitable replacement) {
+		return !(child instanceof Condition && REQUIRING_CONDITIONS.contains(kindOfParent))
+			|| replacement instanceof Condition;
+	}
+}
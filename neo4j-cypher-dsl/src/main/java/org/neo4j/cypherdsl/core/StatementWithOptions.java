@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Set;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitor;
+
+/**
+ * A statement with {@link QueryOptions query options} applied. The renderer renders the options in front of the
+ * rendered form of the wrapped statement, which is memoized in the wrapped statement itself. Applying different
+ * options to the same statement therefore renders the statement only once. The info and the parameter names are the
+ * ones of the wrapped statement, too.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementWithOptions extends AbstractStatement {
+
+	private final QueryOptions options;
+
+	private final Statement statement;
+
+	StatementWithOptions(QueryOptions options, Statement statement) {
+
+		this.options = options;
+		this.statement = statement;
+	}
+
+	/**
+	 * @return The options applied to the statement
+	 */
+	public QueryOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return The statement the options are applied to
+	 */
+	public Statement getStatement() {
+		return statement;
+	}
+
+	@Override
+	public void accept(Visitor visitor) {
+
+		visitor.enter(this);
+		this.statement.accept(visitor);
+		visitor.leave(this);
+	}
+
+	@Override
+	public StatementInfo getInfo() {
+		return this.statement.getInfo();
+	}
+
+	@Override
+	public Set<String> getParameterNames() {
+		return this.statement.getParameterNames();
+	}
+}
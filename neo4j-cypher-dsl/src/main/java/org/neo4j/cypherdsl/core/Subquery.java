@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.support.Visitor;
+
+/**
+ * A subquery call {@code CALL { ... }}, optionally executed in separate transactions of a given number of rows. The
+ * latter allows large updates to commit in batches on the server, for example
+ * {@code MATCH (n:Log) CALL { WITH n DETACH DELETE n } IN TRANSACTIONS OF 1000 ROWS}. See
+ * <a href="https://neo4j.com/docs/cypher-manual/current/clauses/call-subquery/">CALL {} (subquery)</a>.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class Subquery implements ReadingClause {
+
+	/**
+	 * Creates a call of the given statement. Variables of the outer query must be imported by a leading {@code WITH}
+	 * of the statement.
+	 *
+	 * @param statement The statement to call
+	 * @return A new subquery call
+	 */
+	public static Subquery call(Statement statement) {
+
+		Assert.notNull(statement, "The statement to call is required.");
+		Assert.isTrue(!(statement instanceof StatementWithOptions),
+			"Options can only be applied to the outermost statement.");
+		return new Subquery(statement, false, null);
+	}
+
+	private final Statement statement;
+
+	private final boolean inTransactions;
+
+	private final Integer rowsPerTransaction;
+
+	Subquery(Statement statement, boolean inTransactions, Integer rowsPerTransaction) {
+
+		this.statement = statement;
+		this.inTransactions = inTransactions;
+		this.rowsPerTransaction = rowsPerTransaction;
+	}
+
+	/**
+	 * Executes this subquery in separate transactions of the default size of the server.
+	 *
+	 * @return A new subquery call
+	 */
+	public Subquery inTransactions() {
+		return new Subquery(statement, true, null);
+	}
+
+	/**
+	 * Executes this subquery in separate transactions, each of them processing the given number of input rows.
+	 *
+	 * @param rows The number of rows per transaction, must be positive
+	 * @return A new subquery call
+	 */
+	public Subquery inTransactionsOf(int rows) {
+
+		Assert.isTrue(rows > 0, "The number of rows per transaction must be positive.");
+		return new Subquery(statement, true, rows);
+	}
+
+	/**
+	 * @return The called statement
+	 */
+	public Statement getStatement() {
+		return statement;
+	}
+
+	/**
+	 * @return True if the subquery is executed in separate transactions
+	 */
+	public boolean isInTransactions() {
+		return inTransactions;
+	}
+
+	/**
+	 * @return The number of rows per transaction, if it has been specified
+	 */
+	public Optional<Integer> getRowsPerTransaction() {
+		return Optional.ofNullable(rowsPerTransaction);
+	}
+
+	@Override
+	public void accept(Visitor visitor) {
+
+		visitor.enter(this);
+		statement.accept(visitor);
+		visitor.leave(this);
+	}
+}
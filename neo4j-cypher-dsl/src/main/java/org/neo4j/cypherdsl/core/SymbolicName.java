@@ -43,8 +43,7 @@ public final class SymbolicName implements Expression {
 
 	static SymbolicName create(String name) {
 
-		Assert.hasText(name, "Name must not be empty.");
-		Assert.isTrue(Cypher.isIdentifier(name), "Name must be a valid identifier.");
+		Assert.isIdentifier(name, "Name must not be empty.", "Name must be a valid identifier.");
 		return new SymbolicName(name);
 	}
 
@@ -32,7 +32,7 @@ import org.neo4j.cypherdsl.core.support.Visitor;
  * @since 1.0
  */
 @API(status = EXPERIMENTAL, since = "1.0")
-public final class UnionQuery implements Statement.RegularQuery {
+public final class UnionQuery extends AbstractStatement implements Statement.RegularQuery {
 
 	static UnionQuery create(boolean unionAll, List<SingleQuery> queries) {
 
@@ -48,7 +48,7 @@ public final class UnionQuery implements Statement.RegularQuery {
 
 	private final List<UnionPart> additionalQueries;
 
-	private UnionQuery(boolean all, SingleQuery firstQuery, List<UnionPart> additionalQueries) {
+	UnionQuery(boolean all, SingleQuery firstQuery, List<UnionPart> additionalQueries) {
 		this.all = all;
 		this.firstQuery = firstQuery;
 		this.additionalQueries = additionalQueries;
@@ -74,6 +74,14 @@ public final class UnionQuery implements Statement.RegularQuery {
 		return all;
 	}
 
+	SingleQuery getFirstQuery() {
+		return this.firstQuery;
+	}
+
+	List<UnionPart> getAdditionalQueries() {
+		return this.additionalQueries;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
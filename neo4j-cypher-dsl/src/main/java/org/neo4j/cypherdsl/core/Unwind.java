@@ -51,6 +51,10 @@ public final class Unwind implements ReadingClause {
 		return variable;
 	}
 
+	Expression getExpressionToUnwind() {
+		return this.expressionToUnwind;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 		visitor.enter(this);
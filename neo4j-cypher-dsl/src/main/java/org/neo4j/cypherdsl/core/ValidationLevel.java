@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Locale;
+
+import org.apiguardian.api.API;
+
+/**
+ * The level of validation applied to names, labels and keys while building statements. Statements that are built
+ * solely from compile-time constants don't benefit from checking the same names over and over again, so those checks
+ * can be cached or turned off via {@link Cypher#setValidationLevel(ValidationLevel)}. The initial level can be
+ * configured with the system property {@value #SYSTEM_PROPERTY}, values that are not the name of a level are ignored.
+ * <p>
+ * Checks that prevent {@literal null} or empty values from entering the AST are applied regardless of the level.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public enum ValidationLevel {
+
+	/**
+	 * All checks are applied on every call. This is the default.
+	 */
+	FULL,
+
+	/**
+	 * Names that have been validated as identifiers once are remembered and not checked again. All other checks are
+	 * applied as with {@link #FULL}.
+	 */
+	CACHED,
+
+	/**
+	 * Only checks for {@literal null} or empty values are applied. Names are not validated as identifiers, text is not
+	 * scanned for whitespace and maps are not checked for duplicate keys.
+	 */
+	OFF;
+
+	/**
+	 * Name of the system property that is used to configure the initial level.
+	 */
+	public static final String SYSTEM_PROPERTY = "org.neo4j.cypherdsl.core.validation";
+
+	/**
+	 * @return The level configured via {@link #SYSTEM_PROPERTY} or {@link #FULL} if the property is not set
+	 */
+	static ValidationLevel fromSystemProperty() {
+		return parse(System.getProperty(SYSTEM_PROPERTY));
+	}
+
+	/**
+	 * Parses the value of {@link #SYSTEM_PROPERTY}. The level is read while the library initializes, so an invalid
+	 * value must not fail and results in {@link #FULL}, which is the safe choice.
+	 *
+	 * @param value The value of the system property, may be {@literal null}
+	 * @return The matching level or {@link #FULL} if the value is empty or not the name of a level
+	 */
+	static ValidationLevel parse(String value) {
+
+		if (value == null || value.trim().isEmpty()) {
+			return FULL;
+		}
+		String name = value.trim().toUpperCase(Locale.ENGLISH);
+		for (ValidationLevel level : values()) {
+			if (level.name().equals(name)) {
+				return level;
+			}
+		}
+		return FULL;
+	}
+}
@@ -39,6 +39,10 @@ public final class Where implements Visitable {
 		this.condition = condition;
 	}
 
+	Condition getCondition() {
+		return this.condition;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
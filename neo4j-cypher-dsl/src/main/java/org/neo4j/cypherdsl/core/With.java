@@ -46,6 +46,24 @@ public final class With implements Visitable {
 		this.where = where;
 	}
 
+	With(boolean distinct, ReturnBody body, Where where) {
+		this.distinct = distinct ? Distinct.INSTANCE : null;
+		this.body = body;
+		this.where = where;
+	}
+
+	boolean isDistinct() {
+		return this.distinct != null;
+	}
+
+	ReturnBody getBody() {
+		return this.body;
+	}
+
+	Where getWhere() {
+		return this.where;
+	}
+
 	@Override
 	public void accept(Visitor visitor) {
 
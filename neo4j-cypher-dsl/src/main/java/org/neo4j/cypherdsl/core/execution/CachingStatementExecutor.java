@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.execution;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.StatementInfo;
+
+/**
+ * A {@link StatementExecutor} caching the results of read-only statements. Results are cached by the rendered statement
+ * together with the values of its parameters and are tagged with the labels and relationship types the statement reads,
+ * as determined by {@link Statement#getInfo()}.
+ * <p>
+ * Statements that write are always executed. Afterwards all cached results are invalidated that depend on a label or
+ * type the writing statement reads or writes, as the nodes it updates are among those it matched. Results of reads
+ * that don't depend on any label or type, or that also read nodes or relationships whose labels or types are unknown,
+ * see {@link StatementInfo#hasIncompleteReads()}, are invalidated by every write. All results are invalidated if the
+ * writing statement doesn't touch any label or type, or if it updates or deletes elements whose labels or types are
+ * unknown, see {@link StatementInfo#hasIncompleteWrites()}. This covers only writes executed through the same
+ * executor; the cache is meant for slowly changing data that is maintained by the same application:
+ * <pre>{@code
+ * CachingStatementExecutor executor = CachingStatementExecutor.builder(driverBasedExecutor)
+ *     .maximumSize(500)
+ *     .build();
+ * List<Map<String, Object>> countries = executor.execute(FIND_ALL_COUNTRIES, Collections.emptyMap());
+ * }</pre>
+ * The cache is bounded by the number of entries, least recently used entries are evicted first, and results with more
+ * rows than a configurable maximum are not cached at all. Cached results are immutable and shared between callers.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class CachingStatementExecutor implements StatementExecutor {
+
+	/**
+	 * The default maximum number of cached results.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+	/**
+	 * The default maximum number of rows of a result to be cached.
+	 */
+	public static final int DEFAULT_MAXIMUM_ROWS_PER_ENTRY = 10_000;
+
+	/**
+	 * Creates a builder for an executor caching the results of the given one.
+	 *
+	 * @param delegate The executor actually executing statements
+	 * @return A new builder
+	 */
+	public static Builder builder(StatementExecutor delegate) {
+
+		if (delegate == null) {
+			throw new IllegalArgumentException("The delegate executor must not be null.");
+		}
+		return new Builder(delegate);
+	}
+
+	private final StatementExecutor delegate;
+
+	private final int maximumSize;
+
+	private final int maximumRowsPerEntry;
+
+	/**
+	 * Guards the access-ordered map of entries and the write generation. Statements are executed without holding it.
+	 */
+	private final Lock lock = new ReentrantLock();
+
+	private final Map<CacheKey, CacheEntry> entries;
+
+	/**
+	 * Incremented by every write, so that results of reads that ran concurrently with a write are not cached.
+	 */
+	private long writeGeneration;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder invalidations = new LongAdder();
+
+	private CachingStatementExecutor(Builder builder) {
+
+		this.delegate = builder.delegate;
+		this.maximumSize = builder.maximumSize;
+		this.maximumRowsPerEntry = builder.maximumRowsPerEntry;
+		this.entries = new LinkedHashMap<CacheKey, CacheEntry>(Math.max(16, maximumSize / 4), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+
+				boolean evict = size() > CachingStatementExecutor.this.maximumSize;
+				if (evict) {
+					evictions.increment();
+				}
+				return evict;
+			}
+		};
+	}
+
+	@Override
+	public List<Map<String, Object>> execute(Statement statement, Map<String, Object> parameters) {
+
+		if (statement == null) {
+			throw new IllegalArgumentException("The statement to execute must not be null.");
+		}
+
+		Map<String, Object> actualParameters = parameters == null ? Collections.emptyMap() : parameters;
+		StatementInfo info = statement.getInfo();
+		if (!info.isReadOnly()) {
+			try {
+				return delegate.execute(statement, actualParameters);
+			} finally {
+				invalidate(info);
+			}
+		}
+
+		CacheKey key = new CacheKey(statement.getCypher(), actualParameters);
+		CacheEntry entry;
+		long generation;
+		lock.lock();
+		try {
+			entry = entries.get(key);
+			generation = writeGeneration;
+		} finally {
+			lock.unlock();
+		}
+		if (entry != null) {
+			hits.increment();
+			return entry.rows;
+		}
+
+		misses.increment();
+		List<Map<String, Object>> rows = copyOf(delegate.execute(statement, actualParameters));
+		if (maximumSize > 0 && rows.size() <= maximumRowsPerEntry) {
+			lock.lock();
+			try {
+				if (generation == writeGeneration) {
+					entries.put(key, new CacheEntry(info, rows));
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public void invalidateAll() {
+
+		lock.lock();
+		try {
+			++writeGeneration;
+			invalidations.add(entries.size());
+			entries.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return A snapshot of the counters of this cache
+	 */
+	public ResultCacheStatistics getStatistics() {
+
+		int size;
+		lock.lock();
+		try {
+			size = entries.size();
+		} finally {
+			lock.unlock();
+		}
+		return new ResultCacheStatistics(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size);
+	}
+
+	private void invalidate(StatementInfo info) {
+
+		Set<String> labels = new HashSet<>(info.getReadLabels());
+		labels.addAll(info.getWrittenLabels());
+		Set<String> types = new HashSet<>(info.getReadRelationshipTypes());
+		types.addAll(info.getWrittenRelationshipTypes());
+		boolean invalidatesAll = info.hasIncompleteWrites() || labels.isEmpty() && types.isEmpty();
+
+		lock.lock();
+		try {
+			++writeGeneration;
+			for (Iterator<CacheEntry> it = entries.values().iterator(); it.hasNext(); ) {
+				CacheEntry entry = it.next();
+				if (invalidatesAll || entry.dependsOn(labels, types)) {
+					it.remove();
+					invalidations.increment();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static List<Map<String, Object>> copyOf(List<Map<String, Object>> rows) {
+
+		if (rows == null) {
+			return Collections.emptyList();
+		}
+		List<Map<String, Object>> copy = new ArrayList<>(rows.size());
+		rows.forEach(row -> copy.add(Collections.unmodifiableMap(new LinkedHashMap<>(row))));
+		return Collections.unmodifiableList(copy);
+	}
+
+	/**
+	 * The key of a cached result: The rendered statement and the values of its parameters.
+	 */
+	private static final class CacheKey {
+
+		private final String cypher;
+
+		private final Map<String, Object> parameters;
+
+		private final int hashCode;
+
+		CacheKey(String cypher, Map<String, Object> parameters) {
+
+			this.cypher = cypher;
+			this.parameters = new HashMap<>(parameters);
+			this.hashCode = Objects.hash(cypher, this.parameters);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) o;
+			return cypher.equals(other.cypher) && parameters.equals(other.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * A cached result together with the labels and types it depends on.
+	 */
+	private static final class CacheEntry {
+
+		private final Set<String> labels;
+
+		private final Set<String> types;
+
+		/**
+		 * True if the result depends on nodes or relationships of unknown labels or types and on every write.
+		 */
+		private final boolean dependsOnAll;
+
+		private final List<Map<String, Object>> rows;
+
+		CacheEntry(StatementInfo info, List<Map<String, Object>> rows) {
+
+			this.labels = info.getReadLabels();
+			this.types = info.getReadRelationshipTypes();
+			this.dependsOnAll = info.hasIncompleteReads() || labels.isEmpty() && types.isEmpty();
+			this.rows = rows;
+		}
+
+		boolean dependsOn(Set<String> writtenLabels, Set<String> writtenTypes) {
+
+			return dependsOnAll
+				|| !Collections.disjoint(labels, writtenLabels)
+				|| !Collections.disjoint(types, writtenTypes);
+		}
+	}
+
+	/**
+	 * Configures a {@link CachingStatementExecutor}.
+	 */
+	public static final class Builder {
+
+		private final StatementExecutor delegate;
+
+		private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+		private int maximumRowsPerEntry = DEFAULT_MAXIMUM_ROWS_PER_ENTRY;
+
+		private Builder(StatementExecutor delegate) {
+			this.delegate = delegate;
+		}
+
+		/**
+		 * @param newMaximumSize The maximum number of cached results, {@literal 0} disables caching
+		 * @return This builder
+		 */
+		public Builder maximumSize(int newMaximumSize) {
+
+			if (newMaximumSize < 0) {
+				throw new IllegalArgumentException("The maximum size must not be negative.");
+			}
+			this.maximumSize = newMaximumSize;
+			return this;
+		}
+
+		/**
+		 * @param newMaximumRowsPerEntry The maximum number of rows of a result to be cached
+		 * @return This builder
+		 */
+		public Builder maximumRowsPerEntry(int newMaximumRowsPerEntry) {
+
+			if (newMaximumRowsPerEntry < 0) {
+				throw new IllegalArgumentException("The maximum number of rows per entry must not be negative.");
+			}
+			this.maximumRowsPerEntry = newMaximumRowsPerEntry;
+			return this;
+		}
+
+		/**
+		 * @return A new executor
+		 */
+		public CachingStatementExecutor build() {
+			return new CachingStatementExecutor(this);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.execution;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * A {@link StatementExecutor} for tests, answering statements with predefined results instead of executing them.
+ * Statements are matched by their rendered Cypher, so that equal statements built independently get the same result.
+ * Statements without a predefined result return no rows. All executions are recorded.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class InMemoryStatementExecutor implements StatementExecutor {
+
+	private final Map<String, Function<Map<String, Object>, List<Map<String, Object>>>> results =
+		new ConcurrentHashMap<>();
+
+	private final List<String> executedStatements = Collections.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Defines the result of a statement, independent of its parameters.
+	 *
+	 * @param statement The statement
+	 * @param rows      The rows to return
+	 * @return This executor
+	 */
+	public InMemoryStatementExecutor respondTo(Statement statement, List<Map<String, Object>> rows) {
+
+		if (rows == null) {
+			throw new IllegalArgumentException("The rows must not be null.");
+		}
+		return respondTo(statement, parameters -> rows);
+	}
+
+	/**
+	 * Defines the result of a statement depending on its parameters.
+	 *
+	 * @param statement The statement
+	 * @param result    A function computing the rows to return from the values of the parameters
+	 * @return This executor
+	 */
+	public InMemoryStatementExecutor respondTo(Statement statement,
+		Function<Map<String, Object>, List<Map<String, Object>>> result) {
+
+		if (statement == null || result == null) {
+			throw new IllegalArgumentException("Statement and result must not be null.");
+		}
+		results.put(statement.getCypher(), result);
+		return this;
+	}
+
+	@Override
+	public List<Map<String, Object>> execute(Statement statement, Map<String, Object> parameters) {
+
+		String cypher = statement.getCypher();
+		executedStatements.add(cypher);
+		return results.getOrDefault(cypher, p -> Collections.emptyList()).apply(parameters);
+	}
+
+	/**
+	 * @return The rendered Cypher of all executed statements in the order of their execution
+	 */
+	public List<String> getExecutedStatements() {
+
+		synchronized (executedStatements) {
+			return Collections.unmodifiableList(new ArrayList<>(executedStatements));
+		}
+	}
+
+	/**
+	 * @return The number of executed statements
+	 */
+	public int getExecutionCount() {
+		return executedStatements.size();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.execution;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.Locale;
+
+import org.apiguardian.api.API;
+
+/**
+ * A snapshot of the counters of a {@link CachingStatementExecutor}.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class ResultCacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long evictionCount;
+
+	private final long invalidationCount;
+
+	private final int size;
+
+	ResultCacheStatistics(long hitCount, long missCount, long evictionCount, long invalidationCount, int size) {
+
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.invalidationCount = invalidationCount;
+		this.size = size;
+	}
+
+	/**
+	 * @return The number of reads answered from the cache
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return The number of reads that had to be executed
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return The number of entries removed because the cache was full
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return The number of entries removed because a statement wrote to a label or type they depend on
+	 */
+	public long getInvalidationCount() {
+		return invalidationCount;
+	}
+
+	/**
+	 * @return The number of entries in the cache when the snapshot was taken
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return The ratio of hits to all reads, {@literal 0} if there haven't been any reads yet
+	 */
+	public double getHitRate() {
+
+		long reads = hitCount + missCount;
+		return reads == 0 ? 0.0 : (double) hitCount / reads;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "hits=%d, misses=%d, hitRate=%.3f, evictions=%d, invalidations=%d, size=%d",
+			hitCount, missCount, getHitRate(), evictionCount, invalidationCount, size);
+	}
+}
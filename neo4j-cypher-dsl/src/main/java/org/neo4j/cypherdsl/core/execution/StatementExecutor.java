@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.execution;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * Executes statements against a database. Implementations usually adapt a driver session, rendering the statement via
+ * {@link Statement#getCypher()} and converting the records into maps.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+@FunctionalInterface
+public interface StatementExecutor {
+
+	/**
+	 * Executes a statement.
+	 *
+	 * @param statement  The statement to execute
+	 * @param parameters The values of the parameters of the statement
+	 * @return The rows returned by the statement, each row mapping the returned names to their values
+	 */
+	List<Map<String, Object>> execute(Statement statement, Map<String, Object> parameters);
+}
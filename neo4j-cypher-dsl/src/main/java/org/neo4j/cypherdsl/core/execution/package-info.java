@@ -0,0 +1,5 @@
+/**
+ * Execution of {@link org.neo4j.cypherdsl.core.Statement statements} through a pluggable executor, including a result
+ * cache that is invalidated by the labels and types written by statements.
+ */
+package org.neo4j.cypherdsl.core.execution;
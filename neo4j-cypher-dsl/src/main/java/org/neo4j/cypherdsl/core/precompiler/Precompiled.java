@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.precompiler;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+import static org.apiguardian.api.API.Status.*;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.apiguardian.api.API;
+
+/**
+ * Marks a static method without parameters that returns a {@link org.neo4j.cypherdsl.core.Statement} as a factory of
+ * a static statement. The {@link StatementPrecompiler} invokes these methods during the build and generates constants
+ * holding the rendered Cypher and the names of the parameters of the statement.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+@Documented
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface Precompiled {
+
+	/**
+	 * @return The name of the generated constant. Defaults to the name of the method in upper snake case.
+	 */
+	String value() default "";
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.precompiler;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.lang.model.SourceVersion;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * Renders static statements during the build. All methods annotated with {@link Precompiled} in the given factory
+ * classes are invoked and a Java class is generated that contains the rendered Cypher of each statement and the names
+ * of its parameters as constants. Code using the generated class doesn't need to build or render the statements at
+ * runtime at all.
+ * <p>
+ * The precompiler is meant to be run with the compiled factory classes on the class path, for example via the
+ * {@code exec-maven-plugin} in a module depending on the module containing the factories:
+ * <pre>
+ * java org.neo4j.cypherdsl.core.precompiler.StatementPrecompiler \
+ *     target/generated-sources/cypher com.example.PrecompiledQueries com.example.Queries
+ * </pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementPrecompiler {
+
+	private static final String PARAMETERS_SUFFIX = "_PARAMETERS";
+
+	/**
+	 * Entry point for build tools.
+	 *
+	 * @param args The output directory, the fully qualified name of the class to generate and the fully qualified
+	 *             names of one or more factory classes
+	 * @throws IOException            if the generated source cannot be written
+	 * @throws ClassNotFoundException if a factory class cannot be loaded
+	 */
+	public static void main(String... args) throws IOException, ClassNotFoundException {
+
+		if (args.length < 3) {
+			throw new IllegalArgumentException(
+				"Usage: StatementPrecompiler <output directory> <generated class> <factory class>...");
+		}
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<Class<?>> factoryClasses = new ArrayList<>();
+		for (String className : Arrays.asList(args).subList(2, args.length)) {
+			factoryClasses.add(Class.forName(className, true, classLoader));
+		}
+		generate(Paths.get(args[0]), args[1], factoryClasses.toArray(new Class<?>[0]));
+	}
+
+	/**
+	 * Generates a class with constants for all precompiled statements of the given factory classes and writes it into
+	 * the matching package directory below {@code outputDirectory}.
+	 *
+	 * @param outputDirectory    The root directory for generated sources
+	 * @param generatedClassName The fully qualified name of the class to generate
+	 * @param factoryClasses     The classes containing methods annotated with {@link Precompiled}
+	 * @return The path of the generated source file
+	 * @throws IOException if the generated source cannot be written
+	 */
+	public static Path generate(Path outputDirectory, String generatedClassName, Class<?>... factoryClasses)
+		throws IOException {
+
+		String source = generateSource(generatedClassName, factoryClasses);
+		Path target = outputDirectory.resolve(generatedClassName.replace('.', '/') + ".java");
+		Files.createDirectories(target.getParent());
+		Files.write(target, source.getBytes(StandardCharsets.UTF_8));
+		return target;
+	}
+
+	/**
+	 * Generates the source of a class with constants for all precompiled statements of the given factory classes.
+	 *
+	 * @param generatedClassName The fully qualified name of the class to generate
+	 * @param factoryClasses     The classes containing methods annotated with {@link Precompiled}
+	 * @return The source of the generated class
+	 */
+	public static String generateSource(String generatedClassName, Class<?>... factoryClasses) {
+
+		int indexOfSimpleName = generatedClassName.lastIndexOf('.');
+		String packageName = indexOfSimpleName < 0 ? "" : generatedClassName.substring(0, indexOfSimpleName);
+		String simpleName = generatedClassName.substring(indexOfSimpleName + 1);
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source
+			.append("import java.util.Arrays;\n")
+			.append("import java.util.Collections;\n")
+			.append("import java.util.List;\n\n")
+			.append("/**\n")
+			.append(" * Generated by ").append(StatementPrecompiler.class.getName()).append(", do not edit.\n")
+			.append(" */\n")
+			.append("public final class ").append(simpleName).append(" {\n");
+
+		Map<String, Method> declaringMethods = new HashMap<>();
+		for (Class<?> factoryClass : factoryClasses) {
+			for (Method method : precompiledMethodsOf(factoryClass)) {
+				String constantName = constantNameOf(method);
+				if (!SourceVersion.isName(constantName)) {
+					throw new IllegalArgumentException(
+						"The constant name " + constantName + " of " + method + " is not a valid Java identifier.");
+				}
+				declareConstant(declaringMethods, constantName, method);
+				declareConstant(declaringMethods, constantName + PARAMETERS_SUFFIX, method);
+				appendConstants(source, constantName, method, invoke(method));
+			}
+		}
+
+		return source
+			.append("\n\tprivate ").append(simpleName).append("() {\n\t}\n")
+			.append("}\n")
+			.toString();
+	}
+
+	/**
+	 * Each statement generates two constants, so that the constant of one statement may collide with the constant of
+	 * the parameters of another, for example {@code FOO_PARAMETERS} and the parameters of {@code FOO}.
+	 */
+	private static void declareConstant(Map<String, Method> declaringMethods, String constantName, Method method) {
+
+		Method other = declaringMethods.putIfAbsent(constantName, method);
+		if (other != null) {
+			throw new IllegalArgumentException(
+				"Duplicate constant name " + constantName + " for " + method + " and " + other + ".");
+		}
+	}
+
+	private static List<Method> precompiledMethodsOf(Class<?> factoryClass) {
+
+		return Arrays.stream(factoryClass.getDeclaredMethods())
+			.filter(method -> method.isAnnotationPresent(Precompiled.class))
+			.sorted(Comparator.comparing(Method::getName))
+			.collect(Collectors.toList());
+	}
+
+	private static Statement invoke(Method method) {
+
+		if (!Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+			|| !Statement.class.isAssignableFrom(method.getReturnType())) {
+			throw new IllegalArgumentException(
+				"Precompiled statements need to be created by static methods without parameters returning a statement, "
+					+ method + " does not qualify.");
+		}
+
+		try {
+			method.setAccessible(true);
+			Statement statement = (Statement) method.invoke(null);
+			if (statement == null) {
+				throw new IllegalArgumentException(method + " returned null.");
+			}
+			return statement;
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Could not invoke " + method + ".", e);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException("Could not create the statement of " + method + ".", e.getCause());
+		}
+	}
+
+	static String constantNameOf(Method method) {
+
+		String name = method.getAnnotation(Precompiled.class).value();
+		if (!name.isEmpty()) {
+			return name;
+		}
+		return method.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+	}
+
+	private static void appendConstants(StringBuilder source, String constantName, Method method, Statement statement) {
+
+		source
+			.append("\n\t/**\n")
+			.append("\t * Rendered from {@code ").append(method.getDeclaringClass().getName()).append("#")
+			.append(method.getName()).append("()}.\n")
+			.append("\t */\n")
+			.append("\tpublic static final String ").append(constantName).append(" = ")
+			.append(quote(statement.getCypher())).append(";\n\n")
+			.append("\t/**\n")
+			.append("\t * The names of the parameters of {@link #").append(constantName).append("}.\n")
+			.append("\t */\n")
+			.append("\tpublic static final List<String> ").append(constantName).append(PARAMETERS_SUFFIX).append(" = ");
+
+		Set<String> parameterNames = statement.getParameterNames();
+		if (parameterNames.isEmpty()) {
+			source.append("Collections.emptyList();\n");
+		} else {
+			source.append("Collections.unmodifiableList(Arrays.asList(")
+				.append(parameterNames.stream().map(StatementPrecompiler::quote).collect(Collectors.joining(", ")))
+				.append("));\n");
+		}
+	}
+
+	static String quote(String value) {
+
+		StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			} else if (c < 0x20) {
+				// Octal escapes, as unicode escapes of line terminators would end the literal
+				quoted.append(String.format("\\%03o", (int) c));
+			} else if (c > 0x7e) {
+				quoted.append(String.format("\\u%04x", (int) c));
+			} else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private StatementPrecompiler() {
+	}
+}
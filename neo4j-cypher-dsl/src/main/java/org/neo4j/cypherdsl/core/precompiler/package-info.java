@@ -0,0 +1,4 @@
+/**
+ * Build-time support for rendering static {@link org.neo4j.cypherdsl.core.Statement statements} into constants.
+ */
+package org.neo4j.cypherdsl.core.precompiler;
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.registry;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * An immutable registry of statements by id. All statements are rendered when the registry is built, so that looking
+ * up the Cypher and the parameter names of a statement is a single map lookup. Rendering also memoizes the Cypher on
+ * the statement instances themselves, so that {@link Statement#getCypher()} is cheap after the registry has been built.
+ * <p>
+ * A registry is meant to be built once at startup, optionally rendering the statements in parallel:
+ * <pre>{@code
+ * StatementRegistry registry = StatementRegistry.builder()
+ *     .register("findPerson", Queries.FIND_PERSON)
+ *     .register("createPerson", Queries.CREATE_PERSON)
+ *     .build(ForkJoinPool.commonPool());
+ * String cypher = registry.get("findPerson").getCypher();
+ * }</pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class StatementRegistry {
+
+	/**
+	 * @return A builder for a new registry
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private final Map<String, RegisteredStatement> statements;
+
+	private final Duration warmUpDuration;
+
+	private StatementRegistry(Map<String, RegisteredStatement> statements, Duration warmUpDuration) {
+		this.statements = statements;
+		this.warmUpDuration = warmUpDuration;
+	}
+
+	/**
+	 * Looks up a registered statement.
+	 *
+	 * @param id The id of the statement
+	 * @return The statement registered with the given id
+	 * @throws NoSuchElementException if there is no statement with the given id
+	 */
+	public RegisteredStatement get(String id) {
+
+		RegisteredStatement statement = statements.get(id);
+		if (statement == null) {
+			throw new NoSuchElementException("There is no statement with id '" + id + "'.");
+		}
+		return statement;
+	}
+
+	/**
+	 * @param id The id of a statement
+	 * @return True if a statement has been registered with the given id
+	 */
+	public boolean contains(String id) {
+		return statements.containsKey(id);
+	}
+
+	/**
+	 * @return The ids of all statements in order of their registration
+	 */
+	public Set<String> getIds() {
+		return statements.keySet();
+	}
+
+	/**
+	 * @return The number of registered statements
+	 */
+	public int size() {
+		return statements.size();
+	}
+
+	/**
+	 * @return The wall-clock time it took to render all statements while building this registry
+	 */
+	public Duration getWarmUpDuration() {
+		return warmUpDuration;
+	}
+
+	/**
+	 * A registered statement together with its rendered form.
+	 */
+	public static final class RegisteredStatement {
+
+		private final String id;
+
+		private final Statement statement;
+
+		private final String cypher;
+
+		private final Set<String> parameterNames;
+
+		private final Duration renderDuration;
+
+		private RegisteredStatement(String id, Statement statement, String cypher, Set<String> parameterNames,
+			Duration renderDuration) {
+			this.id = id;
+			this.statement = statement;
+			this.cypher = cypher;
+			this.parameterNames = parameterNames;
+			this.renderDuration = renderDuration;
+		}
+
+		/**
+		 * @return The id the statement has been registered with
+		 */
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * @return The statement itself
+		 */
+		public Statement getStatement() {
+			return statement;
+		}
+
+		/**
+		 * @return The rendered Cypher of the statement
+		 */
+		public String getCypher() {
+			return cypher;
+		}
+
+		/**
+		 * @return The names of all parameters of the statement
+		 */
+		public Set<String> getParameterNames() {
+			return parameterNames;
+		}
+
+		/**
+		 * @return The time it took to render this statement while building the registry
+		 */
+		public Duration getRenderDuration() {
+			return renderDuration;
+		}
+	}
+
+	/**
+	 * Collects the statements of a registry and renders them when the registry is built.
+	 */
+	public static final class Builder {
+
+		private final Map<String, Statement> statements = new LinkedHashMap<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Registers a statement.
+		 *
+		 * @param id        The id of the statement
+		 * @param statement The statement
+		 * @return This builder
+		 * @throws IllegalArgumentException if the id is empty or a statement has already been registered with it
+		 */
+		public Builder register(String id, Statement statement) {
+
+			if (id == null || id.trim().isEmpty()) {
+				throw new IllegalArgumentException("The id of a statement must not be empty.");
+			}
+			if (statement == null) {
+				throw new IllegalArgumentException("The statement to register must not be null.");
+			}
+			if (statements.putIfAbsent(id, statement) != null) {
+				throw new IllegalArgumentException("There is already a statement with id '" + id + "'.");
+			}
+			return this;
+		}
+
+		/**
+		 * Registers all given statements.
+		 *
+		 * @param statementsById The statements by their ids
+		 * @return This builder
+		 * @throws IllegalArgumentException if an id is empty or a statement has already been registered with it
+		 */
+		public Builder registerAll(Map<String, ? extends Statement> statementsById) {
+
+			statementsById.forEach(this::register);
+			return this;
+		}
+
+		/**
+		 * Builds the registry, rendering all statements on the calling thread.
+		 *
+		 * @return A new registry
+		 */
+		public StatementRegistry build() {
+			return build(Runnable::run);
+		}
+
+		/**
+		 * Builds the registry, rendering the statements in parallel on the given executor. This method blocks until all
+		 * statements have been rendered.
+		 *
+		 * @param executor The executor to render statements on
+		 * @return A new registry
+		 * @throws IllegalStateException if a statement cannot be rendered
+		 */
+		public StatementRegistry build(Executor executor) {
+
+			if (executor == null) {
+				throw new IllegalArgumentException("The executor must not be null.");
+			}
+
+			long start = System.nanoTime();
+			List<CompletableFuture<RegisteredStatement>> renderings = new ArrayList<>(statements.size());
+			statements.forEach((id, statement) -> renderings
+				.add(CompletableFuture.supplyAsync(() -> render(id, statement), executor)));
+
+			Map<String, RegisteredStatement> registeredStatements = new LinkedHashMap<>(statements.size() * 4 / 3 + 1);
+			for (CompletableFuture<RegisteredStatement> rendering : renderings) {
+				RegisteredStatement registeredStatement = join(rendering);
+				registeredStatements.put(registeredStatement.getId(), registeredStatement);
+			}
+			Duration warmUpDuration = Duration.ofNanos(System.nanoTime() - start);
+
+			return new StatementRegistry(Collections.unmodifiableMap(registeredStatements), warmUpDuration);
+		}
+
+		private static RegisteredStatement render(String id, Statement statement) {
+
+			try {
+				long start = System.nanoTime();
+				String cypher = statement.getCypher();
+				Set<String> parameterNames = statement.getParameterNames();
+				Duration renderDuration = Duration.ofNanos(System.nanoTime() - start);
+				return new RegisteredStatement(id, statement, cypher, parameterNames, renderDuration);
+			} catch (RuntimeException e) {
+				throw new IllegalStateException("Could not render statement with id '" + id + "'.", e);
+			}
+		}
+
+		private static RegisteredStatement join(CompletableFuture<RegisteredStatement> rendering) {
+
+			try {
+				return rendering.join();
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+			}
+		}
+	}
+}
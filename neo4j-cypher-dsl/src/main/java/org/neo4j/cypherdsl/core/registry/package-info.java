@@ -0,0 +1,4 @@
+/**
+ * A registry of named {@link org.neo4j.cypherdsl.core.Statement statements} that are rendered once at startup.
+ */
+package org.neo4j.cypherdsl.core.registry;
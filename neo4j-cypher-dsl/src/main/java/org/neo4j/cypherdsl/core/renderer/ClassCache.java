@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import java.util.function.Function;
+
+/**
+ * A cache of values computed once per class, used for the dispatch tables of the renderer. The values are stored with
+ * the classes themselves through a {@link ClassValue}, which avoids hashing on every lookup and doesn't prevent classes
+ * from being unloaded.
+ *
+ * @param <V> The type of the cached values
+ * @since 2020.0.0
+ */
+final class ClassCache<V> {
+
+	private final ClassValue<V> values;
+
+	ClassCache(Function<Class<?>, V> computation) {
+		this.values = new ClassValue<V>() {
+			@Override
+			protected V computeValue(Class<?> type) {
+				return computation.apply(type);
+			}
+		};
+	}
+
+	V get(Class<?> type) {
+		return values.get(type);
+	}
+}
@@ -21,11 +21,14 @@ package org.neo4j.cypherdsl.core.renderer;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.neo4j.cypherdsl.core.QueryOptions;
 import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.StatementWithOptions;
+import org.neo4j.cypherdsl.core.renderer.RenderMetricsRecorder.CacheTier;
 
 /**
  * @author Michael J. Simons
@@ -37,45 +40,150 @@ enum CypherRenderer implements Renderer {
 	INSTANCE;
 
 	private final int STATEMENT_CACHE_SIZE = 128;
-	private final LinkedHashMap<Integer, String> renderedStatementCache = new LRUCache<>(STATEMENT_CACHE_SIZE);
+	private final LRUCache<Integer, String> renderedStatementCache = new LRUCache<>(STATEMENT_CACHE_SIZE);
 
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	private final Lock read = lock.readLock();
-	private final Lock write = lock.writeLock();
+	/**
+	 * Guards both tiers of the cache. A lookup in the access-ordered in-memory cache modifies it, so lookups need to be
+	 * exclusive as well. Statements are rendered without holding the lock, so that they can be rendered in parallel.
+	 */
+	private final Lock lock = new ReentrantLock();
 
 	@Override
 	public String render(Statement statement) {
 
+		if (statement instanceof StatementWithOptions) {
+			return renderWithOptions((StatementWithOptions) statement);
+		}
+
 		int key = Objects.hashCode(statement);
+		RenderMetrics.Registration metrics = RenderMetrics.getRegistration();
 
 		String renderedContent;
 		try {
-			read.lock();
+			lock.lock();
 			renderedContent = renderedStatementCache.get(key);
 		} finally {
-			read.unlock();
+			lock.unlock();
 		}
 
-		if (renderedContent == null) {
-			try {
-				write.lock();
+		if (renderedContent != null) {
+			RenderEvents.cacheLookup(RenderEvents.MEMORY_TIER, true);
+			if (metrics != null) {
+				metrics.notify(recorder -> recorder.cacheHit(CacheTier.MEMORY));
+			}
+			return renderedContent;
+		}
 
-				RenderingVisitor renderingVisitor = new RenderingVisitor();
-				statement.accept(renderingVisitor);
-				renderedContent = renderingVisitor.getRenderedContent().trim();
+		RenderEvents.cacheLookup(RenderEvents.MEMORY_TIER, false);
+		if (metrics != null) {
+			metrics.notify(recorder -> recorder.cacheMiss(CacheTier.MEMORY));
+		}
 
-				renderedStatementCache.put(key, renderedContent);
+		PersistentRenderCache persistentCache = PersistentCacheHolder.INSTANCE
+			.filter(cache -> cache.accepts(statement)).orElse(null);
+		byte[] fingerprint = persistentCache == null ? null : persistentCache.keyOf(statement).orElse(null);
+		if (fingerprint != null) {
+			try {
+				lock.lock();
+				renderedContent = persistentCache.get(fingerprint);
 			} finally {
-				write.unlock();
+				lock.unlock();
+			}
+			RenderEvents.cacheLookup(RenderEvents.PERSISTENT_TIER, renderedContent != null);
+			recordPersistentLookup(metrics, renderedContent != null);
+		}
+
+		boolean rendered = renderedContent == null;
+		if (rendered) {
+			Object renderEvent = RenderEvents.beginRender();
+			long start = metrics == null ? 0L : System.nanoTime();
+			RenderingVisitor renderingVisitor = new RenderingVisitor();
+			statement.accept(renderingVisitor);
+			renderedContent = renderingVisitor.getRenderedContent().trim();
+			RenderEvents.endRender(renderEvent, statement, fingerprint, renderedContent,
+				renderingVisitor.getVisitedElements());
+			if (metrics != null) {
+				recordRender(metrics, statement, renderedContent, System.nanoTime() - start);
+			}
+		}
+
+		int evictions;
+		try {
+			lock.lock();
+			if (rendered && fingerprint != null) {
+				persistentCache.put(fingerprint, renderedContent);
+			}
+			renderedStatementCache.put(key, renderedContent);
+			evictions = renderedStatementCache.drainEvictions();
+		} finally {
+			lock.unlock();
+		}
+
+		// Reported only after releasing the lock, so that neither events nor recorders can stall other renders.
+		for (int i = 0; i < evictions; ++i) {
+			RenderEvents.cacheEviction(RenderEvents.MEMORY_TIER);
+			if (metrics != null) {
+				metrics.notify(recorder -> recorder.cacheEviction(CacheTier.MEMORY));
 			}
 		}
 
 		return renderedContent;
 	}
 
+	/**
+	 * Renders the options in front of the wrapped statement, whose rendered form is memoized in itself. This way the
+	 * same statement is not rendered again or stored in the caches once for each combination of options.
+	 */
+	private static String renderWithOptions(StatementWithOptions statement) {
+
+		QueryOptions options = statement.getOptions();
+		StringBuilder prefix = new StringBuilder();
+		options.getMode().ifPresent(mode -> prefix.append(mode.name()).append(" "));
+		if (options.getVersion().isPresent() || !options.getOptions().isEmpty()) {
+			prefix.append("CYPHER ");
+			options.getVersion().ifPresent(version -> prefix.append(version).append(" "));
+			options.getOptions().forEach((name, value) -> prefix.append(name).append("=").append(value).append(" "));
+		}
+		return prefix.append(statement.getStatement().getCypher()).toString();
+	}
+
+	private static void recordPersistentLookup(RenderMetrics.Registration metrics, boolean hit) {
+
+		if (metrics == null) {
+			return;
+		}
+		if (hit) {
+			metrics.notify(recorder -> recorder.cacheHit(CacheTier.PERSISTENT));
+		} else {
+			metrics.notify(recorder -> recorder.cacheMiss(CacheTier.PERSISTENT));
+		}
+	}
+
+	private static void recordRender(RenderMetrics.Registration metrics, Statement statement, String cypher,
+		long durationNanos) {
+
+		metrics.notify(recorder -> recorder.rendered(statement, durationNanos));
+		if (durationNanos >= metrics.slowRenderThresholdNanos) {
+			metrics.notify(recorder -> recorder.slowRender(statement, cypher, durationNanos));
+		}
+	}
+
+	/**
+	 * Opens the optional, persistent tier of the cache on the first cache miss.
+	 */
+	private static final class PersistentCacheHolder {
+
+		static final Optional<PersistentRenderCache> INSTANCE = PersistentRenderCache.fromSystemProperties();
+	}
+
 	private static class LRUCache<K, V> extends LinkedHashMap<K, V> {
 		private int cacheSize;
 
+		/**
+		 * The number of entries evicted since the last call to {@link #drainEvictions()}.
+		 */
+		private int evictions;
+
 		LRUCache(int cacheSize) {
 			super(cacheSize / 4, 0.75f, true);
 			this.cacheSize = cacheSize;
@@ -83,7 +191,18 @@ enum CypherRenderer implements Renderer {
 
 		@Override
 		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-			return size() >= cacheSize;
+			boolean evict = size() >= cacheSize;
+			if (evict) {
+				++evictions;
+			}
+			return evict;
+		}
+
+		int drainEvictions() {
+
+			int drained = evictions;
+			evictions = 0;
+			return drained;
 		}
 	}
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+
+/**
+ * A lock-free histogram of non-negative long values, for example durations in nanoseconds. Values are counted in
+ * buckets growing exponentially, with {@value #SUB_BUCKETS} linear sub-buckets for each power of two, so that values
+ * reported for percentiles are at most 1/{@value #SUB_BUCKETS} larger than the recorded values. The histogram has a
+ * fixed size, independent of the number and range of values recorded.
+ * <p>
+ * Recording is safe to be called concurrently. Queries don't block recording and see a consistent view of each bucket,
+ * but not necessarily of the histogram as a whole while values are recorded.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int NUMBER_OF_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value. Negative values are recorded as zero.
+	 *
+	 * @param value The value to record
+	 */
+	public void record(long value) {
+
+		long recordedValue = Math.max(0, value);
+		buckets.incrementAndGet(indexOf(recordedValue));
+		count.increment();
+		sum.add(recordedValue);
+
+		long currentMax = max.get();
+		while (recordedValue > currentMax && !max.compareAndSet(currentMax, recordedValue)) {
+			currentMax = max.get();
+		}
+	}
+
+	/**
+	 * @return The number of recorded values
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return The largest recorded value, zero if no values have been recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return The arithmetic mean of the recorded values, zero if no values have been recorded
+	 */
+	public double getMean() {
+
+		long numberOfValues = count.sum();
+		return numberOfValues == 0 ? 0.0 : sum.sum() / (double) numberOfValues;
+	}
+
+	/**
+	 * Computes the value at the given percentile, that is the smallest value so that the given percentage of all
+	 * recorded values are less than or equal to it, within the precision of the histogram.
+	 *
+	 * @param percentile A percentile between 0 and 100
+	 * @return The value at the given percentile, zero if no values have been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+
+		if (!(percentile >= 0.0 && percentile <= 100.0)) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+		}
+
+		long[] counts = new long[NUMBER_OF_BUCKETS];
+		long total = 0;
+		for (int i = 0; i < NUMBER_OF_BUCKETS; ++i) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int i = 0; i < NUMBER_OF_BUCKETS; ++i) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(highestValueIn(i), getMax());
+			}
+		}
+		return 0;
+	}
+
+	static int indexOf(long value) {
+
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowestValueIn(int index) {
+
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+	}
+
+	static long highestValueIn(int index) {
+		return index == NUMBER_OF_BUCKETS - 1 ? Long.MAX_VALUE : lowestValueIn(index + 1) - 1;
+	}
+}
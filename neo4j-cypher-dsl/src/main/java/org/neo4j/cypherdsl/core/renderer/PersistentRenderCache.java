@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.StatementCodec;
+
+/**
+ * An optional, persistent tier for the render cache of the {@link CypherRenderer}. Rendered statements are stored in a
+ * memory-mapped file, keyed by the {@link StatementCodec#fingerprint(Statement) structural fingerprint} of the
+ * statement, so that a restarted process can serve renders of known statement shapes without rendering them again.
+ * <p>
+ * Computing the fingerprint requires encoding the whole statement and costs about as much as rendering it. The tier is
+ * therefore not used for trivial statements, having less than {@value #CACHE_FILE_MIN_ELEMENTS_PROPERTY} elements,
+ * {@value #DEFAULT_CACHE_FILE_MIN_ELEMENTS} by default. A statement with a {@code WHERE} clause and a few projected
+ * items already has more. Counting stops as soon as the minimum is reached, so the check visits only a few elements.
+ * <p>
+ * The file starts with a header containing the version of this library together with an identifier of the build. A
+ * file written by another version or build is discarded when opened. Entries are only ever appended and made visible
+ * by updating the end of data in the header afterwards. If the file cannot be locked because another process is using
+ * it, the cache is used read-only. If the file is full, no more entries are added.
+ * <p>
+ * This class is not thread-safe, the {@link CypherRenderer} takes care of guarding access to it.
+ *
+ * @since 2020.0.0
+ */
+final class PersistentRenderCache {
+
+	/**
+	 * The system property for the path of the cache file. The persistent cache is disabled when this is not set.
+	 */
+	static final String CACHE_FILE_PROPERTY = "org.neo4j.cypherdsl.core.renderer.cacheFile";
+
+	/**
+	 * The system property for the maximum size of the cache file in bytes.
+	 */
+	static final String CACHE_FILE_SIZE_PROPERTY = "org.neo4j.cypherdsl.core.renderer.cacheFileSize";
+
+	/**
+	 * The system property for the minimum number of elements of a statement to use the cache file.
+	 */
+	static final String CACHE_FILE_MIN_ELEMENTS_PROPERTY = "org.neo4j.cypherdsl.core.renderer.cacheFileMinElements";
+
+	static final int DEFAULT_CACHE_FILE_SIZE = 8 * 1024 * 1024;
+
+	static final int DEFAULT_CACHE_FILE_MIN_ELEMENTS = 24;
+
+	private static final byte[] MAGIC = { 'C', 'D', 'R', 'C' };
+	private static final int FINGERPRINT_LENGTH = 32;
+	private static final int OFFSET_END_OF_DATA = MAGIC.length;
+	private static final int OFFSET_VERSION = OFFSET_END_OF_DATA + Integer.BYTES;
+
+	private final FileChannel channel;
+
+	private final MappedByteBuffer buffer;
+
+	private final boolean writable;
+
+	private final int minElements;
+
+	/**
+	 * Maps fingerprints to the offset of the rendered statement in the file. Built when the file is opened.
+	 */
+	private final Map<ByteBuffer, Integer> index = new HashMap<>();
+
+	/**
+	 * Opens the cache configured via system properties, if any.
+	 *
+	 * @return The configured cache or an empty optional if none is configured or the file cannot be opened
+	 */
+	static Optional<PersistentRenderCache> fromSystemProperties() {
+
+		String cacheFile = System.getProperty(CACHE_FILE_PROPERTY);
+		if (cacheFile == null || cacheFile.trim().isEmpty()) {
+			return Optional.empty();
+		}
+
+		int size = Integer.getInteger(CACHE_FILE_SIZE_PROPERTY, DEFAULT_CACHE_FILE_SIZE);
+		int minElements = Integer.getInteger(CACHE_FILE_MIN_ELEMENTS_PROPERTY, DEFAULT_CACHE_FILE_MIN_ELEMENTS);
+		try {
+			return Optional.of(open(Paths.get(cacheFile.trim()), size, minElements));
+		} catch (IOException | RuntimeException e) {
+			// The persistent tier is an optimization only and must never prevent rendering.
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Opens or creates a cache file.
+	 *
+	 * @param path        The path of the cache file
+	 * @param size        The maximum size of the file in bytes
+	 * @param minElements The minimum number of elements of statements that are cached
+	 * @return An opened cache
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	static PersistentRenderCache open(Path path, int size, int minElements) throws IOException {
+
+		FileChannel channel = FileChannel.open(path,
+			StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			boolean writable = tryLock(channel);
+			int mappedSize = writable ? size : (int) Math.min(channel.size(), Integer.MAX_VALUE);
+			MappedByteBuffer buffer = channel.map(
+				writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, mappedSize);
+			return new PersistentRenderCache(channel, buffer, writable, minElements);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static boolean tryLock(FileChannel channel) throws IOException {
+
+		try {
+			FileLock lock = channel.tryLock();
+			return lock != null;
+		} catch (OverlappingFileLockException e) {
+			return false;
+		}
+	}
+
+	private PersistentRenderCache(FileChannel channel, MappedByteBuffer buffer, boolean writable, int minElements) {
+
+		this.channel = channel;
+		this.buffer = buffer;
+		this.writable = writable;
+		this.minElements = minElements;
+
+		byte[] version = libraryVersion().getBytes(StandardCharsets.UTF_8);
+		int startOfData = OFFSET_VERSION + Integer.BYTES + version.length;
+		if (hasValidHeader(version)) {
+			buildIndex(startOfData);
+		} else if (writable && buffer.capacity() >= startOfData) {
+			buffer.put(0, MAGIC[0]).put(1, MAGIC[1]).put(2, MAGIC[2]).put(3, MAGIC[3]);
+			buffer.putInt(OFFSET_VERSION, version.length);
+			for (int i = 0; i < version.length; ++i) {
+				buffer.put(OFFSET_VERSION + Integer.BYTES + i, version[i]);
+			}
+			buffer.putInt(OFFSET_END_OF_DATA, startOfData);
+		}
+	}
+
+	static String libraryVersion() {
+
+		String implementationVersion = Optional.ofNullable(Statement.class.getPackage().getImplementationVersion())
+			.orElse("development");
+		return implementationVersion + "/" + buildIdentifier() + "/" + StatementCodec.FORMAT_VERSION;
+	}
+
+	/**
+	 * Snapshot and development builds share their version, but may render differently. The time the renderer has been
+	 * built, that is the time of the jar file or of the class file when running from a directory, tells them apart.
+	 *
+	 * @return The time the renderer has been built or 0 if it cannot be determined
+	 */
+	static long buildIdentifier() {
+
+		URL classFile = RenderingVisitor.class.getResource("RenderingVisitor.class");
+		if (classFile == null) {
+			return 0L;
+		}
+		try {
+			URLConnection connection = classFile.openConnection();
+			connection.setUseCaches(false);
+			long lastModified = connection.getLastModified();
+			connection.getInputStream().close();
+			return lastModified;
+		} catch (IOException | RuntimeException e) {
+			return 0L;
+		}
+	}
+
+	private boolean hasValidHeader(byte[] expectedVersion) {
+
+		int startOfData = OFFSET_VERSION + Integer.BYTES + expectedVersion.length;
+		if (buffer.capacity() < startOfData) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; ++i) {
+			if (buffer.get(i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		if (buffer.getInt(OFFSET_VERSION) != expectedVersion.length) {
+			return false;
+		}
+		for (int i = 0; i < expectedVersion.length; ++i) {
+			if (buffer.get(OFFSET_VERSION + Integer.BYTES + i) != expectedVersion[i]) {
+				return false;
+			}
+		}
+		int endOfData = buffer.getInt(OFFSET_END_OF_DATA);
+		return endOfData >= startOfData && endOfData <= buffer.capacity();
+	}
+
+	private void buildIndex(int startOfData) {
+
+		int endOfData = buffer.getInt(OFFSET_END_OF_DATA);
+		int position = startOfData;
+		while (position + FINGERPRINT_LENGTH + Integer.BYTES <= endOfData) {
+			byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+			for (int i = 0; i < FINGERPRINT_LENGTH; ++i) {
+				fingerprint[i] = buffer.get(position + i);
+			}
+			int offsetOfContent = position + FINGERPRINT_LENGTH;
+			int length = buffer.getInt(offsetOfContent);
+			if (length < 0 || offsetOfContent + Integer.BYTES + length > endOfData) {
+				break;
+			}
+			index.put(ByteBuffer.wrap(fingerprint), offsetOfContent);
+			position = offsetOfContent + Integer.BYTES + length;
+		}
+	}
+
+	/**
+	 * Checks whether a statement is large enough to use this cache. This visits at most the configured minimum number
+	 * of elements of the statement, which is considerably cheaper than computing its {@link #keyOf(Statement) key}.
+	 *
+	 * @param statement The statement to check
+	 * @return True if the statement has at least the configured minimum number of elements
+	 */
+	boolean accepts(Statement statement) {
+
+		if (minElements <= 0) {
+			return true;
+		}
+		int[] elements = new int[1];
+		try {
+			statement.accept(segment -> {
+				if (++elements[0] >= minElements) {
+					throw EnoughElements.INSTANCE;
+				}
+			});
+		} catch (EnoughElements e) {
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the key under which the rendered form of a statement is stored.
+	 *
+	 * @param statement The statement to compute the key for
+	 * @return The fingerprint of the statement or an empty optional if the statement cannot be fingerprinted
+	 */
+	Optional<byte[]> keyOf(Statement statement) {
+
+		try {
+			return Optional.of(StatementCodec.fingerprint(statement));
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @param fingerprint The fingerprint of a statement
+	 * @return The rendered statement if it has been stored before, {@literal null} otherwise
+	 */
+	String get(byte[] fingerprint) {
+
+		Integer offsetOfContent = index.get(ByteBuffer.wrap(fingerprint));
+		if (offsetOfContent == null) {
+			return null;
+		}
+
+		byte[] content = new byte[buffer.getInt(offsetOfContent)];
+		ByteBuffer view = buffer.duplicate();
+		view.position(offsetOfContent + Integer.BYTES);
+		view.get(content);
+		return new String(content, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Stores a rendered statement. Does nothing if the cache is read-only, already contains the fingerprint or is full.
+	 *
+	 * @param fingerprint     The fingerprint of the statement
+	 * @param renderedContent The rendered statement
+	 */
+	void put(byte[] fingerprint, String renderedContent) {
+
+		ByteBuffer key = ByteBuffer.wrap(Arrays.copyOf(fingerprint, fingerprint.length));
+		if (!writable || index.containsKey(key)) {
+			return;
+		}
+
+		byte[] content = renderedContent.getBytes(StandardCharsets.UTF_8);
+		int position = buffer.getInt(OFFSET_END_OF_DATA);
+		int endOfEntry = position + FINGERPRINT_LENGTH + Integer.BYTES + content.length;
+		if (endOfEntry > buffer.capacity() || endOfEntry < 0) {
+			return;
+		}
+
+		ByteBuffer view = buffer.duplicate();
+		view.position(position);
+		view.put(fingerprint).putInt(content.length).put(content);
+		buffer.putInt(OFFSET_END_OF_DATA, endOfEntry);
+		index.put(key, position + FINGERPRINT_LENGTH);
+	}
+
+	int size() {
+		return index.size();
+	}
+
+	boolean isWritable() {
+		return writable;
+	}
+
+	void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Stops visiting a statement once enough elements have been counted. Thrown without a stack trace.
+	 */
+	private static final class EnoughElements extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		static final EnoughElements INSTANCE = new EnoughElements();
+
+		private EnoughElements() {
+			super(null, null, false, false);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * Hooks reporting rendering and cache activity as Java Flight Recorder events. Flight Recorder is not available to Java 8
+ * code, so all hooks of this variant do nothing. The variant in {@code META-INF/versions/11} of the multi-release JAR
+ * emits the events and must provide the same package-private API.
+ *
+ * @since 2020.0.0
+ */
+final class RenderEvents {
+
+	/**
+	 * Name of the in-memory tier of the render cache.
+	 */
+	static final String MEMORY_TIER = "memory";
+
+	/**
+	 * Name of the persistent tier of the render cache.
+	 */
+	static final String PERSISTENT_TIER = "persistent";
+
+	/**
+	 * Starts timing the rendering of a statement.
+	 *
+	 * @return A handle to be passed to {@link #endRender(Object, Statement, byte[], String, int)}, maybe {@literal null}
+	 */
+	static Object beginRender() {
+		return null;
+	}
+
+	/**
+	 * Ends timing the rendering of a statement.
+	 *
+	 * @param handle          The handle returned by {@link #beginRender()}
+	 * @param statement       The rendered statement
+	 * @param fingerprint     The fingerprint of the statement if it has already been computed, maybe {@literal null}
+	 * @param cypher          The rendered Cypher
+	 * @param visitedElements The number of elements visited during rendering
+	 */
+	static void endRender(Object handle, Statement statement, byte[] fingerprint, String cypher, int visitedElements) {
+	}
+
+	/**
+	 * Reports a lookup in one tier of the render cache.
+	 *
+	 * @param tier The tier of the cache
+	 * @param hit  True if the lookup has been a hit
+	 */
+	static void cacheLookup(String tier, boolean hit) {
+	}
+
+	/**
+	 * Reports the eviction of an entry from one tier of the render cache.
+	 *
+	 * @param tier The tier of the cache
+	 */
+	static void cacheEviction(String tier) {
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private RenderEvents() {
+	}
+}
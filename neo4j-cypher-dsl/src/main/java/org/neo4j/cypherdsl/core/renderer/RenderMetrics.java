@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import org.apiguardian.api.API;
+
+/**
+ * Registry of the {@link RenderMetricsRecorder} of the default renderer. At most one recorder is registered at a time.
+ * As long as none is registered, the renderer neither takes timestamps nor calls any hooks.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class RenderMetrics {
+
+	/**
+	 * The current registration, {@literal null} if there is none.
+	 */
+	private static volatile Registration registration;
+
+	/**
+	 * Registers a recorder that is not notified about slow renders.
+	 *
+	 * @param recorder The recorder to register, replacing any previously registered recorder
+	 */
+	public static void register(RenderMetricsRecorder recorder) {
+		register(recorder, null);
+	}
+
+	/**
+	 * Registers a recorder.
+	 *
+	 * @param recorder            The recorder to register, replacing any previously registered recorder
+	 * @param slowRenderThreshold Renders taking at least this long are reported as slow renders, maybe {@literal null}
+	 *                            to not report any slow renders
+	 */
+	public static void register(RenderMetricsRecorder recorder, Duration slowRenderThreshold) {
+
+		if (recorder == null) {
+			throw new IllegalArgumentException("Recorder must not be null.");
+		}
+		if (slowRenderThreshold != null && slowRenderThreshold.isNegative()) {
+			throw new IllegalArgumentException("The threshold for slow renders must not be negative.");
+		}
+
+		long thresholdNanos = slowRenderThreshold == null ? Long.MAX_VALUE : slowRenderThreshold.toNanos();
+		registration = new Registration(recorder, thresholdNanos);
+	}
+
+	/**
+	 * Removes the registered recorder, if any.
+	 */
+	public static void unregister() {
+		registration = null;
+	}
+
+	static Registration getRegistration() {
+		return registration;
+	}
+
+	/**
+	 * A recorder together with its threshold for slow renders.
+	 */
+	static final class Registration {
+
+		final RenderMetricsRecorder recorder;
+
+		final long slowRenderThresholdNanos;
+
+		Registration(RenderMetricsRecorder recorder, long slowRenderThresholdNanos) {
+			this.recorder = recorder;
+			this.slowRenderThresholdNanos = slowRenderThresholdNanos;
+		}
+
+		/**
+		 * Notifies the recorder, ignoring any exception it throws, so that a failing recorder cannot fail rendering.
+		 *
+		 * @param notification The call to the recorder
+		 */
+		void notify(Consumer<RenderMetricsRecorder> notification) {
+
+			try {
+				notification.accept(recorder);
+			} catch (RuntimeException e) {
+				// Metrics are best effort only.
+			}
+		}
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private RenderMetrics() {
+	}
+}
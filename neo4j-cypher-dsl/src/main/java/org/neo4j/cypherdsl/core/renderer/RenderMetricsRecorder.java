@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.apiguardian.api.API.Status.*;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * A service provider interface for recording metrics of the default renderer. A recorder is registered through
+ * {@link RenderMetrics#register(RenderMetricsRecorder)} and is invoked on the rendering thread, so implementations must
+ * be thread-safe and should be cheap. Recorders are never called while the renderer holds its lock, and exceptions
+ * thrown by them are ignored. All methods do nothing by default.
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public interface RenderMetricsRecorder {
+
+	/**
+	 * The tiers of the render cache.
+	 */
+	enum CacheTier {
+
+		/**
+		 * The in-memory cache of recently rendered statement instances.
+		 */
+		MEMORY,
+
+		/**
+		 * The optional, persistent cache keyed by the structure of statements.
+		 */
+		PERSISTENT
+	}
+
+	/**
+	 * Called after a statement has been rendered, i.e. when it could not be served from any cache.
+	 *
+	 * @param statement     The rendered statement
+	 * @param durationNanos The time spent on rendering in nanoseconds
+	 */
+	default void rendered(Statement statement, long durationNanos) {
+	}
+
+	/**
+	 * Called after a statement has been rendered and rendering took at least as long as the configured threshold.
+	 *
+	 * @param statement     The rendered statement
+	 * @param cypher        The rendered Cypher
+	 * @param durationNanos The time spent on rendering in nanoseconds
+	 */
+	default void slowRender(Statement statement, String cypher, long durationNanos) {
+	}
+
+	/**
+	 * Called when a statement has been served from a cache.
+	 *
+	 * @param tier The tier of the cache
+	 */
+	default void cacheHit(CacheTier tier) {
+	}
+
+	/**
+	 * Called when a statement has not been found in a cache.
+	 *
+	 * @param tier The tier of the cache
+	 */
+	default void cacheMiss(CacheTier tier) {
+	}
+
+	/**
+	 * Called when an entry has been evicted from a cache.
+	 *
+	 * @param tier The tier of the cache
+	 */
+	default void cacheEviction(CacheTier tier) {
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.apiguardian.api.API.Status.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apiguardian.api.API;
+import org.neo4j.cypherdsl.core.Statement;
+
+/**
+ * A ready to use {@link RenderMetricsRecorder} keeping a {@link Histogram} of render durations and counters for each
+ * tier of the render cache. It can be registered as is and polled by a metrics system:
+ * <pre>{@code
+ * RenderStatistics statistics = new RenderStatistics();
+ * RenderMetrics.register(statistics, Duration.ofMillis(5));
+ * }</pre>
+ *
+ * @since 2020.0.0
+ */
+@API(status = EXPERIMENTAL, since = "2020.0.0")
+public final class RenderStatistics implements RenderMetricsRecorder {
+
+	private final Histogram renderDurations = new Histogram();
+
+	private final LongAdder slowRenders = new LongAdder();
+
+	private final Map<CacheTier, LongAdder> hits = countersPerTier();
+
+	private final Map<CacheTier, LongAdder> misses = countersPerTier();
+
+	private final Map<CacheTier, LongAdder> evictions = countersPerTier();
+
+	private static Map<CacheTier, LongAdder> countersPerTier() {
+
+		Map<CacheTier, LongAdder> counters = new EnumMap<>(CacheTier.class);
+		for (CacheTier tier : CacheTier.values()) {
+			counters.put(tier, new LongAdder());
+		}
+		return counters;
+	}
+
+	@Override
+	public void rendered(Statement statement, long durationNanos) {
+		renderDurations.record(durationNanos);
+	}
+
+	@Override
+	public void slowRender(Statement statement, String cypher, long durationNanos) {
+		slowRenders.increment();
+	}
+
+	@Override
+	public void cacheHit(CacheTier tier) {
+		hits.get(tier).increment();
+	}
+
+	@Override
+	public void cacheMiss(CacheTier tier) {
+		misses.get(tier).increment();
+	}
+
+	@Override
+	public void cacheEviction(CacheTier tier) {
+		evictions.get(tier).increment();
+	}
+
+	/**
+	 * @return The durations of all renders not served from a cache in nanoseconds
+	 */
+	public Histogram getRenderDurations() {
+		return renderDurations;
+	}
+
+	/**
+	 * @return The number of renders above the threshold this recorder has been registered with
+	 */
+	public long getSlowRenders() {
+		return slowRenders.sum();
+	}
+
+	/**
+	 * @param tier The tier of the cache
+	 * @return The number of hits in the given tier
+	 */
+	public long getHits(CacheTier tier) {
+		return hits.get(tier).sum();
+	}
+
+	/**
+	 * @param tier The tier of the cache
+	 * @return The number of misses in the given tier
+	 */
+	public long getMisses(CacheTier tier) {
+		return misses.get(tier).sum();
+	}
+
+	/**
+	 * @param tier The tier of the cache
+	 * @return The number of evictions from the given tier
+	 */
+	public long getEvictions(CacheTier tier) {
+		return evictions.get(tier).sum();
+	}
+}
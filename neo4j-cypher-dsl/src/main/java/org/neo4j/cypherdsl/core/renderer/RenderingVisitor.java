@@ -21,20 +21,29 @@ package org.neo4j.cypherdsl.core.renderer;
 import static java.util.stream.Collectors.*;
 import static org.neo4j.cypherdsl.core.renderer.Symbols.*;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.neo4j.cypherdsl.core.*;
-import org.neo4j.cypherdsl.core.support.ReflectiveVisitor;
 import org.neo4j.cypherdsl.core.support.TypedSubtree;
 import org.neo4j.cypherdsl.core.support.Visitable;
+import org.neo4j.cypherdsl.core.support.Visitor;
 
 /**
- * This is a simple (some would call it naive) implementation of a visitor to the Cypher AST created by the Cypher builder
- * based on the {@link ReflectiveVisitor reflective visitor}.
+ * This is a simple (some would call it naive) implementation of a visitor to the Cypher AST created by the Cypher builder.
+ * <p>
+ * It follows the same conventions as the {@link org.neo4j.cypherdsl.core.support.ReflectiveVisitor reflective visitor}
+ * but dispatches to its {@code enter} and {@code leave} methods through explicitly registered handlers. Rendering
+ * therefore works without reflection, for example in a native image, and any new {@code enter} or {@code leave} method
+ * needs to be registered in the static initializer of this class.
  * <p>
  * It takes care of separating elements of sub trees containing the element type with a separator and provides pairs of
  * {@code enter} / {@code leave} for the structuring elements of the Cypher AST as needed.
@@ -46,10 +55,86 @@ import org.neo4j.cypherdsl.core.support.Visitable;
  * @author Gerrit Meier
  * @since 1.0
  */
-class RenderingVisitor extends ReflectiveVisitor {
+class RenderingVisitor implements Visitor {
 
 	private static final Pattern LABEL_AND_TYPE_QUOTATION = Pattern.compile("`");
 
+	private static final Handlers ENTER = new Handlers();
+
+	private static final Handlers LEAVE = new Handlers();
+
+	static {
+		ENTER.register(Match.class, RenderingVisitor::enter);
+		LEAVE.register(Match.class, RenderingVisitor::leave);
+		ENTER.register(Hint.class, RenderingVisitor::enter);
+		ENTER.register(Where.class, RenderingVisitor::enter);
+		ENTER.register(Create.class, RenderingVisitor::enter);
+		LEAVE.register(Create.class, RenderingVisitor::leave);
+		ENTER.register(Merge.class, RenderingVisitor::enter);
+		LEAVE.register(Merge.class, RenderingVisitor::leave);
+		ENTER.register(Distinct.class, RenderingVisitor::enter);
+		ENTER.register(Return.class, RenderingVisitor::enter);
+		ENTER.register(With.class, RenderingVisitor::enter);
+		LEAVE.register(With.class, RenderingVisitor::leave);
+		ENTER.register(Delete.class, RenderingVisitor::enter);
+		LEAVE.register(Delete.class, RenderingVisitor::leave);
+		LEAVE.register(AliasedExpression.class, RenderingVisitor::leave);
+		ENTER.register(NestedExpression.class, RenderingVisitor::enter);
+		LEAVE.register(NestedExpression.class, RenderingVisitor::leave);
+		ENTER.register(Order.class, RenderingVisitor::enter);
+		ENTER.register(Skip.class, RenderingVisitor::enter);
+		ENTER.register(Limit.class, RenderingVisitor::enter);
+		ENTER.register(SortItem.Direction.class, RenderingVisitor::enter);
+		ENTER.register(PropertyLookup.class, RenderingVisitor::enter);
+		ENTER.register(FunctionInvocation.class, RenderingVisitor::enter);
+		LEAVE.register(FunctionInvocation.class, RenderingVisitor::leave);
+		ENTER.register(Operation.class, RenderingVisitor::enter);
+		ENTER.register(Operator.class, RenderingVisitor::enter);
+		LEAVE.register(Operation.class, RenderingVisitor::leave);
+		ENTER.register(CompoundCondition.class, RenderingVisitor::enter);
+		LEAVE.register(CompoundCondition.class, RenderingVisitor::leave);
+		ENTER.register(Literal.class, RenderingVisitor::enter);
+		ENTER.register(Node.class, RenderingVisitor::enter);
+		LEAVE.register(Node.class, RenderingVisitor::leave);
+		ENTER.register(NodeLabel.class, RenderingVisitor::enter);
+		ENTER.register(Properties.class, RenderingVisitor::enter);
+		ENTER.register(SymbolicName.class, RenderingVisitor::enter);
+		ENTER.register(RelationshipDetail.class, RenderingVisitor::enter);
+		ENTER.register(RelationshipTypes.class, RenderingVisitor::enter);
+		ENTER.register(RelationshipLength.class, RenderingVisitor::enter);
+		LEAVE.register(RelationshipDetail.class, RenderingVisitor::leave);
+		ENTER.register(Parameter.class, RenderingVisitor::enter);
+		ENTER.register(MapExpression.class, RenderingVisitor::enter);
+		ENTER.register(KeyValueMapEntry.class, RenderingVisitor::enter);
+		LEAVE.register(MapExpression.class, RenderingVisitor::leave);
+		ENTER.register(ListExpression.class, RenderingVisitor::enter);
+		LEAVE.register(ListExpression.class, RenderingVisitor::leave);
+		ENTER.register(Unwind.class, RenderingVisitor::enter);
+		LEAVE.register(Unwind.class, RenderingVisitor::leave);
+		ENTER.register(Subquery.class, RenderingVisitor::enter);
+		LEAVE.register(Subquery.class, RenderingVisitor::leave);
+		ENTER.register(UnionPart.class, RenderingVisitor::enter);
+		ENTER.register(Set.class, RenderingVisitor::enter);
+		LEAVE.register(Set.class, RenderingVisitor::leave);
+		ENTER.register(Remove.class, RenderingVisitor::enter);
+		LEAVE.register(Remove.class, RenderingVisitor::leave);
+		ENTER.register(PatternComprehension.class, RenderingVisitor::enter);
+		LEAVE.register(PatternComprehension.class, RenderingVisitor::leave);
+		ENTER.register(ListComprehension.class, RenderingVisitor::enter);
+		LEAVE.register(ListComprehension.class, RenderingVisitor::leave);
+		ENTER.register(Case.class, RenderingVisitor::enter);
+		ENTER.register(Case.SimpleCase.class, RenderingVisitor::enter);
+		ENTER.register(Case.CaseWhenThen.class, RenderingVisitor::enter);
+		LEAVE.register(Case.CaseWhenThen.class, RenderingVisitor::leave);
+		ENTER.register(Case.CaseElse.class, RenderingVisitor::enter);
+		LEAVE.register(Case.class, RenderingVisitor::leave);
+	}
+
+	/**
+	 * Keeps track of the ASTs current level.
+	 */
+	private final Deque<Visitable> currentVisitedElements = new ArrayDeque<>();
+
 	/**
 	 * Target of all rendering.
 	 */
@@ -80,6 +165,11 @@ class RenderingVisitor extends ReflectiveVisitor {
 	 */
 	private boolean skipNodeContent = false;
 
+	/**
+	 * The number of elements entered so far.
+	 */
+	private int visitedElements = 0;
+
 	private void enableSeparator(int level, boolean on) {
 		if (on) {
 			separatorOnLevel.add(level);
@@ -94,7 +184,26 @@ class RenderingVisitor extends ReflectiveVisitor {
 	}
 
 	@Override
-	protected boolean preEnter(Visitable visitable) {
+	public void enter(Visitable visitable) {
+
+		++visitedElements;
+		if (preEnter(visitable)) {
+			currentVisitedElements.push(visitable);
+			ENTER.resolve(visitable.getClass()).ifPresent(handler -> handler.accept(this, visitable));
+		}
+	}
+
+	@Override
+	public void leave(Visitable visitable) {
+
+		if (currentVisitedElements.peek() == visitable) {
+			LEAVE.resolve(visitable.getClass()).ifPresent(handler -> handler.accept(this, visitable));
+			postLeave(visitable);
+			currentVisitedElements.pop();
+		}
+	}
+
+	private boolean preEnter(Visitable visitable) {
 
 		if (skipNodeContent) {
 			return false;
@@ -113,8 +222,7 @@ class RenderingVisitor extends ReflectiveVisitor {
 		return !skipNodeContent;
 	}
 
-	@Override
-	protected void postLeave(Visitable visitable) {
+	private void postLeave(Visitable visitable) {
 
 		if (needsSeparator()) {
 			separator = ", ";
@@ -138,6 +246,22 @@ class RenderingVisitor extends ReflectiveVisitor {
 		builder.append(" ");
 	}
 
+	void enter(Hint hint) {
+
+		builder
+			.append(" USING ")
+			.append(hint.getType().getKeyword())
+			.append(" ")
+			.append(hint.getSymbolicNames().stream().map(SymbolicName::getValue).collect(joining(", ")));
+		hint.getLabel().flatMap(RenderingVisitor::escapeName)
+			.ifPresent(label -> builder.append(NODE_LABEL_START).append(label));
+		if (!hint.getPropertyKeys().isEmpty()) {
+			builder.append(hint.getPropertyKeys().stream()
+				.map(RenderingVisitor::escapeIfNecessary)
+				.collect(joining(", ", "(", ")")));
+		}
+	}
+
 	void enter(Where where) {
 		builder.append(" WHERE ");
 	}
@@ -188,7 +312,7 @@ class RenderingVisitor extends ReflectiveVisitor {
 	}
 
 	void leave(AliasedExpression aliased) {
-		builder.append(" AS ").append(aliased.getAlias());
+		builder.append(" AS ").append(escapeIfNecessary(aliased.getAlias()));
 	}
 
 	void enter(NestedExpression nested) {
@@ -218,9 +342,11 @@ class RenderingVisitor extends ReflectiveVisitor {
 	}
 
 	void enter(PropertyLookup propertyLookup) {
+
+		String propertyKeyName = propertyLookup.getPropertyKeyName();
 		builder
 			.append(".")
-			.append(propertyLookup.getPropertyKeyName());
+			.append("*".equals(propertyKeyName) ? propertyKeyName : escapeIfNecessary(propertyKeyName));
 	}
 
 	void enter(FunctionInvocation functionInvocation) {
@@ -272,7 +398,7 @@ class RenderingVisitor extends ReflectiveVisitor {
 	}
 
 	void enter(Literal<?> expression) {
-		builder.append(expression.asString());
+		expression.appendTo(builder);
 	}
 
 	void enter(Node node) {
@@ -374,7 +500,7 @@ class RenderingVisitor extends ReflectiveVisitor {
 
 	void enter(KeyValueMapEntry map) {
 
-		builder.append(map.getKey()).append(": ");
+		builder.append(escapeIfNecessary(map.getKey())).append(": ");
 	}
 
 	void leave(MapExpression map) {
@@ -404,6 +530,25 @@ class RenderingVisitor extends ReflectiveVisitor {
 			.append(" ");
 	}
 
+	void enter(Subquery subquery) {
+
+		builder.append("CALL { ");
+	}
+
+	void leave(Subquery subquery) {
+
+		// Clauses of the called statement are followed by a space as well.
+		while (builder.charAt(builder.length() - 1) == ' ') {
+			builder.setLength(builder.length() - 1);
+		}
+		builder.append(" }");
+		if (subquery.isInTransactions()) {
+			builder.append(" IN TRANSACTIONS");
+			subquery.getRowsPerTransaction().ifPresent(rows -> builder.append(" OF ").append(rows).append(" ROWS"));
+		}
+		builder.append(" ");
+	}
+
 	void enter(UnionPart unionPart) {
 
 		builder.append(" UNION ");
@@ -474,6 +619,10 @@ class RenderingVisitor extends ReflectiveVisitor {
 		return this.builder.toString();
 	}
 
+	int getVisitedElements() {
+		return visitedElements;
+	}
+
 	/**
 	 * Escapes a symbolic name. Such a symbolic name is either used for a nodes label, the type of a relationship or a
 	 * variable.
@@ -490,4 +639,57 @@ class RenderingVisitor extends ReflectiveVisitor {
 		Matcher matcher = LABEL_AND_TYPE_QUOTATION.matcher(unescapedName);
 		return Optional.of(String.format(Locale.ENGLISH, "`%s`", matcher.replaceAll("``")));
 	}
+
+	/**
+	 * Escapes names like property keys and aliases only if they are not valid identifiers, so that the common case
+	 * stays unchanged.
+	 *
+	 * @param name The name to escape
+	 * @return The name itself or its escaped form
+	 */
+	static String escapeIfNecessary(String name) {
+
+		boolean isIdentifier = !name.isEmpty() && Character.isJavaIdentifierStart(name.codePointAt(0))
+			&& name.codePoints().allMatch(Character::isJavaIdentifierPart);
+		return isIdentifier ? name : escapeName(name).get();
+	}
+
+	static boolean hasEnterHandler(Class<? extends Visitable> type) {
+		return ENTER.registered.containsKey(type);
+	}
+
+	static boolean hasLeaveHandler(Class<? extends Visitable> type) {
+		return LEAVE.registered.containsKey(type);
+	}
+
+	/**
+	 * Handlers for one phase of visiting elements. Handlers are looked up by the concrete class of an element and its
+	 * superclasses, the result of the lookup is cached.
+	 */
+	private static final class Handlers {
+
+		private final Map<Class<?>, BiConsumer<RenderingVisitor, Visitable>> registered = new HashMap<>();
+
+		private final ClassCache<Optional<BiConsumer<RenderingVisitor, Visitable>>> resolved =
+			new ClassCache<>(this::lookup);
+
+		<T extends Visitable> void register(Class<T> type, BiConsumer<RenderingVisitor, T> handler) {
+			registered.put(type, (visitor, visitable) -> handler.accept(visitor, type.cast(visitable)));
+		}
+
+		Optional<BiConsumer<RenderingVisitor, Visitable>> resolve(Class<?> type) {
+			return resolved.get(type);
+		}
+
+		private Optional<BiConsumer<RenderingVisitor, Visitable>> lookup(Class<?> type) {
+
+			for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+				BiConsumer<RenderingVisitor, Visitable> handler = registered.get(candidate);
+				if (handler != null) {
+					return Optional.of(handler);
+				}
+			}
+			return Optional.empty();
+		}
+	}
 }
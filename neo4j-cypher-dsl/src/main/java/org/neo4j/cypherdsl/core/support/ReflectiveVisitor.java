@@ -127,12 +127,17 @@ public abstract class ReflectiveVisitor implements Visitor {
 				Method method = targetAndPhase.visitorClass
 					.getDeclaredMethod(targetAndPhase.phase.methodName, clazz);
 				method.setAccessible(true);
-				return Optional.of(MethodHandles.lookup().in(targetAndPhase.visitorClass).unreflect(method));
+				MethodHandle handle = MethodHandles.lookup().in(targetAndPhase.visitorClass).unreflect(method);
+				VisitorEvents.dispatchCacheMiss(targetAndPhase.visitorClass, targetAndPhase.classHierarchyOfVisitable.get(0),
+					targetAndPhase.phase.methodName, true);
+				return Optional.of(handle);
 			} catch (IllegalAccessException | NoSuchMethodException e) {
 				// We don't do anything if the method doesn't exists
 				// Try the next parameter type in the hierarchy
 			}
 		}
+		VisitorEvents.dispatchCacheMiss(targetAndPhase.visitorClass, targetAndPhase.classHierarchyOfVisitable.get(0),
+			targetAndPhase.phase.methodName, false);
 		return Optional.empty();
 	}
 
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.support;
+
+/**
+ * Hooks reporting visitor activity as Java Flight Recorder events. They only cover visitors extending
+ * {@link ReflectiveVisitor}, for example visitors written by users of this library. The renderer dispatches through
+ * its own tables and is covered by the render events. Flight Recorder is not available to Java 8 code, so this variant
+ * does nothing. The variant in {@code META-INF/versions/11} of the multi-release JAR emits the events and
+ * must provide the same package-private API.
+ *
+ * @since 2020.0.0
+ */
+final class VisitorEvents {
+
+	/**
+	 * Reports that the method to dispatch to has not been cached yet and has been looked up.
+	 *
+	 * @param visitorClass   The class of the visitor
+	 * @param visitableClass The class of the visited element
+	 * @param phase          The phase of visiting, {@code enter} or {@code leave}
+	 * @param resolved       True if a matching method has been found
+	 */
+	static void dispatchCacheMiss(Class<?> visitorClass, Class<?> visitableClass, String phase, boolean resolved) {
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private VisitorEvents() {
+	}
+}
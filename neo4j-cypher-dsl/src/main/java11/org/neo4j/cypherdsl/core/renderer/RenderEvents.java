@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.StatementCodec;
+
+/**
+ * Hooks reporting rendering and cache activity as Java Flight Recorder events. All events are disabled by default and
+ * can be enabled by name in a recording's settings, for example {@code org.neo4j.cypherdsl.Render#enabled=true}. As
+ * long as they are disabled, the hooks don't do more than allocating a short-lived event the JIT usually removes.
+ *
+ * @since 2020.0.0
+ */
+final class RenderEvents {
+
+	/**
+	 * Name of the in-memory tier of the render cache.
+	 */
+	static final String MEMORY_TIER = "memory";
+
+	/**
+	 * Name of the persistent tier of the render cache.
+	 */
+	static final String PERSISTENT_TIER = "persistent";
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	static Object beginRender() {
+
+		RenderEvent event = new RenderEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endRender(Object handle, Statement statement, byte[] fingerprint, String cypher, int visitedElements) {
+
+		RenderEvent event = (RenderEvent) handle;
+		event.end();
+		if (event.shouldCommit()) {
+			event.fingerprint = toHex(fingerprint == null ? fingerprintOf(statement) : fingerprint);
+			event.length = cypher.length();
+			event.visitedElements = visitedElements;
+			event.commit();
+		}
+	}
+
+	static void cacheLookup(String tier, boolean hit) {
+
+		CacheEvent event = new CacheEvent();
+		if (event.shouldCommit()) {
+			event.tier = tier;
+			event.outcome = hit ? "hit" : "miss";
+			event.commit();
+		}
+	}
+
+	static void cacheEviction(String tier) {
+
+		CacheEvent event = new CacheEvent();
+		if (event.shouldCommit()) {
+			event.tier = tier;
+			event.outcome = "eviction";
+			event.commit();
+		}
+	}
+
+	private static byte[] fingerprintOf(Statement statement) {
+
+		try {
+			return StatementCodec.fingerprint(statement);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+
+		if (bytes == null) {
+			return null;
+		}
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; ++i) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Rendering of a statement that was not served from a cache.
+	 */
+	@Name("org.neo4j.cypherdsl.Render")
+	@Label("Render Statement")
+	@Category({ "Neo4j", "Cypher-DSL" })
+	@Description("Rendering of a statement to Cypher")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class RenderEvent extends Event {
+
+		@Label("Fingerprint")
+		@Description("Structural fingerprint of the statement, null if it cannot be computed")
+		String fingerprint;
+
+		@Label("Length")
+		@Description("Number of characters of the rendered Cypher")
+		int length;
+
+		@Label("Visited Elements")
+		@Description("Number of elements of the statement visited while rendering")
+		int visitedElements;
+	}
+
+	/**
+	 * Lookup or eviction in one tier of the render cache.
+	 */
+	@Name("org.neo4j.cypherdsl.RenderCache")
+	@Label("Render Cache")
+	@Category({ "Neo4j", "Cypher-DSL" })
+	@Description("Hits, misses and evictions of the render cache")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class CacheEvent extends Event {
+
+		@Label("Tier")
+		String tier;
+
+		@Label("Outcome")
+		String outcome;
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private RenderEvents() {
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Hooks reporting visitor activity as Java Flight Recorder events. They only cover visitors extending
+ * {@link ReflectiveVisitor}, for example visitors written by users of this library. The renderer dispatches through
+ * its own tables and is covered by the render events. All events are disabled by default.
+ *
+ * @since 2020.0.0
+ */
+final class VisitorEvents {
+
+	static void dispatchCacheMiss(Class<?> visitorClass, Class<?> visitableClass, String phase, boolean resolved) {
+
+		DispatchCacheMissEvent event = new DispatchCacheMissEvent();
+		if (event.shouldCommit()) {
+			event.visitor = visitorClass;
+			event.visitable = visitableClass;
+			event.phase = phase;
+			event.resolved = resolved;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Lookup of the method a reflective visitor dispatches to.
+	 */
+	@Name("org.neo4j.cypherdsl.VisitorDispatchCacheMiss")
+	@Label("Visitor Dispatch Cache Miss")
+	@Category({ "Neo4j", "Cypher-DSL" })
+	@Description("Lookup of an enter or leave method of a ReflectiveVisitor that has not been cached yet")
+	@Enabled(false)
+	static final class DispatchCacheMissEvent extends Event {
+
+		@Label("Visitor")
+		Class<?> visitor;
+
+		@Label("Visitable")
+		Class<?> visitable;
+
+		@Label("Phase")
+		String phase;
+
+		@Label("Resolved")
+		@Description("True if a matching method has been found")
+		boolean resolved;
+	}
+
+	/**
+	 * Not to be instantiated.
+	 */
+	private VisitorEvents() {
+	}
+}
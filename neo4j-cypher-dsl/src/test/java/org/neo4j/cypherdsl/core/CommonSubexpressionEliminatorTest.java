@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CommonSubexpressionEliminatorTest {
+
+	private static final CypherParser parser = CypherParser.getDefaultParser();
+
+	private static Stream<Arguments> rewrites() {
+
+		return Stream.of(
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE distance(s.location, $here) < 1000 RETURN s, distance(s.location, $here) AS d ORDER BY distance(s.location, $here)",
+				"MATCH (s:`Store`) WHERE distance(s.location, $here) < 1000 WITH *, distance(s.location, $here) AS _cse0 RETURN s, _cse0 AS d ORDER BY _cse0"),
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE (s.open = true AND toLower(s.name) STARTS WITH $q) RETURN toLower(s.name) AS name",
+				"MATCH (s:`Store`) WHERE s.open = true WITH *, toLower(s.name) AS _cse0 WHERE _cse0 STARTS WITH $q RETURN _cse0 AS name"),
+			Arguments.of(
+				"MATCH (p:`Person`) RETURN p.name AS name, size([(p)-[:`KNOWS`]->(f) | f]) AS friends ORDER BY size([(p)-[:`KNOWS`]->(f) | f]) DESC",
+				"MATCH (p:`Person`) WITH *, size([(p)-[:`KNOWS`]->(f) | f]) AS _cse0 RETURN p.name AS name, _cse0 AS friends ORDER BY _cse0 DESC"),
+			Arguments.of(
+				"MATCH (p:`Person`) WITH p, toLower(p.name) AS a, toLower(p.name) + '!' AS b RETURN a, b",
+				"MATCH (p:`Person`) WITH *, toLower(p.name) AS _cse0 WITH p, _cse0 AS a, (_cse0 + '!') AS b RETURN a, b"),
+			Arguments.of(
+				"MATCH (a:`A`) RETURN toLower(a.x) AS x, toLower(a.x) AS y UNION MATCH (b:`B`) RETURN toLower(b.x) AS x, toLower(b.x) AS y",
+				"MATCH (a:`A`) WITH *, toLower(a.x) AS _cse0 RETURN _cse0 AS x, _cse0 AS y UNION MATCH (b:`B`) WITH *, toLower(b.x) AS _cse1 RETURN _cse1 AS x, _cse1 AS y"),
+			Arguments.of(
+				"MATCH (_cse0:`A`) RETURN toLower(_cse0.x) AS x, toLower(_cse0.x) AS y",
+				"MATCH (_cse0:`A`) WITH *, toLower(_cse0.x) AS _cse1 RETURN _cse1 AS x, _cse1 AS y"),
+			Arguments.of(
+				"RETURN toUpper($s) AS a, toUpper($s) AS b",
+				"WITH toUpper($s) AS _cse0 RETURN _cse0 AS a, _cse0 AS b")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("rewrites")
+	void shouldHoistCommonSubexpressions(String cypher, String expected) {
+
+		assertThat(CommonSubexpressionEliminator.rewrite(parser.parse(cypher)).getCypher()).isEqualTo(expected);
+	}
+
+	private static Stream<Arguments> unchangedStatements() {
+
+		return Stream.of(
+			Arguments.of("MATCH (p:`Person`) RETURN toLower(p.name), toLower(p.name)"),
+			Arguments.of("MATCH (p:`Person`) RETURN toLower(p.name) AS name ORDER BY p.born"),
+			Arguments.of("OPTIONAL MATCH (s:`Store`) WHERE distance(s.location, $here) < 1000 RETURN distance(s.location, $here) AS d"),
+			Arguments.of("MATCH (p:`Person`) RETURN rand() AS a, rand() AS b"),
+			Arguments.of("MATCH (p:`Person`) RETURN toInteger(rand() * 10) AS a, toInteger(rand() * 10) AS b"),
+			Arguments.of("MATCH (p:`Person`) RETURN count(p) AS a, count(p) AS b"),
+			Arguments.of("MATCH (p:`Person`) RETURN [x IN p.tags WHERE toLower(x) = 'a'] AS a, [x IN p.tags WHERE toLower(x) = 'b'] AS b"),
+			Arguments.of("MATCH (p:`Person`) RETURN CASE WHEN p.x > 0 THEN log(p.x) END AS a, CASE WHEN p.x > 1 THEN log(p.x) END AS b"),
+			Arguments.of("MATCH (p:`Person`) RETURN *, toLower(p.name) AS a, toLower(p.name) AS b"),
+			Arguments.of("MATCH (p:`Person`) CREATE (q:`Person`)"),
+			Arguments.of("MATCH (s:`Store`) WHERE (s.open = true AND distance(s.location, $here) < 1000) RETURN distance(s.location, $here) AS d"),
+			Arguments.of("MATCH (s:`Store`) WHERE point.distance($here, s.location) <= 10 RETURN s, point.distance($here, s.location) AS d"),
+			Arguments.of("MATCH (:`Store`) RETURN toUpper($s) AS a, toUpper($s) AS b"),
+			Arguments.of("MATCH () WHERE toUpper($s) = 'A' RETURN toUpper($s) AS a")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("unchangedStatements")
+	void shouldKeepStatementsWithoutHoistableExpressions(String cypher) {
+
+		Statement statement = parser.parse(cypher);
+		assertThat(CommonSubexpressionEliminator.rewrite(statement)).isSameAs(statement);
+	}
+
+	@Test
+	void shouldNotRewriteOrderAfterAggregation() {
+
+		Statement statement = parser.parse(
+			"MATCH (p:`Person`) RETURN toLower(p.name) AS name, toLower(p.name) AS key, count(p) AS cnt ORDER BY toLower(p.name)");
+		assertThat(CommonSubexpressionEliminator.rewrite(statement).getCypher()).isEqualTo(
+			"MATCH (p:`Person`) WITH *, toLower(p.name) AS _cse0 RETURN _cse0 AS name, _cse0 AS key, count(p) AS cnt ORDER BY toLower(p.name)");
+	}
+
+	@Test
+	void shouldOnlyTakeConjunctsRenderedWithAnd() {
+
+		Node store = Cypher.node("Store").named("s");
+		Expression name = Functions.toLower(store.property("name"));
+		Statement statement = Cypher.match(store)
+			.where(store.property("a").isEqualTo(Cypher.literalTrue()))
+			.and(store.property("b").isEqualTo(Cypher.literalTrue()))
+			.or(store.property("c").isEqualTo(Cypher.literalTrue()).and(name.startsWith(Cypher.parameter("q"))))
+			.returning(name.as("name"))
+			.build();
+
+		assertThat(statement.getCypher()).isEqualTo(
+			"MATCH (s:`Store`) WHERE (s.a = true AND s.b = true OR (s.c = true AND toLower(s.name) STARTS WITH $q)) RETURN toLower(s.name) AS name");
+		assertThat(CommonSubexpressionEliminator.rewrite(statement).getCypher()).isEqualTo(
+			"MATCH (s:`Store`) WITH *, toLower(s.name) AS _cse0 WHERE (s.a = true AND s.b = true OR (s.c = true AND _cse0 STARTS WITH $q)) RETURN _cse0 AS name");
+	}
+
+	@Test
+	void shouldWorkWithStatementsBuiltWithTheDsl() {
+
+		Node store = Cypher.node("Store").named("s");
+		Expression name = Functions.toLower(store.property("name"));
+		Statement statement = Cypher.match(store)
+			.where(name.startsWith(Cypher.parameter("q")))
+			.returning(store.property("location").as("location"), name.as("name"))
+			.build();
+
+		assertThat(CommonSubexpressionEliminator.rewrite(statement).getCypher()).isEqualTo(
+			"MATCH (s:`Store`) WITH *, toLower(s.name) AS _cse0 WHERE _cse0 STARTS WITH $q RETURN s.location AS location, _cse0 AS name");
+		assertThat(statement.getCypher()).isEqualTo(
+			"MATCH (s:`Store`) WHERE toLower(s.name) STARTS WITH $q RETURN s.location AS location, toLower(s.name) AS name");
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.cypherdsl.core.CostEstimate.ClauseEstimate;
+
+class CostEstimatorTest {
+
+	private static CostEstimator estimator;
+
+	private static final Node person = Cypher.node("Person").named("p");
+	private static final Node movie = Cypher.node("Movie").named("m");
+
+	@BeforeAll
+	static void readStatistics() throws IOException, URISyntaxException {
+
+		GraphStatistics statistics = GraphStatistics
+			.read(Paths.get(CostEstimatorTest.class.getResource("/graph-statistics.json").toURI()));
+		estimator = CostEstimator.using(statistics);
+	}
+
+	@Test
+	void shouldReadStatistics() {
+
+		GraphStatistics statistics = estimator.getStatistics();
+		assertThat(statistics.getNodeCount()).isEqualTo(10_000L);
+		assertThat(statistics.getRelationshipCount()).isEqualTo(40_000L);
+		assertThat(statistics.getLabelCount("Person")).isEqualTo(8_000L);
+		assertThat(statistics.getLabelCount("Unknown")).isZero();
+		assertThat(statistics.getRelationshipTypeCount("ACTED_IN")).isEqualTo(25_000L);
+		assertThat(statistics.getIndexSelectivity("Person", "name")).hasValue(0.0001);
+		assertThat(statistics.getIndexSelectivity("Movie", "title")).isEmpty();
+	}
+
+	@Test
+	void shouldDeriveMissingTotals() {
+
+		GraphStatistics statistics = GraphStatistics
+			.parse("{\"labels\": {\"A\": 10, \"B\": 20}, \"relationshipTypes\": {\"R\": 5, \"S\": 7}}");
+		assertThat(statistics.getNodeCount()).isEqualTo(20L);
+		assertThat(statistics.getRelationshipCount()).isEqualTo(12L);
+	}
+
+	private static Stream<Arguments> invalidStatistics() {
+
+		return Stream.of(
+			Arguments.of("[]", "Statistics must be a JSON object."),
+			Arguments.of("{\"nodes\": -1}", "The count of nodes must be a non-negative integer."),
+			Arguments.of("{\"labels\": {\"A\": 1.5}}", "The count of A must be a non-negative integer."),
+			Arguments.of("{\"labels\": 1}", "The labels must be a JSON object."),
+			Arguments.of("{\"indexes\": {\"A.b\": 2}}", "The selectivity of index A.b must be in (0, 1]."),
+			Arguments.of("{\"nodes\": 1", "Invalid JSON: Expected '}' at position 11.")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidStatistics")
+	void shouldRejectInvalidStatistics(String json, String message) {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> GraphStatistics.parse(json)).withMessage(message);
+	}
+
+	@Test
+	void shouldEstimateLabelScans() {
+
+		CostEstimate estimate = estimator.estimate(Cypher.match(person).returning(person).build());
+
+		assertThat(estimate.getClauses()).extracting(ClauseEstimate::getClause, ClauseEstimate::getEstimatedRows,
+			ClauseEstimate::getCost)
+			.containsExactly(tuple("MATCH", 8000.0, 8000.0), tuple("RETURN", 8000.0, 8000.0));
+		assertThat(estimate.getEstimatedRows()).isEqualTo(8000.0);
+		assertThat(estimate.getCost()).isEqualTo(16000.0);
+	}
+
+	@Test
+	void shouldUseIndexes() {
+
+		CostEstimate indexed = estimator.estimate(Cypher.match(person)
+			.where(person.property("name").isEqualTo(Cypher.literalOf("Tom"))).returning(person).build());
+		CostEstimate notIndexed = estimator.estimate(Cypher.match(person)
+			.where(person.property("born").isEqualTo(Cypher.literalOf(1956))).returning(person).build());
+		CostEstimate indexedProperties = estimator.estimate(Cypher.match(person.withProperties("name",
+			Cypher.literalOf("Tom"))).returning(person).build());
+
+		ClauseEstimate match = indexed.getClauses().get(0);
+		assertThat(match.getEstimatedRows()).isCloseTo(0.8, within(1e-9));
+		assertThat(match.getCost()).isCloseTo(8000 * 0.0001 + 1 + 0.8, within(1e-9));
+		assertThat(notIndexed.getClauses().get(0).getEstimatedRows()).isCloseTo(800.0, within(1e-9));
+		assertThat(notIndexed.getCost()).isGreaterThan(indexed.getCost() * 1000);
+		assertThat(indexedProperties.getEstimatedRows()).isCloseTo(0.8, within(1e-9));
+	}
+
+	@Test
+	void shouldStartExpandingFromTheCheaperEnd() {
+
+		CostEstimate estimate = estimator.estimate(Cypher.match(person.relationshipTo(movie, "ACTED_IN"))
+			.returning(person).build());
+
+		ClauseEstimate match = estimate.getClauses().get(0);
+		// Starting with 2000 movies and expanding 2.5 relationships per node on average
+		assertThat(match.getCost()).isCloseTo(2000.0 + 2000.0 * 2.5, within(1e-9));
+		assertThat(match.getEstimatedRows()).isCloseTo(2000.0 * 2.5 * 0.8, within(1e-9));
+	}
+
+	@Test
+	void shouldPickTheCheapestConstruction() {
+
+		Statement cartesianProduct = Cypher.match(person, movie)
+			.where(person.relationshipTo(movie, "ACTED_IN")).returning(person, movie).build();
+		Statement connected = Cypher.match(person.relationshipTo(movie, "ACTED_IN")).returning(person, movie).build();
+
+		assertThat(estimator.estimate(cartesianProduct).getClauses().get(0).getCost()).isCloseTo(
+			10_000.0 + 16_000_000.0, within(1e-6));
+		assertThat(estimator.cheapest(cartesianProduct, connected)).isSameAs(connected);
+		assertThat(estimator.cheapest(connected, cartesianProduct)).isSameAs(connected);
+	}
+
+	@Test
+	void shouldPenalizeUnboundedVariableLength() {
+
+		CostEstimate bounded = estimator.estimate(Cypher.match(person.relationshipTo(movie).length(1, 2))
+			.returning(person).build());
+		CostEstimate unbounded = estimator.estimate(Cypher.match(person.relationshipTo(movie).unbounded())
+			.returning(person).build());
+
+		// Degree 4, 4 + 4^2 paths per start node
+		assertThat(bounded.getClauses().get(0).getCost()).isCloseTo(2000.0 + 2000.0 * 20.0, within(1e-6));
+		assertThat(unbounded.getCost()).isGreaterThan(bounded.getCost() * 1000);
+	}
+
+	@Test
+	void shouldEstimateProjections() {
+
+		Statement statement = Cypher.match(person)
+			.with(person).orderBy(person.property("name").ascending()).skip(10).limit(100)
+			.unwind(Cypher.listOf(Cypher.literalOf(1), Cypher.literalOf(2), Cypher.literalOf(3))).as("x")
+			.returning(Functions.count(person)).build();
+
+		assertThat(estimator.estimate(statement).getClauses())
+			.extracting(ClauseEstimate::getClause, ClauseEstimate::getEstimatedRows)
+			.containsExactly(tuple("MATCH", 8000.0), tuple("WITH", 100.0), tuple("UNWIND", 300.0),
+				tuple("RETURN", 1.0));
+	}
+
+	@Test
+	void shouldEstimateOptionalMatchesAndUpdates() {
+
+		Statement statement = Cypher.match(movie)
+			.where(movie.property("title").isEqualTo(Cypher.literalOf("The Matrix")))
+			.optionalMatch(movie.relationshipFrom(person, "DIRECTED").named("d"))
+			.where(person.property("born").gt(Cypher.literalOf(2100)))
+			.create(movie.relationshipTo(Cypher.node("Tag").named("t"), "TAGGED"))
+			.set(movie.property("seen").to(Cypher.literalTrue()))
+			.build();
+
+		assertThat(estimator.estimate(statement).getClauses())
+			.extracting(ClauseEstimate::getClause, ClauseEstimate::getEstimatedRows)
+			.containsExactly(tuple("MATCH", 200.0), tuple("OPTIONAL MATCH", 200.0), tuple("CREATE", 200.0),
+				tuple("SET", 200.0));
+	}
+
+	@Test
+	void shouldSumUnions() {
+
+		Statement statement = Cypher.union(Cypher.match(person).returning(person.property("name").as("name")).build(),
+			Cypher.match(movie).returning(movie.property("title").as("name")).build());
+
+		CostEstimate estimate = estimator.estimate(statement);
+		assertThat(estimate.getEstimatedRows()).isEqualTo(10_000.0);
+		assertThat(estimate.getClauses()).extracting(ClauseEstimate::getClauseIndex).containsExactly(1, 2, 3, 4);
+	}
+
+	@Test
+	void shouldEstimateConditions() {
+
+		Statement statement = Cypher.match(movie)
+			.where(movie.property("released").gt(Cypher.literalOf(2000))
+				.and(movie.property("genre").isEqualTo(Cypher.literalOf("Drama"))
+					.or(movie.property("genre").isEqualTo(Cypher.literalOf("Comedy"))))
+				.and(movie.property("title").isNotEqualTo(Cypher.literalOf("x")).not()))
+			.returning(movie).build();
+
+		// 2000 * 0.3 * (0.1 + 0.1 - 0.01) * (1 - 0.9)
+		assertThat(estimator.estimate(statement).getEstimatedRows()).isCloseTo(11.4, within(1e-9));
+	}
+}
@@ -20,6 +20,9 @@ package org.neo4j.cypherdsl.core;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Nested;
@@ -2153,6 +2156,22 @@ class CypherIT {
 					"UNWIND [1, true, false] AS n RETURN n");
 		}
 
+		@Test
+		void shouldRenderLeadingUnwindOfPrimitiveArrays() {
+
+			Statement statement = Cypher.unwind(Cypher.literalOf(new long[] { 1L, 2L, 3L }))
+				.as("id")
+				.with("id")
+				.match(bikeNode)
+				.where(bikeNode.internalId().isEqualTo(Cypher.name("id")))
+				.returning(bikeNode)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo(
+					"UNWIND [1, 2, 3] AS id WITH id MATCH (b:`Bike`) WHERE id(b) = id RETURN b");
+		}
+
 		@Test
 		void shouldRenderLeadingUnwindWithUpdate() {
 
@@ -3159,4 +3178,163 @@ class CypherIT {
 				.isEqualTo("MATCH p = (n)-->(b) WHERE (n.name = 'Alice' AND single(var IN nodes(p) WHERE var.eyes = 'blue')) RETURN p");
 		}
 	}
+
+	@Nested
+	class Hints {
+
+		private final Node person = Cypher.node("Person").named("p");
+		private final Node movie = Cypher.node("Movie").named("m");
+
+		@Test
+		void shouldRenderIndexHints() {
+
+			Statement statement = Cypher.match(person.relationshipTo(movie, "ACTED_IN"))
+				.usingIndex(person, "name")
+				.usingIndexSeek(movie, "title", "released")
+				.where(person.property("name").isEqualTo(Cypher.literalOf("Keanu Reeves")))
+				.returning(movie)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("MATCH (p:`Person`)-[:`ACTED_IN`]->(m:`Movie`) USING INDEX p:`Person`(name) USING INDEX SEEK m:`Movie`(title, released) WHERE p.name = 'Keanu Reeves' RETURN m");
+		}
+
+		@Test
+		void shouldEscapePropertyKeysOfIndexHints() {
+
+			Statement statement = Cypher.match(person)
+				.usingIndex(person, "weird key", "name")
+				.where(person.property("weird key").isEqualTo(Cypher.literalOf("x")))
+				.returning(person)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("MATCH (p:`Person`) USING INDEX p:`Person`(`weird key`, name) WHERE p.`weird key` = 'x' RETURN p");
+		}
+
+		@Test
+		void shouldRenderScanAndJoinHints() {
+
+			Node other = Cypher.node("Person").named("o");
+			Statement statement = Cypher.match(person.relationshipTo(movie, "ACTED_IN").relationshipFrom(other, "ACTED_IN"))
+				.usingScan(movie)
+				.usingJoinOn(person, other)
+				.returning(person, other)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("MATCH (p:`Person`)-[:`ACTED_IN`]->(m:`Movie`)<-[:`ACTED_IN`]-(o:`Person`) USING SCAN m:`Movie` USING JOIN ON p, o RETURN p, o");
+		}
+
+		@Test
+		void shouldRenderHintsOfOptionalMatches() {
+
+			Statement statement = Cypher.match(person)
+				.optionalMatch(movie).usingIndex(movie, "title")
+				.where(movie.property("title").isEqualTo(Cypher.parameter("title")))
+				.returning(person, movie)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("MATCH (p:`Person`) OPTIONAL MATCH (m:`Movie`) USING INDEX m:`Movie`(title) WHERE m.title = $title RETURN p, m");
+		}
+
+		@Test
+		void shouldNotChangeBuiltMatchesWhenAddingHints() {
+
+			List<Hint> hints = new ArrayList<>();
+			hints.add(Hint.useIndexFor(person, "name"));
+			Match match = new Match(false, new Pattern(Collections.singletonList(person)), hints, null);
+			hints.add(Hint.useScanFor(person));
+
+			assertThat(match.getHints()).containsExactly(hints.get(0));
+		}
+
+		@Test
+		void shouldValidateHints() {
+
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> Cypher.match(person).usingIndex(movie, "title"))
+				.withMessage("The variable 'm' used in a hint is not declared by the pattern of the match.");
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> Cypher.match(Cypher.node("Person", "Actor").named("a"))
+					.usingScan(Cypher.node("Person", "Actor").named("a")))
+				.withMessage("Exactly one label is required for an index or scan hint.");
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> Cypher.match(person).usingIndex(Cypher.node("Person"), "name"))
+				.withMessage("A hint can only refer to named nodes.");
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> Cypher.match(person).usingIndex(person))
+				.withMessage("At least one indexed property is required.");
+		}
+	}
+
+	@Nested
+	class Subqueries {
+
+		private final Node person = Cypher.node("Person").named("p");
+		private final Node movie = Cypher.node("Movie").named("m");
+		private final Node log = Cypher.node("Log").named("l");
+
+		@Test
+		void shouldRenderSubqueryInTransactionsOfRows() {
+
+			Statement statement = Cypher.match(log)
+				.where(log.property("created").lt(Cypher.parameter("cutoff")))
+				.callInTransactions(Cypher.with(log).detachDelete(log).build(), 1000)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("MATCH (l:`Log`) WHERE l.created < $cutoff CALL { WITH l DETACH DELETE l } IN TRANSACTIONS OF 1000 ROWS");
+		}
+
+		@Test
+		void shouldRenderSubqueryInTransactions() {
+
+			Statement statement = Cypher.unwind(Cypher.parameter("rows")).as("row")
+				.callInTransactions(Cypher.with("row")
+					.merge(person.withProperties("name", Cypher.property("row", "name")))
+					.build())
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("UNWIND $rows AS row CALL { WITH row MERGE (p:`Person` {name: row.name}) } IN TRANSACTIONS");
+		}
+
+		@Test
+		void shouldRenderLeadingSubquery() {
+
+			Statement statement = Cypher.callInTransactions(Cypher.match(log).detachDelete(log).build(), 500).build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("CALL { MATCH (l:`Log`) DETACH DELETE l } IN TRANSACTIONS OF 500 ROWS");
+		}
+
+		@Test
+		void shouldRenderReturningSubquery() {
+
+			Statement statement = Cypher.match(person)
+				.call(Cypher.with(person)
+					.match(person.relationshipTo(movie, "ACTED_IN"))
+					.returning(Functions.count(movie).as("movies"))
+					.build())
+				.returning(person.property("name"), Cypher.name("movies"))
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo("MATCH (p:`Person`) CALL { WITH p MATCH (p)-[:`ACTED_IN`]->(m:`Movie`) RETURN count(m) AS movies } RETURN p.name, movies");
+		}
+
+		@Test
+		void shouldValidateSubqueries() {
+
+			Statement statement = Cypher.match(log).detachDelete(log).build();
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> Cypher.callInTransactions(statement, 0))
+				.withMessage("The number of rows per transaction must be positive.");
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> Cypher.call(QueryOptions.builder().profile().build().applyTo(statement)))
+				.withMessage("Options can only be applied to the outermost statement.");
+		}
+	}
 }
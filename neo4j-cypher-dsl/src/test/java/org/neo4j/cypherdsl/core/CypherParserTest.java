@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.cypherdsl.core.renderer.Renderer;
+
+class CypherParserTest {
+
+	private static final Renderer cypherRenderer = Renderer.getDefaultRenderer();
+
+	/**
+	 * The DSL renders conditions mixing {@code AND} and {@code OR} without grouping them by precedence, the parser
+	 * groups them explicitly.
+	 */
+	private static final Map<String, String> CANONICAL_FORMS = new HashMap<>();
+
+	static {
+		CANONICAL_FORMS.put(
+			"MATCH (u:`User`) WHERE ((true OR false) AND true OR (false AND true)) RETURN u",
+			"MATCH (u:`User`) WHERE (((true OR false) AND true) OR (false AND true)) RETURN u");
+		CANONICAL_FORMS.put(
+			"MATCH (u:`User`) WHERE ((true OR false) AND true OR (false AND true) AND true) RETURN u",
+			"MATCH (u:`User`) WHERE (((true OR false) AND true) OR (false AND true AND true)) RETURN u");
+		CANONICAL_FORMS.put(
+			"MATCH (u:`User`) WHERE ((true OR false) AND true OR (false OR true)) RETURN u",
+			"MATCH (u:`User`) WHERE (((true OR false) AND true) OR false OR true) RETURN u");
+		CANONICAL_FORMS.put(
+			"MATCH (r:`Resume`)-[:`FOR`]->(o:`Offer`) WHERE (NOT (r:`LastResume`) AND (coalesce(o.valid_only, false) = false AND NOT (r:`InvalidStatus`) OR (o.valid_only = true AND r:`InvalidStatus`))) RETURN DISTINCT r, o",
+			"MATCH (r:`Resume`)-[:`FOR`]->(o:`Offer`) WHERE (NOT (r:`LastResume`) AND ((coalesce(o.valid_only, false) = false AND NOT (r:`InvalidStatus`)) OR (o.valid_only = true AND r:`InvalidStatus`))) RETURN DISTINCT r, o");
+		CANONICAL_FORMS.put(
+			"MATCH (r:`Resume`)<-[:`HAS`]-(u:`UserSearchable`) WHERE (NOT (r:`LastResume`) AND (coalesce(o.valid_only, false) = false AND NOT (r:`InvalidStatus`) OR (o.valid_only = true AND r:`ValidStatus`)) AND NOT ((r.is_internship = true AND size(size((r)-[:`PART_OF`]->())) = 0)) AND NOT ((r.is_sandwich_training = true AND size(size((r)-[:`PART_OF`]->())) = 0))) RETURN DISTINCT r, o",
+			"MATCH (r:`Resume`)<-[:`HAS`]-(u:`UserSearchable`) WHERE (NOT (r:`LastResume`) AND ((coalesce(o.valid_only, false) = false AND NOT (r:`InvalidStatus`)) OR (o.valid_only = true AND r:`ValidStatus`)) AND NOT ((r.is_internship = true AND size(size((r)-[:`PART_OF`]->())) = 0)) AND NOT ((r.is_sandwich_training = true AND size(size((r)-[:`PART_OF`]->())) = 0))) RETURN DISTINCT r, o");
+	}
+
+	/**
+	 * @return Every statement rendered by {@link CypherIT}
+	 */
+	private static Stream<String> corpus() throws IOException {
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+			CypherParserTest.class.getResourceAsStream("/cypher-it-corpus.txt"), StandardCharsets.UTF_8))) {
+			List<String> statements = reader.lines().filter(line -> !line.isEmpty()).collect(Collectors.toList());
+			return statements.stream();
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("corpus")
+	void shouldParseWhatTheDslRenders(String cypher) {
+
+		CypherParser parser = CypherParser.withCacheSize(0);
+		String canonicalForm = CANONICAL_FORMS.getOrDefault(cypher, cypher);
+
+		assertThat(cypherRenderer.render(parser.parse(cypher))).isEqualTo(canonicalForm);
+		assertThat(cypherRenderer.render(parser.parse(canonicalForm))).isEqualTo(canonicalForm);
+	}
+
+	private static Stream<Arguments> variations() {
+
+		return Stream.of(
+			Arguments.of(
+				"match (n:Person) where n.name <> \"Neo\" return n",
+				"MATCH (n:`Person`) WHERE n.name <> 'Neo' RETURN n"),
+			Arguments.of(
+				"MATCH (n) WHERE n.a != 1 // a comment\nRETURN n /* another */",
+				"MATCH (n) WHERE n.a <> 1 RETURN n"),
+			Arguments.of(
+				"MATCH (n) WHERE n.a = 1 OR n.b = 2 AND n.c = 3 RETURN n",
+				"MATCH (n) WHERE (n.a = 1 OR (n.b = 2 AND n.c = 3)) RETURN n"),
+			Arguments.of(
+				"MATCH (n) WHERE n.a STARTS WITH 'x' XOR n.b ENDS WITH 'y' RETURN n",
+				"MATCH (n) WHERE (n.a STARTS WITH 'x' XOR n.b ENDS WITH 'y') RETURN n"),
+			Arguments.of(
+				"RETURN 1 + 2 * 3 ^ 2, -1.5, 0x10, 'it\\'s'",
+				"RETURN (1 + (2 * 3^2)), -1.5, 16, 'it\\'s'"),
+			Arguments.of(
+				"RETURN 2 ^ (3 ^ 2), (2 ^ 3) ^ 2, 2 ^ (3 * 2)",
+				"RETURN 2^(3^2), (2^3)^2, 2^(3 * 2)"),
+			Arguments.of(
+				"MATCH (n) RETURN n.`weird key` AS `weird name`, n.`name` AS `name`, n{`a b`: 1}",
+				"MATCH (n) RETURN n.`weird key` AS `weird name`, n.name AS name, n{`a b`: 1}"),
+			Arguments.of(
+				"MATCH (a)-[:A|:B*2]->(b) RETURN count(DISTINCT b), count(*)",
+				"MATCH (a)-[:`A`|`B`*2..2]->(b) RETURN count(DISTINCT b), count(*)"),
+			Arguments.of(
+				"MATCH (n) SET n += $props, n:Seen REMOVE n:New, n.tmp RETURN n{.*, x: [y IN range(1, 3) WHERE y > 1 | y * 2]}",
+				"MATCH (n) SET n += $props, n:`Seen` REMOVE n:`New`, n.tmp RETURN n{.*, x: [y IN range(1, 3) WHERE y > 1 | (y * 2)]}"),
+			Arguments.of(
+				"UNWIND [1, 2] AS i WITH i ORDER BY i DESC LIMIT 1 RETURN apoc.text.join(['a', i], '-');",
+				"UNWIND [1, 2] AS i WITH i ORDER BY i DESC LIMIT 1 RETURN apoc.text.join(['a', i], '-')")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("variations")
+	void shouldRenderCanonicalForm(String cypher, String canonicalForm) {
+
+		CypherParser parser = CypherParser.withCacheSize(0);
+		assertThat(cypherRenderer.render(parser.parse(cypher))).isEqualTo(canonicalForm);
+		assertThat(cypherRenderer.render(parser.parse(canonicalForm))).isEqualTo(canonicalForm);
+	}
+
+	@Test
+	void shouldShareCachedStatements() {
+
+		String cypher = "MATCH (n:`Person`) RETURN n";
+
+		CypherParser defaultParser = CypherParser.getDefaultParser();
+		assertThat(defaultParser.parse(cypher)).isSameAs(defaultParser.parse(cypher));
+
+		CypherParser parser = CypherParser.withCacheSize(1);
+		Statement statement = parser.parse(cypher);
+		assertThat(parser.parse(cypher)).isSameAs(statement);
+		parser.parse("MATCH (n:`Movie`) RETURN n");
+		assertThat(parser.parse(cypher)).isNotSameAs(statement);
+
+		CypherParser uncached = CypherParser.withCacheSize(0);
+		assertThat(uncached.parse(cypher)).isNotSameAs(uncached.parse(cypher));
+	}
+
+	private static Stream<Arguments> syntaxErrors() {
+
+		return Stream.of(
+			Arguments.of(
+				"MATCH (n RETURN n",
+				"Expected ')' but found 'RETURN' at position 9."),
+			Arguments.of(
+				"MATCH (n) WHERE n.name = 'x RETURN n",
+				"Unterminated string at position 25."),
+			Arguments.of(
+				"MATCH (n) RETURN n UNION MATCH (m) RETURN m UNION ALL MATCH (o) RETURN o",
+				"UNION and UNION ALL cannot be combined at position 44."),
+			Arguments.of(
+				"MERGE (n:Person) ON CREATE SET n.x = 1",
+				"ON CREATE and ON MATCH are not supported at position 17."),
+			Arguments.of(
+				"MATCH (n) WHERE n.x + 1 RETURN n",
+				"Expected a condition at position 16."),
+			Arguments.of(
+				"MATCH (n) RETURN n[0]",
+				"List indexing and slicing are not supported at position 18."),
+			Arguments.of(
+				"MATCH (n) RETURN n LIMIT $l",
+				"Expected an integer but found 'l' at position 25."),
+			Arguments.of(
+				"MATCH (n:Person) USING LOOKUP n:Person RETURN n",
+				"Expected INDEX, SCAN or JOIN but found 'LOOKUP' at position 23."),
+			Arguments.of(
+				"CALL db.labels()",
+				"Expected '{' but found 'db' at position 5."),
+			Arguments.of(
+				"MATCH (n) CALL { WITH n DELETE n } IN TRANSACTIONS OF 0 ROWS",
+				"Invalid number of rows per transaction '0' at position 54."),
+			Arguments.of(
+				"FOREACH (x IN [1] | CREATE (n))",
+				"Expected a clause but found 'FOREACH' at position 0.")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("syntaxErrors")
+	void shouldReportSyntaxErrors(String cypher, String message) {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> CypherParser.getDefaultParser().parse(cypher))
+			.withMessage(message);
+	}
+}
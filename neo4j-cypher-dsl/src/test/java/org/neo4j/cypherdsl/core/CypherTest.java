@@ -21,9 +21,15 @@ package org.neo4j.cypherdsl.core;
 import static org.assertj.core.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.cypherdsl.core.support.Visitor;
 
 /**
  * @author Michael J. Simons
@@ -49,6 +55,77 @@ class CypherTest {
 			.returns("[false, true]", v -> v.asString());
 	}
 
+	@Test
+	void shouldCreatePrimitiveArrayLiterals() {
+
+		assertThat(Cypher.literalOf(new int[] { 1, 2, 3 })).isInstanceOf(IntArrayLiteral.class)
+			.returns("[1, 2, 3]", v -> v.asString());
+		assertThat(Cypher.literalOf(new long[] { 4711L, Long.MAX_VALUE })).isInstanceOf(LongArrayLiteral.class)
+			.returns("[4711, 9223372036854775807]", v -> v.asString());
+		assertThat(Cypher.literalOf(new double[] { 1.5, -2.0 })).isInstanceOf(DoubleArrayLiteral.class)
+			.returns("[1.5, -2.0]", v -> v.asString());
+		assertThat(Cypher.literalOf(new long[0])).returns("[]", v -> v.asString());
+	}
+
+	@Test
+	void primitiveArrayLiteralsShouldNotShareTheirArrays() {
+
+		int[] values = { 1, 2, 3 };
+		Node n = Cypher.anyNode("n");
+		Statement statement = Cypher.match(n).where(n.property("x").in(Cypher.literalOf(values))).returning(n).build();
+		values[0] = 42;
+
+		assertThat(statement.getCypher()).isEqualTo("MATCH (n) WHERE n.x IN [1, 2, 3] RETURN n");
+
+		IntArrayLiteral literal = (IntArrayLiteral) Cypher.literalOf(new int[] { 1 });
+		literal.getContent()[0] = 42;
+		assertThat(literal.asString()).isEqualTo("[1]");
+		LongArrayLiteral longs = (LongArrayLiteral) Cypher.literalOf(new long[] { 1L });
+		longs.getContent()[0] = 42L;
+		assertThat(longs.asString()).isEqualTo("[1]");
+		DoubleArrayLiteral doubles = (DoubleArrayLiteral) Cypher.literalOf(new double[] { 1.0 });
+		doubles.getContent()[0] = 42.0;
+		assertThat(doubles.asString()).isEqualTo("[1.0]");
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY })
+	void doubleArrayLiteralsShouldRejectValuesWithoutLiteral(double value) {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.literalOf(new double[] { 1.0, value }))
+			.withMessage("NaN and infinite values cannot be used in a Cypher literal.");
+	}
+
+	@Test
+	void shouldCreateMapLiterals() {
+
+		Map<String, Object> content = new LinkedHashMap<>();
+		content.put("name", "Test");
+		content.put("ids", new long[] { 1L, 2L });
+		content.put("flag", Cypher.literalTrue());
+
+		assertThat(Cypher.literalOf(content)).isInstanceOf(MapLiteral.class)
+			.returns("{name: 'Test', ids: [1, 2], flag: true}", v -> v.asString());
+	}
+
+	@Test
+	void shouldEscapeKeysOfMapLiterals() {
+
+		Map<String, Object> content = new LinkedHashMap<>();
+		content.put("a b", 1);
+		content.put("a`}) DETACH DELETE x //", 2);
+
+		assertThat(Cypher.literalOf(content).asString())
+			.isEqualTo("{`a b`: 1, `a``}) DETACH DELETE x //`: 2}");
+	}
+
+	@Test
+	void shouldNotCreateMapLiteralsWithInvalidKeys() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.literalOf(Collections.singletonMap(1, "x")))
+			.withMessage("Keys of a map literal need to be of type CharSequence.");
+	}
+
 	@Test
 	void shouldCreatePropertyPointingToSymbolicName() {
 		Property property = Cypher.property("a", "b");
@@ -65,4 +142,37 @@ class CypherTest {
 		});
 	}
 
+	@Test
+	void statementsShouldMemoizeTheirCypher() {
+
+		Node n = Cypher.node("Person").named("n");
+		Statement statement = Cypher.match(n).returning(n).build();
+		Node m = Cypher.node("Movie").named("m");
+		Statement union = Cypher.union(statement, Cypher.match(m).returning(m).build());
+
+		String cypher = statement.getCypher();
+		assertThat(cypher).isEqualTo("MATCH (n:`Person`) RETURN n");
+		assertThat(statement.getCypher()).isSameAs(cypher);
+		assertThat(union.getCypher()).isEqualTo("MATCH (n:`Person`) RETURN n UNION MATCH (m:`Movie`) RETURN m");
+		assertThat(union.getCypher()).isSameAs(union.getCypher());
+	}
+
+	@Test
+	void otherStatementsShouldGetDefaultsDelegatingToTheRendererAndAnalyzers() {
+
+		Node n = Cypher.node("Person").named("n");
+		Statement delegate = Cypher.match(n).where(n.property("name").isEqualTo(Cypher.parameter("name")))
+			.returning(n).build();
+		Statement statement = new Statement() {
+			@Override
+			public void accept(Visitor visitor) {
+				delegate.accept(visitor);
+			}
+		};
+
+		assertThat(statement.getCypher()).isEqualTo("MATCH (n:`Person`) WHERE n.name = $name RETURN n");
+		assertThat(statement.getParameterNames()).containsExactly("name");
+		assertThatIllegalArgumentException().isThrownBy(statement::getInfo)
+			.withMessageStartingWith("Unsupported element");
+	}
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class IndexFriendlyRewriterTest {
+
+	private static final CypherParser parser = CypherParser.getDefaultParser();
+
+	private static final IndexFriendlyRewriter rewriter = IndexFriendlyRewriter
+		.forIndexes("Person.name", "Person.born", "Movie.title", "Person.email")
+		.withLowerCaseProperties("Person.email");
+
+	private static Stream<Arguments> rewrites() {
+
+		return Stream.of(
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE n.name =~ '(?s)^Keanu.*' RETURN n",
+				"MATCH (n:`Person`) WHERE n.name STARTS WITH 'Keanu' RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE n.name =~ '(?s)Dr\\\\. No.*$' RETURN n",
+				"MATCH (n:`Person`) WHERE n.name STARTS WITH 'Dr. No' RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE n.name =~ '^Keanu Reeves$' RETURN n",
+				"MATCH (n:`Person`) WHERE n.name = 'Keanu Reeves' RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE (n.born = 1964 OR n.born = 1967 OR n.born = $year) RETURN n",
+				"MATCH (n:`Person`) WHERE n.born IN [1964, 1967, $year] RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE (1964 = n.born OR n.name = 'Keanu' OR n.born IN [1967, 1970]) RETURN n",
+				"MATCH (n:`Person`) WHERE (n.born IN [1964, 1967, 1970] OR n.name = 'Keanu') RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE (n.born > 1960 AND n.name = 'Keanu' AND n.born >= 1964 AND n.born < 2000 AND 1990 > n.born) RETURN n",
+				"MATCH (n:`Person`) WHERE (n.born >= 1964 AND 1990 > n.born AND n.name = 'Keanu') RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE (n.born >= 1964 AND n.born <= 1964.0) RETURN n",
+				"MATCH (n:`Person`) WHERE n.born = 1964 RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE (n.born > 1964 AND n.born >= 1964) RETURN n",
+				"MATCH (n:`Person`) WHERE n.born > 1964 RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE toLower(n.email) = 'Keanu@Example.com' RETURN n",
+				"MATCH (n:`Person`) WHERE n.email = 'Keanu@Example.com' RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE toLower($email) = toLower(n.email) RETURN n",
+				"MATCH (n:`Person`) WHERE n.email = toLower($email) RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE $email = toLower(n.email) RETURN n",
+				"MATCH (n:`Person`) WHERE n.email = $email RETURN n"),
+			Arguments.of(
+				"MATCH (n:`Person`) WHERE toLower(n.email) STARTS WITH $prefix RETURN n",
+				"MATCH (n:`Person`) WHERE n.email STARTS WITH $prefix RETURN n"),
+			Arguments.of(
+				"MATCH (m:`Movie`)<-[:`ACTED_IN`]-(n:`Person`) WHERE ((m.title = 'The Matrix' OR m.title = 'Speed') AND n.name =~ '(?s)Keanu.*') RETURN n",
+				"MATCH (m:`Movie`)<-[:`ACTED_IN`]-(n:`Person`) WHERE (m.title IN ['The Matrix', 'Speed'] AND n.name STARTS WITH 'Keanu') RETURN n")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("rewrites")
+	void shouldRewritePredicates(String cypher, String expected) {
+
+		assertThat(rewriter.rewrite(parser.parse(cypher)).getCypher()).isEqualTo(expected);
+	}
+
+	private static Stream<Arguments> unchangedStatements() {
+
+		return Stream.of(
+			Arguments.of("MATCH (n:`Person`) WHERE n.name =~ '^Keanu.*' RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE n.name =~ '(?i)keanu.*' RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE n.name =~ 'Kean[uo].*' RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE n.name =~ '\\w+.*' RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE n.name =~ '.*' RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE n.name =~ '(?s).*' RETURN n"),
+			Arguments.of("MATCH (n:`Movie`) WHERE n.name =~ 'Keanu.*' RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE (n.born = 1964 OR n.name = 'Keanu') RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE (n.born = 1964 OR n.born = n.died) RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE (n.born = 1964 AND n.born = 1967) RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE (n.born > 1964 AND n.born < 1970) RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE (n.born > $from AND n.born > 1964) RETURN n"),
+			Arguments.of("MATCH (n:`Person`) WHERE toLower(n.name) = 'keanu' RETURN n"),
+			Arguments.of("MATCH (n) WHERE (n.born = 1964 OR n.born = 1967) RETURN n")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("unchangedStatements")
+	void shouldKeepOtherPredicates(String cypher) {
+
+		Statement statement = parser.parse(cypher);
+		assertThat(rewriter.rewrite(statement)).isSameAs(statement);
+	}
+
+	@Test
+	void shouldOnlyMergeOperandsRenderedWithTheSameOperator() {
+
+		Node person = Cypher.node("Person").named("n");
+		Property born = person.property("born");
+		Statement statement = Cypher.match(person)
+			.where(born.isEqualTo(Cypher.literalOf(1)).or(born.isEqualTo(Cypher.literalOf(2))))
+			.and(born.isEqualTo(Cypher.literalOf(3)).or(born.isEqualTo(Cypher.literalOf(4))))
+			.returning(person)
+			.build();
+
+		assertThat(statement.getCypher())
+			.isEqualTo("MATCH (n:`Person`) WHERE (n.born = 1 OR n.born = 2 AND (n.born = 3 OR n.born = 4)) RETURN n");
+		assertThat(rewriter.rewrite(statement).getCypher())
+			.isEqualTo("MATCH (n:`Person`) WHERE (n.born = 1 OR n.born = 2 AND n.born IN [3, 4]) RETURN n");
+	}
+
+	@Test
+	void shouldUseIndexesFromStatistics() throws IOException, URISyntaxException {
+
+		GraphStatistics statistics = GraphStatistics
+			.read(Paths.get(IndexFriendlyRewriterTest.class.getResource("/graph-statistics.json").toURI()));
+		Node person = Cypher.node("Person").named("n");
+		Statement statement = Cypher.match(person)
+			.where(person.property("name").matches("(?s)Keanu.*"))
+			.and(person.property("born").matches("19.*"))
+			.returning(person)
+			.build();
+
+		assertThat(IndexFriendlyRewriter.forIndexes(statistics).rewrite(statement).getCypher())
+			.isEqualTo("MATCH (n:`Person`) WHERE (n.name STARTS WITH 'Keanu' AND n.born =~ '19.*') RETURN n");
+	}
+
+	@Test
+	void shouldValidateProperties() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> IndexFriendlyRewriter.forIndexes("name"))
+			.withMessage("Properties must be given as Label.property, not name.");
+		assertThatIllegalArgumentException().isThrownBy(() -> rewriter.withLowerCaseProperties("Person."));
+	}
+}
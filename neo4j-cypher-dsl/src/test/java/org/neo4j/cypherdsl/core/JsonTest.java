@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class JsonTest {
+
+	@Test
+	void shouldParseDocuments() {
+
+		Map<String, Object> expected = new LinkedHashMap<>();
+		expected.put("a", 1L);
+		expected.put("b", Arrays.asList(1.5, -2e3, "x", true, false, null));
+		expected.put("c", Collections.singletonMap("d", Collections.emptyList()));
+		expected.put("e", 123456789012345678901234.0);
+
+		assertThat(Json.parse(" { \"a\" : 1, \"b\": [1.5, -2e3, \"x\", true, false, null],"
+			+ "\"c\": {\"d\": []}, \"e\": 123456789012345678901234 } ")).isEqualTo(expected);
+	}
+
+	@Test
+	void shouldParseEscapes() {
+
+		assertThat(Json.parse("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e4\"")).isEqualTo("\"\\/\b\f\n\r\t\u00e4");
+	}
+
+	private static Stream<Arguments> invalidDocuments() {
+
+		return Stream.of(
+			Arguments.of("", "Invalid JSON: Unexpected end of document at position 0."),
+			Arguments.of("{\"a\" 1}", "Invalid JSON: Expected ':' at position 5."),
+			Arguments.of("{1: 1}", "Invalid JSON: Expected a string as key at position 1."),
+			Arguments.of("[1, 2", "Invalid JSON: Expected ']' at position 5."),
+			Arguments.of("\"abc", "Invalid JSON: Unterminated string at position 4."),
+			Arguments.of("\"\\x\"", "Invalid JSON: Invalid escape sequence '\\x' at position 3."),
+			Arguments.of("-", "Invalid JSON: Invalid number '-' at position 1."),
+			Arguments.of("nul", "Invalid JSON: Unexpected character 'n' at position 0."),
+			Arguments.of("{} {}", "Invalid JSON: Unexpected content after the document at position 3.")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidDocuments")
+	void shouldRejectInvalidDocuments(String json, String message) {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Json.parse(json)).withMessage(message);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class LateMaterializationRewriterTest {
+
+	private static final CypherParser parser = CypherParser.getDefaultParser();
+
+	private static Stream<Arguments> rewrites() {
+
+		return Stream.of(
+			Arguments.of(
+				"MATCH (n:`Person`) RETURN n{.*, friends: [(n)-[:`KNOWS`]->(f) | f.name]} ORDER BY n.name LIMIT 20",
+				"MATCH (n:`Person`) WITH * ORDER BY n.name LIMIT 20 RETURN n{.*, friends: [(n)-[:`KNOWS`]->(f) | f.name]} ORDER BY n.name"),
+			Arguments.of(
+				"MATCH (n:`Person`) RETURN n.name AS name, [(n)-[:`ACTED_IN`]->(m) | m.title] AS movies SKIP 10 LIMIT 10",
+				"MATCH (n:`Person`) WITH * SKIP 10 LIMIT 10 RETURN n.name AS name, [(n)-[:`ACTED_IN`]->(m) | m.title] AS movies"),
+			Arguments.of(
+				"MATCH (n:`Person`) WITH n WHERE n.born > 1970 RETURN n{.name} ORDER BY n.born DESC LIMIT 5",
+				"MATCH (n:`Person`) WITH n WHERE n.born > 1970 WITH * ORDER BY n.born DESC LIMIT 5 RETURN n{.name} ORDER BY n.born DESC"),
+			Arguments.of(
+				"MATCH (n:`Person`) RETURN n{.name} LIMIT 1 UNION MATCH (n:`Movie`) RETURN n{.name} LIMIT 1",
+				"MATCH (n:`Person`) WITH * LIMIT 1 RETURN n{.name} UNION MATCH (n:`Movie`) WITH * LIMIT 1 RETURN n{.name}")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("rewrites")
+	void shouldLimitBeforeProjecting(String cypher, String expected) {
+
+		assertThat(LateMaterializationRewriter.rewrite(parser.parse(cypher)).getCypher()).isEqualTo(expected);
+	}
+
+	private static Stream<Arguments> unchangedStatements() {
+
+		return Stream.of(
+			Arguments.of("MATCH (n:`Person`) RETURN n{.*} ORDER BY n.name"),
+			Arguments.of("MATCH (n:`Person`) RETURN n.name ORDER BY n.name LIMIT 20"),
+			Arguments.of("MATCH (n:`Person`) RETURN DISTINCT n{.name} LIMIT 20"),
+			Arguments.of("MATCH (n:`Person`) RETURN n{.name}, count(*) LIMIT 20"),
+			Arguments.of("MATCH (n:`Person`) RETURN n.name AS name, n{.*} AS person ORDER BY name LIMIT 20"),
+			Arguments.of("MATCH (n:`Person`) CREATE (m:`Movie`)"),
+			Arguments.of("MATCH (:`Person`) RETURN [(a:`X`)-->(b) | b] AS x LIMIT 3")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("unchangedStatements")
+	void shouldKeepStatementsThatCannotBeMaterializedLater(String cypher) {
+
+		Statement statement = parser.parse(cypher);
+		assertThat(LateMaterializationRewriter.rewrite(statement)).isSameAs(statement);
+	}
+
+	@Test
+	void shouldReduceEstimatedCost() throws IOException, URISyntaxException {
+
+		CostEstimator estimator = CostEstimator.using(GraphStatistics
+			.read(Paths.get(LateMaterializationRewriterTest.class.getResource("/graph-statistics.json").toURI())));
+
+		Node person = Cypher.node("Person").named("n");
+		Node movie = Cypher.anyNode("m");
+		Statement statement = Cypher.match(person)
+			.returning(person.project("name", "movies",
+				Cypher.listBasedOn(person.relationshipTo(movie, "ACTED_IN")).returning(movie.property("title"))))
+			.orderBy(person.property("name").ascending())
+			.limit(20)
+			.build();
+		Statement rewritten = LateMaterializationRewriter.rewrite(statement);
+
+		CostEstimate before = estimator.estimate(statement);
+		CostEstimate after = estimator.estimate(rewritten);
+		assertThat(after.getEstimatedRows()).isEqualTo(before.getEstimatedRows()).isEqualTo(20.0);
+		assertThat(after.getClauses()).extracting(CostEstimate.ClauseEstimate::getClause)
+			.containsExactly("MATCH", "WITH", "RETURN");
+		assertThat(after.getClauses().get(2).getCost()).isLessThan(1000.0);
+		// The projection is evaluated for 20 instead of 8000 rows.
+		assertThat(before.getCost() - after.getCost()).isGreaterThan(20_000.0);
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class PlanAnalysisTest {
+
+	private static Map<String, Object> operator(String operatorType, List<String> identifiers, long dbHits, long rows,
+		Map<?, ?>... children) {
+
+		Map<String, Object> operator = new LinkedHashMap<>();
+		operator.put("operatorType", operatorType);
+		operator.put("identifiers", identifiers);
+		operator.put("dbHits", dbHits);
+		operator.put("rows", rows);
+		operator.put("children", Arrays.asList(children));
+		return operator;
+	}
+
+	@Test
+	void shouldAttributeCartesianProductToMatch() throws Exception {
+
+		Node person = Cypher.node("Person").named("p");
+		Node movie = Cypher.node("Movie").named("m");
+		Statement statement = Cypher.match(person, movie)
+			.where(person.property("name").isEqualTo(Cypher.parameter("name")))
+			.returning(person, movie)
+			.build();
+		QueryPlan plan = QueryPlan
+			.read(Paths.get(PlanAnalysisTest.class.getResource("/profile-cartesian-product.json").toURI()));
+
+		PlanAnalysis analysis = PlanAnalysis.of(statement, plan);
+
+		assertThat(analysis.getClauses()).extracting(PlanAnalysis.ClauseProfile::toString).containsExactly(
+			"1 MATCH: rows=2000, dbHits=2003, operators=[CartesianProduct, NodeIndexSeek, NodeByLabelScan]",
+			"2 RETURN: rows=2000, dbHits=0, operators=[ProduceResults]"
+		);
+		assertThat(analysis.getClausesUsing("CartesianProduct"))
+			.extracting(PlanAnalysis.ClauseProfile::getClauseIndex).containsExactly(1);
+		assertThat(analysis.getClausesUsing("AllNodesScan")).isEmpty();
+		assertThat(analysis.getTotalDbHits()).isEqualTo(2003L);
+		assertThat(analysis.getRows()).isEqualTo(2000L);
+	}
+
+	@Test
+	void shouldAttributeOperatorsByIntroducedVariables() {
+
+		Node movie = Cypher.node("Movie").named("m");
+		Node director = Cypher.node("Person").named("d");
+		SymbolicName directors = Cypher.name("directors");
+		Statement statement = Cypher.match(movie)
+			.optionalMatch(movie.relationshipFrom(director, "DIRECTED"))
+			.with(movie.getRequiredSymbolicName(), Functions.count(director).as("directors"))
+			.orderBy(directors).descending()
+			.limit(10)
+			.returning(movie.property("title").as("title"), directors)
+			.build();
+		Map<String, Object> plan = operator("ProduceResults", Arrays.asList("m", "directors", "title"), 0, 10,
+			operator("Projection", Arrays.asList("m", "directors", "title"), 20, 10,
+				operator("Top", Arrays.asList("m", "directors"), 0, 10,
+					operator("EagerAggregation", Arrays.asList("m", "directors"), 0, 2000,
+						operator("Apply", Arrays.asList("m", "d", "anon_0"), 0, 2500,
+							operator("NodeByLabelScan", Collections.singletonList("m"), 2001, 2000),
+							operator("Optional", Arrays.asList("m", "d", "anon_0"), 0, 2500,
+								operator("Expand(All)", Arrays.asList("m", "d", "anon_0"), 6500, 1500,
+									operator("Argument", Collections.singletonList("m"), 0, 2000))))))));
+
+		PlanAnalysis analysis = PlanAnalysis.of(statement, QueryPlan.of(Collections.singletonMap("plan", plan)));
+
+		assertThat(analysis.getClauses()).extracting(PlanAnalysis.ClauseProfile::toString).containsExactly(
+			"1 MATCH: rows=2000, dbHits=2001, operators=[NodeByLabelScan]",
+			"2 OPTIONAL MATCH: rows=2500, dbHits=6500, operators=[Apply, Optional, Expand(All), Argument]",
+			"3 WITH: rows=10, dbHits=0, operators=[Top, EagerAggregation]",
+			"4 RETURN: rows=10, dbHits=20, operators=[ProduceResults, Projection]"
+		);
+	}
+
+	@Test
+	void shouldAttributeUpdatingOperators() {
+
+		Node person = Cypher.node("Person").named("n");
+		Statement statement = Cypher.match(person)
+			.set(person.property("seen").to(Cypher.literalTrue()))
+			.returning(person)
+			.build();
+		Map<String, Object> plan = operator("ProduceResults", Collections.singletonList("n"), 0, 8000,
+			operator("Eager", Collections.singletonList("n"), 0, 8000,
+				operator("SetProperty", Collections.singletonList("n"), 8000, 8000,
+					operator("NodeByLabelScan", Collections.singletonList("n"), 8001, 8000))));
+
+		PlanAnalysis analysis = PlanAnalysis.of(statement, QueryPlan.of(plan));
+
+		assertThat(analysis.getClauses()).extracting(PlanAnalysis.ClauseProfile::getOperatorTypes).containsExactly(
+			Collections.singletonList("NodeByLabelScan"),
+			Arrays.asList("Eager", "SetProperty"),
+			Collections.singletonList("ProduceResults")
+		);
+	}
+
+	@Test
+	void shouldReadStatisticsFromArguments() {
+
+		Map<String, Object> arguments = new LinkedHashMap<>();
+		arguments.put("DbHits", 42L);
+		arguments.put("Rows", 7L);
+		Map<String, Object> operator = new LinkedHashMap<>();
+		operator.put("operatorType", "AllNodesScan@system");
+		operator.put("identifiers", Collections.singletonList("n"));
+		operator.put("arguments", arguments);
+
+		QueryPlan plan = QueryPlan.of(operator);
+
+		assertThat(plan.getOperatorType()).isEqualTo("AllNodesScan");
+		assertThat(plan.getDbHits()).isEqualTo(42L);
+		assertThat(plan.getRows()).isEqualTo(7L);
+		assertThat(plan).hasToString("AllNodesScan: rows=7, dbHits=42");
+	}
+
+	@Test
+	void shouldRejectInvalidPlans() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> QueryPlan.parse("{\"plan\": {\"rows\": 1}}"))
+			.withMessage("Every operator needs an operatorType.");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> QueryPlan.parse("{\"operatorType\": \"Argument\", \"rows\": -1}"))
+			.withMessage("Database hits and rows must be non-negative numbers.");
+	}
+}
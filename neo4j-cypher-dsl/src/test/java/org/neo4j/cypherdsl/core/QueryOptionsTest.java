@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.cypherdsl.core.support.Visitor;
+
+class QueryOptionsTest {
+
+	private final Node person = Cypher.node("Person").named("p");
+
+	private final Statement statement = Cypher.match(person)
+		.where(person.property("name").isEqualTo(Cypher.parameter("name")))
+		.returning(person)
+		.build();
+
+	private static Stream<Arguments> prefixes() {
+
+		return Stream.of(
+			Arguments.of(QueryOptions.builder().build(), ""),
+			Arguments.of(QueryOptions.builder().explain().build(), "EXPLAIN "),
+			Arguments.of(QueryOptions.builder().profile().build(), "PROFILE "),
+			Arguments.of(QueryOptions.builder().runtime(QueryOptions.Runtime.PIPELINED).build(),
+				"CYPHER runtime=pipelined "),
+			Arguments.of(QueryOptions.builder().version("4.0").planner(QueryOptions.Planner.COST)
+					.runtime(QueryOptions.Runtime.SLOTTED).option("expressionEngine", "compiled").build(),
+				"CYPHER 4.0 planner=cost runtime=slotted expressionEngine=compiled "),
+			Arguments.of(QueryOptions.builder().runtime(QueryOptions.Runtime.SLOTTED)
+					.runtime(QueryOptions.Runtime.INTERPRETED).profile().build(),
+				"PROFILE CYPHER runtime=interpreted ")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("prefixes")
+	void shouldRenderOptionsAsPrefix(QueryOptions options, String prefix) {
+
+		Statement statementWithOptions = options.applyTo(statement);
+		assertThat(statementWithOptions.getCypher())
+			.isEqualTo(prefix + "MATCH (p:`Person`) WHERE p.name = $name RETURN p");
+	}
+
+	@ParameterizedTest
+	@MethodSource("prefixes")
+	void shouldParseOptions(QueryOptions options, String prefix) {
+
+		String cypher = options.applyTo(statement).getCypher();
+		Statement parsed = CypherParser.getDefaultParser().parse(cypher);
+
+		assertThat(parsed).isInstanceOf(prefix.isEmpty() ? Statement.class : StatementWithOptions.class);
+		assertThat(parsed.getCypher()).isEqualTo(cypher);
+	}
+
+	@Test
+	void shouldShareRenderingOfWrappedStatement() {
+
+		AtomicInteger renderings = new AtomicInteger();
+		Statement wrapped = new Statement() {
+			@Override
+			public String getCypher() {
+				renderings.incrementAndGet();
+				return "RETURN 1";
+			}
+
+			@Override
+			public StatementInfo getInfo() {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Set<String> getParameterNames() {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void accept(Visitor visitor) {
+				throw new UnsupportedOperationException();
+			}
+		};
+
+		assertThat(QueryOptions.builder().explain().build().applyTo(wrapped).getCypher())
+			.isEqualTo("EXPLAIN RETURN 1");
+		assertThat(QueryOptions.builder().profile().build().applyTo(wrapped).getCypher())
+			.isEqualTo("PROFILE RETURN 1");
+		assertThat(renderings).hasValue(2);
+	}
+
+	@Test
+	void shouldBehaveLikeTheWrappedStatement() {
+
+		StatementWithOptions statementWithOptions = QueryOptions.builder().explain().build().applyTo(statement);
+
+		assertThat(statementWithOptions.getStatement()).isSameAs(statement);
+		assertThat(statementWithOptions.getParameterNames()).containsExactly("name");
+		assertThat(statementWithOptions.getInfo().isReadOnly()).isTrue();
+		assertThat(statementWithOptions.getInfo().getReadLabels()).containsExactly("Person");
+		assertThat(statementWithOptions.getInfo()).isSameAs(statement.getInfo());
+	}
+
+	@Test
+	void shouldSurviveEncoding() {
+
+		Statement statementWithOptions = QueryOptions.builder().version("4.0").runtime(QueryOptions.Runtime.SLOTTED)
+			.option("expressionEngine", "compiled").profile().build().applyTo(statement);
+		Statement decoded = StatementCodec.decode(StatementCodec.encode(statementWithOptions));
+
+		assertThat(decoded).isInstanceOf(StatementWithOptions.class);
+		assertThat(decoded.getCypher()).isEqualTo(statementWithOptions.getCypher());
+		assertThat(StatementCodec.fingerprint(decoded)).isNotEqualTo(StatementCodec.fingerprint(statement));
+	}
+
+	@Test
+	void shouldValidateOptions() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> QueryOptions.builder().version("4.0 MATCH"))
+			.withMessage("The version must be a major or a major.minor version.");
+		assertThatIllegalArgumentException().isThrownBy(() -> QueryOptions.builder().option("runtime", "slotted x"))
+			.withMessage("The value of an option must be a single word.");
+		assertThatIllegalArgumentException().isThrownBy(() -> QueryOptions.builder().option("", "slotted"))
+			.withMessage("The name of an option must be a single word.");
+
+		QueryOptions options = QueryOptions.builder().explain().build();
+		StatementWithOptions statementWithOptions = options.applyTo(statement);
+		assertThatIllegalArgumentException().isThrownBy(() -> options.applyTo(statementWithOptions))
+			.withMessage("The statement has already options applied.");
+	}
+}
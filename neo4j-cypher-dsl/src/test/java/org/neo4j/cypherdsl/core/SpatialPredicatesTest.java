@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SpatialPredicatesTest {
+
+	private static final CypherParser parser = CypherParser.getDefaultParser();
+
+	private static final StatementRewriter rewriter = StatementRewriter.withRules(SpatialPredicates.boundingBoxRule());
+
+	private static Stream<Arguments> rewrites() {
+
+		return Stream.of(
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE distance(s.location, point({x: 3.0, y: 4.0})) <= 10.0 RETURN s",
+				"MATCH (s:`Store`) WHERE (s.location >= point({x: -7.0, y: -6.0}) AND s.location <= point({x: 13.0, y: 14.0}) AND distance(s.location, point({x: 3.0, y: 4.0})) <= 10.0) RETURN s"),
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE 10 > distance(point({x: $x, y: $y}), s.location) RETURN s",
+				"MATCH (s:`Store`) WHERE (s.location >= point({x: ($x - 10), y: ($y - 10)}) AND s.location <= point({x: ($x + 10), y: ($y + 10)}) AND 10 > distance(point({x: $x, y: $y}), s.location)) RETURN s"),
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE (s.rating > 3 AND distance(s.location, point({longitude: 12.0, latitude: 56.0, crs: 'WGS-84'})) < 1000.0) RETURN s",
+				"MATCH (s:`Store`) WHERE (s.rating > 3 AND s.location >= point({latitude: 55.99100678394081, longitude: 11.983917506669819}) AND s.location <= point({latitude: 56.00899321605919, longitude: 12.016082493330181}) AND distance(s.location, point({longitude: 12.0, latitude: 56.0, crs: 'WGS-84'})) < 1000.0) RETURN s"),
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE distance(s.location, point({latitude: 89.99, longitude: 0.0})) < 5000.0 RETURN s",
+				"MATCH (s:`Store`) WHERE (s.location >= point({latitude: 89.94503391970406, longitude: -180.0}) AND s.location <= point({latitude: 90.0, longitude: 180.0}) AND distance(s.location, point({latitude: 89.99, longitude: 0.0})) < 5000.0) RETURN s"),
+			Arguments.of(
+				"MATCH (s:`Store`) WHERE distance(s.location, point({latitude: 0.0, longitude: 179.99})) < 5000.0 RETURN s",
+				"MATCH (s:`Store`) WHERE (s.location >= point({latitude: -0.04496608029593653, longitude: -180.0}) AND s.location <= point({latitude: 0.04496608029593653, longitude: 180.0}) AND distance(s.location, point({latitude: 0.0, longitude: 179.99})) < 5000.0) RETURN s")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("rewrites")
+	void shouldAddBoundingBoxes(String cypher, String expected) {
+
+		Statement rewritten = rewriter.rewrite(parser.parse(cypher));
+		assertThat(rewritten.getCypher()).isEqualTo(expected);
+	}
+
+	@ParameterizedTest
+	@MethodSource("rewrites")
+	void shouldBeIdempotent(String cypher, String expected) {
+
+		Statement rewritten = rewriter.rewrite(parser.parse(expected));
+		assertThat(rewritten.getCypher()).isEqualTo(expected);
+	}
+
+	private static Stream<String> unchanged() {
+
+		return Stream.of(
+			"MATCH (s:`Store`) WHERE (s.rating > 3 OR distance(s.location, point({x: 3.0, y: 4.0})) <= 10.0) RETURN s",
+			"MATCH (s:`Store`) WHERE distance(s.location, point({x: 3.0, y: 4.0, z: 1.0})) <= 10.0 RETURN s",
+			"MATCH (s:`Store`) WHERE distance(s.location, point($center)) <= 10.0 RETURN s",
+			"MATCH (s:`Store`) WHERE distance(s.location, point({latitude: $lat, longitude: 12.0})) <= 10.0 RETURN s",
+			"MATCH (s:`Store`) WHERE distance(s.location, point({x: 3.0, y: 4.0})) >= 10.0 RETURN s"
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("unchanged")
+	void shouldLeaveOtherPredicatesAlone(String cypher) {
+
+		Statement rewritten = rewriter.rewrite(parser.parse(cypher));
+		assertThat(rewritten.getCypher()).isEqualTo(cypher);
+	}
+
+	@Test
+	void shouldLeaveDistancePredicatesRenderedAfterOrAlone() {
+
+		Node store = Cypher.node("Store").named("s");
+		Condition distance = Functions.distance(store.property("location"),
+			Functions.point(Cypher.mapOf("x", Cypher.literalOf(3.0), "y", Cypher.literalOf(4.0))))
+			.lte(Cypher.literalOf(10.0));
+		Statement statement = Cypher.match(store)
+			.where(store.property("a").isEqualTo(Cypher.literalTrue()))
+			.and(store.property("b").isEqualTo(Cypher.literalTrue()))
+			.or(store.property("c").isEqualTo(Cypher.literalTrue()).and(distance))
+			.returning(store)
+			.build();
+
+		String cypher = "MATCH (s:`Store`) WHERE (s.a = true AND s.b = true OR (s.c = true AND distance(s.location, point({x: 3.0, y: 4.0})) <= 10.0)) RETURN s";
+		assertThat(statement.getCypher()).isEqualTo(cypher);
+		assertThat(rewriter.rewrite(statement).getCypher()).isEqualTo(cypher);
+	}
+
+	@Test
+	void withinDistanceShouldIncludeBoundingBox() {
+
+		Node store = Cypher.node("Store").named("s");
+		Statement statement = Cypher.match(store)
+			.where(SpatialPredicates.withinDistance(store.property("location"),
+				Functions.point(Cypher.mapOf("x", Cypher.literalOf(3.0), "y", Cypher.literalOf(4.0))),
+				Cypher.literalOf(10.0)))
+			.returning(store)
+			.build();
+		assertThat(statement.getCypher()).isEqualTo("MATCH (s:`Store`) WHERE (s.location >= point({x: -7.0, y: -6.0}) AND s.location <= point({x: 13.0, y: 14.0}) AND distance(s.location, point({x: 3.0, y: 4.0})) <= 10.0) RETURN s");
+	}
+
+	@Test
+	void withinDistanceShouldFallBackToDistance() {
+
+		Node store = Cypher.node("Store").named("s");
+		Statement statement = Cypher.match(store)
+			.where(SpatialPredicates.withinDistance(store.property("location"), Cypher.parameter("center"),
+				Cypher.parameter("radius")))
+			.returning(store)
+			.build();
+		assertThat(statement.getCypher())
+			.isEqualTo("MATCH (s:`Store`) WHERE distance(s.location, $center) <= $radius RETURN s");
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.cypherdsl.core.renderer.Renderer;
+
+class StatementCodecTest {
+
+	private static final Renderer cypherRenderer = Renderer.getDefaultRenderer();
+
+	private static Stream<Statement> statements() {
+
+		Node user = Cypher.node("User").named("u");
+		Node bike = Cypher.node("Bike").named("b").withProperties("name", Cypher.literalOf("Brompton"));
+		Relationship owns = user.relationshipTo(bike, "OWNS").named("o");
+		Node n = Cypher.anyNode("n");
+		SymbolicName x = Cypher.name("x");
+
+		return Stream.of(
+			Cypher.match(owns)
+				.where(user.property("name").isEqualTo(Cypher.parameter("name"))
+					.and(bike.property("age").gt(Cypher.literalOf(3)).or(bike.property("new").isTrue()))
+					.and(user.hasLabels("Admin").not()))
+				.returning(user, bike).orderBy(user.property("name").descending()).skip(1).limit(10).build(),
+			Cypher.match(user).optionalMatch(user.relationshipBetween(Cypher.anyNode("m")).min(1).max(3))
+				.with(user).where(Predicates.exists(user.property("email")))
+				.returningDistinct(Functions.collect(user.property("email")).as("emails")).build(),
+			Cypher.match(n).returning(n.project("name", "__id__", Functions.id(n))).build(),
+			Cypher.match(n).where(Cypher.caseExpression(n.property("value"))
+					.when(Cypher.literalOf("a")).then(Cypher.literalTrue())
+					.when(Cypher.literalOf("b")).then(Cypher.literalFalse())
+					.elseDefault(Cypher.literalOf(null)))
+				.returning(Cypher.caseExpression().when(n.property("x").isNull()).then(Cypher.literalOf(1))).build(),
+			Cypher.returning(Cypher.listWith(x).in(Cypher.listOf(Cypher.literalOf(1.5d), Cypher.literalOf(2L)))
+				.where(x.gt(Cypher.literalOf(new BigDecimal("1.25")))).returning(x.remainder(Cypher.literalOf(2)))).build(),
+			Cypher.match(user).returning(Cypher.listBasedOn(user.relationshipTo(bike, "OWNS"))
+				.where(bike.hasLabels("Fast")).returning(bike.property("name")).as("bikes")).build(),
+			Cypher.match(Cypher.path("p").definedBy(n.relationshipTo(Cypher.anyNode("m"), "A", "B").unbounded()))
+				.where(Predicates.all("y").in(Cypher.listOf(Cypher.literalOf(1))).where(Conditions.isTrue()))
+				.returning(Cypher.asterisk()).build(),
+			Cypher.match(Cypher.shortestPath("p").definedBy(user.relationshipBetween(bike).unbounded()))
+				.returning("p").build(),
+			Cypher.unwind(Cypher.literalOf(new int[] { 1, 2, 3 })).as("i")
+				.with("i").returning(Cypher.literalOf(new long[] { 4L }), Cypher.literalOf(new double[] { 0.5 }),
+				Cypher.literalOf(Collections.singletonMap("k", Arrays.asList(Cypher.literalOf("v"), Cypher.literalOf(1))))).build(),
+			Cypher.merge(owns).set(bike.property("seen").to(Functions.coalesce(Cypher.literalOf(null), Cypher.literalOf(1)))).build(),
+			Cypher.create(user).with(user).set(user, "Admin").remove(user.property("tmp")).returning(user).build(),
+			Cypher.match(user).detachDelete(user).build(),
+			Cypher.match(owns).usingIndex(user, "name").usingScan(bike).usingJoinOn(user, bike)
+				.where(user.property("name").isEqualTo(Cypher.parameter("name"))).returning(bike).build(),
+			Cypher.unionAll(Cypher.match(user).returning(user).build(), Cypher.match(bike).returning(bike).build()),
+			Cypher.match(user).callInTransactions(Cypher.with(user).detachDelete(user).build(), 100)
+				.call(Cypher.match(bike).returning(bike).build()).returning(user, bike).build(),
+			Cypher.match(user.relationshipTo(bike, "OWNS").relationshipFrom(Cypher.node("Shop").named("s"), "SELLS"))
+				.where(Conditions.not(Cypher.anyNode().relationshipTo(bike, "STOLEN")))
+				.returning(user.property("name").concat(Cypher.literalOf("'s")).as("owner"),
+					Functions.count(bike.getRequiredSymbolicName()).add(Cypher.literalOf(1))).build()
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("statements")
+	void decodedStatementsShouldRenderIdentically(Statement statement) {
+
+		byte[] encoded = StatementCodec.encode(statement);
+		Statement decoded = StatementCodec.decode(encoded);
+
+		assertThat(decoded).isNotSameAs(statement);
+		assertThat(cypherRenderer.render(decoded)).isEqualTo(cypherRenderer.render(statement));
+	}
+
+	@Test
+	void shouldDecodeSeveralStatementsFromDirectBuffer() {
+
+		Node n = Cypher.node("N").named("n");
+		byte[] first = StatementCodec.encode(Cypher.match(n).returning(n).build());
+		byte[] second = StatementCodec.encode(Cypher.match(n).where(n.property("a").isNull()).returning(n).build());
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(first.length + second.length);
+		buffer.put(first).put(second).flip();
+
+		assertThat(cypherRenderer.render(StatementCodec.decode(buffer))).isEqualTo("MATCH (n:`N`) RETURN n");
+		assertThat(cypherRenderer.render(StatementCodec.decode(buffer)))
+			.isEqualTo("MATCH (n:`N`) WHERE n.a IS NULL RETURN n");
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	@Test
+	void shouldDecodeIndependentOfByteOrderOfBuffer() {
+
+		Node n = Cypher.node("N").named("n");
+		Statement statement = Cypher.match(n)
+			.where(n.property("a").gt(Cypher.literalOf(0.25)))
+			.returning(Cypher.literalOf(new double[] { 1.5, -2.75 }))
+			.build();
+		ByteBuffer buffer = ByteBuffer.wrap(StatementCodec.encode(statement)).order(ByteOrder.LITTLE_ENDIAN);
+
+		assertThat(cypherRenderer.render(StatementCodec.decode(buffer)))
+			.isEqualTo("MATCH (n:`N`) WHERE n.a > 0.25 RETURN [1.5, -2.75]");
+	}
+
+	@Test
+	void encodedStatementsShouldBeSmallerThanRenderedCypher() {
+
+		Node n = Cypher.node("Person").named("person");
+		Statement statement = Cypher.match(n)
+			.where(n.property("firstName").isEqualTo(Cypher.parameter("firstName"))
+				.and(n.property("lastName").isEqualTo(Cypher.parameter("lastName"))))
+			.returning(n.property("firstName"), n.property("lastName")).build();
+
+		assertThat(StatementCodec.encode(statement).length).isLessThan(cypherRenderer.render(statement).length());
+	}
+
+	@Test
+	void structurallyEqualStatementsShouldHaveEqualFingerprints() {
+
+		Node n = Cypher.node("Person").named("n");
+		Node m = Cypher.node("Person").named("n");
+
+		byte[] fingerprint = StatementCodec.fingerprint(Cypher.match(n).returning(n).build());
+		assertThat(fingerprint).hasSize(32);
+		assertThat(StatementCodec.fingerprint(Cypher.match(m).returning(m).build())).isEqualTo(fingerprint);
+		assertThat(StatementCodec.fingerprint(Cypher.match(m).returning(m).limit(1).build())).isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void shouldRejectInvalidData() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> StatementCodec.decode(new byte[] { 1, 2, 3 }))
+			.withMessage("Data does not contain an encoded statement.");
+		assertThatIllegalArgumentException().isThrownBy(() -> StatementCodec.decode(new byte[] { 'C', 'D', 'S', 'L', 9 }))
+			.withMessage("Unsupported format version 9, only version " + StatementCodec.FORMAT_VERSION + " is supported.");
+
+		byte[] encoded = StatementCodec.encode(Cypher.match(Cypher.anyNode("n")).returning("n").build());
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> StatementCodec.decode(Arrays.copyOf(encoded, encoded.length - 2)))
+			.withMessage("Malformed statement data.");
+
+		// A match without the boolean attribute marking it as optional
+		byte[] matchWithoutOptionalFlag = { 'C', 'D', 'S', 'L', StatementCodec.FORMAT_VERSION, 7, 0, 0 };
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> StatementCodec.decode(matchWithoutOptionalFlag))
+			.withMessage("Malformed statement data.");
+	}
+}
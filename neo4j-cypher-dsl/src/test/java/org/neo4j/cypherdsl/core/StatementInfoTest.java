@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class StatementInfoTest {
+
+	private static final Node person = Cypher.node("Person").named("p");
+	private static final Node movie = Cypher.node("Movie").named("m");
+
+	@Test
+	void shouldClassifyReads() {
+
+		Statement statement = Cypher.match(person.withProperties("name", Cypher.parameter("name"))
+			.relationshipTo(movie, "ACTED_IN"))
+			.where(movie.property("released").gt(Cypher.literalOf(2000)).and(movie.hasLabels("Classic")))
+			.returning(person.project("name", "born"), Cypher.listBasedOn(person.relationshipTo(Cypher.anyNode("d"),
+				"DIRECTED")).returning(Cypher.anyNode("d").property("title")))
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.isReadOnly()).isTrue();
+		assertThat(info.getReadLabels()).containsExactly("Person", "Movie", "Classic");
+		assertThat(info.getReadRelationshipTypes()).containsExactly("ACTED_IN", "DIRECTED");
+		assertThat(info.getReadProperties()).containsExactly("name", "released", "born", "title");
+		assertThat(info.getWrittenLabels()).isEmpty();
+		assertThat(info.getWrittenRelationshipTypes()).isEmpty();
+		assertThat(info.getWrittenProperties()).isEmpty();
+	}
+
+	@Test
+	void shouldClassifyCreates() {
+
+		Statement statement = Cypher.create(person.withProperties("name", Cypher.literalOf("Tom"))
+			.relationshipTo(movie.withProperties("title", Cypher.literalOf("Big")), "ACTED_IN")
+			.withProperties("role", Cypher.literalOf("Josh")))
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.isReadOnly()).isFalse();
+		assertThat(info.getWrittenLabels()).containsExactly("Person", "Movie");
+		assertThat(info.getWrittenRelationshipTypes()).containsExactly("ACTED_IN");
+		assertThat(info.getWrittenProperties()).containsExactly("name", "role", "title");
+		assertThat(info.getReadLabels()).isEmpty();
+	}
+
+	@Test
+	void shouldTreatMergesAsReadsAndWrites() {
+
+		Statement statement = Cypher.merge(person.withProperties("name", Cypher.parameter("name"))).build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.isReadOnly()).isFalse();
+		assertThat(info.getReadLabels()).containsExactly("Person");
+		assertThat(info.getWrittenLabels()).containsExactly("Person");
+		assertThat(info.getReadProperties()).containsExactly("name");
+		assertThat(info.getWrittenProperties()).containsExactly("name");
+	}
+
+	@Test
+	void shouldClassifySetAndRemove() {
+
+		Statement statement = Cypher.match(person)
+			.set(person.property("age").to(person.property("born").add(Cypher.literalOf(1))))
+			.set(person, "Actor")
+			.remove(person.property("nickname"))
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.isReadOnly()).isFalse();
+		assertThat(info.getReadProperties()).containsExactly("born");
+		assertThat(info.getWrittenProperties()).containsExactly("age", "nickname");
+		assertThat(info.getWrittenLabels()).containsExactly("Person", "Actor");
+		assertThat(info.hasIncompleteWrites()).isFalse();
+	}
+
+	@Test
+	void shouldAttributePropertyUpdatesToBoundLabelsAndTypes() {
+
+		Node company = Cypher.node("Company").named("c");
+		Relationship worksAt = person.relationshipTo(company, "WORKS_AT").named("w");
+		Statement statement = Cypher.match(worksAt)
+			.set(Cypher.anyNode("p").property("salary").to(Cypher.literalOf(1)))
+			.set(worksAt.property("since").to(Cypher.literalOf(2020)))
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.getWrittenLabels()).containsExactly("Person");
+		assertThat(info.getWrittenRelationshipTypes()).containsExactly("WORKS_AT");
+		assertThat(info.hasIncompleteWrites()).isFalse();
+	}
+
+	@Test
+	void shouldMarkUpdatesOfUnknownElements() {
+
+		Statement statement = Cypher.match(Cypher.anyNode("n").relationshipTo(Cypher.anyNode("m")))
+			.set(Cypher.anyNode("n").property("x").to(Cypher.literalOf(1)))
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.getWrittenLabels()).isEmpty();
+		assertThat(info.hasIncompleteWrites()).isTrue();
+	}
+
+	@Test
+	void shouldMarkReadsOfUnknownElements() {
+
+		Node company = Cypher.node("Company").named("c");
+		Node employee = Cypher.anyNode("p");
+		Statement statement = Cypher.match(company.relationshipFrom(employee, "WORKS_AT"))
+			.returning(employee.property("salary"))
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.getReadLabels()).containsExactly("Company");
+		assertThat(info.hasIncompleteReads()).isTrue();
+	}
+
+	@Test
+	void readsOfBoundElementsShouldBeComplete() {
+
+		Relationship actedIn = person.relationshipTo(movie, "ACTED_IN").named("r");
+		Statement statement = Cypher.match(actedIn)
+			.match(Cypher.anyNode("p").relationshipTo(Cypher.anyNode("m")).named("r"))
+			.returning(person)
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.getReadLabels()).containsExactly("Person", "Movie");
+		assertThat(info.getReadRelationshipTypes()).containsExactly("ACTED_IN");
+		assertThat(info.hasIncompleteReads()).isFalse();
+	}
+
+	@Test
+	void shouldDeriveDeletedLabelsAndTypesFromPatterns() {
+
+		Relationship actedIn = person.relationshipTo(movie, "ACTED_IN").named("r");
+		Statement statement = Cypher.match(actedIn).with(person, actedIn)
+			.delete(actedIn.getRequiredSymbolicName()).detachDelete(person.getRequiredSymbolicName())
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.isReadOnly()).isFalse();
+		assertThat(info.getWrittenLabels()).containsExactly("Person");
+		assertThat(info.getWrittenRelationshipTypes()).containsExactly("ACTED_IN");
+		// Detaching the person deletes relationships of any type.
+		assertThat(info.hasIncompleteWrites()).isTrue();
+	}
+
+	@Test
+	void deletingWithoutDetachingShouldBeComplete() {
+
+		Relationship actedIn = person.relationshipTo(movie, "ACTED_IN").named("r");
+		Statement statement = Cypher.match(actedIn)
+			.delete(actedIn.getRequiredSymbolicName(), person.getRequiredSymbolicName())
+			.build();
+
+		StatementInfo info = statement.getInfo();
+		assertThat(info.getWrittenLabels()).containsExactly("Person");
+		assertThat(info.getWrittenRelationshipTypes()).containsExactly("ACTED_IN");
+		assertThat(info.hasIncompleteWrites()).isFalse();
+	}
+
+	@Test
+	void shouldFindUpdatesInAllPartsOfAUnion() {
+
+		Statement statement = Cypher.union(
+			Cypher.match(person).returning(person).build(),
+			Cypher.create(movie).returning(movie).build());
+
+		assertThat(statement.getInfo().isReadOnly()).isFalse();
+		assertThat(statement.getInfo().getWrittenLabels()).containsExactly("Movie");
+	}
+
+	@Test
+	void shouldBeMemoized() {
+
+		Statement statement = Cypher.match(person).returning(person).build();
+		assertThat(statement.getInfo()).isSameAs(statement.getInfo());
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.cypherdsl.core.LintFinding.Severity;
+
+class StatementLinterTest {
+
+	private static final StatementLinter linter = StatementLinter.getDefaultLinter();
+
+	private static final Node person = Cypher.node("Person").named("p");
+	private static final Node movie = Cypher.node("Movie").named("m");
+
+	private static Stream<Arguments> statementsWithoutFindings() {
+
+		return Stream.of(
+			Arguments.of(Cypher.match(person.relationshipTo(movie, "ACTED_IN")).returning(person).build()),
+			Arguments.of(Cypher.match(person).match(person.relationshipTo(Cypher.anyNode("x")))
+				.returning(person).build()),
+			Arguments.of(Cypher.match(person.relationshipTo(movie), movie.relationshipFrom(Cypher.anyNode("d"), "DIRECTED"))
+				.returning(person).build()),
+			Arguments.of(Cypher.match(Cypher.anyNode("n")).where(Cypher.anyNode("n").hasLabels("Person"))
+				.returning("n").build()),
+			Arguments.of(Cypher.match(Cypher.anyNode("n")).where(Functions.id(Cypher.anyNode("n"))
+				.isEqualTo(Cypher.parameter("id"))).returning("n").build()),
+			Arguments.of(Cypher.match(Cypher.anyNode("n")).where(Cypher.anyNode("n").property("x").isEqualTo(
+				Cypher.literalOf(1)).and(Cypher.anyNode("n").hasLabels("Person"))).returning("n").build()),
+			Arguments.of(Cypher.match(person.relationshipTo(Cypher.anyNode("f"), "KNOWS").max(3))
+				.returning(person).build()),
+			Arguments.of(Cypher.match(person).with(person).match(person.relationshipTo(Cypher.anyNode("f")),
+				person.relationshipFrom(Cypher.anyNode("g"))).returning(person).build()),
+			Arguments.of(Cypher.match(person).merge(person.relationshipTo(movie, "LIKES")).build()),
+			Arguments.of(Cypher.create(person.relationshipTo(movie, "LIKES")).build())
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("statementsWithoutFindings")
+	void shouldNotReportWellBehavedStatements(Statement statement) {
+
+		assertThat(linter.lint(statement)).isEmpty();
+		linter.assertNoFindings(statement);
+	}
+
+	@Test
+	void shouldReportCartesianProducts() {
+
+		Statement statement = Cypher.match(person, movie).returning(person, movie).build();
+
+		List<LintFinding> findings = linter.lint(statement);
+		assertThat(findings).hasSize(1);
+		LintFinding finding = findings.get(0);
+		assertThat(finding.getRule()).isEqualTo(LintRule.CARTESIAN_PRODUCT);
+		assertThat(finding.getSeverity()).isEqualTo(Severity.WARNING);
+		assertThat(finding.getClauseIndex()).isEqualTo(1);
+		assertThat(finding.getClause()).isEqualTo("MATCH");
+		assertThat(finding.getElement()).isEqualTo("(p:Person), (m:Movie)");
+	}
+
+	@Test
+	void shouldConsiderVariablesBoundBefore() {
+
+		Node friend = Cypher.node("Person").named("f");
+		Statement statement = Cypher.match(person).with(person)
+			.match(person.relationshipTo(friend, "KNOWS"), movie).returning(person).build();
+
+		assertThat(linter.lint(statement)).extracting(LintFinding::getRule, LintFinding::getClauseIndex)
+			.containsExactly(tuple(LintRule.CARTESIAN_PRODUCT, 3));
+	}
+
+	@Test
+	void shouldReportUnboundedVariableLength() {
+
+		Statement statement = Cypher.match(person.relationshipTo(movie).unbounded().named("r"))
+			.optionalMatch(movie.relationshipBetween(Cypher.anyNode("o"), "SIMILAR").min(2))
+			.returning(person).build();
+
+		assertThat(linter.lint(statement))
+			.extracting(LintFinding::getRule, LintFinding::getClause, LintFinding::getElement)
+			.containsExactly(
+				tuple(LintRule.UNBOUNDED_VARIABLE_LENGTH, "MATCH", "-[r*]->"),
+				tuple(LintRule.UNBOUNDED_VARIABLE_LENGTH, "OPTIONAL MATCH", "-[:SIMILAR*2..]-"));
+	}
+
+	@Test
+	void shouldReportUnboundedVariableLengthInConditions() {
+
+		Statement statement = Cypher.match(person)
+			.where(person.relationshipTo(movie, "KNOWS").unbounded())
+			.returning(person).build();
+
+		assertThat(linter.lint(statement)).extracting(LintFinding::getRule, LintFinding::getElement)
+			.containsExactly(tuple(LintRule.UNBOUNDED_VARIABLE_LENGTH, "-[:KNOWS*]->"));
+	}
+
+	@Test
+	void shouldReportAllNodesScans() {
+
+		Node n = Cypher.anyNode("n");
+		Statement statement = Cypher.match(n.relationshipTo(Cypher.anyNode("m"), "KNOWS"))
+			.where(n.property("name").isEqualTo(Cypher.literalOf("x")))
+			.merge(Cypher.anyNode("o").withProperties("id", Cypher.literalOf(1)))
+			.returning(n).build();
+
+		assertThat(linter.lint(statement))
+			.extracting(LintFinding::getRule, LintFinding::getClause, LintFinding::getElement)
+			.containsExactly(
+				tuple(LintRule.ALL_NODES_SCAN, "MATCH", "(n)-[:KNOWS]->(m)"),
+				tuple(LintRule.ALL_NODES_SCAN, "MERGE", "(o)"));
+	}
+
+	private static Stream<Arguments> conditionsNotAnchoringMatches() {
+
+		Node n = Cypher.anyNode("n");
+		return Stream.of(
+			Arguments.of(n.hasLabels("Foo").not()),
+			Arguments.of(n.hasLabels("Foo").or(n.property("x").isEqualTo(Cypher.literalOf(1)))),
+			Arguments.of(Functions.id(n).isEqualTo(Cypher.parameter("id")).xor(n.property("x").isEqualTo(Cypher.literalTrue()))),
+			Arguments.of(Predicates.exists(n.property("x")).and(n.property("y").isEqualTo(Cypher.literalOf(1))))
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("conditionsNotAnchoringMatches")
+	void shouldOnlyConsiderTopLevelConjunctsAsAnchors(Condition condition) {
+
+		Statement statement = Cypher.match(Cypher.anyNode("n")).where(condition).returning("n").build();
+
+		assertThat(linter.lint(statement))
+			.extracting(LintFinding::getRule, LintFinding::getElement)
+			.containsExactly(tuple(LintRule.ALL_NODES_SCAN, "(n)"));
+	}
+
+	@Test
+	void shouldReportUndirectedRelationshipsInWrites() {
+
+		Statement statement = Cypher.match(person).with(person)
+			.merge(person.relationshipBetween(movie, "LIKES"))
+			.create(person.relationshipBetween(Cypher.node("Person").named("f"), "KNOWS"))
+			.build();
+
+		assertThat(linter.lint(statement))
+			.extracting(LintFinding::getRule, LintFinding::getSeverity, LintFinding::getClause,
+				LintFinding::getElement)
+			.containsExactly(
+				tuple(LintRule.UNDIRECTED_WRITE, Severity.WARNING, "MERGE", "(p:Person)-[:LIKES]-(m:Movie)"),
+				tuple(LintRule.UNDIRECTED_WRITE, Severity.ERROR, "CREATE", "(p:Person)-[:KNOWS]-(f:Person)"));
+	}
+
+	@Test
+	void shouldReportEagerMerges() {
+
+		Node otherMovie = Cypher.node("Movie").named("o");
+		Statement statement = Cypher.match(person.relationshipTo(movie, "LIKES"))
+			.merge(person.relationshipTo(otherMovie, "LIKES"))
+			.build();
+
+		assertThat(linter.lint(statement))
+			.extracting(LintFinding::getRule, LintFinding::getElement)
+			.containsExactly(
+				tuple(LintRule.EAGER_MERGE, "(o:Movie)"),
+				tuple(LintRule.EAGER_MERGE, "(p:Person)-[:LIKES]->(o:Movie)"));
+	}
+
+	@Test
+	void shouldResetStateForEachPartOfAUnion() {
+
+		Statement statement = Cypher.union(
+			Cypher.match(person).returning(person).build(),
+			Cypher.merge(person).returning(person).build());
+
+		assertThat(linter.lint(statement)).isEmpty();
+	}
+
+	@Test
+	void shouldCheckCalledSubqueries() {
+
+		Node n = Cypher.anyNode("n");
+		Node x = Cypher.anyNode("x");
+		Statement statement = Cypher.match(Cypher.node("Person").named("n"))
+			.call(Cypher.match(n.relationshipTo(x, "KNOWS")).returning(x).build())
+			.match(x.relationshipTo(Cypher.anyNode("y"), "KNOWS"))
+			.returning(n).build();
+
+		assertThat(linter.lint(statement))
+			.extracting(LintFinding::getRule, LintFinding::getClauseIndex, LintFinding::getElement)
+			.containsExactly(tuple(LintRule.ALL_NODES_SCAN, 3, "(n)-[:KNOWS]->(x)"));
+	}
+
+	@Test
+	void shouldConsiderVariablesImportedIntoSubqueries() {
+
+		Node n = Cypher.anyNode("n");
+		Node x = Cypher.anyNode("x");
+		Statement statement = Cypher.match(Cypher.node("Person").named("n"))
+			.call(Cypher.with(n).match(n.relationshipTo(x, "KNOWS")).returning(x).build())
+			.match(x.relationshipTo(Cypher.anyNode("y"), "KNOWS"))
+			.returning(n).build();
+
+		assertThat(linter.lint(statement)).isEmpty();
+	}
+
+	@Test
+	void shouldOnlyCheckSelectedRules() {
+
+		Statement statement = Cypher.match(Cypher.anyNode("a"), Cypher.anyNode("b")).returning("a", "b").build();
+
+		assertThat(linter.lint(statement)).extracting(LintFinding::getRule).containsExactly(
+			LintRule.CARTESIAN_PRODUCT, LintRule.ALL_NODES_SCAN, LintRule.ALL_NODES_SCAN);
+		assertThat(StatementLinter.withRules(LintRule.CARTESIAN_PRODUCT).lint(statement))
+			.extracting(LintFinding::getRule).containsExactly(LintRule.CARTESIAN_PRODUCT);
+		assertThat(StatementLinter.withRules().lint(statement)).isEmpty();
+	}
+
+	@Test
+	void assertionsShouldListAllFindings() {
+
+		Statement statement = Cypher.match(person.relationshipTo(movie).unbounded())
+			.create(person.relationshipBetween(movie, "LIKES")).build();
+
+		assertThatExceptionOfType(AssertionError.class)
+			.isThrownBy(() -> linter.assertNoFindings(statement))
+			.withMessageContaining("WARNING UNBOUNDED_VARIABLE_LENGTH in clause 1 (MATCH) at -[*]->")
+			.withMessageContaining("ERROR UNDIRECTED_WRITE in clause 2 (CREATE)");
+		assertThatExceptionOfType(AssertionError.class)
+			.isThrownBy(() -> linter.assertNoFindings(statement, Severity.ERROR))
+			.withMessageNotContaining("UNBOUNDED_VARIABLE_LENGTH");
+		StatementLinter.withRules(LintRule.UNBOUNDED_VARIABLE_LENGTH).assertNoFindings(statement, Severity.ERROR);
+	}
+}
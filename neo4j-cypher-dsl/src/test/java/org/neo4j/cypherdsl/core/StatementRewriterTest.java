@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.cypherdsl.core.renderer.Renderer;
+
+class StatementRewriterTest {
+
+	private static final Renderer cypherRenderer = Renderer.getDefaultRenderer();
+
+	private static final Node n = Cypher.node("Person").named("n");
+
+	private static final Condition a = n.property("a").isEqualTo(Cypher.literalOf(1));
+	private static final Condition b = n.property("b").isEqualTo(Cypher.literalOf(2));
+	private static final Condition c = n.property("c").isEqualTo(Cypher.literalOf(3));
+	private static final Condition d = n.property("d").isEqualTo(Cypher.literalOf(4));
+
+	private static Stream<Arguments> simplifications() {
+
+		return Stream.of(
+			Arguments.of(
+				Cypher.match(n).where(Conditions.isTrue().and(a).and(Conditions.noCondition().or(b))).returning(n).build(),
+				"MATCH (n:`Person`) WHERE (n.a = 1 AND n.b = 2) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(a.or(Conditions.isTrue()).and(Conditions.isTrue())).returning(n).build(),
+				"MATCH (n:`Person`) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(a.and(Conditions.isFalse().or(b.xor(Conditions.isFalse())))).returning(n).build(),
+				"MATCH (n:`Person`) WHERE (n.a = 1 AND n.b = 2) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(a.and(b).or(c.and(d))).returning(n).build(),
+				"MATCH (n:`Person`) WHERE ((n.a = 1 AND n.b = 2) OR (n.c = 3 AND n.d = 4)) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(a.and(b).or(c.and(Conditions.isTrue()))).returning(n).build(),
+				"MATCH (n:`Person`) WHERE ((n.a = 1 AND n.b = 2) OR n.c = 3) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(a.and(b.and(c).and(d))).returning(n).build(),
+				"MATCH (n:`Person`) WHERE (n.a = 1 AND n.b = 2 AND n.c = 3 AND n.d = 4) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(a.not().not().and(b.not()).and(n.property("e").isNull().not())).returning(n).build(),
+				"MATCH (n:`Person`) WHERE (n.a = 1 AND n.b <> 2 AND n.e IS NOT NULL) RETURN n"),
+			Arguments.of(
+				Cypher.match(n).where(Conditions.not(Conditions.not(n.relationshipTo(Cypher.anyNode(), "KNOWS"))))
+					.returning(n).build(),
+				"MATCH (n:`Person`) WHERE (n)-[:`KNOWS`]->() RETURN n"),
+			Arguments.of(
+				Cypher.returning(Cypher.literalOf(1).add(Cypher.literalOf(2)).multiply(Cypher.literalOf(3)),
+					Cypher.literalOf(7).divide(Cypher.literalOf(2)), Cypher.literalOf(7.0).divide(Cypher.literalOf(2)),
+					Cypher.literalOf(2).pow(Cypher.literalOf(3)), Cypher.literalOf(1).divide(Cypher.literalOf(0)),
+					Cypher.literalOf(Long.MAX_VALUE).add(Cypher.literalOf(1)),
+					Cypher.literalOf("a").concat(Cypher.literalOf("b"))).build(),
+				"RETURN 9, 3, 3.5, 8.0, (1 / 0), (9223372036854775807 + 1), 'ab'"),
+			Arguments.of(
+				Cypher.match(n).where(Cypher.literalOf(1).lt(Cypher.literalOf(2)).and(a)
+					.and(Cypher.literalOf("x").isEqualTo(Cypher.literalOf("y")).not())).returning(n).build(),
+				"MATCH (n:`Person`) WHERE n.a = 1 RETURN n"),
+			Arguments.of(
+				Cypher.match(n).returning(
+					Cypher.caseExpression(Cypher.literalOf(2))
+						.when(Cypher.literalOf(1)).then(Cypher.literalOf("one"))
+						.when(Cypher.literalOf(2)).then(n.property("name"))
+						.elseDefault(Cypher.literalOf("other")),
+					Cypher.caseExpression()
+						.when(Conditions.isFalse()).then(Cypher.literalOf(1))
+						.when(Conditions.isTrue()).then(Cypher.literalOf(2)),
+					Cypher.caseExpression(Cypher.literalOf("x"))
+						.when(Cypher.literalOf("y")).then(Cypher.literalOf(1)),
+					Cypher.caseExpression(n.property("a"))
+						.when(Cypher.literalOf(1)).then(Cypher.literalOf(1))).build(),
+				"MATCH (n:`Person`) RETURN n.name, 2, NULL, CASE n.a WHEN 1 THEN 1 END"),
+			Arguments.of(
+				Cypher.match(n).where(Cypher.caseExpression(Cypher.literalOf(1))
+						.when(Cypher.literalOf(1)).then(Cypher.literalTrue())).returning(n).build(),
+				"MATCH (n:`Person`) RETURN n")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("simplifications")
+	void shouldSimplify(Statement statement, String expected) {
+
+		Statement simplified = StatementRewriter.simplifier().rewrite(statement);
+		assertThat(cypherRenderer.render(simplified)).isEqualTo(expected);
+		assertThat(StatementRewriter.simplifier().rewrite(simplified)).isSameAs(simplified);
+	}
+
+	@Test
+	void shouldNotCopyStatementsWithoutChanges() {
+
+		Statement statement = Cypher.match(n.relationshipTo(Cypher.anyNode("m"), "KNOWS"))
+			.where(a.and(b).and(c.or(d))).returning(n.getRequiredSymbolicName(), Cypher.literalOf(1).add(n.property("x"))).build();
+
+		assertThat(StatementRewriter.simplifier().rewrite(statement)).isSameAs(statement);
+	}
+
+	@Test
+	void shouldKeepSharedElementsShared() {
+
+		Node m = Cypher.node("Movie").named("m")
+			.withProperties("year", Cypher.literalOf(2000).add(Cypher.literalOf(20)));
+		Statement statement = Cypher.match(m).match(n.relationshipTo(m, "WATCHED")).returning(m).build();
+
+		assertThat(cypherRenderer.render(StatementRewriter.simplifier().rewrite(statement)))
+			.isEqualTo("MATCH (m:`Movie` {year: 2020}) MATCH (n:`Person`)-[:`WATCHED`]->(m) RETURN m");
+	}
+
+	@Test
+	void shouldOnlyUseConditionsWhereConditionsAreRequired() {
+
+		Statement statement = Cypher.match(n)
+			.where(Cypher.caseExpression(Cypher.literalOf(1)).when(Cypher.literalOf(2)).then(Cypher.literalTrue()))
+			.returning(n).build();
+
+		assertThat(cypherRenderer.render(StatementRewriter.simplifier().rewrite(statement)))
+			.isEqualTo(cypherRenderer.render(statement));
+	}
+
+	@Test
+	void shouldApplyCustomRules() {
+
+		RewriteRule upperCase = element -> element instanceof StringLiteral ?
+			new StringLiteral(((StringLiteral) element).getContent().toString().toUpperCase()) :
+			element;
+		Statement statement = Cypher.match(n).where(n.property("name").isEqualTo(Cypher.literalOf("a")
+			.concat(Cypher.literalOf("b")))).returning(n).build();
+
+		StatementRewriter rewriter = StatementRewriter.withRules(SimplificationRule.FOLD_CONSTANTS, upperCase);
+		assertThat(cypherRenderer.render(rewriter.rewrite(statement)))
+			.isEqualTo("MATCH (n:`Person`) WHERE n.name = 'AB' RETURN n");
+		assertThat(rewriter.getRules()).containsExactly(SimplificationRule.FOLD_CONSTANTS, upperCase);
+	}
+
+	@Test
+	void shouldRejectRulesReturningNull() {
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> StatementRewriter.withRules(element -> null)
+				.rewrite(Cypher.match(n).returning(n).build()))
+			.withMessageEndingWith("returned null.");
+	}
+}
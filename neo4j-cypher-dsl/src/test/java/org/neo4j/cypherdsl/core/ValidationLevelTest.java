@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.cypherdsl.core.renderer.Renderer;
+
+class ValidationLevelTest {
+
+	private final ValidationLevel initialValidationLevel = Cypher.getValidationLevel();
+
+	@AfterEach
+	void restoreValidationLevel() {
+		Cypher.setValidationLevel(initialValidationLevel);
+	}
+
+	@Test
+	void fullValidationShouldRejectInvalidNamesAndDuplicateKeys() {
+
+		Cypher.setValidationLevel(ValidationLevel.FULL);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.name("not an identifier"))
+			.withMessage("Name must be a valid identifier.");
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.name(" "))
+			.withMessage("Name must not be empty.");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> Cypher.mapOf("a", Cypher.literalTrue(), "a", Cypher.literalFalse()))
+			.withMessage("Duplicate key 'a'");
+	}
+
+	@Test
+	void cachedValidationShouldStillRejectInvalidNames() {
+
+		Cypher.setValidationLevel(ValidationLevel.CACHED);
+
+		assertThat(Cypher.name("n").getValue()).isEqualTo("n");
+		assertThat(Cypher.name("n").getValue()).isEqualTo("n");
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.name("not an identifier"))
+			.withMessage("Name must be a valid identifier.");
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.name(null))
+			.withMessage("Name must not be empty.");
+	}
+
+	@Test
+	void disabledValidationShouldOnlyCheckForPresence() {
+
+		Cypher.setValidationLevel(ValidationLevel.OFF);
+
+		assertThat(Cypher.name("not an identifier").getValue()).isEqualTo("not an identifier");
+		assertThat(Cypher.property("n", " ").getName().getPropertyKeyName()).isEqualTo(" ");
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.name(""))
+			.withMessage("Name must not be empty.");
+
+		Node node = Cypher.node("Node").named("n");
+		Statement statement = Cypher.match(node)
+			.returning(node.project("a", Cypher.literalTrue(), "a", Cypher.literalFalse()))
+			.build();
+		assertThat(Renderer.getDefaultRenderer().render(statement))
+			.isEqualTo("MATCH (n:`Node`) RETURN n{a: true, a: false}");
+	}
+
+	@Test
+	void validationLevelIsRequired() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Cypher.setValidationLevel(null))
+			.withMessage("The validation level is required.");
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "'',FULL", "' ',FULL", "cached,CACHED", "' Off ',OFF", "full,FULL", "strict,FULL", "1,FULL" })
+	void shouldParseSystemPropertyLeniently(String value, ValidationLevel expected) {
+
+		assertThat(ValidationLevel.parse(value)).isEqualTo(expected);
+		assertThat(ValidationLevel.parse(null)).isEqualTo(ValidationLevel.FULL);
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.execution;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Functions;
+import org.neo4j.cypherdsl.core.Node;
+import org.neo4j.cypherdsl.core.Relationship;
+import org.neo4j.cypherdsl.core.Statement;
+
+class CachingStatementExecutorTest {
+
+	private static final Node PERSON = Cypher.node("Person").named("p");
+
+	private static final Node MOVIE = Cypher.node("Movie").named("m");
+
+	private static final Statement FIND_PERSON = Cypher.match(PERSON)
+		.where(PERSON.property("name").isEqualTo(Cypher.parameter("name")))
+		.returning(PERSON.property("born").as("born"))
+		.build();
+
+	private static final Statement FIND_MOVIES = Cypher.match(MOVIE)
+		.returning(MOVIE.property("title").as("title"))
+		.build();
+
+	private static final Statement FIND_ACTORS = Cypher.match(PERSON.relationshipTo(MOVIE, "ACTED_IN"))
+		.returning(PERSON.property("name").as("name"))
+		.build();
+
+	private static final Statement COUNT_NODES = Cypher.match(Cypher.anyNode().named("n"))
+		.returning(Functions.count(Cypher.name("n")).as("cnt"))
+		.build();
+
+	private final InMemoryStatementExecutor delegate = new InMemoryStatementExecutor()
+		.respondTo(FIND_PERSON, parameters -> Collections.singletonList(
+			Collections.singletonMap("born", "Keanu Reeves".equals(parameters.get("name")) ? 1964L : 1967L)))
+		.respondTo(FIND_MOVIES, Collections.singletonList(Collections.singletonMap("title", "The Matrix")))
+		.respondTo(FIND_ACTORS, Collections.singletonList(Collections.singletonMap("name", "Keanu Reeves")));
+
+	private static Map<String, Object> name(String value) {
+		return Collections.singletonMap("name", value);
+	}
+
+	@Test
+	void shouldCacheByStatementAndParameters() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+
+		List<Map<String, Object>> first = executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		List<Map<String, Object>> second = executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		List<Map<String, Object>> other = executor.execute(FIND_PERSON, name("Carrie-Anne Moss"));
+
+		assertThat(first).isSameAs(second).containsExactly(Collections.singletonMap("born", 1964L));
+		assertThat(other).containsExactly(Collections.singletonMap("born", 1967L));
+		assertThat(delegate.getExecutionCount()).isEqualTo(2);
+
+		ResultCacheStatistics statistics = executor.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(1L);
+		assertThat(statistics.getMissCount()).isEqualTo(2L);
+		assertThat(statistics.getSize()).isEqualTo(2);
+		assertThat(statistics.getHitRate()).isEqualTo(1.0 / 3.0);
+	}
+
+	@Test
+	void shouldMatchEqualStatementsBuiltIndependently() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		Node movie = Cypher.node("Movie").named("m");
+
+		executor.execute(FIND_MOVIES, null);
+		executor.execute(Cypher.match(movie).returning(movie.property("title").as("title")).build(), null);
+
+		assertThat(delegate.getExecutionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void cachedResultsShouldBeImmutable() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+
+		List<Map<String, Object>> rows = executor.execute(FIND_MOVIES, Collections.emptyMap());
+
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(rows::clear);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> rows.get(0).put("x", 1));
+	}
+
+	@Test
+	void writesShouldInvalidateResultsDependingOnWrittenLabels() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		executor.execute(FIND_MOVIES, null);
+
+		Node person = Cypher.node("Person").named("p");
+		executor.execute(Cypher.create(person.withProperties("name", Cypher.parameter("name"))).build(),
+			name("Hugo Weaving"));
+
+		ResultCacheStatistics statistics = executor.getStatistics();
+		assertThat(statistics.getInvalidationCount()).isEqualTo(1L);
+		assertThat(statistics.getSize()).isEqualTo(1);
+
+		executor.execute(FIND_MOVIES, null);
+		executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		assertThat(executor.getStatistics().getHitCount()).isEqualTo(1L);
+		assertThat(delegate.getExecutionCount()).isEqualTo(4);
+	}
+
+	@Test
+	void writesShouldInvalidateResultsDependingOnWrittenTypes() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		executor.execute(FIND_ACTORS, null);
+
+		Node a = Cypher.anyNode("a");
+		Node b = Cypher.anyNode("b");
+		Relationship actedIn = a.relationshipTo(b, "ACTED_IN");
+		executor.execute(Cypher.match(a, b).create(actedIn).build(), null);
+
+		assertThat(executor.getStatistics().getSize()).isZero();
+	}
+
+	@Test
+	void resultsNotDependingOnLabelsShouldBeInvalidatedByAllWrites() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		executor.execute(COUNT_NODES, null);
+		executor.execute(FIND_MOVIES, null);
+
+		Node tag = Cypher.node("Tag").named("t");
+		executor.execute(Cypher.create(tag).build(), null);
+
+		assertThat(executor.getStatistics().getSize()).isEqualTo(1);
+	}
+
+	@Test
+	void updatesOfElementsWithUnknownLabelsShouldInvalidateAllResults() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		executor.execute(FIND_MOVIES, null);
+
+		Node company = Cypher.node("Company").named("c");
+		Node employee = Cypher.anyNode("p");
+		executor.execute(Cypher.match(company.relationshipFrom(employee, "WORKS_AT"))
+			.set(employee.property("salary").to(Cypher.literalOf(1)))
+			.build(), null);
+
+		assertThat(executor.getStatistics().getSize()).isZero();
+	}
+
+	@Test
+	void readsOfElementsWithUnknownLabelsShouldBeInvalidatedByAllWrites() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		Node company = Cypher.node("Company").named("c");
+		Node employee = Cypher.anyNode("p");
+		Statement salaries = Cypher.match(company.relationshipFrom(employee, "WORKS_AT"))
+			.returning(employee.property("salary"))
+			.build();
+		executor.execute(salaries, null);
+		executor.execute(salaries, null);
+
+		executor.execute(Cypher.match(PERSON).set(PERSON.property("salary").to(Cypher.literalOf(2))).build(), null);
+		executor.execute(salaries, null);
+
+		assertThat(delegate.getExecutionCount()).isEqualTo(3);
+	}
+
+	@Test
+	void detachingDeletesShouldInvalidateResultsDependingOnTypes() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		Relationship knows = Cypher.anyNode().relationshipTo(Cypher.anyNode(), "KNOWS").named("r");
+		executor.execute(Cypher.match(knows).returning(Functions.count(Cypher.name("r")).as("cnt")).build(), null);
+		executor.execute(FIND_MOVIES, null);
+
+		executor.execute(Cypher.match(PERSON).detachDelete(PERSON.getRequiredSymbolicName()).build(), null);
+
+		assertThat(executor.getStatistics().getSize()).isZero();
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedResults() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).maximumSize(2).build();
+
+		executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		executor.execute(FIND_MOVIES, null);
+		executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		executor.execute(FIND_ACTORS, null);
+		executor.execute(FIND_PERSON, name("Keanu Reeves"));
+		executor.execute(FIND_MOVIES, null);
+
+		ResultCacheStatistics statistics = executor.getStatistics();
+		assertThat(statistics.getEvictionCount()).isEqualTo(2L);
+		assertThat(statistics.getHitCount()).isEqualTo(2L);
+		assertThat(statistics.getSize()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldNotCacheLargeResults() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).maximumRowsPerEntry(0).build();
+
+		executor.execute(FIND_MOVIES, null);
+		executor.execute(FIND_MOVIES, null);
+
+		assertThat(delegate.getExecutionCount()).isEqualTo(2);
+		assertThat(executor.getStatistics().getSize()).isZero();
+	}
+
+	@Test
+	void invalidateAllShouldClearTheCache() {
+
+		CachingStatementExecutor executor = CachingStatementExecutor.builder(delegate).build();
+		executor.execute(FIND_MOVIES, null);
+		executor.execute(FIND_ACTORS, null);
+
+		executor.invalidateAll();
+
+		ResultCacheStatistics statistics = executor.getStatistics();
+		assertThat(statistics.getSize()).isZero();
+		assertThat(statistics.getInvalidationCount()).isEqualTo(2L);
+	}
+
+	@Test
+	void shouldCheckArguments() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> CachingStatementExecutor.builder(null));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> CachingStatementExecutor.builder(delegate).maximumSize(-1));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> CachingStatementExecutor.builder(delegate).build().execute(null, null));
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.precompiler;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Node;
+import org.neo4j.cypherdsl.core.Statement;
+
+class StatementPrecompilerTest {
+
+	static class Queries {
+
+		@Precompiled
+		static Statement findPersonByName() {
+
+			Node person = Cypher.node("Person").named("p");
+			return Cypher.match(person)
+				.where(person.property("name").isEqualTo(Cypher.parameter("name")))
+				.and(person.property("born").gt(Cypher.parameter("born")))
+				.returning(person).build();
+		}
+
+		@Precompiled("ALL_MOVIES")
+		static Statement movies() {
+
+			Node movie = Cypher.node("Movie").named("m");
+			return Cypher.match(movie).where(movie.property("title").isEqualTo(Cypher.literalOf("Ä \"quoted\"\n")))
+				.returning(movie).build();
+		}
+
+		static Statement notPrecompiled() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	static class InvalidQueries {
+
+		@Precompiled
+		static Statement withParameter(String label) {
+			return Cypher.match(Cypher.node(label)).returning(Cypher.asterisk()).build();
+		}
+	}
+
+	static class InvalidNames {
+
+		@Precompiled("ALL MOVIES")
+		static Statement movies() {
+			return Queries.movies();
+		}
+	}
+
+	static class CollidingNames {
+
+		@Precompiled
+		static Statement movies() {
+			return Queries.movies();
+		}
+
+		@Precompiled
+		static Statement moviesParameters() {
+			return Queries.movies();
+		}
+	}
+
+	@Test
+	void shouldGenerateCompilableConstants(@TempDir Path directory) throws Exception {
+
+		Path source = StatementPrecompiler.generate(directory, "com.example.PrecompiledQueries", Queries.class);
+		assertThat(source).isEqualTo(directory.resolve("com/example/PrecompiledQueries.java"));
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertThat(compiler.run(null, null, null, source.toString())).isZero();
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() })) {
+			Class<?> generated = classLoader.loadClass("com.example.PrecompiledQueries");
+			assertThat(generated.getField("FIND_PERSON_BY_NAME").get(null))
+				.isEqualTo("MATCH (p:`Person`) WHERE (p.name = $name AND p.born > $born) RETURN p");
+			assertThat(generated.getField("FIND_PERSON_BY_NAME_PARAMETERS").get(null))
+				.isEqualTo(Arrays.asList("name", "born"));
+			assertThat(generated.getField("ALL_MOVIES").get(null)).isEqualTo(Queries.movies().getCypher());
+			assertThat(generated.getField("ALL_MOVIES_PARAMETERS").get(null)).isEqualTo(Collections.emptyList());
+		}
+	}
+
+	@Test
+	void shouldRejectFactoriesWithParameters() {
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> StatementPrecompiler.generateSource("Generated", InvalidQueries.class))
+			.withMessageStartingWith("Precompiled statements need to be created by static methods without parameters");
+	}
+
+	@Test
+	void shouldRejectInvalidConstantNames() {
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> StatementPrecompiler.generateSource("Generated", InvalidNames.class))
+			.withMessageStartingWith("The constant name ALL MOVIES of")
+			.withMessageEndingWith("is not a valid Java identifier.");
+	}
+
+	@Test
+	void shouldRejectCollidingConstantNames() {
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> StatementPrecompiler.generateSource("Generated", CollidingNames.class))
+			.withMessageStartingWith("Duplicate constant name MOVIES_PARAMETERS for")
+			.withMessageContaining("moviesParameters()")
+			.withMessageContaining("movies()");
+	}
+
+	@Test
+	void mainShouldRequireArguments() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> StatementPrecompiler.main("target"))
+			.withMessageStartingWith("Usage: StatementPrecompiler");
+	}
+
+	@Test
+	void mainShouldWriteSource(@TempDir Path directory) throws IOException, ClassNotFoundException {
+
+		StatementPrecompiler.main(directory.toString(), "Generated", Queries.class.getName());
+
+		assertThat(directory.resolve("Generated.java")).exists();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.registry;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Node;
+import org.neo4j.cypherdsl.core.Statement;
+
+class StatementRegistryTest {
+
+	private static Statement findByName(String label) {
+
+		Node node = Cypher.node(label).named("n");
+		return Cypher.match(node).where(node.property("name").isEqualTo(Cypher.parameter("name"))).returning(node)
+			.build();
+	}
+
+	@Test
+	void shouldRenderStatementsWhenBuilt() {
+
+		StatementRegistry registry = StatementRegistry.builder()
+			.register("findPerson", findByName("Person"))
+			.register("findMovie", findByName("Movie"))
+			.build();
+
+		assertThat(registry.size()).isEqualTo(2);
+		assertThat(registry.getIds()).containsExactly("findPerson", "findMovie");
+		assertThat(registry.get("findMovie").getCypher()).isEqualTo("MATCH (n:`Movie`) WHERE n.name = $name RETURN n");
+		assertThat(registry.get("findMovie").getParameterNames()).containsExactly("name");
+		assertThat(registry.getWarmUpDuration()).isGreaterThanOrEqualTo(registry.get("findPerson").getRenderDuration());
+	}
+
+	@Test
+	void shouldRenderInParallel() {
+
+		StatementRegistry.Builder builder = StatementRegistry.builder();
+		for (int i = 0; i < 100; ++i) {
+			builder.register("find" + i, findByName("Label" + i));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		StatementRegistry registry;
+		try {
+			registry = builder.build(executor);
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(registry.size()).isEqualTo(100);
+		for (int i = 0; i < 100; ++i) {
+			StatementRegistry.RegisteredStatement registeredStatement = registry.get("find" + i);
+			assertThat(registeredStatement.getCypher())
+				.isEqualTo("MATCH (n:`Label" + i + "`) WHERE n.name = $name RETURN n")
+				.isSameAs(registeredStatement.getStatement().getCypher());
+		}
+	}
+
+	@Test
+	void shouldRejectInvalidRegistrations() {
+
+		StatementRegistry.Builder builder = StatementRegistry.builder().register("find", findByName("Person"));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> builder.register("find", findByName("Movie")))
+			.withMessage("There is already a statement with id 'find'.");
+		assertThatIllegalArgumentException().isThrownBy(() -> builder.register(" ", findByName("Movie")));
+		assertThatIllegalArgumentException().isThrownBy(() -> builder.register("other", null));
+	}
+
+	@Test
+	void shouldFailOnUnknownIds() {
+
+		StatementRegistry registry = StatementRegistry.builder().build();
+
+		assertThat(registry.contains("find")).isFalse();
+		assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> registry.get("find"))
+			.withMessage("There is no statement with id 'find'.");
+	}
+}
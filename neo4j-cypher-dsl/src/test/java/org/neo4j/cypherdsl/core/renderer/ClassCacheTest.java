@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ClassCacheTest {
+
+	@Test
+	void shouldComputeValuesOncePerClass() {
+
+		AtomicInteger computations = new AtomicInteger();
+		ClassCache<String> cache = new ClassCache<>(type -> {
+			computations.incrementAndGet();
+			return type.getSimpleName();
+		});
+
+		assertThat(cache.get(String.class)).isEqualTo("String");
+		assertThat(cache.get(String.class)).isEqualTo("String");
+		assertThat(cache.get(Integer.class)).isEqualTo("Integer");
+		assertThat(computations).hasValue(2);
+	}
+}
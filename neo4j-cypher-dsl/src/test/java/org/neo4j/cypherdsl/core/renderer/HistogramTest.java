@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+	@Test
+	void bucketsShouldBeContiguous() {
+
+		for (int i = 0; i < 1000; ++i) {
+			long value = i * 7919L;
+			int index = Histogram.indexOf(value);
+			assertThat(Histogram.lowestValueIn(index)).isLessThanOrEqualTo(value);
+			assertThat(Histogram.highestValueIn(index)).isGreaterThanOrEqualTo(value);
+		}
+		assertThat(Histogram.highestValueIn(Histogram.indexOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void shouldComputePercentilesWithinPrecision() {
+
+		Histogram histogram = new Histogram();
+		for (long value = 1; value <= 10_000; ++value) {
+			histogram.record(value * 1_000);
+		}
+
+		assertThat(histogram.getCount()).isEqualTo(10_000);
+		assertThat(histogram.getMax()).isEqualTo(10_000_000);
+		assertThat(histogram.getMean()).isEqualTo(5_000_500.0);
+		assertThat(histogram.getValueAtPercentile(50.0)).isBetween(5_000_000L, 5_000_000L + 5_000_000L / 16);
+		assertThat(histogram.getValueAtPercentile(99.0)).isBetween(9_900_000L, 9_900_000L + 9_900_000L / 16);
+		assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(10_000_000);
+		assertThatIllegalArgumentException().isThrownBy(() -> histogram.getValueAtPercentile(101.0));
+	}
+
+	@Test
+	void emptyHistogramShouldReportZero() {
+
+		Histogram histogram = new Histogram();
+		assertThat(histogram.getValueAtPercentile(99.0)).isZero();
+		assertThat(histogram.getMean()).isZero();
+	}
+
+	@Test
+	void shouldRecordConcurrently() throws InterruptedException {
+
+		Histogram histogram = new Histogram();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; ++i) {
+			executor.submit(() -> {
+				for (int value = 0; value < 25_000; ++value) {
+					histogram.record(value);
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(histogram.getCount()).isEqualTo(100_000);
+		assertThat(histogram.getMax()).isEqualTo(24_999);
+	}
+}
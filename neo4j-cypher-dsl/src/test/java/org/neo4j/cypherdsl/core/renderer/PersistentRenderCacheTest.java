@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Node;
+import org.neo4j.cypherdsl.core.Statement;
+
+class PersistentRenderCacheTest {
+
+	private static Statement statement(String label) {
+
+		Node node = Cypher.node(label).named("n");
+		return Cypher.match(node).where(node.property("name").isEqualTo(Cypher.parameter("name"))).returning(node)
+			.build();
+	}
+
+	@Test
+	void shouldServeEntriesAfterReopening(@TempDir Path directory) throws IOException {
+
+		Path file = directory.resolve("render.cache");
+		byte[] fingerprint;
+
+		PersistentRenderCache cache = PersistentRenderCache.open(file, 4096, 0);
+		try {
+			fingerprint = cache.keyOf(statement("Person")).orElseThrow(IllegalStateException::new);
+			assertThat(cache.get(fingerprint)).isNull();
+			cache.put(fingerprint, "MATCH (n:`Person`) WHERE n.name = $name RETURN n");
+		} finally {
+			cache.close();
+		}
+
+		cache = PersistentRenderCache.open(file, 4096, 0);
+		try {
+			assertThat(cache.size()).isEqualTo(1);
+			assertThat(cache.get(cache.keyOf(statement("Person")).orElseThrow(IllegalStateException::new)))
+				.isEqualTo("MATCH (n:`Person`) WHERE n.name = $name RETURN n");
+			assertThat(cache.get(cache.keyOf(statement("Movie")).orElseThrow(IllegalStateException::new))).isNull();
+		} finally {
+			cache.close();
+		}
+	}
+
+	@Test
+	void shouldDiscardFilesOfOtherVersions(@TempDir Path directory) throws IOException {
+
+		Path file = directory.resolve("render.cache");
+		PersistentRenderCache cache = PersistentRenderCache.open(file, 4096, 0);
+		try {
+			cache.put(cache.keyOf(statement("Person")).orElseThrow(IllegalStateException::new), "x");
+		} finally {
+			cache.close();
+		}
+
+		byte[] content = Files.readAllBytes(file);
+		content[12] = '#';
+		Files.write(file, content);
+
+		cache = PersistentRenderCache.open(file, 4096, 0);
+		try {
+			assertThat(cache.size()).isZero();
+		} finally {
+			cache.close();
+		}
+	}
+
+	@Test
+	void shouldIgnoreEntriesWhenFull(@TempDir Path directory) throws IOException {
+
+		PersistentRenderCache cache = PersistentRenderCache.open(directory.resolve("render.cache"), 128, 0);
+		try {
+			byte[] fingerprint = cache.keyOf(statement("Person")).orElseThrow(IllegalStateException::new);
+			cache.put(fingerprint, String.join("", Collections.nCopies(128, "x")));
+			assertThat(cache.get(fingerprint)).isNull();
+			assertThat(cache.size()).isZero();
+		} finally {
+			cache.close();
+		}
+	}
+
+	@Test
+	void shouldBeReadOnlyWhenLockedElsewhere(@TempDir Path directory) throws IOException {
+
+		Path file = directory.resolve("render.cache");
+		PersistentRenderCache owner = PersistentRenderCache.open(file, 4096, 0);
+		try {
+			PersistentRenderCache reader = PersistentRenderCache.open(file, 4096, 0);
+			try {
+				assertThat(owner.isWritable()).isTrue();
+				assertThat(reader.isWritable()).isFalse();
+			} finally {
+				reader.close();
+			}
+		} finally {
+			owner.close();
+		}
+	}
+
+	@Test
+	void shouldOnlyAcceptLargeStatements(@TempDir Path directory) throws IOException {
+
+		PersistentRenderCache cache = PersistentRenderCache.open(directory.resolve("render.cache"), 4096, 10);
+		try {
+			Node node = Cypher.node("Person").named("n");
+			assertThat(cache.accepts(Cypher.match(node).returning(node).build())).isFalse();
+			assertThat(cache.accepts(statement("Person"))).isTrue();
+		} finally {
+			cache.close();
+		}
+	}
+
+	@Test
+	void shouldAcceptTypicalStatementsByDefault(@TempDir Path directory) throws IOException {
+
+		PersistentRenderCache cache = PersistentRenderCache.open(directory.resolve("render.cache"), 4096,
+			PersistentRenderCache.DEFAULT_CACHE_FILE_MIN_ELEMENTS);
+		try {
+			Node person = Cypher.node("Person").named("p");
+			Node movie = Cypher.node("Movie").named("m");
+			Statement statement = Cypher.match(person.relationshipTo(movie, "ACTED_IN"))
+				.where(movie.property("released").gt(Cypher.parameter("released")))
+				.returning(person.property("name").as("name"), movie.property("title").as("title"))
+				.build();
+			assertThat(cache.accepts(statement)).isTrue();
+			assertThat(cache.accepts(Cypher.match(person).returning(person).build())).isFalse();
+		} finally {
+			cache.close();
+		}
+	}
+
+	@Test
+	void versionShouldIdentifyTheBuild() {
+
+		long buildIdentifier = PersistentRenderCache.buildIdentifier();
+		assertThat(buildIdentifier).isPositive();
+		assertThat(PersistentRenderCache.libraryVersion()).contains("/" + buildIdentifier + "/");
+	}
+}
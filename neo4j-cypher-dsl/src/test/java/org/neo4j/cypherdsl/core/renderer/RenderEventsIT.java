@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Node;
+import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.StatementCodec;
+
+/**
+ * The events are only emitted by the classes in {@code META-INF/versions/11}, so this runs against the packaged
+ * multi-release JAR.
+ */
+class RenderEventsIT {
+
+	private static final String RENDER_EVENT = "org.neo4j.cypherdsl.Render";
+
+	private static final String CACHE_EVENT = "org.neo4j.cypherdsl.RenderCache";
+
+	private final Renderer renderer = Renderer.getDefaultRenderer();
+
+	private static Statement uniqueStatement() {
+
+		Node node = Cypher.node(UUID.randomUUID().toString()).named("n");
+		return Cypher.match(node).returning(node).build();
+	}
+
+	static List<RecordedEvent> record(Runnable action, String... eventNames) throws IOException {
+
+		Path dump = Files.createTempFile("cypher-dsl", ".jfr");
+		try (Recording recording = new Recording()) {
+			for (String eventName : eventNames) {
+				recording.enable(eventName);
+			}
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(dump);
+			return RecordingFile.readAllEvents(dump);
+		} finally {
+			Files.deleteIfExists(dump);
+		}
+	}
+
+	@Test
+	void shouldRecordRenders() throws IOException {
+
+		Statement statement = uniqueStatement();
+		String[] cypher = new String[1];
+
+		List<RecordedEvent> events = record(() -> cypher[0] = renderer.render(statement), RENDER_EVENT);
+
+		assertThat(events).hasSize(1);
+		RecordedEvent event = events.get(0);
+		assertThat(event.getEventType().getName()).isEqualTo(RENDER_EVENT);
+		assertThat(event.getInt("length")).isEqualTo(cypher[0].length());
+		assertThat(event.getInt("visitedElements")).isPositive();
+		assertThat(event.getString("fingerprint")).hasSize(64)
+			.isEqualTo(toHex(StatementCodec.fingerprint(statement)));
+	}
+
+	@Test
+	void shouldRecordCacheLookups() throws IOException {
+
+		Statement statement = uniqueStatement();
+
+		List<RecordedEvent> events = record(() -> {
+			renderer.render(statement);
+			renderer.render(statement);
+		}, RENDER_EVENT, CACHE_EVENT);
+
+		assertThat(events)
+			.extracting(event -> event.getEventType().getName())
+			.containsExactly(CACHE_EVENT, RENDER_EVENT, CACHE_EVENT);
+		List<String> lookups = events.stream()
+			.filter(event -> CACHE_EVENT.equals(event.getEventType().getName()))
+			.map(event -> event.getString("tier") + ":" + event.getString("outcome"))
+			.collect(Collectors.toList());
+		assertThat(lookups).containsExactly("memory:miss", "memory:hit");
+	}
+
+	@Test
+	void shouldNotRecordDisabledEvents() throws IOException {
+
+		Statement statement = uniqueStatement();
+
+		assertThat(record(() -> renderer.render(statement))).isEmpty();
+	}
+
+	private static String toHex(byte[] bytes) {
+
+		StringBuilder hex = new StringBuilder();
+		for (byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+}
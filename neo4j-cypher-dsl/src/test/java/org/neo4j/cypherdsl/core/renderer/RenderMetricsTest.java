@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.renderer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Node;
+import org.neo4j.cypherdsl.core.Statement;
+import org.neo4j.cypherdsl.core.renderer.RenderMetricsRecorder.CacheTier;
+
+class RenderMetricsTest {
+
+	private final Renderer renderer = Renderer.getDefaultRenderer();
+
+	private static Statement statement() {
+
+		Node node = Cypher.node("Person").named("n");
+		return Cypher.match(node).returning(node).build();
+	}
+
+	@AfterEach
+	void unregister() {
+		RenderMetrics.unregister();
+	}
+
+	@Test
+	void shouldRecordRendersAndCacheAccess() {
+
+		RenderStatistics statistics = new RenderStatistics();
+		RenderMetrics.register(statistics);
+
+		Statement statement = statement();
+		renderer.render(statement);
+		renderer.render(statement);
+
+		assertThat(statistics.getMisses(CacheTier.MEMORY)).isEqualTo(1);
+		assertThat(statistics.getHits(CacheTier.MEMORY)).isEqualTo(1);
+		assertThat(statistics.getRenderDurations().getCount()).isEqualTo(1);
+		assertThat(statistics.getRenderDurations().getMax()).isPositive();
+		assertThat(statistics.getSlowRenders()).isZero();
+	}
+
+	@Test
+	void shouldRecordEvictions() {
+
+		RenderStatistics statistics = new RenderStatistics();
+		RenderMetrics.register(statistics);
+
+		for (int i = 0; i < 200; ++i) {
+			renderer.render(statement());
+		}
+
+		assertThat(statistics.getEvictions(CacheTier.MEMORY)).isPositive();
+	}
+
+	@Test
+	void evictionsShouldBeReportedWithoutHoldingTheLock() throws InterruptedException {
+
+		AtomicBoolean evicted = new AtomicBoolean();
+		CountDownLatch renderedConcurrently = new CountDownLatch(1);
+		RenderMetrics.register(new RenderMetricsRecorder() {
+			@Override
+			public void cacheEviction(CacheTier tier) {
+
+				if (!evicted.compareAndSet(false, true)) {
+					return;
+				}
+				Thread otherRender = new Thread(() -> {
+					renderer.render(statement());
+					renderedConcurrently.countDown();
+				});
+				otherRender.start();
+				try {
+					renderedConcurrently.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		for (int i = 0; i < 200 && !evicted.get(); ++i) {
+			renderer.render(statement());
+		}
+
+		assertThat(evicted).isTrue();
+		assertThat(renderedConcurrently.await(0, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void failingRecordersShouldNotFailRendering() {
+
+		RenderMetrics.register(new RenderMetricsRecorder() {
+			@Override
+			public void rendered(Statement statement, long durationNanos) {
+				throw new IllegalStateException("Broken recorder");
+			}
+
+			@Override
+			public void cacheMiss(CacheTier tier) {
+				throw new IllegalStateException("Broken recorder");
+			}
+
+			@Override
+			public void cacheEviction(CacheTier tier) {
+				throw new IllegalStateException("Broken recorder");
+			}
+		});
+
+		for (int i = 0; i < 200; ++i) {
+			assertThat(renderer.render(statement())).isEqualTo("MATCH (n:`Person`) RETURN n");
+		}
+	}
+
+	@Test
+	void shouldReportSlowRenders() {
+
+		List<String> slowRenders = new ArrayList<>();
+		RenderMetrics.register(new RenderMetricsRecorder() {
+			@Override
+			public void slowRender(Statement statement, String cypher, long durationNanos) {
+				slowRenders.add(cypher);
+			}
+		}, Duration.ZERO);
+
+		renderer.render(statement());
+
+		assertThat(slowRenders).containsExactly("MATCH (n:`Person`) RETURN n");
+	}
+
+	@Test
+	void unregisteredRecordersShouldNotBeCalled() {
+
+		RenderStatistics statistics = new RenderStatistics();
+		RenderMetrics.register(statistics);
+		RenderMetrics.unregister();
+
+		renderer.render(statement());
+
+		assertThat(statistics.getMisses(CacheTier.MEMORY)).isZero();
+		assertThatIllegalArgumentException().isThrownBy(() -> RenderMetrics.register(null));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> RenderMetrics.register(statistics, Duration.ofMillis(-1)));
+	}
+}
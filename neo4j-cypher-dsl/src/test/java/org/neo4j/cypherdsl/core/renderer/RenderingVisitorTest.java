@@ -20,9 +20,12 @@ package org.neo4j.cypherdsl.core.renderer;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.lang.reflect.Method;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.cypherdsl.core.support.Visitable;
 
 /**
  * @author Michael J. Simons
@@ -42,9 +45,40 @@ class RenderingVisitorTest {
 		assertThat(RenderingVisitor.escapeName(name)).hasValue(expectedEscapedName);
 	}
 
+	@ParameterizedTest
+	@CsvSource({
+		"name, name",
+		"_name1, _name1",
+		"weird key, `weird key`",
+		"1st, `1st`",
+		"a`b, `a``b`"
+	})
+	void shouldEscapeNamesOnlyIfNecessary(String name, String expectedName) {
+
+		assertThat(RenderingVisitor.escapeIfNecessary(name)).isEqualTo(expectedName);
+	}
+
 	@Test
 	void shouldNotTryToEscapeNullNames() {
 
 		assertThat(RenderingVisitor.escapeName(null)).isEmpty();
 	}
+
+	@Test
+	void allEnterAndLeaveMethodsShouldBeRegistered() {
+
+		for (Method method : RenderingVisitor.class.getDeclaredMethods()) {
+			boolean isEnterOrLeave = "enter".equals(method.getName()) || "leave".equals(method.getName());
+			if (!isEnterOrLeave || method.getParameterTypes()[0] == Visitable.class) {
+				continue;
+			}
+
+			Class<? extends Visitable> type = method.getParameterTypes()[0].asSubclass(Visitable.class);
+			if ("enter".equals(method.getName())) {
+				assertThat(RenderingVisitor.hasEnterHandler(type)).as("Handler for entering %s", type).isTrue();
+			} else if ("leave".equals(method.getName())) {
+				assertThat(RenderingVisitor.hasLeaveHandler(type)).as("Handler for leaving %s", type).isTrue();
+			}
+		}
+	}
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019-2020 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.cypherdsl.core.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.cypherdsl.core.Cypher;
+import org.neo4j.cypherdsl.core.Match;
+import org.neo4j.cypherdsl.core.Node;
+
+/**
+ * The events are only emitted by the classes in {@code META-INF/versions/11}, so this runs against the packaged
+ * multi-release JAR.
+ */
+class VisitorEventsIT {
+
+	private static final String DISPATCH_CACHE_MISS_EVENT = "org.neo4j.cypherdsl.VisitorDispatchCacheMiss";
+
+	@Test
+	void shouldRecordDispatchCacheMissesOfReflectiveVisitors() throws IOException {
+
+		Node node = Cypher.node("Person").named("n");
+
+		List<RecordedEvent> events;
+		Path dump = Files.createTempFile("cypher-dsl", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(DISPATCH_CACHE_MISS_EVENT);
+			recording.start();
+			Cypher.match(node).returning(node).build().accept(new MatchVisitor());
+			Cypher.match(node).returning(node).build().accept(new MatchVisitor());
+			recording.stop();
+			recording.dump(dump);
+			events = RecordingFile.readAllEvents(dump);
+		} finally {
+			Files.deleteIfExists(dump);
+		}
+
+		assertThat(events).isNotEmpty()
+			.allSatisfy(event -> assertThat(event.getClass("visitor").getName())
+				.isEqualTo(MatchVisitor.class.getName()));
+		assertThat(events)
+			.filteredOn(event -> event.getBoolean("resolved"))
+			.extracting(event -> event.getClass("visitable").getName() + "#" + event.getString("phase"))
+			.containsExactly(Match.class.getName() + "#enter");
+		// Each lookup happens only once per visitor class, visitable class and phase.
+		assertThat(events)
+			.extracting(event -> event.getClass("visitable").getName() + "#" + event.getString("phase"))
+			.doesNotHaveDuplicates();
+	}
+
+	static class MatchVisitor extends ReflectiveVisitor {
+
+		@Override
+		protected boolean preEnter(Visitable visitable) {
+			return true;
+		}
+
+		@Override
+		protected void postLeave(Visitable visitable) {
+		}
+
+		void enter(Match match) {
+		}
+	}
+}